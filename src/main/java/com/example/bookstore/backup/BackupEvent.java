@@ -0,0 +1,49 @@
+package com.example.bookstore.backup;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted for every online backup.
+ * The event's duration covers the copy, the integrity check and retention.
+ */
+@Name("com.example.bookstore.Backup")
+@Label("Online Backup")
+@Category({"Bookstore", "Database"})
+@Description("An online backup of the database through the SQLite backup API")
+@StackTrace(false)
+public class BackupEvent extends Event {
+
+    @Label("Trigger")
+    @Description("ADMIN or SCHEDULE")
+    String trigger;
+
+    @Label("File")
+    String file;
+
+    @Label("Pages")
+    long pages;
+
+    @Label("Bytes")
+    long bytes;
+
+    @Label("Steps")
+    int steps;
+
+    @Label("Longest Step")
+    @Description("Duration of the longest backup step, during which the source is read")
+    @Timespan(Timespan.MILLISECONDS)
+    long maxStepMillis;
+
+    @Label("Integrity Check")
+    @Timespan(Timespan.MILLISECONDS)
+    long verifyMillis;
+
+    @Label("Succeeded")
+    boolean success;
+}
@@ -0,0 +1,13 @@
+package com.example.bookstore.backup;
+
+import java.time.LocalDateTime;
+
+/**
+ * A verified backup in the backup directory.
+ *
+ * @param name      the file name
+ * @param sizeBytes the file size
+ * @param createdAt when the backup was started
+ */
+public record BackupFile(String name, long sizeBytes, LocalDateTime createdAt) {
+}
@@ -0,0 +1,24 @@
+package com.example.bookstore.backup;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of one backup run.
+ *
+ * @param file          name of the backup file, or null if the run failed
+ * @param trigger       what started the run: ADMIN or SCHEDULE
+ * @param startedAt     when the run started
+ * @param pages         number of database pages copied
+ * @param bytes         size of the backup file
+ * @param steps         number of backup steps
+ * @param copyMillis    time spent copying, including the pauses between steps
+ * @param maxStepMillis duration of the longest step
+ * @param verifyMillis  time spent on the integrity check
+ * @param deleted       number of old backups removed by retention
+ * @param success       whether the backup was written and verified
+ * @param error         the failure, or null
+ */
+public record BackupResult(String file, String trigger, LocalDateTime startedAt, long pages, long bytes, int steps,
+                           long copyMillis, long maxStepMillis, long verifyMillis, int deleted, boolean success,
+                           String error) {
+}
@@ -0,0 +1,411 @@
+package com.example.bookstore.backup;
+
+import com.example.bookstore.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Online backups of the database file through the SQLite backup API, while the service runs.
+ *
+ * The copy advances a fixed number of pages per step and pauses between steps, so it never
+ * competes with the request load for long. In WAL mode the backup connection first opens a read
+ * transaction: every step then reads the same snapshot, writers carry on committing to the WAL,
+ * and their commits do not restart the copy. The WAL cannot be checkpointed past that snapshot
+ * until the backup ends. Without WAL each step takes the shared lock only for its own pages, and
+ * a commit by another connection restarts the copy.
+ *
+ * The copy is written to a {@code .partial} file and renamed only after
+ * {@code PRAGMA integrity_check} passes on it. Retention then removes the oldest backups beyond
+ * the configured count and age, always keeping the newest. Only one backup runs at a time, on a
+ * dedicated thread; each run is reported as a {@link BackupEvent}.
+ */
+@Component
+public class OnlineBackup {
+
+    public static final String TRIGGER_ADMIN = "ADMIN";
+    public static final String TRIGGER_SCHEDULE = "SCHEDULE";
+
+    private static final Logger log = LoggerFactory.getLogger(OnlineBackup.class);
+    private static final String FILE_PREFIX = "bookstore-";
+    private static final String FILE_SUFFIX = ".db";
+    private static final String PARTIAL_SUFFIX = ".partial";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int SQLITE_OK = 0;
+    private static final int BUSY_RETRIES = 100;
+
+    private final String url;
+    private final Path directory;
+    private final int pagesPerStep;
+    private final long stepPauseMillis;
+    private final int retentionCount;
+    private final long maxAgeMillis;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile String currentTrigger;
+    private volatile LocalDateTime currentStartedAt;
+    private volatile int pageCount;
+    private volatile int pagesRemaining;
+    private volatile BackupResult lastResult;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param url             the JDBC URL of the database to back up
+     * @param directory       directory the backups are written to
+     * @param pagesPerStep    database pages copied per step
+     * @param stepPauseMillis pause between steps
+     * @param retentionCount  number of newest backups kept
+     * @param maxAgeMillis    age after which backups are removed, 0 to keep them regardless of age
+     */
+    public OnlineBackup(@Value("${spring.datasource.url}") String url,
+                        @Value("${bookstore.backup.directory:backups}") String directory,
+                        @Value("${bookstore.backup.pages-per-step:256}") int pagesPerStep,
+                        @Value("${bookstore.backup.step-pause-ms:20}") long stepPauseMillis,
+                        @Value("${bookstore.backup.retention-count:7}") int retentionCount,
+                        @Value("${bookstore.backup.max-age-ms:2592000000}") long maxAgeMillis) {
+        if (pagesPerStep < 1 || retentionCount < 1) {
+            throw new IllegalArgumentException("Pages per step and retention count must be at least 1");
+        }
+        this.url = url;
+        this.directory = Path.of(directory);
+        this.pagesPerStep = pagesPerStep;
+        this.stepPauseMillis = stepPauseMillis;
+        this.retentionCount = retentionCount;
+        this.maxAgeMillis = maxAgeMillis;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("backup-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Starts a backup in the background.
+     *
+     * @param trigger what started the backup
+     * @throws ServiceUnavailableException if a backup is already running
+     */
+    public void start(String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ServiceUnavailableException("A backup is already running", 60);
+        }
+        currentTrigger = trigger;
+        currentStartedAt = LocalDateTime.now();
+        pageCount = 0;
+        pagesRemaining = 0;
+        executor.execute(() -> {
+            try {
+                run(trigger);
+            } finally {
+                currentTrigger = null;
+                currentStartedAt = null;
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Starts the scheduled backup, unless one is already running.
+     */
+    @Scheduled(cron = "${bookstore.backup.cron:0 0 3 * * *}")
+    public void scheduledBackup() {
+        try {
+            start(TRIGGER_SCHEDULE);
+        } catch (ServiceUnavailableException ex) {
+            log.warn("Skipping scheduled backup: a backup is already running");
+        }
+    }
+
+    /**
+     * Stops the backup thread. A backup in progress leaves its partial file, removed by the next run.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Copies, verifies and renames one backup, then applies retention. Never throws: failures are
+     * logged and returned.
+     *
+     * @param trigger what started the backup
+     * @return the outcome
+     */
+    BackupResult run(String trigger) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        String name = FILE_PREFIX + FILE_TIMESTAMP.format(startedAt) + FILE_SUFFIX;
+        Path partial = directory.resolve(name + PARTIAL_SUFFIX);
+        BackupEvent event = new BackupEvent();
+        event.begin();
+        StepProgress progress = new StepProgress();
+        long copyMillis = 0;
+        long verifyMillis = 0;
+        long bytes = 0;
+        int deleted = 0;
+        BackupResult result;
+        try {
+            Files.createDirectories(directory);
+            deletePartials();
+            long copyStart = System.nanoTime();
+            copy(partial, progress);
+            copyMillis = elapsedMillis(copyStart);
+            long verifyStart = System.nanoTime();
+            String integrity = verify(partial);
+            verifyMillis = elapsedMillis(verifyStart);
+            if (!"ok".equals(integrity)) {
+                throw new IllegalStateException("Integrity check failed: " + integrity);
+            }
+            Path target = directory.resolve(name);
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+            bytes = Files.size(target);
+            deleted = applyRetention(LocalDateTime.now());
+            result = new BackupResult(name, trigger, startedAt, progress.pages, bytes, progress.steps, copyMillis,
+                    progress.maxStepMillis, verifyMillis, deleted, true, null);
+            succeeded.incrementAndGet();
+            log.info("Backed up the database to {}: {} pages, {} bytes in {} steps, copy {} ms (longest step {} ms), " +
+                    "integrity check {} ms, {} old backups removed", target.toAbsolutePath(), progress.pages, bytes,
+                    progress.steps, copyMillis, progress.maxStepMillis, verifyMillis, deleted);
+        } catch (SQLException | IOException | RuntimeException ex) {
+            deleteQuietly(partial);
+            result = new BackupResult(null, trigger, startedAt, progress.pages, bytes, progress.steps, copyMillis,
+                    progress.maxStepMillis, verifyMillis, deleted, false, ex.getMessage());
+            failed.incrementAndGet();
+            log.error("Backup failed", ex);
+        }
+        lastResult = result;
+        event.trigger = trigger;
+        event.file = result.file();
+        event.pages = result.pages();
+        event.bytes = result.bytes();
+        event.steps = result.steps();
+        event.maxStepMillis = result.maxStepMillis();
+        event.verifyMillis = result.verifyMillis();
+        event.success = result.success();
+        event.commit();
+        return result;
+    }
+
+    /**
+     * Lists the verified backups, newest first.
+     *
+     * @return the backups
+     * @throws IOException if the directory cannot be read
+     */
+    public List<BackupFile> listBackups() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<BackupFile> backups = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                LocalDateTime createdAt = createdAt(file.getFileName().toString());
+                if (createdAt != null) {
+                    backups.add(new BackupFile(file.getFileName().toString(), Files.size(file), createdAt));
+                }
+            }
+        }
+        backups.sort(Comparator.comparing(BackupFile::createdAt).reversed());
+        return backups;
+    }
+
+    /**
+     * Returns the progress of the running backup, the last outcome and counters.
+     *
+     * @return map with running, progress, lastBackup, succeeded, failed and settings
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean active = running.get();
+        status.put("running", active);
+        if (active) {
+            int total = pageCount;
+            int remaining = pagesRemaining;
+            status.put("trigger", currentTrigger);
+            status.put("startedAt", currentStartedAt);
+            status.put("pageCount", total);
+            status.put("pagesRemaining", remaining);
+            status.put("percent", total == 0 ? 0 : (int) (100L * (total - remaining) / total));
+        }
+        status.put("lastBackup", lastResult);
+        status.put("succeeded", succeeded.get());
+        status.put("failed", failed.get());
+        status.put("directory", directory.toAbsolutePath().toString());
+        status.put("pagesPerStep", pagesPerStep);
+        status.put("stepPauseMs", stepPauseMillis);
+        status.put("retentionCount", retentionCount);
+        status.put("maxAgeMs", maxAgeMillis);
+        return status;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void copy(Path partial, StepProgress progress) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            DB database = connection.unwrap(SQLiteConnection.class).getDatabase();
+            boolean pinSnapshot = isWal(connection);
+            if (pinSnapshot) {
+                // Starts the read transaction whose snapshot every step copies
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM sqlite_master")) {
+                    resultSet.next();
+                }
+            }
+            try {
+                progress.stepStarted = System.nanoTime();
+                int rc = database.backup("main", partial.toAbsolutePath().toString(), progress,
+                        (int) Math.max(1, stepPauseMillis), BUSY_RETRIES, pagesPerStep);
+                if (rc != SQLITE_OK) {
+                    throw new SQLException("Backup failed with SQLite result code " + rc, null, rc);
+                }
+            } finally {
+                if (pinSnapshot) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    private static boolean isWal(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA journal_mode")) {
+            return resultSet.next() && "wal".equalsIgnoreCase(resultSet.getString(1));
+        }
+    }
+
+    private static String verify(Path file) throws SQLException {
+        List<String> messages = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA integrity_check")) {
+            while (resultSet.next()) {
+                messages.add(resultSet.getString(1));
+            }
+        }
+        return String.join("; ", messages);
+    }
+
+    private int applyRetention(LocalDateTime now) throws IOException {
+        List<BackupFile> backups = listBackups();
+        LocalDateTime cutoff = maxAgeMillis > 0 ? now.minus(Duration.ofMillis(maxAgeMillis)) : null;
+        int deleted = 0;
+        // The newest backup is always kept, however old
+        for (int i = 1; i < backups.size(); i++) {
+            BackupFile backup = backups.get(i);
+            if (i >= retentionCount || (cutoff != null && backup.createdAt().isBefore(cutoff))) {
+                if (Files.deleteIfExists(directory.resolve(backup.name()))) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    private void deletePartials() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(PARTIAL_SUFFIX)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}", file, ex);
+        }
+    }
+
+    /**
+     * Parses the start time from a backup file name.
+     *
+     * @param name the file name
+     * @return the start time, or null if the name is not a backup's
+     */
+    static LocalDateTime createdAt(String name) {
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()),
+                    FILE_TIMESTAMP);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Receives a callback after every backup step: records the step and pauses before the next.
+     */
+    private final class StepProgress implements DB.ProgressObserver {
+
+        private long stepStarted;
+        private int steps;
+        private long pages;
+        private long maxStepMillis;
+        private boolean interrupted;
+
+        @Override
+        public void progress(int remaining, int total) {
+            maxStepMillis = Math.max(maxStepMillis, elapsedMillis(stepStarted));
+            steps++;
+            pages = total;
+            pageCount = total;
+            pagesRemaining = remaining;
+            if (remaining > 0 && stepPauseMillis > 0 && !interrupted) {
+                try {
+                    Thread.sleep(stepPauseMillis);
+                } catch (InterruptedException ex) {
+                    // The native loop cannot be stopped from here; finish without pauses
+                    interrupted = true;
+                    Thread.currentThread().interrupt();
+                }
+            }
+            stepStarted = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.entity.Book;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Records how often books are looked up by id, ISBN, author and title search, in a
+ * {@link CountMinSketch}, and keeps the most looked-up keys in {@link HeavyHitters}.
+ *
+ * The sketch is halved periodically so the counts follow the current access pattern, and it is
+ * saved with the cache snapshot so a restarted instance keeps what it learned. Memory is fixed by
+ * the sketch dimensions and the number of heavy hitters, and recording never locks.
+ *
+ * Lookups made by the instance itself, such as the synthetic calls of the startup warm-up, run
+ * inside {@link #suppress()} and are not recorded, so they never pass for real traffic.
+ *
+ * Halving every decay interval D makes a key seen at a steady r per second settle at r * D right
+ * after a decay and r * (D + t) at t seconds later, which is how counts are turned into rates.
+ */
+@Component
+public class AccessTracker {
+
+    private static final ThreadLocal<Boolean> SUPPRESSED = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final CountMinSketch sketch;
+    private final HeavyHitters heavyHitters;
+    private final long decayIntervalNanos;
+    private final LongSupplier clock;
+    private final long startedNanos;
+    private final LongAdder accesses = new LongAdder();
+    private volatile long lastDecayNanos = -1;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param enabled             whether accesses are recorded
+     * @param depth               number of sketch rows
+     * @param width               counters per sketch row
+     * @param hotKeys             number of heavy hitters kept
+     * @param decayIntervalMillis time between two halvings of the sketch
+     */
+    @Autowired
+    public AccessTracker(@Value("${bookstore.access-tracking.enabled:true}") boolean enabled,
+                         @Value("${bookstore.access-tracking.depth:4}") int depth,
+                         @Value("${bookstore.access-tracking.width:4096}") int width,
+                         @Value("${bookstore.hot-keys.size:32}") int hotKeys,
+                         @Value("${bookstore.access-tracking.decay-interval-ms:600000}") long decayIntervalMillis) {
+        this(enabled, depth, width, hotKeys, decayIntervalMillis, System::nanoTime);
+    }
+
+    /**
+     * Constructor with an explicit clock, for tests.
+     *
+     * @param enabled             whether accesses are recorded
+     * @param depth               number of sketch rows
+     * @param width               counters per sketch row
+     * @param hotKeys             number of heavy hitters kept
+     * @param decayIntervalMillis time between two halvings of the sketch
+     * @param clock               source of monotonic nanosecond timestamps
+     */
+    AccessTracker(boolean enabled, int depth, int width, int hotKeys, long decayIntervalMillis, LongSupplier clock) {
+        this.enabled = enabled;
+        this.sketch = new CountMinSketch(depth, width);
+        this.heavyHitters = new HeavyHitters(sketch, hotKeys);
+        this.decayIntervalNanos = TimeUnit.MILLISECONDS.toNanos(decayIntervalMillis);
+        this.clock = clock;
+        this.startedNanos = clock.getAsLong();
+    }
+
+    /**
+     * Records a lookup by id.
+     *
+     * @param id the book id
+     */
+    public void recordId(Long id) {
+        if (enabled && id != null) {
+            record(HotKey.id(id));
+        }
+    }
+
+    /**
+     * Records a lookup by ISBN.
+     *
+     * @param isbn the book ISBN
+     */
+    public void recordIsbn(String isbn) {
+        if (enabled && isbn != null) {
+            record(HotKey.isbn(isbn));
+        }
+    }
+
+    /**
+     * Records a lookup by author.
+     *
+     * @param author the author name
+     */
+    public void recordAuthor(String author) {
+        if (enabled && author != null) {
+            record(HotKey.author(author));
+        }
+    }
+
+    /**
+     * Records a title search.
+     *
+     * @param title the search term
+     */
+    public void recordSearch(String title) {
+        if (enabled && title != null) {
+            record(HotKey.search(title));
+        }
+    }
+
+    /**
+     * Stops recording the current thread's lookups until the returned scope is closed.
+     *
+     * @return the scope, restoring the previous state when closed
+     */
+    public static Suppression suppress() {
+        Boolean previous = SUPPRESSED.get();
+        SUPPRESSED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                SUPPRESSED.remove();
+            } else {
+                SUPPRESSED.set(previous);
+            }
+        };
+    }
+
+    private void record(HotKey key) {
+        if (SUPPRESSED.get() != null) {
+            return;
+        }
+        heavyHitters.offer(key, sketch.increment(key.hash()));
+        accesses.increment();
+    }
+
+    /**
+     * Returns the estimated number of recent lookups of a book, by id and by ISBN combined.
+     *
+     * @param book the book
+     * @return the estimate
+     */
+    public long estimate(Book book) {
+        long estimate = 0;
+        if (book.getId() != null) {
+            estimate += sketch.estimate(CountMinSketch.hash(book.getId()));
+        }
+        if (book.getIsbn() != null) {
+            estimate += sketch.estimate(CountMinSketch.hash(book.getIsbn()));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves all counts so that old accesses fade out.
+     */
+    @Scheduled(fixedDelayString = "${bookstore.access-tracking.decay-interval-ms:600000}")
+    public void decay() {
+        sketch.decay();
+        heavyHitters.refreshThreshold();
+        lastDecayNanos = clock.getAsLong();
+    }
+
+    /**
+     * Converts an estimated count into a rate, given how long the sketch has been counting.
+     *
+     * @param estimate a sketch estimate
+     * @return estimated lookups per second
+     */
+    public double ratePerSecond(long estimate) {
+        long now = clock.getAsLong();
+        long lastDecay = lastDecayNanos;
+        long windowNanos = lastDecay < 0 ? now - startedNanos : decayIntervalNanos + now - lastDecay;
+        return windowNanos <= 0 ? 0 : estimate * (double) TimeUnit.SECONDS.toNanos(1) / windowNanos;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    public HeavyHitters getHeavyHitters() {
+        return heavyHitters;
+    }
+
+    public long getAccesses() {
+        return accesses.sum();
+    }
+
+    /**
+     * Scope in which the current thread's lookups are not recorded.
+     */
+    @FunctionalInterface
+    public interface Suppression extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.entity.Book;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of book entities by id, with a secondary index by ISBN.
+ *
+ * Lookups never lock: a hit sets the entry's reference bit and returns it. When the cache grows
+ * past its bound, one thread sweeps the entries CLOCK-style, giving referenced entries a second
+ * chance and removing the rest until a tenth of the capacity is free. Pinned books, the detected
+ * hot keys, are skipped by the sweep and only leave the cache when invalidated.
+ *
+ * Writers invalidate entries instead of updating them, and every invalidation advances a
+ * generation counter. A reader captures the generation before loading from the database and only
+ * caches its result if no invalidation happened in between, so a load that raced with a write
+ * can never put the old row back. Cached books are shared and must not be modified.
+ */
+@Component
+public class BookCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByIsbn = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile Set<Long> pinnedIds = Set.of();
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param enabled    whether books are cached
+     * @param maxEntries number of books the cache holds before evicting
+     */
+    public BookCache(@Value("${bookstore.cache.enabled:true}") boolean enabled,
+                     @Value("${bookstore.cache.max-entries:10000}") int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Looks up a book by id.
+     *
+     * @param id the book id
+     * @return the cached book, or null on a miss
+     */
+    public Book getById(Long id) {
+        if (!enabled) {
+            return null;
+        }
+        Entry entry = entries.get(id);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.book;
+    }
+
+    /**
+     * Looks up a book by ISBN.
+     *
+     * @param isbn the book ISBN
+     * @return the cached book, or null on a miss
+     */
+    public Book getByIsbn(String isbn) {
+        if (!enabled || isbn == null) {
+            return null;
+        }
+        Long id = idsByIsbn.get(isbn);
+        Entry entry = id == null ? null : entries.get(id);
+        if (entry == null || !isbn.equals(entry.book.getIsbn())) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return entry.book;
+    }
+
+    /**
+     * Returns the id a cached ISBN maps to, without counting a hit or miss.
+     *
+     * @param isbn the book ISBN
+     * @return the id, or null if the ISBN is not cached
+     */
+    public Long findIdByIsbn(String isbn) {
+        return isbn == null ? null : idsByIsbn.get(isbn);
+    }
+
+    /**
+     * Replaces the set of pinned books. Pinning an id that is not cached protects it once loaded.
+     *
+     * @param ids the book ids never to evict
+     */
+    public void pin(Collection<Long> ids) {
+        pinnedIds = Set.copyOf(ids);
+    }
+
+    /**
+     * Returns whether a book is pinned.
+     *
+     * @param id the book id
+     * @return true if the book is never evicted
+     */
+    public boolean isPinned(Long id) {
+        return pinnedIds.contains(id);
+    }
+
+    /**
+     * Returns the current generation, to be passed to {@link #put} after loading.
+     *
+     * @return the generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Caches a book loaded from the database, unless any book was invalidated since the load began.
+     *
+     * @param book               the loaded book
+     * @param loadedAtGeneration the generation read before the load
+     * @return true if the book was cached
+     */
+    public boolean put(Book book, long loadedAtGeneration) {
+        if (!enabled || book == null || book.getId() == null) {
+            return false;
+        }
+        Entry entry = new Entry(book);
+        entries.put(book.getId(), entry);
+        if (book.getIsbn() != null) {
+            idsByIsbn.put(book.getIsbn(), book.getId());
+        }
+        if (generation.get() != loadedAtGeneration) {
+            // An invalidation may have run before our put became visible to it
+            entries.remove(book.getId(), entry);
+            removeIsbn(book);
+            return false;
+        }
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        return true;
+    }
+
+    /**
+     * Caches books loaded from the database in one pass, as done during warm-up.
+     *
+     * @param books              the loaded books
+     * @param loadedAtGeneration the generation read before the load
+     * @return number of books cached
+     */
+    public int putAll(Collection<Book> books, long loadedAtGeneration) {
+        int cached = 0;
+        for (Book book : books) {
+            if (put(book, loadedAtGeneration)) {
+                cached++;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Removes a book now and again when the current transaction completes, so that readers that
+     * loaded the row before the commit cannot cache it afterwards.
+     *
+     * @param id the book id
+     */
+    public void invalidate(Long id) {
+        if (!enabled) {
+            return;
+        }
+        remove(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * Removes every book, for when the table was replaced underneath the cache. Pins are kept and
+     * take effect again as the books are reloaded.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        idsByIsbn.clear();
+    }
+
+    private void remove(Long id) {
+        generation.incrementAndGet();
+        Entry entry = entries.remove(id);
+        if (entry != null) {
+            removeIsbn(entry.book);
+        }
+    }
+
+    private void removeIsbn(Book book) {
+        if (book.getIsbn() != null) {
+            idsByIsbn.remove(book.getIsbn(), book.getId());
+        }
+    }
+
+    /**
+     * Sweeps the entries until a tenth of the capacity is free. Only one thread sweeps at a time;
+     * others keep inserting and the cache may briefly exceed its bound. If pinned books take up
+     * most of the capacity, the sweep stops after two passes and the cache stays over its bound.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            Set<Long> pinned = pinnedIds;
+            for (int pass = 0; pass < 2 && entries.size() > target; pass++) {
+                Iterator<Entry> iterator = entries.values().iterator();
+                while (iterator.hasNext() && entries.size() > target) {
+                    Entry entry = iterator.next();
+                    if (pinned.contains(entry.book.getId())) {
+                        continue;
+                    }
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        iterator.remove();
+                        removeIsbn(entry.book);
+                        evictions.increment();
+                    }
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Returns the cached books, for snapshots.
+     *
+     * @return the books, in no particular order
+     */
+    public List<Book> getCachedBooks() {
+        List<Book> books = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values()) {
+            books.add(entry.book);
+        }
+        return books;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the cache counters for reports.
+     *
+     * @return map with size, capacity, pinned, hit, miss and eviction counts
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("size", getSize());
+        statistics.put("maxEntries", maxEntries);
+        statistics.put("pinned", pinnedIds.size());
+        statistics.put("hits", hits.sum());
+        statistics.put("misses", misses.sum());
+        statistics.put("evictions", evictions.sum());
+        return statistics;
+    }
+
+    /**
+     * A cached book and its CLOCK reference bit.
+     */
+    private static final class Entry {
+
+        private final Book book;
+        private volatile boolean referenced;
+
+        private Entry(Book book) {
+            this.book = book;
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Saves the hot part of the {@link BookCache} and the {@link AccessTracker} sketch to a local
+ * file, and restores them at startup.
+ *
+ * The snapshot is written periodically and at shutdown, to a sibling file that is then moved into
+ * place. It holds the sketch counters followed by the cached books, hottest first by their
+ * sketch estimate, and ends with a CRC32 of everything before it. At startup the file is mapped
+ * into memory and decoded from the mapping, so restoring costs no more than the page faults of
+ * the bytes actually read.
+ *
+ * Restored books are only trusted if their updated_at still matches the database. That check is
+ * one primary-key lookup per book through the {@link BookRepository}, which also routes it to the
+ * right shard in the sharded mode, rather than a scan of the catalog.
+ */
+@Component
+public class CacheSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheSnapshotStore.class);
+    private static final int MAGIC = 0x424B534E;
+    private static final int VERSION = 1;
+    private static final int VALIDATION_BATCH_SIZE = 500;
+
+    private final BookCache bookCache;
+    private final AccessTracker accessTracker;
+    private final BookRepository bookRepository;
+    private final boolean enabled;
+    private final Path file;
+    private final int maxEntries;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param bookCache      the cache whose entries are saved
+     * @param accessTracker  the tracker whose sketch is saved and used to rank entries
+     * @param bookRepository the repository used to validate restored entries
+     * @param enabled        whether snapshots are written and restored
+     * @param file           the snapshot file
+     * @param maxEntries     maximum number of books saved
+     */
+    public CacheSnapshotStore(BookCache bookCache, AccessTracker accessTracker,
+                              BookRepository bookRepository,
+                              @Value("${bookstore.snapshot.enabled:true}") boolean enabled,
+                              @Value("${bookstore.snapshot.file:cache-snapshot.bin}") String file,
+                              @Value("${bookstore.snapshot.max-entries:1000}") int maxEntries) {
+        this.bookCache = bookCache;
+        this.accessTracker = accessTracker;
+        this.bookRepository = bookRepository;
+        this.enabled = enabled;
+        this.file = Path.of(file);
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @return number of books saved, or -1 if snapshots are disabled or the write failed
+     */
+    @Scheduled(initialDelayString = "${bookstore.snapshot.interval-ms:300000}",
+            fixedDelayString = "${bookstore.snapshot.interval-ms:300000}")
+    public synchronized int save() {
+        if (!enabled) {
+            return -1;
+        }
+        List<Book> books = bookCache.getCachedBooks();
+        books.sort(Comparator.comparingLong((Book book) -> accessTracker.estimate(book)).reversed());
+        if (books.size() > maxEntries) {
+            books = books.subList(0, maxEntries);
+        }
+        try {
+            byte[] body = encode(accessTracker.getSketch(), books);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            Path absolute = file.toAbsolutePath();
+            Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(body.length + Long.BYTES);
+                buffer.put(body).putLong(crc.getValue()).flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved cache snapshot with {} books to {}", books.size(), file);
+            return books.size();
+        } catch (IOException ex) {
+            log.warn("Could not save cache snapshot {}: {}", file, ex.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Writes a final snapshot at shutdown.
+     */
+    @PreDestroy
+    public void saveOnShutdown() {
+        int saved = save();
+        if (saved >= 0) {
+            log.info("Saved cache snapshot with {} books to {}", saved, file);
+        }
+    }
+
+    /**
+     * Reads the snapshot, restores the access sketch, and returns the books that are still current.
+     * A missing, truncated or corrupt snapshot is ignored.
+     *
+     * @return the restored books, hottest first; empty if there is nothing to restore
+     */
+    public List<Book> restore() {
+        if (!enabled || !Files.isRegularFile(file)) {
+            return List.of();
+        }
+        Snapshot snapshot;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            snapshot = decode(mapped);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable cache snapshot {}: {}", file, ex.getMessage());
+            return List.of();
+        }
+        CountMinSketch sketch = accessTracker.getSketch();
+        if (snapshot.depth == sketch.getDepth() && snapshot.width == sketch.getWidth()) {
+            sketch.merge(snapshot.counters);
+        }
+        List<Book> current = validate(snapshot.books);
+        log.info("Restored {} of {} books from cache snapshot {}", current.size(), snapshot.books.size(), file);
+        return current;
+    }
+
+    /**
+     * Keeps the books whose updated_at in the database equals the one in the snapshot.
+     */
+    private List<Book> validate(List<Book> books) {
+        Map<Long, LocalDateTime> updatedAt = new HashMap<>();
+        for (int from = 0; from < books.size(); from += VALIDATION_BATCH_SIZE) {
+            List<Long> ids = books.subList(from, Math.min(books.size(), from + VALIDATION_BATCH_SIZE))
+                    .stream().map(Book::getId).toList();
+            for (Book stored : bookRepository.findAllById(ids)) {
+                updatedAt.put(stored.getId(), stored.getUpdatedAt());
+            }
+        }
+        List<Book> current = new ArrayList<>(books.size());
+        for (Book book : books) {
+            if (updatedAt.containsKey(book.getId())
+                    && sameMillis(book.getUpdatedAt(), updatedAt.get(book.getId()))) {
+                current.add(book);
+            }
+        }
+        return current;
+    }
+
+    private static boolean sameMillis(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.truncatedTo(ChronoUnit.MILLIS).equals(b.truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Converts an updated_at value as returned by the driver. SQLite has no date type, so the
+     * column holds whatever the writer bound: text, epoch milliseconds or a driver timestamp.
+     *
+     * @param raw the column value
+     * @return the timestamp, or null if absent or unreadable
+     */
+    public static LocalDateTime toLocalDateTime(Object raw) {
+        if (raw == null) {
+            return null;
+        }
+        if (raw instanceof LocalDateTime localDateTime) {
+            return localDateTime;
+        }
+        if (raw instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (raw instanceof Number number) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(number.longValue()), ZoneId.systemDefault());
+        }
+        String text = raw.toString().trim();
+        try {
+            return LocalDateTime.parse(text.replace(' ', 'T'));
+        } catch (DateTimeParseException ex) {
+            try {
+                return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(text)), ZoneId.systemDefault());
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+    }
+
+    static byte[] encode(CountMinSketch sketch, List<Book> books) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(sketch.getDepth());
+            out.writeInt(sketch.getWidth());
+            for (long counter : sketch.toArray()) {
+                out.writeLong(counter);
+            }
+            out.writeInt(books.size());
+            for (Book book : books) {
+                out.writeLong(book.getId());
+                writeString(out, book.getTitle());
+                writeString(out, book.getAuthor());
+                writeString(out, book.getIsbn());
+                writeString(out, book.getPrice() == null ? null : book.getPrice().toPlainString());
+                out.writeBoolean(book.getQuantity() != null);
+                out.writeInt(book.getQuantity() == null ? 0 : book.getQuantity());
+                writeDateTime(out, book.getCreatedAt());
+                writeDateTime(out, book.getUpdatedAt());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static Snapshot decode(ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (length < Long.BYTES + 2 * Integer.BYTES) {
+            throw new IOException("Snapshot is truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(buffer.position(), length - Long.BYTES));
+        if (crc.getValue() != buffer.getLong(buffer.position() + length - Long.BYTES)) {
+            throw new IOException("Snapshot checksum does not match");
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            throw new IOException("Not a cache snapshot of this version");
+        }
+        buffer.getLong();
+        int depth = buffer.getInt();
+        int width = buffer.getInt();
+        long[] counters = new long[Math.multiplyExact(depth, width)];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = buffer.getLong();
+        }
+        int count = buffer.getInt();
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Book book = new Book();
+            book.setId(buffer.getLong());
+            book.setTitle(readString(buffer));
+            book.setAuthor(readString(buffer));
+            book.setIsbn(readString(buffer));
+            String price = readString(buffer);
+            book.setPrice(price == null ? null : new BigDecimal(price));
+            boolean hasQuantity = buffer.get() != 0;
+            int quantity = buffer.getInt();
+            book.setQuantity(hasQuantity ? quantity : null);
+            book.setCreatedAt(readDateTime(buffer));
+            book.setUpdatedAt(readDateTime(buffer));
+            books.add(book);
+        }
+        return new Snapshot(depth, width, counters, books);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        out.writeLong(value == null ? 0 : value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value == null ? 0 : value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer buffer) {
+        boolean present = buffer.get() != 0;
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return present ? LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC) : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decoded snapshot contents.
+     */
+    record Snapshot(int depth, int width, long[] counters, List<Book> books) {
+
+        Snapshot {
+            Objects.requireNonNull(books, "books");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.bookstore.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch: approximate access counts in a fixed amount of memory.
+ *
+ * Each key increments one counter in each of {@code depth} rows, picked by independent hashes;
+ * its estimate is the smallest of those counters. Collisions can only add to a counter, so
+ * estimates never undercount, and with width w they overcount by at most about 2N/w for N total
+ * accesses. Counters are atomic and updates never lock. Memory is depth * width longs, whatever
+ * the number of distinct keys.
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * Constructor with the sketch dimensions.
+     *
+     * @param depth number of rows, each with its own hash
+     * @param width counters per row, rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive");
+        }
+        this.depth = depth;
+        this.width = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Counts one access to a key.
+     *
+     * @param keyHash 64-bit hash of the key, see {@link #hash(long)} and {@link #hash(String)}
+     * @return the key's estimated count after this access
+     */
+    public long increment(long keyHash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long count = counters.incrementAndGet(index(row, keyHash));
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    /**
+     * Returns the estimated access count of a key.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return the estimate, never lower than the true count since the last decay
+     */
+    public long estimate(long keyHash) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, keyHash)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Halves every counter, so old accesses weigh less than recent ones. Concurrent increments
+     * may be halved or not; either way the counts stay within a factor of two of the truth.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            long current;
+            do {
+                current = counters.get(i);
+            } while (current != 0 && !counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    /**
+     * Returns a copy of the counters, row by row, for snapshots.
+     *
+     * @return the counters
+     */
+    public long[] toArray() {
+        long[] copy = new long[counters.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counters.get(i);
+        }
+        return copy;
+    }
+
+    /**
+     * Adds counters from a snapshot taken from a sketch of the same dimensions.
+     *
+     * @param snapshot counters as returned by {@link #toArray()}
+     */
+    public void merge(long[] snapshot) {
+        if (snapshot.length != counters.length()) {
+            throw new IllegalArgumentException("Sketch dimensions do not match");
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            counters.addAndGet(i, snapshot[i]);
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    private int index(int row, long keyHash) {
+        // Double hashing: row i uses h1 + i * h2, which is as good as independent hashes here
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        return row * width + ((h1 + row * h2) & mask);
+    }
+
+    /**
+     * Hashes a numeric key.
+     *
+     * @param key the key
+     * @return a well-mixed 64-bit hash
+     */
+    public static long hash(long key) {
+        // SplitMix64 finalizer
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Hashes a string key.
+     *
+     * @param key the key
+     * @return a well-mixed 64-bit hash
+     */
+    public static long hash(String key) {
+        // FNV-1a over the characters, then mixed so both halves are usable
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return hash(h);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.bookstore.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The K most looked-up keys, ranked by their {@link CountMinSketch} estimates.
+ *
+ * The table is a fixed array of K slots and holds no counts of its own: a key's rank is always its
+ * current sketch estimate, so decay and snapshot restores apply to it without extra work. A key
+ * whose estimate exceeds the smallest estimate in the table replaces that entry by
+ * compare-and-set; a lost race is retried a few times and then dropped, since the key will be
+ * offered again on its next access. Keys below the admission threshold, the vast majority, cost a
+ * single volatile read.
+ *
+ * Two threads may admit the same key into different slots at once; each then clears the copy in
+ * the higher slot, so exactly one survives.
+ */
+public class HeavyHitters {
+
+    private static final int MAX_ATTEMPTS = 4;
+
+    private final CountMinSketch sketch;
+    private final AtomicReferenceArray<HotKey> slots;
+    private volatile long threshold;
+
+    /**
+     * Constructor with the sketch the keys are ranked by.
+     *
+     * @param sketch the access sketch
+     * @param size   number of keys kept
+     */
+    public HeavyHitters(CountMinSketch sketch, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("At least one heavy hitter must be kept");
+        }
+        this.sketch = sketch;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Offers a key that was just counted.
+     *
+     * @param key      the key
+     * @param estimate the key's estimate after counting it
+     */
+    public void offer(HotKey key, long estimate) {
+        if (estimate <= threshold) {
+            return;
+        }
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            int victim = -1;
+            HotKey victimKey = null;
+            long minimum = Long.MAX_VALUE;
+            for (int i = 0; i < slots.length(); i++) {
+                HotKey current = slots.get(i);
+                if (key.equals(current)) {
+                    return;
+                }
+                long currentEstimate = current == null ? 0 : sketch.estimate(current.hash());
+                if (currentEstimate < minimum) {
+                    minimum = currentEstimate;
+                    victim = i;
+                    victimKey = current;
+                }
+            }
+            if (estimate <= minimum) {
+                threshold = minimum;
+                return;
+            }
+            if (slots.compareAndSet(victim, victimKey, key)) {
+                threshold = minimum;
+                removeDuplicate(key, victim);
+                return;
+            }
+        }
+    }
+
+    private void removeDuplicate(HotKey key, int slot) {
+        for (int i = 0; i < slots.length(); i++) {
+            HotKey other = slots.get(i);
+            if (i != slot && key.equals(other)) {
+                if (i > slot) {
+                    slots.compareAndSet(i, other, null);
+                } else {
+                    slots.compareAndSet(slot, key, null);
+                }
+                // The freed slot admits any key until the table is full again
+                threshold = 0;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Re-reads the admission threshold, after the sketch has decayed.
+     */
+    public void refreshThreshold() {
+        long minimum = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            HotKey current = slots.get(i);
+            minimum = Math.min(minimum, current == null ? 0 : sketch.estimate(current.hash()));
+        }
+        threshold = minimum;
+    }
+
+    /**
+     * Returns the tracked keys, most looked up first.
+     *
+     * @return the keys
+     */
+    public List<HotKey> getTop() {
+        // Estimates are read once, as concurrent increments would break the sort's ordering contract
+        Map<HotKey, Long> estimates = new HashMap<>();
+        for (int i = 0; i < slots.length(); i++) {
+            HotKey current = slots.get(i);
+            if (current != null) {
+                estimates.put(current, sketch.estimate(current.hash()));
+            }
+        }
+        List<HotKey> keys = new ArrayList<>(estimates.keySet());
+        keys.sort(Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+        return keys;
+    }
+
+    /**
+     * Returns the estimated access count of a key.
+     *
+     * @param key the key
+     * @return the estimate
+     */
+    public long estimate(HotKey key) {
+        return sketch.estimate(key.hash());
+    }
+
+    public int getSize() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.bookstore.cache;
+
+/**
+ * A lookup key tracked by {@link HeavyHitters}.
+ *
+ * @param kind what the key identifies
+ * @param key  the id, ISBN, author or search term as a string
+ * @param hash the key's hash in the access sketch
+ */
+public record HotKey(Kind kind, String key, long hash) {
+
+    /**
+     * The lookup a key belongs to.
+     */
+    public enum Kind { ID, ISBN, AUTHOR, SEARCH }
+
+    /**
+     * Creates the key of a lookup by id.
+     *
+     * @param id the book id
+     * @return the key
+     */
+    public static HotKey id(long id) {
+        return new HotKey(Kind.ID, Long.toString(id), CountMinSketch.hash(id));
+    }
+
+    /**
+     * Creates the key of a lookup by ISBN.
+     *
+     * @param isbn the ISBN
+     * @return the key
+     */
+    public static HotKey isbn(String isbn) {
+        return new HotKey(Kind.ISBN, isbn, CountMinSketch.hash(isbn));
+    }
+
+    /**
+     * Creates the key of a lookup by author.
+     *
+     * @param author the author name
+     * @return the key
+     */
+    public static HotKey author(String author) {
+        // Prefixed so an author cannot share counters with an ISBN of the same spelling
+        return new HotKey(Kind.AUTHOR, author, CountMinSketch.hash("author:" + author));
+    }
+
+    /**
+     * Creates the key of a title search.
+     *
+     * @param title the search term
+     * @return the key
+     */
+    public static HotKey search(String title) {
+        return new HotKey(Kind.SEARCH, title, CountMinSketch.hash("search:" + title));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bookstore.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * Periodic Flight Recorder event emitted once per heavy hitter by the {@link HotKeyMonitor}.
+ */
+@Name("com.example.bookstore.HotKey")
+@Label("Hot Key")
+@Category({"Bookstore", "Cache"})
+@Description("One of the most looked-up ids, ISBNs, authors or search terms")
+@Period("10 s")
+@StackTrace(false)
+public class HotKeyEvent extends Event {
+
+    @Label("Rank")
+    int rank;
+
+    @Label("Kind")
+    @Description("ID, ISBN, AUTHOR or SEARCH")
+    String kind;
+
+    @Label("Key")
+    String key;
+
+    @Label("Estimate")
+    @Description("Estimated lookups, counted with decay")
+    long estimate;
+
+    @Label("Rate")
+    @Description("Estimated lookups per second")
+    double ratePerSecond;
+
+    @Label("Pinned")
+    @Description("Whether the book is pinned in the entity cache")
+    boolean pinned;
+}
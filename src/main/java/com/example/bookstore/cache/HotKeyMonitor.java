@@ -0,0 +1,138 @@
+package com.example.bookstore.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.FlightRecorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reports the heavy hitters found by the {@link AccessTracker} and pins the hot books in the
+ * {@link BookCache}.
+ *
+ * Hot ids are pinned directly; hot ISBNs are pinned through the id they are cached under. Author
+ * and search keys are reported only, since their results are not cached. The same list is
+ * published as a periodic {@link HotKeyEvent} for Flight Recorder.
+ */
+@Component
+public class HotKeyMonitor {
+
+    private final AccessTracker accessTracker;
+    private final BookCache bookCache;
+    private final boolean pinning;
+    private final Runnable recordEvents = this::recordEvents;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param accessTracker the tracker holding the heavy hitters
+     * @param bookCache     the cache hot books are pinned in
+     * @param pinning       whether hot books are pinned
+     */
+    public HotKeyMonitor(AccessTracker accessTracker, BookCache bookCache,
+                         @Value("${bookstore.hot-keys.pin:true}") boolean pinning) {
+        this.accessTracker = accessTracker;
+        this.bookCache = bookCache;
+        this.pinning = pinning;
+    }
+
+    /**
+     * Registers the periodic Flight Recorder event.
+     */
+    @PostConstruct
+    public void registerEvents() {
+        FlightRecorder.addPeriodicEvent(HotKeyEvent.class, recordEvents);
+    }
+
+    /**
+     * Unregisters the periodic Flight Recorder event.
+     */
+    @PreDestroy
+    public void unregisterEvents() {
+        FlightRecorder.removePeriodicEvent(recordEvents);
+    }
+
+    /**
+     * Pins the books behind the current hot ids and ISBNs, unpinning those that cooled down.
+     */
+    @Scheduled(fixedDelayString = "${bookstore.hot-keys.refresh-interval-ms:5000}")
+    public void refreshPins() {
+        if (!pinning) {
+            return;
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (HotKey key : accessTracker.getHeavyHitters().getTop()) {
+            Long id = pinnableId(key);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        bookCache.pin(ids);
+    }
+
+    /**
+     * Returns the heavy hitters with their estimated counts and rates, most looked up first.
+     *
+     * @return list of maps with kind, key, estimate, ratePerSecond and pinned
+     */
+    public List<Map<String, Object>> getHotKeys() {
+        HeavyHitters heavyHitters = accessTracker.getHeavyHitters();
+        List<Map<String, Object>> hotKeys = new ArrayList<>();
+        for (HotKey key : heavyHitters.getTop()) {
+            long estimate = heavyHitters.estimate(key);
+            Long id = pinnableId(key);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("kind", key.kind().name());
+            entry.put("key", key.key());
+            entry.put("estimate", estimate);
+            entry.put("ratePerSecond", accessTracker.ratePerSecond(estimate));
+            entry.put("pinned", id != null && bookCache.isPinned(id));
+            hotKeys.add(entry);
+        }
+        return hotKeys;
+    }
+
+    /**
+     * Returns the heavy hitters together with the tracker and cache counters, for the admin endpoint.
+     *
+     * @return map with total accesses, table size, hot keys and cache statistics
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("accesses", accessTracker.getAccesses());
+        report.put("size", accessTracker.getHeavyHitters().getSize());
+        report.put("hotKeys", getHotKeys());
+        report.put("cache", bookCache.getStatistics());
+        return report;
+    }
+
+    private Long pinnableId(HotKey key) {
+        return switch (key.kind()) {
+            case ID -> Long.valueOf(key.key());
+            case ISBN -> bookCache.findIdByIsbn(key.key());
+            default -> null;
+        };
+    }
+
+    private void recordEvents() {
+        int rank = 0;
+        for (Map<String, Object> hotKey : getHotKeys()) {
+            HotKeyEvent event = new HotKeyEvent();
+            event.rank = ++rank;
+            event.kind = (String) hotKey.get("kind");
+            event.key = (String) hotKey.get("key");
+            event.estimate = (Long) hotKey.get("estimate");
+            event.ratePerSecond = (Double) hotKey.get("ratePerSecond");
+            event.pinned = (Boolean) hotKey.get("pinned");
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bookstore.changelog;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of the change log: a book that was created, updated or deleted.
+ */
+public final class BookChange {
+
+    private final long seq;
+    private final long bookId;
+    private final ChangeOperation operation;
+    private final List<String> changedFields;
+    private final LocalDateTime changedAt;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param seq           position in the change log, increasing in commit order
+     * @param bookId        the id of the changed book
+     * @param operation     the kind of write
+     * @param changedFields names of the fields the write changed; all fields for a create, none for a delete
+     * @param changedAt     when the write happened
+     */
+    public BookChange(long seq, long bookId, ChangeOperation operation, List<String> changedFields,
+                      LocalDateTime changedAt) {
+        this.seq = seq;
+        this.bookId = bookId;
+        this.operation = operation;
+        this.changedFields = List.copyOf(changedFields);
+        this.changedAt = changedAt;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.bookstore.changelog;
+
+import com.example.bookstore.entity.Book;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Append-only log of book writes in the {@code book_changes} table, read by consumers that sync
+ * the catalog incrementally.
+ *
+ * Entries are appended by the book service inside the transaction of the write they describe, so
+ * a change is visible exactly when the write commits. SQLite has a single writer and the sequence
+ * is assigned while the write lock is held, so sequence order is commit order: a consumer that
+ * has read up to a sequence number will never later find a smaller one appear.
+ *
+ * Compaction removes entries older than the retention period, and the oldest entries beyond the
+ * size cap, in small batches so writers are not blocked for long. The newest entry is always
+ * kept, so the first retained sequence tells consumers whether they fell behind what was removed.
+ */
+@Component
+public class ChangeLog {
+
+    /**
+     * Fields reported as changed when a book is created.
+     */
+    public static final List<String> ALL_FIELDS = List.of("title", "author", "isbn", "price", "quantity");
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+    private static final int COMPACTION_BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO book_changes (book_id, operation, changed_fields, changed_at) " +
+            "VALUES (:bookId, :operation, :changedFields, :changedAt) RETURNING seq";
+    private static final String SELECT_SINCE_SQL =
+            "SELECT seq, book_id, operation, changed_fields, changed_at FROM book_changes " +
+            "WHERE seq > :since ORDER BY seq LIMIT :limit";
+    private static final String FIRST_SEQ_SQL = "SELECT MIN(seq) FROM book_changes";
+    private static final String LAST_SEQ_SQL =
+            "SELECT COALESCE(MAX(seq), 0) FROM sqlite_sequence WHERE name = 'book_changes'";
+    private static final String EXPIRED_SEQ_SQL =
+            "SELECT COALESCE(MAX(seq), 0) FROM book_changes WHERE changed_at < :cutoff";
+    private static final String NEWEST_RETAINED_SEQ_SQL = "SELECT COALESCE(MAX(seq), 0) FROM book_changes";
+    private static final String DELETE_BATCH_SQL =
+            "DELETE FROM book_changes WHERE seq IN " +
+            "(SELECT seq FROM book_changes WHERE seq <= :upTo ORDER BY seq LIMIT :batch)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final long retentionMillis;
+    private final long maxEntries;
+    private final LongSupplier clock;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param jdbcTemplate    the JDBC template
+     * @param retentionMillis how long entries are kept
+     * @param maxEntries      number of newest entries kept regardless of age
+     */
+    @Autowired
+    public ChangeLog(NamedParameterJdbcTemplate jdbcTemplate,
+                     @Value("${bookstore.changes.retention-ms:604800000}") long retentionMillis,
+                     @Value("${bookstore.changes.max-entries:1000000}") long maxEntries) {
+        this(jdbcTemplate, retentionMillis, maxEntries, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with an explicit clock, for tests.
+     *
+     * @param jdbcTemplate    the JDBC template
+     * @param retentionMillis how long entries are kept
+     * @param maxEntries      number of newest entries kept regardless of age
+     * @param clock           source of wall-clock milliseconds
+     */
+    ChangeLog(NamedParameterJdbcTemplate jdbcTemplate, long retentionMillis, long maxEntries, LongSupplier clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionMillis = retentionMillis;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Appends an entry. Must be called inside the transaction of the write it describes.
+     *
+     * @param bookId        the id of the changed book
+     * @param operation     the kind of write
+     * @param changedFields names of the changed fields
+     * @return the entry's sequence number
+     */
+    public long append(long bookId, ChangeOperation operation, List<String> changedFields) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("bookId", bookId)
+                .addValue("operation", operation.name())
+                .addValue("changedFields", String.join(",", changedFields))
+                .addValue("changedAt", clock.getAsLong());
+        return queryForLong(INSERT_SQL, parameters);
+    }
+
+    /**
+     * Reads the entries after a sequence number, oldest first.
+     *
+     * @param since the last sequence number the consumer has seen, 0 for all
+     * @param limit maximum number of entries
+     * @return the entries
+     */
+    public List<BookChange> findSince(long since, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("since", since)
+                .addValue("limit", limit);
+        return jdbcTemplate.query(SELECT_SINCE_SQL, parameters, (rs, rowNum) -> new BookChange(
+                rs.getLong("seq"),
+                rs.getLong("book_id"),
+                ChangeOperation.valueOf(rs.getString("operation")),
+                splitFields(rs.getString("changed_fields")),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(rs.getLong("changed_at")), ZoneId.systemDefault())));
+    }
+
+    /**
+     * Returns the oldest retained sequence number.
+     *
+     * @return the sequence number, or null if the log is empty
+     */
+    public Long getFirstSeq() {
+        return jdbcTemplate.queryForObject(FIRST_SEQ_SQL, new MapSqlParameterSource(), Long.class);
+    }
+
+    /**
+     * Returns the sequence number of the latest committed entry, including compacted ones.
+     *
+     * @return the sequence number, or 0 if nothing was ever logged
+     */
+    public long getLastSeq() {
+        return queryForLong(LAST_SEQ_SQL, new MapSqlParameterSource());
+    }
+
+    /**
+     * Removes expired entries and those beyond the size cap, always keeping the newest one.
+     *
+     * @return number of entries removed
+     */
+    @Scheduled(fixedDelayString = "${bookstore.changes.compaction-interval-ms:3600000}")
+    public int compact() {
+        long newest = queryForLong(NEWEST_RETAINED_SEQ_SQL, new MapSqlParameterSource());
+        long expired = queryForLong(EXPIRED_SEQ_SQL,
+                new MapSqlParameterSource("cutoff", clock.getAsLong() - retentionMillis));
+        long upTo = Math.min(Math.max(expired, newest - maxEntries), newest - 1);
+        if (upTo <= 0) {
+            return 0;
+        }
+        // Batches keep each delete, and the write lock it holds, short
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("upTo", upTo)
+                .addValue("batch", COMPACTION_BATCH_SIZE);
+        int deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_BATCH_SQL, parameters);
+            deleted += batch;
+        } while (batch == COMPACTION_BATCH_SIZE);
+        if (deleted > 0) {
+            log.info("Compacted change log: removed {} entries up to sequence {}", deleted, upTo);
+        }
+        return deleted;
+    }
+
+    private long queryForLong(String sql, MapSqlParameterSource parameters) {
+        Long value = jdbcTemplate.queryForObject(sql, parameters, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * Captures the logged fields of a book before it is modified.
+     *
+     * @param book the book
+     * @return map of field name to value
+     */
+    public static Map<String, Object> fields(Book book) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", book.getTitle());
+        fields.put("author", book.getAuthor());
+        fields.put("isbn", book.getIsbn());
+        fields.put("price", book.getPrice());
+        fields.put("quantity", book.getQuantity());
+        return fields;
+    }
+
+    /**
+     * Lists the fields whose values differ between a captured state and a book.
+     *
+     * @param before the fields captured with {@link #fields(Book)}
+     * @param after  the modified book
+     * @return names of the changed fields, in {@link #ALL_FIELDS} order
+     */
+    public static List<String> changedFields(Map<String, Object> before, Book after) {
+        List<String> changed = new ArrayList<>();
+        for (Map.Entry<String, Object> field : fields(after).entrySet()) {
+            if (!sameValue(before.get(field.getKey()), field.getValue())) {
+                changed.add(field.getKey());
+            }
+        }
+        return changed;
+    }
+
+    private static boolean sameValue(Object before, Object after) {
+        if (before instanceof BigDecimal decimal && after instanceof BigDecimal other) {
+            // 10.0 and 10.00 are the same price
+            return decimal.compareTo(other) == 0;
+        }
+        return Objects.equals(before, after);
+    }
+
+    private static List<String> splitFields(String fields) {
+        return fields == null || fields.isEmpty() ? List.of() : Arrays.asList(fields.split(","));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookstore.changelog;
+
+/**
+ * The kind of write recorded in the change log.
+ */
+public enum ChangeOperation {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,151 @@
+package com.example.bookstore.concurrency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency using additive increase, multiplicative decrease.
+ *
+ * A request that finishes within the latency target while the limit is actually in use grows the
+ * limit by 1/limit, roughly one extra slot per round of requests. A request that is slower than the
+ * target, or that failed because the database was overloaded, shrinks it by the backoff ratio.
+ * Admission itself is a single compare-and-set on the in-flight count, so rejected requests cost
+ * almost nothing.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private volatile double averageLatencyNanos;
+    private volatile long lastReleaseNanos;
+
+    /**
+     * Constructor with the limit's bounds.
+     *
+     * @param name                name used in reports
+     * @param initialLimit        starting limit
+     * @param minLimit            lower bound of the limit
+     * @param maxLimit            upper bound of the limit
+     * @param latencyTargetMillis latency above which the limit is reduced
+     */
+    public AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit,
+                                    long latencyTargetMillis) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the current limit are in flight.
+     *
+     * @return true if the request was admitted and must later be {@linkplain #release released}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and adjusts the limit from its outcome.
+     *
+     * @param latencyNanos how long the request took
+     * @param overloaded   whether the request failed because the database was overloaded
+     */
+    public void release(long latencyNanos, boolean overloaded) {
+        int wasInFlight = inFlight.getAndDecrement();
+        synchronized (this) {
+            averageLatencyNanos = lastReleaseNanos == 0 ? latencyNanos
+                    : averageLatencyNanos + LATENCY_WEIGHT * (latencyNanos - averageLatencyNanos);
+            lastReleaseNanos = System.nanoTime();
+            double current = limit;
+            if (overloaded || latencyNanos > latencyTargetNanos) {
+                limit = Math.max(minLimit, current * BACKOFF_RATIO);
+            } else if (wasInFlight * 2 >= current) {
+                limit = Math.min(maxLimit, current + 1.0 / current);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the moving average of request latencies, as long as requests are still finishing.
+     *
+     * @param maxAgeMillis how long ago the last request may have finished for the average to count
+     * @return the average latency in milliseconds, or 0 if no request finished within maxAgeMillis
+     */
+    public long getRecentLatencyMillis(long maxAgeMillis) {
+        long last = lastReleaseNanos;
+        if (last == 0 || System.nanoTime() - last > TimeUnit.MILLISECONDS.toNanos(maxAgeMillis)) {
+            return 0;
+        }
+        return TimeUnit.NANOSECONDS.toMillis((long) averageLatencyNanos);
+    }
+
+    /**
+     * Returns whether every slot of the current limit is taken.
+     *
+     * @return true if the next request would be rejected
+     */
+    public boolean isSaturated() {
+        return inFlight.get() >= (int) limit;
+    }
+
+    /**
+     * Returns the current state for health reports.
+     *
+     * @return map with limit, in-flight and rejected counts
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("limit", getLimit());
+        state.put("inFlight", getInFlight());
+        state.put("minLimit", minLimit);
+        state.put("maxLimit", maxLimit);
+        state.put("latencyTargetMs", TimeUnit.NANOSECONDS.toMillis(latencyTargetNanos));
+        state.put("rejected", getRejected());
+        return state;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Load shedding for the book API: separate adaptive limits for reads and writes.
+ *
+ * Requests beyond the current limit are rejected immediately with 503 and Retry-After instead of
+ * queueing in Tomcat until every client times out. Reads and writes are limited separately
+ * because SQLite serializes writers, so write latency says little about read capacity and the
+ * other way round.
+ */
+@Component
+public class AdmissionControl {
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final AdaptiveConcurrencyLimit readLimit;
+    private final AdaptiveConcurrencyLimit writeLimit;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param enabled            whether requests are subject to the limits
+     * @param retryAfterSeconds  Retry-After hint sent with rejections
+     * @param readInitial        initial read limit
+     * @param readMin            minimum read limit
+     * @param readMax            maximum read limit
+     * @param readTargetMillis   read latency target
+     * @param writeInitial       initial write limit
+     * @param writeMin           minimum write limit
+     * @param writeMax           maximum write limit
+     * @param writeTargetMillis  write latency target
+     */
+    public AdmissionControl(@Value("${bookstore.limiter.enabled:true}") boolean enabled,
+                            @Value("${bookstore.limiter.retry-after-seconds:1}") long retryAfterSeconds,
+                            @Value("${bookstore.limiter.read.initial:20}") int readInitial,
+                            @Value("${bookstore.limiter.read.min:2}") int readMin,
+                            @Value("${bookstore.limiter.read.max:200}") int readMax,
+                            @Value("${bookstore.limiter.read.latency-target-ms:50}") long readTargetMillis,
+                            @Value("${bookstore.limiter.write.initial:4}") int writeInitial,
+                            @Value("${bookstore.limiter.write.min:1}") int writeMin,
+                            @Value("${bookstore.limiter.write.max:20}") int writeMax,
+                            @Value("${bookstore.limiter.write.latency-target-ms:200}") long writeTargetMillis) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.readLimit = new AdaptiveConcurrencyLimit("read", readInitial, readMin, readMax, readTargetMillis);
+        this.writeLimit = new AdaptiveConcurrencyLimit("write", writeInitial, writeMin, writeMax, writeTargetMillis);
+    }
+
+    /**
+     * Admits a request or rejects it.
+     *
+     * @param write whether the request modifies data
+     * @return the limit the request was admitted under, or null if admission control is disabled
+     * @throws ServiceUnavailableException if the limit is reached
+     */
+    public AdaptiveConcurrencyLimit admit(boolean write) {
+        if (!enabled) {
+            return null;
+        }
+        AdaptiveConcurrencyLimit limit = write ? writeLimit : readLimit;
+        if (!limit.tryAcquire()) {
+            throw new ServiceUnavailableException(
+                    "Server is at its " + limit.getName() + " capacity, please retry", retryAfterSeconds);
+        }
+        return limit;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public AdaptiveConcurrencyLimit getReadLimit() {
+        return readLimit;
+    }
+
+    public AdaptiveConcurrencyLimit getWriteLimit() {
+        return writeLimit;
+    }
+}
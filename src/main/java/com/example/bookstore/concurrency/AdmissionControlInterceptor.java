@@ -0,0 +1,85 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.DeadlineExceededException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Applies {@link AdmissionControl} to each request and feeds its latency back into the limit.
+ * Registered ahead of the database gate so that rejected requests never wait for a permit.
+ *
+ * A handler that goes asynchronous releases its slot when the request thread is released, with
+ * the latency of its synchronous part only; time spent waiting, for example in a long-poll watch,
+ * says nothing about how the database keeps up.
+ */
+public class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ADMISSION_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".admission";
+    private static final Object RELEASED = new Object();
+
+    private final AdmissionControl admissionControl;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param admissionControl the limits to apply
+     */
+    public AdmissionControlInterceptor(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+            return true;
+        }
+        boolean write = !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())
+                || "OPTIONS".equals(request.getMethod()));
+        AdaptiveConcurrencyLimit limit = admissionControl.admit(write);
+        if (limit != null) {
+            request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(limit, System.nanoTime()));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.setAttribute(ADMISSION_ATTRIBUTE, RELEASED);
+            admission.limit.release(System.nanoTime() - admission.startNanos, false);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.limit.release(System.nanoTime() - admission.startNanos, isOverload(response, ex));
+        }
+    }
+
+    /**
+     * Whether the request failed because the database could not keep up, rather than for a client error.
+     */
+    private static boolean isOverload(HttpServletResponse response, Exception ex) {
+        if (ex instanceof ServiceUnavailableException || ex instanceof DeadlineExceededException
+                || ex instanceof QueryTimeoutException || ex instanceof TransientDataAccessException) {
+            return true;
+        }
+        int status = response.getStatus();
+        return status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    /**
+     * An admitted request and the limit it holds a slot in.
+     */
+    private record Admission(AdaptiveConcurrencyLimit limit, long startNanos) {
+    }
+}
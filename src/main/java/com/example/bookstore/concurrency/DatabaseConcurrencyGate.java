@@ -0,0 +1,195 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounds the number of requests that may use the database at the same time.
+ *
+ * Readers and writers get separate fair semaphores: SQLite serializes writers anyway, so letting
+ * more than one writer in only moves the queue into the driver's busy handler, while readers are
+ * bounded by the connection pool. Waiting on a semaphore parks a virtual thread without holding
+ * its carrier, whereas a thread inside the sqlite-jdbc driver stays pinned to its carrier for the
+ * whole native call. With virtual threads enabled the combined permits are therefore capped below
+ * the carrier parallelism so at least one carrier is always free to run other requests. With one
+ * or two carriers that leaves room for a single permit, too few to give readers and writers one
+ * each, so both then also take the one permit of a shared semaphore.
+ */
+@Component
+public class DatabaseConcurrencyGate {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseConcurrencyGate.class);
+
+    private final Semaphore readers;
+    private final Semaphore writers;
+    // Only set when the carrier budget is smaller than one reader plus one writer
+    private final Semaphore shared;
+    private final int readerLimit;
+    private final int writerLimit;
+    private final long acquireTimeoutMillis;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param readerLimit          maximum concurrent readers, normally the connection pool size
+     * @param writerLimit          maximum concurrent writers
+     * @param acquireTimeoutMillis how long a request may wait for a permit before it is rejected
+     * @param virtualThreads       whether requests run on virtual threads
+     */
+    public DatabaseConcurrencyGate(
+            @Value("${bookstore.db-gate.readers:${spring.datasource.hikari.maximum-pool-size:10}}") int readerLimit,
+            @Value("${bookstore.db-gate.writers:1}") int writerLimit,
+            @Value("${bookstore.db-gate.acquire-timeout-ms:2000}") long acquireTimeoutMillis,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (readerLimit < 1 || writerLimit < 1) {
+            throw new IllegalArgumentException("Reader and writer limits must be at least 1");
+        }
+        int carrierBudget = Integer.MAX_VALUE;
+        if (virtualThreads) {
+            carrierBudget = Math.max(1, carrierParallelism() - 1);
+            writerLimit = Math.min(writerLimit, carrierBudget);
+            readerLimit = Math.max(1, Math.min(readerLimit, carrierBudget - writerLimit));
+        }
+        this.readerLimit = readerLimit;
+        this.writerLimit = writerLimit;
+        this.readers = new Semaphore(readerLimit, true);
+        this.writers = new Semaphore(writerLimit, true);
+        this.shared = readerLimit + writerLimit > carrierBudget ? new Semaphore(carrierBudget, true) : null;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        log.info("Database concurrency gate: {} readers, {} writers{} (virtual threads: {})",
+                readerLimit, writerLimit, shared == null ? "" : ", " + carrierBudget + " in total", virtualThreads);
+    }
+
+    /**
+     * Waits for a read permit.
+     *
+     * @return the permit, to be released when the request completes
+     * @throws ServiceUnavailableException if no permit becomes available in time
+     */
+    public Permit acquireRead() {
+        return acquire(readers, "readers");
+    }
+
+    /**
+     * Waits for a write permit.
+     *
+     * @return the permit, to be released when the request completes
+     * @throws ServiceUnavailableException if no permit becomes available in time
+     */
+    public Permit acquireWrite() {
+        return acquire(writers, "writers");
+    }
+
+    /**
+     * Takes a write permit only if one is free and no request is waiting for it, for background
+     * work that must yield to requests.
+     *
+     * @return the permit, or null if requests hold or wait for every write permit
+     */
+    public Permit tryAcquireWrite() {
+        try {
+            // A zero timeout, unlike tryAcquire(), respects the semaphore's fairness
+            if (!writers.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+            if (shared != null && !shared.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                writers.release();
+                return null;
+            }
+            return new Permit(writers, shared);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Permit acquire(Semaphore semaphore, String kind) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        if (!tryAcquire(semaphore, deadline)) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Database is saturated (" + kind + "), please retry", 1);
+        }
+        if (shared != null && !tryAcquire(shared, deadline)) {
+            semaphore.release();
+            rejected.increment();
+            throw new ServiceUnavailableException("Database is saturated (carriers), please retry", 1);
+        }
+        return new Permit(semaphore, shared);
+    }
+
+    private static boolean tryAcquire(Semaphore semaphore, long deadlineNanos) {
+        try {
+            return semaphore.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int carrierParallelism() {
+        return Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    public int getReaderLimit() {
+        return readerLimit;
+    }
+
+    public int getWriterLimit() {
+        return writerLimit;
+    }
+
+    public int getActiveReaders() {
+        return readerLimit - readers.availablePermits();
+    }
+
+    public int getActiveWriters() {
+        return writerLimit - writers.availablePermits();
+    }
+
+    public int getQueuedRequests() {
+        return readers.getQueueLength() + writers.getQueueLength() + (shared == null ? 0 : shared.getQueueLength());
+    }
+
+    public int getQueuedWriters() {
+        return writers.getQueueLength();
+    }
+
+    public long getRejectedRequests() {
+        return rejected.sum();
+    }
+
+    /**
+     * A held permit. Releasing it more than once has no effect.
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final Semaphore semaphore;
+        private final Semaphore shared;
+        private boolean released;
+
+        private Permit(Semaphore semaphore, Semaphore shared) {
+            this.semaphore = semaphore;
+            this.shared = shared;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                if (shared != null) {
+                    shared.release();
+                }
+                semaphore.release();
+            }
+        }
+    }
+}
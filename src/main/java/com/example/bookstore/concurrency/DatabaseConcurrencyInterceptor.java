@@ -0,0 +1,64 @@
+package com.example.bookstore.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Holds a {@link DatabaseConcurrencyGate} permit for the duration of a request.
+ * Safe methods take a read permit, everything else a write permit.
+ *
+ * A handler that goes asynchronous, such as a long-poll watch, gives its permit back as soon as
+ * the request thread is released: it no longer touches the database while it waits, and the
+ * dispatch that writes its result does not take a new one.
+ */
+public class DatabaseConcurrencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyInterceptor.class.getName() + ".permit";
+    private static final Object RELEASED = new Object();
+
+    private final DatabaseConcurrencyGate gate;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param gate the gate to acquire permits from
+     */
+    public DatabaseConcurrencyInterceptor(DatabaseConcurrencyGate gate) {
+        this.gate = gate;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        DatabaseConcurrencyGate.Permit permit = isRead(request.getMethod()) ? gate.acquireRead() : gate.acquireWrite();
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof DatabaseConcurrencyGate.Permit held) {
+            request.setAttribute(PERMIT_ATTRIBUTE, RELEASED);
+            held.close();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit instanceof DatabaseConcurrencyGate.Permit held) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            held.close();
+        }
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bookstore.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request must have finished.
+ *
+ * The deadline of the work running on the current thread is available through {@link #current()}
+ * so that lower layers, such as the JDBC instrumentation, can bound statements by the time the
+ * client is still willing to wait.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * Creates a deadline the given number of milliseconds from now.
+     *
+     * @param millis the time budget in milliseconds
+     * @return the deadline
+     */
+    public static Deadline afterMillis(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Returns the deadline of the work running on this thread.
+     *
+     * @return the current deadline, or null if the work is unbounded
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a deadline to the current thread.
+     *
+     * @param deadline the deadline to bind, or null to unbind
+     */
+    public static void bind(Deadline deadline) {
+        if (deadline == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(deadline);
+        }
+    }
+
+    public long remainingNanos() {
+        return expiresAtNanos - System.nanoTime();
+    }
+
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
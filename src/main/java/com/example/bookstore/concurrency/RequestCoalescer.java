@@ -0,0 +1,176 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.DeadlineExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical concurrent reads.
+ *
+ * The first caller for a key runs the loader on its own thread; callers arriving with the same
+ * key while it is in flight wait for that result instead of issuing their own query. The entry
+ * is removed as soon as the load completes, so nothing is cached: a call that starts after the
+ * load finished always runs a fresh query. Failures are shared the same way as results. A caller
+ * with a {@link Deadline} waits for the shared load only until its deadline, then gives up with a
+ * {@link DeadlineExceededException} while the load continues for the others.
+ *
+ * Keys are the operation name plus the argument, compared exactly. A caller whose query compares
+ * more loosely passes the argument folded the same way, e.g. through {@link #likeKey(String)} for
+ * LIKE patterns, so that calls with equal results share a load and no others do. Results are
+ * shared between threads and must not be mutated by callers.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param enabled whether concurrent identical calls are coalesced
+     */
+    public RequestCoalescer(@Value("${bookstore.coalescing.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Runs the loader, or joins an identical load already in flight.
+     *
+     * @param operation the operation name
+     * @param argument  the operation argument; calls with equal arguments are coalesced
+     * @param loader    the query to run
+     * @param <T>       the result type
+     * @return the loader's result, possibly produced on another thread
+     * @throws DeadlineExceededException if the caller's deadline passes while it waits for another thread's load
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object argument, Supplier<T> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Counters operationCounters = counters.computeIfAbsent(operation, name -> new Counters());
+        Key key = new Key(operation, argument);
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            operationCounters.coalesced.increment();
+            return (T) await(existing);
+        }
+        operationCounters.executed.increment();
+        try {
+            T result = loader.get();
+            pending.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            pending.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        Deadline deadline = Deadline.current();
+        try {
+            if (deadline == null) {
+                return future.join();
+            }
+            return future.get(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Coalesced load failed", ex);
+        } catch (CancellationException ex) {
+            throw new IllegalStateException("Coalesced load was cancelled", ex);
+        } catch (TimeoutException ex) {
+            throw new DeadlineExceededException("Request deadline exceeded while waiting for a coalesced load", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DeadlineExceededException("Interrupted while waiting for a coalesced load", ex);
+        }
+    }
+
+    /**
+     * Folds a LIKE operand into a coalescing key. SQLite's LIKE ignores the case of ASCII letters
+     * only, so other characters, including whitespace and non-ASCII letters, are kept as they are.
+     *
+     * @param operand the text matched with LIKE
+     * @return the operand with ASCII letters in lower case, or null for null
+     */
+    public static String likeKey(String operand) {
+        if (operand == null) {
+            return null;
+        }
+        char[] chars = operand.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns per-operation counts of executed and coalesced calls.
+     *
+     * @return map of operation name to its counters, sorted by name
+     */
+    public Map<String, Map<String, Long>> getStatistics() {
+        Map<String, Map<String, Long>> statistics = new TreeMap<>();
+        counters.forEach((operation, value) -> statistics.put(operation, Map.of(
+                "executed", value.executed.sum(),
+                "coalesced", value.coalesced.sum())));
+        return statistics;
+    }
+
+    public long getCoalescedCalls() {
+        return counters.values().stream().mapToLong(value -> value.coalesced.sum()).sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Identity of a load: operation name and argument.
+     */
+    private record Key(String operation, Object argument) {
+
+        private Key {
+            Objects.requireNonNull(operation, "operation");
+        }
+    }
+
+    /**
+     * Call counters of one operation.
+     */
+    private static final class Counters {
+
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder coalesced = new LongAdder();
+    }
+}
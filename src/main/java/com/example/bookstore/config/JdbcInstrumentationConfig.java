@@ -0,0 +1,43 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.jdbc.InstrumentedDataSource;
+import com.example.bookstore.jdbc.StatementListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * JDBC instrumentation configuration.
+ * Wraps the application DataSource so that every statement is reported to the registered
+ * {@link StatementListener} beans.
+ */
+@Configuration
+public class JdbcInstrumentationConfig {
+
+    /**
+     * Decorates DataSource beans with an {@link InstrumentedDataSource}.
+     * Declared static so that it is registered before any DataSource is created.
+     *
+     * @param listeners the statement listeners, resolved lazily on the first statement
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<StatementListener> listeners) {
+        SingletonSupplier<List<StatementListener>> resolvedListeners =
+                SingletonSupplier.of(() -> listeners.orderedStream().toList());
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof InstrumentedDataSource)) {
+                    return new InstrumentedDataSource(dataSource, resolvedListeners);
+                }
+                return bean;
+            }
+        };
+    }
+}
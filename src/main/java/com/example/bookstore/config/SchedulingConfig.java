@@ -0,0 +1,13 @@
+package com.example.bookstore.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduling configuration.
+ * Enables {@code @Scheduled} housekeeping tasks such as rate-limit bucket eviction.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
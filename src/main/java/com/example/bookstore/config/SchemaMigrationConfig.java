@@ -0,0 +1,73 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.migration.SchemaMigrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Schema migration configuration.
+ * Migrates the application database as soon as its DataSource is created, so that no bean ever
+ * sees an older schema. Replaces {@code spring.sql.init}, which re-ran one script on every start.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    /**
+     * Runs the {@link SchemaMigrator} on DataSource beans.
+     * Declared static so that it is registered before any DataSource is created, and ordered
+     * first so that it sees the DataSource before it is instrumented.
+     *
+     * @param environment the environment holding the migration settings
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor schemaMigrationPostProcessor(Environment environment) {
+        boolean enabled = environment.getProperty("bookstore.migration.enabled", Boolean.class, true);
+        String location = environment.getProperty("bookstore.migration.location", SchemaMigrator.DEFAULT_LOCATION);
+        return new MigratingPostProcessor(enabled, location);
+    }
+
+    /**
+     * Reads the schema version and applied migrations for the admin endpoint.
+     *
+     * @param dataSource the application database
+     * @param location   the directory holding the scripts
+     * @return the migrator
+     */
+    @Bean
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+                                         @Value("${bookstore.migration.location:"
+                                                 + SchemaMigrator.DEFAULT_LOCATION + "}") String location) {
+        return new SchemaMigrator(dataSource, location);
+    }
+
+    private static final class MigratingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final boolean enabled;
+        private final String location;
+
+        private MigratingPostProcessor(boolean enabled, String location) {
+            this.enabled = enabled;
+            this.location = location;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (enabled && bean instanceof DataSource dataSource) {
+                new SchemaMigrator(dataSource, location).migrate();
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
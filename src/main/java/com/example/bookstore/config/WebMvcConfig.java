@@ -0,0 +1,80 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.concurrency.AdmissionControl;
+import com.example.bookstore.concurrency.AdmissionControlInterceptor;
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.concurrency.DatabaseConcurrencyInterceptor;
+import com.example.bookstore.health.ErrorRateCheck;
+import com.example.bookstore.health.ErrorRateInterceptor;
+import com.example.bookstore.monitoring.ServerTimingInterceptor;
+import com.example.bookstore.ratelimit.ClientRateLimiter;
+import com.example.bookstore.ratelimit.RateLimitInterceptor;
+import com.example.bookstore.replication.ReplicaInterceptor;
+import com.example.bookstore.replication.ReplicationFollower;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Spring MVC configuration.
+ * Registers the handler interceptors that wrap API requests.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ErrorRateCheck errorRateCheck;
+    private final ClientRateLimiter clientRateLimiter;
+    private final AdmissionControl admissionControl;
+    private final DatabaseConcurrencyGate databaseConcurrencyGate;
+    private final ObjectProvider<ReplicationFollower> replicationFollower;
+    private final Set<String> apiKeys;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param errorRateCheck          the readiness check counting failed API requests
+     * @param clientRateLimiter       the per-client rate limiter
+     * @param admissionControl        the adaptive limits that shed excess load
+     * @param databaseConcurrencyGate the gate bounding concurrent database work
+     * @param replicationFollower     the follower, present only when running as one
+     * @param apiKeys                 the API keys that get their own rate-limit quota
+     */
+    public WebMvcConfig(ErrorRateCheck errorRateCheck, ClientRateLimiter clientRateLimiter,
+                        AdmissionControl admissionControl, DatabaseConcurrencyGate databaseConcurrencyGate,
+                        ObjectProvider<ReplicationFollower> replicationFollower,
+                        @Value("${bookstore.rate-limit.api-keys:}") String[] apiKeys) {
+        this.errorRateCheck = errorRateCheck;
+        this.clientRateLimiter = clientRateLimiter;
+        this.admissionControl = admissionControl;
+        this.databaseConcurrencyGate = databaseConcurrencyGate;
+        this.replicationFollower = replicationFollower;
+        this.apiKeys = Arrays.stream(apiKeys).map(String::trim).filter(key -> !key.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ServerTimingInterceptor());
+        registry.addInterceptor(new ErrorRateInterceptor(errorRateCheck))
+                .addPathPatterns("/api/**");
+        // On a follower, writes leave before they use any local quota or permit
+        replicationFollower.ifAvailable(follower -> registry.addInterceptor(new ReplicaInterceptor(follower))
+                .addPathPatterns("/api/books", "/api/books/**", "/api/async/books", "/api/async/books/**"));
+        registry.addInterceptor(new RateLimitInterceptor(clientRateLimiter, apiKeys))
+                .addPathPatterns("/api/books", "/api/books/**", "/api/async/books", "/api/async/books/**");
+        // Event streams and generation watches never touch the database; book watches read the
+        // book under a permit and give it back when they start waiting
+        registry.addInterceptor(new AdmissionControlInterceptor(admissionControl))
+                .addPathPatterns("/api/books", "/api/books/**")
+                .excludePathPatterns("/api/books/events", "/api/books/generation");
+        registry.addInterceptor(new DatabaseConcurrencyInterceptor(databaseConcurrencyGate))
+                .addPathPatterns("/api/books", "/api/books/**")
+                .excludePathPatterns("/api/books/events", "/api/books/generation");
+    }
+}
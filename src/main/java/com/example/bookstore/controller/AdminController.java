@@ -0,0 +1,195 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.cache.HotKeyMonitor;
+import com.example.bookstore.concurrency.RequestCoalescer;
+import com.example.bookstore.events.BookEventBroadcaster;
+import com.example.bookstore.monitoring.RequestTimings;
+import com.example.bookstore.monitoring.SlowQuery;
+import com.example.bookstore.monitoring.SlowQueryLog;
+import com.example.bookstore.ratelimit.ClientRateLimiter;
+import com.example.bookstore.ratelimit.RateLimitCategory;
+import com.example.bookstore.ratelimit.RateLimitPolicy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for operational endpoints.
+ * Exposes diagnostics used when investigating performance problems.
+ */
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Admin", description = "Operational Endpoints - Provides diagnostics such as the slow-query log for investigating latency and database performance.")
+public class AdminController {
+
+    private final SlowQueryLog slowQueryLog;
+    private final RequestCoalescer requestCoalescer;
+    private final ClientRateLimiter clientRateLimiter;
+    private final HotKeyMonitor hotKeyMonitor;
+    private final BookEventBroadcaster bookEventBroadcaster;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param slowQueryLog         the slow query log
+     * @param requestCoalescer     the coalescer of concurrent identical reads
+     * @param clientRateLimiter    the per-client rate limiter
+     * @param hotKeyMonitor        the reporter of the most looked-up keys
+     * @param bookEventBroadcaster the broadcaster of book event streams
+     */
+    public AdminController(SlowQueryLog slowQueryLog, RequestCoalescer requestCoalescer,
+                           ClientRateLimiter clientRateLimiter, HotKeyMonitor hotKeyMonitor,
+                           BookEventBroadcaster bookEventBroadcaster) {
+        this.slowQueryLog = slowQueryLog;
+        this.requestCoalescer = requestCoalescer;
+        this.clientRateLimiter = clientRateLimiter;
+        this.hotKeyMonitor = hotKeyMonitor;
+        this.bookEventBroadcaster = bookEventBroadcaster;
+    }
+
+    /**
+     * Retrieves the slowest statements recorded since startup or the last reset.
+     *
+     * @return list of slow statements, slowest first
+     */
+    @GetMapping("/slow-queries")
+    @Operation(
+            summary = "Get slowest SQL statements",
+            description = "Returns the slowest SQL statements that exceeded the configured threshold, slowest first. Each entry includes the SQL, bound parameter types, row count, duration and the SQLite query plan, with full scans of the books table flagged."
+    )
+    public ResponseEntity<List<SlowQuery>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryLog.getSlowest());
+    }
+
+    /**
+     * Clears the slow-query log.
+     *
+     * @return no content response
+     */
+    @DeleteMapping("/slow-queries")
+    @Operation(
+            summary = "Clear slow-query log",
+            description = "Discards all retained slow statements, for example before reproducing a latency problem."
+    )
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Reports whether the Server-Timing header is currently emitted.
+     *
+     * @return map containing the switch position
+     */
+    @GetMapping("/server-timing")
+    @Operation(
+            summary = "Get Server-Timing switch",
+            description = "Reports whether responses currently carry a Server-Timing header with the per-phase latency breakdown."
+    )
+    public Map<String, Boolean> getServerTiming() {
+        return Map.of("enabled", RequestTimings.isEnabled());
+    }
+
+    /**
+     * Switches the Server-Timing header on or off at runtime.
+     *
+     * @param enabled whether to emit the header
+     * @return map containing the new switch position
+     */
+    @PutMapping("/server-timing")
+    @Operation(
+            summary = "Switch Server-Timing on or off",
+            description = "Enables or disables the Server-Timing header at runtime. While disabled, the request pipeline does no timing work and responses are not buffered."
+    )
+    public Map<String, Boolean> setServerTiming(@RequestParam boolean enabled) {
+        RequestTimings.setEnabled(enabled);
+        return Map.of("enabled", enabled);
+    }
+
+    /**
+     * Reports how many reads were served by joining an identical in-flight query.
+     *
+     * @return map of operation name to executed and coalesced call counts
+     */
+    @GetMapping("/coalescing")
+    @Operation(
+            summary = "Get request coalescing statistics",
+            description = "Returns, per repository read, how many calls executed a query and how many joined an identical query already in flight instead of issuing their own."
+    )
+    public Map<String, Map<String, Long>> getCoalescing() {
+        return requestCoalescer.getStatistics();
+    }
+
+    /**
+     * Reports the per-client rate limits and how many requests they rejected.
+     *
+     * @return map of category to policy and counters
+     */
+    @GetMapping("/rate-limits")
+    @Operation(
+            summary = "Get rate limits",
+            description = "Returns the per-client rate limit of each endpoint category (read, search, write), the number of clients currently tracked and the number of rejected requests."
+    )
+    public Map<String, Map<String, Object>> getRateLimits() {
+        return clientRateLimiter.getStatus();
+    }
+
+    /**
+     * Changes the rate limit of an endpoint category at runtime.
+     *
+     * @param category          the endpoint category (read, search or write)
+     * @param requestsPerSecond sustained requests per second per client
+     * @param burst             requests a client may send at once after being idle
+     * @return the updated rate limits
+     */
+    @PutMapping("/rate-limits/{category}")
+    @Operation(
+            summary = "Update a rate limit",
+            description = "Replaces the per-client rate and burst of one endpoint category without a restart. Existing client buckets are kept and measured against the new limit from their next request."
+    )
+    public Map<String, Map<String, Object>> updateRateLimit(@PathVariable String category,
+                                                            @RequestParam double requestsPerSecond,
+                                                            @RequestParam int burst) {
+        clientRateLimiter.updatePolicy(RateLimitCategory.valueOf(category.toUpperCase()),
+                new RateLimitPolicy(requestsPerSecond, burst));
+        return clientRateLimiter.getStatus();
+    }
+
+    /**
+     * Reports the most looked-up ids, ISBNs, authors and search terms.
+     *
+     * @return map with the heavy hitters and cache statistics
+     */
+    @GetMapping("/hot-keys")
+    @Operation(
+            summary = "Get hot keys",
+            description = "Returns the most looked-up book ids, ISBNs, authors and search terms with their estimated lookup counts and rates per second, whether each book is pinned in the entity cache, and the cache statistics. Counts are count-min sketch estimates and may overcount slightly."
+    )
+    public Map<String, Object> getHotKeys() {
+        return hotKeyMonitor.getReport();
+    }
+
+    /**
+     * Reports the open book event streams and how many events were delivered or dropped.
+     *
+     * @return map of counter name to value
+     */
+    @GetMapping("/events")
+    @Operation(
+            summary = "Get event stream statistics",
+            description = "Returns the number of open book event streams, the events published by writes and delivered to subscribers, the subscribers dropped for falling behind, and the number of times writers overran the event ring."
+    )
+    public Map<String, Object> getEvents() {
+        return bookEventBroadcaster.getStatistics();
+    }
+}
@@ -0,0 +1,279 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookRequest;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.exception.DeadlineExceededException;
+import com.example.bookstore.service.AsyncBookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * REST controller for asynchronous book operations.
+ *
+ * Mirrors {@link BookController} under /api/async/books, but releases the request thread while
+ * the work runs on the service's executors. Each request carries a deadline taken from the
+ * X-Request-Timeout header (milliseconds); when the client disconnects or the deadline passes,
+ * the pending work is cancelled so it never reaches the database.
+ */
+@RestController
+@RequestMapping("/api/async/books")
+@Validated
+@Tag(name = "Books (async)", description = "Asynchronous Book API - Same operations as /api/books, executed off the request thread with a per-request deadline set via the X-Request-Timeout header.")
+public class AsyncBookController {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+    private static final long RESULT_GRACE_MILLIS = 1_000;
+
+    private final AsyncBookService asyncBookService;
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param asyncBookService     the asynchronous book service
+     * @param defaultTimeoutMillis deadline applied when the request does not carry one
+     * @param maxTimeoutMillis     upper bound for deadlines requested by clients
+     */
+    public AsyncBookController(AsyncBookService asyncBookService,
+                               @Value("${bookstore.async.default-timeout-ms:5000}") long defaultTimeoutMillis,
+                               @Value("${bookstore.async.max-timeout-ms:30000}") long maxTimeoutMillis) {
+        this.asyncBookService = asyncBookService;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+    }
+
+    /**
+     * Retrieves all books.
+     *
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred list of all books
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get all books (async)",
+            description = "Asynchronous variant of GET /api/books."
+    )
+    public DeferredResult<ResponseEntity<List<BookResponse>>> getAllBooks(
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.getAllBooks(deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves a book by its ID.
+     *
+     * @param id            the book ID
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred book response
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get book by ID (async)",
+            description = "Asynchronous variant of GET /api/books/{id}."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> getBookById(
+            @PathVariable Long id,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.getBookById(id, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves a book by its ISBN.
+     *
+     * @param isbn          the book ISBN
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred book response
+     */
+    @GetMapping("/isbn/{isbn}")
+    @Operation(
+            summary = "Get book by ISBN (async)",
+            description = "Asynchronous variant of GET /api/books/isbn/{isbn}."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> getBookByIsbn(
+            @PathVariable @NotBlank String isbn,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.getBookByIsbn(isbn, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Retrieves all books by author.
+     *
+     * @param author        the author name
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred list of books by the author
+     */
+    @GetMapping("/author/{author}")
+    @Operation(
+            summary = "Get books by author (async)",
+            description = "Asynchronous variant of GET /api/books/author/{author}."
+    )
+    public DeferredResult<ResponseEntity<List<BookResponse>>> getBooksByAuthor(
+            @PathVariable @NotBlank String author,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.getBooksByAuthor(author, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Searches books by title (partial match).
+     *
+     * @param title         the title to search for
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred list of matching books
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search books by title (async)",
+            description = "Asynchronous variant of GET /api/books/search."
+    )
+    public DeferredResult<ResponseEntity<List<BookResponse>>> searchBooksByTitle(
+            @RequestParam @NotBlank String title,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.searchBooksByTitle(title, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Creates a new book.
+     *
+     * @param bookRequest   the book creation request
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred created book response
+     */
+    @PostMapping
+    @Operation(
+            summary = "Create a new book (async)",
+            description = "Asynchronous variant of POST /api/books."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> createBook(
+            @Valid @RequestBody BookRequest bookRequest,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.createBook(bookRequest, deadline), deadline,
+                book -> ResponseEntity.status(HttpStatus.CREATED).body(book));
+    }
+
+    /**
+     * Updates an existing book (full update).
+     *
+     * @param id            the book ID
+     * @param bookRequest   the book update request
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred updated book response
+     */
+    @PutMapping("/{id}")
+    @Operation(
+            summary = "Update a book (async)",
+            description = "Asynchronous variant of PUT /api/books/{id}."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> updateBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookRequest bookRequest,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.updateBook(id, bookRequest, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Partially updates an existing book.
+     *
+     * @param id            the book ID
+     * @param updateRequest the partial update request
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred updated book response
+     */
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Partially update a book (async)",
+            description = "Asynchronous variant of PATCH /api/books/{id}."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> patchBook(
+            @PathVariable Long id,
+            @Valid @RequestBody BookUpdateRequest updateRequest,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.patchBook(id, updateRequest, deadline), deadline, ResponseEntity::ok);
+    }
+
+    /**
+     * Deletes a book by its ID.
+     *
+     * @param id            the book ID
+     * @param timeoutMillis the request deadline in milliseconds
+     * @return deferred no content response
+     */
+    @DeleteMapping("/{id}")
+    @Operation(
+            summary = "Delete a book (async)",
+            description = "Asynchronous variant of DELETE /api/books/{id}."
+    )
+    public DeferredResult<ResponseEntity<Void>> deleteBook(
+            @PathVariable Long id,
+            @Parameter(description = "Request deadline in milliseconds")
+            @RequestHeader(value = TIMEOUT_HEADER, required = false) Long timeoutMillis) {
+        Deadline deadline = deadline(timeoutMillis);
+        return defer(asyncBookService.deleteBook(id, deadline), deadline,
+                ignored -> ResponseEntity.noContent().build());
+    }
+
+    private Deadline deadline(Long timeoutMillis) {
+        if (timeoutMillis == null) {
+            return Deadline.afterMillis(defaultTimeoutMillis);
+        }
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException(TIMEOUT_HEADER + " must be a positive number of milliseconds");
+        }
+        return Deadline.afterMillis(Math.min(timeoutMillis, maxTimeoutMillis));
+    }
+
+    /**
+     * Adapts a service future to a DeferredResult. The container timeout is set slightly past the
+     * deadline as a backstop; a timeout or client disconnect cancels the future so queued work is dropped.
+     */
+    private static <T, R> DeferredResult<ResponseEntity<R>> defer(CompletableFuture<T> future, Deadline deadline,
+                                                                  Function<T, ResponseEntity<R>> toResponse) {
+        DeferredResult<ResponseEntity<R>> result =
+                new DeferredResult<>(Math.max(0, deadline.remainingMillis()) + RESULT_GRACE_MILLIS);
+        result.onTimeout(() -> {
+            future.cancel(false);
+            result.setErrorResult(new DeadlineExceededException("Request deadline exceeded"));
+        });
+        result.onError(ex -> future.cancel(false));
+        future.whenComplete((value, ex) -> {
+            if (ex == null) {
+                result.setResult(toResponse.apply(value));
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                result.setErrorResult(cause);
+            }
+        });
+        return result;
+    }
+}
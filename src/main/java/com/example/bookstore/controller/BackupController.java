@@ -0,0 +1,67 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.backup.OnlineBackup;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * REST controller for online backups.
+ * Starts backups on demand and reports their progress and the retained backup files.
+ */
+@RestController
+@RequestMapping("/admin/backups")
+@Tag(name = "Backups", description = "Backup Endpoints - Starts online backups of the database and reports their progress, timings and the retained backup files.")
+public class BackupController {
+
+    private final OnlineBackup onlineBackup;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param onlineBackup the online backup
+     */
+    public BackupController(OnlineBackup onlineBackup) {
+        this.onlineBackup = onlineBackup;
+    }
+
+    /**
+     * Starts a backup in the background.
+     *
+     * @return accepted response with the backup status
+     */
+    @PostMapping
+    @Operation(
+            summary = "Start an online backup",
+            description = "Copies the database through the SQLite backup API in page steps with pauses in between, while reads and writes carry on. The copy is kept only if PRAGMA integrity_check passes, after which the oldest backups beyond the retention count and age are removed. Returns 202 Accepted with the status to poll, or 503 Service Unavailable if a backup is already running."
+    )
+    public ResponseEntity<Map<String, Object>> startBackup() {
+        onlineBackup.start(OnlineBackup.TRIGGER_ADMIN);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(onlineBackup.getStatus());
+    }
+
+    /**
+     * Retrieves the backup status and the retained backups.
+     *
+     * @return map with the status and the backups, newest first
+     * @throws IOException if the backup directory cannot be read
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get backup status",
+            description = "Returns the progress of a running backup in pages, the outcome and timings of the last backup (copy time, longest step, integrity check time), success and failure counters, the settings, and the retained backup files, newest first."
+    )
+    public ResponseEntity<Map<String, Object>> getBackups() throws IOException {
+        Map<String, Object> status = onlineBackup.getStatus();
+        status.put("backups", onlineBackup.listBackups());
+        return ResponseEntity.ok(status);
+    }
+}
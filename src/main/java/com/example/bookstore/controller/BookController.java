@@ -1,8 +1,12 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.BookChangesResponse;
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstonesResponse;
 import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.events.BookWatchRegistry;
+import com.example.bookstore.replication.ReplicaInterceptor;
 import com.example.bookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +15,18 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller for book operations.
@@ -35,14 +43,17 @@ import java.util.List;
 public class BookController {
     
     private final BookService bookService;
+    private final BookWatchRegistry bookWatchRegistry;
     
     /**
      * Constructor for dependency injection.
      *
-     * @param bookService the book service
+     * @param bookService       the book service
+     * @param bookWatchRegistry the registry of long-poll watches
      */
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookWatchRegistry bookWatchRegistry) {
         this.bookService = bookService;
+        this.bookWatchRegistry = bookWatchRegistry;
     }
     
     /**
@@ -83,6 +94,54 @@ public class BookController {
         return ResponseEntity.ok(book);
     }
     
+    /**
+     * Waits for a book to change.
+     *
+     * @param id      the book ID
+     * @param version the version the caller has
+     * @param timeout how long to wait in milliseconds
+     * @return deferred newer book, or 304 when nothing changed before the timeout
+     */
+    @GetMapping(value = "/{id}", params = "watch=true")
+    @Operation(
+            summary = "Watch a book for changes (long-poll)",
+            description = "Returns the book as soon as its version is newer than the given one: immediately if it already is, otherwise when a write to the book commits. The version is the updatedAt timestamp in epoch milliseconds and is returned in the X-Book-Version header. Returns 304 Not Modified when the timeout expires first, and 404 if the book is deleted. The request thread is released while waiting; use GET /api/books/events where Server-Sent Events are available."
+    )
+    public DeferredResult<ResponseEntity<BookResponse>> watchBookById(
+            @Parameter(
+                    description = "Unique identifier of the book to watch",
+                    required = true,
+                    example = "1",
+                    schema = @Schema(type = "integer", format = "int64")
+            )
+            @PathVariable Long id,
+            @Parameter(description = "Version the caller already has, from X-Book-Version; 0 returns the book immediately", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) long version,
+            @Parameter(description = "Milliseconds to wait before answering 304, capped by the server")
+            @RequestParam(required = false) Long timeout) {
+        return bookWatchRegistry.watchBook(id, version, timeout, () -> bookService.getBookById(id));
+    }
+    
+    /**
+     * Waits for the catalog generation to move past a value.
+     *
+     * @param after   the generation the caller has
+     * @param timeout how long to wait in milliseconds
+     * @return deferred new generation, or 304 when nothing changed before the timeout
+     */
+    @GetMapping("/generation")
+    @Operation(
+            summary = "Watch the catalog generation (long-poll)",
+            description = "Returns the catalog generation, the sequence number of the latest committed write, as soon as it is greater than after: immediately if it already is, otherwise when the next write commits. Returns 304 Not Modified when the timeout expires first. Pair it with GET /api/books/changes?since=after to fetch what changed. The request thread is released while waiting."
+    )
+    public DeferredResult<ResponseEntity<Map<String, Long>>> watchGeneration(
+            @Parameter(description = "Generation the caller already has; 0 returns the current generation once anything was written", example = "0")
+            @RequestParam(defaultValue = "0") @Min(0) long after,
+            @Parameter(description = "Milliseconds to wait before answering 304, capped by the server")
+            @RequestParam(required = false) Long timeout) {
+        return bookWatchRegistry.watchGeneration(after, timeout);
+    }
+    
     /**
      * Retrieves a book by its ISBN.
      *
@@ -152,6 +211,69 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
     
+    /**
+     * Retrieves the changes made to the catalog after a sequence number.
+     *
+     * @param since the last sequence number the caller has seen
+     * @param limit maximum number of changes to return
+     * @return the changes, oldest first
+     */
+    @GetMapping("/changes")
+    @Operation(
+            summary = "Get catalog changes",
+            description = "Returns the books created, updated or deleted after the given sequence number, oldest first, with the names of the changed fields. Pass the returned nextSince as since on the next call to sync incrementally; hasMore tells whether another page is ready. Returns 410 Gone if changes after since were already compacted; the consumer then reloads the catalog and resumes from the sequence number in the X-Last-Seq header."
+    )
+    public ResponseEntity<BookChangesResponse> getChanges(
+            @Parameter(
+                    description = "Last sequence number already processed; 0 reads from the oldest retained change",
+                    example = "0",
+                    schema = @Schema(type = "integer", format = "int64", minimum = "0")
+            )
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(
+                    description = "Maximum number of changes to return",
+                    example = "100",
+                    schema = @Schema(type = "integer", minimum = "1", maximum = "1000")
+            )
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(bookService.getChanges(since, limit));
+    }
+    
+    /**
+     * Retrieves deleted books that have not been purged yet.
+     *
+     * @param since   deletion time of the last tombstone seen, in epoch milliseconds
+     * @param afterId id of the last tombstone seen
+     * @param limit   maximum number of tombstones to return
+     * @return the tombstones, in deletion order
+     */
+    @GetMapping("/tombstones")
+    @Operation(
+            summary = "Get deleted books",
+            description = "Returns the books deleted after the given position, in deletion order, for caches and consumers that keep their own copy of the catalog. A deleted book stays as a tombstone until the purge maintenance task removes it, after bookstore.tombstones.retention-ms. Pass the returned nextSince and nextAfterId as since and afterId on the next call; hasMore tells whether another page is ready."
+    )
+    public ResponseEntity<BookTombstonesResponse> getTombstones(
+            @Parameter(
+                    description = "Deletion time of the last tombstone already processed, in epoch milliseconds; 0 reads from the oldest tombstone",
+                    example = "0",
+                    schema = @Schema(type = "integer", format = "int64", minimum = "0")
+            )
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(
+                    description = "Id of the last tombstone already processed; 0 reads from the oldest tombstone",
+                    example = "0",
+                    schema = @Schema(type = "integer", format = "int64", minimum = "0")
+            )
+            @RequestParam(defaultValue = "0") @Min(0) long afterId,
+            @Parameter(
+                    description = "Maximum number of tombstones to return",
+                    example = "100",
+                    schema = @Schema(type = "integer", minimum = "1", maximum = "1000")
+            )
+            @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+        return ResponseEntity.ok(bookService.getTombstones(since, afterId, limit));
+    }
+    
     /**
      * Creates a new book.
      *
@@ -175,7 +297,8 @@ public class BookController {
             )
             @Valid @RequestBody BookRequest bookRequest) {
         BookResponse createdBook = bookService.createBook(bookRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        return ResponseEntity.status(HttpStatus.CREATED).header(ReplicaInterceptor.CATALOG_SEQ_HEADER, catalogSeq())
+                .body(createdBook);
     }
     
     /**
@@ -209,7 +332,7 @@ public class BookController {
             )
             @Valid @RequestBody BookRequest bookRequest) {
         BookResponse updatedBook = bookService.updateBook(id, bookRequest);
-        return ResponseEntity.ok(updatedBook);
+        return ResponseEntity.ok().header(ReplicaInterceptor.CATALOG_SEQ_HEADER, catalogSeq()).body(updatedBook);
     }
     
     /**
@@ -243,7 +366,7 @@ public class BookController {
             )
             @Valid @RequestBody BookUpdateRequest updateRequest) {
         BookResponse updatedBook = bookService.patchBook(id, updateRequest);
-        return ResponseEntity.ok(updatedBook);
+        return ResponseEntity.ok().header(ReplicaInterceptor.CATALOG_SEQ_HEADER, catalogSeq()).body(updatedBook);
     }
     
     /**
@@ -266,6 +389,16 @@ public class BookController {
             )
             @PathVariable Long id) {
         bookService.deleteBook(id);
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().header(ReplicaInterceptor.CATALOG_SEQ_HEADER, catalogSeq()).build();
+    }
+    
+    /**
+     * Returns the catalog sequence number a client passes to a follower as X-Min-Seq to read its
+     * own writes. The generation is advanced when a write commits, so it covers the write just made.
+     *
+     * @return the sequence number as a header value
+     */
+    private String catalogSeq() {
+        return Long.toString(bookWatchRegistry.getGeneration());
     }
 }
@@ -0,0 +1,65 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.events.BookEventBroadcaster;
+import com.example.bookstore.events.BookEventFilter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST controller streaming book changes as Server-Sent Events.
+ *
+ * The stream holds no database connection or admission permit; events are pushed by the
+ * {@link BookEventBroadcaster} as writes commit.
+ */
+@RestController
+@RequestMapping("/api/books/events")
+@Tag(name = "Book Events", description = "Book Event Stream - Pushes book creates, updates, patches, deletes and stock changes to subscribers as Server-Sent Events.")
+public class BookEventController {
+
+    private final BookEventBroadcaster bookEventBroadcaster;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param bookEventBroadcaster the broadcaster of book events
+     */
+    public BookEventController(BookEventBroadcaster bookEventBroadcaster) {
+        this.bookEventBroadcaster = bookEventBroadcaster;
+    }
+
+    /**
+     * Opens a stream of book events.
+     *
+     * @param ids         book ids to receive events for
+     * @param author      author to receive events for
+     * @param types       event types to receive
+     * @param lastEventId the id of the last event received before reconnecting
+     * @return the event stream
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream book events",
+            description = "Opens a Server-Sent Events stream of committed book changes: created, updated, patched, deleted and stock (an update of the quantity alone). Each event's id is the change log sequence number and its data the book after the change. Filters combine; stock also matches any change that includes the quantity. On reconnect, Last-Event-ID replays the events missed since. A client that falls behind, or whose Last-Event-ID is too old to replay, receives a final reset event with the sequence number to resume GET /api/books/changes from before reconnecting."
+    )
+    public SseEmitter streamEvents(
+            @Parameter(description = "Only events for these book ids", example = "1,2,3")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(description = "Only events for books by this author", example = "Robert C. Martin")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Only these event types: created, updated, patched, deleted, stock", example = "stock")
+            @RequestParam(required = false) List<String> types,
+            @Parameter(description = "Sequence number of the last event received, sent automatically by EventSource on reconnect")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return bookEventBroadcaster.subscribe(BookEventFilter.of(ids, author, types), lastEventId);
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.health.HealthMonitor;
+import com.example.bookstore.health.HealthSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -16,9 +21,20 @@ import java.util.Map;
  * a welcome message endpoint and a health check endpoint for monitoring purposes.
  */
 @RestController
-@Tag(name = "Bookstore", description = "Bookstore Utility Endpoints - Provides root-level endpoints including welcome message and health check for monitoring and API discovery.")
+@Tag(name = "Bookstore", description = "Bookstore Utility Endpoints - Provides root-level endpoints including welcome message, liveness and readiness checks for monitoring and API discovery.")
 public class BookstoreController {
 
+    private final HealthMonitor healthMonitor;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param healthMonitor the monitor holding the cached health check results
+     */
+    public BookstoreController(HealthMonitor healthMonitor) {
+        this.healthMonitor = healthMonitor;
+    }
+
     /**
      * Home endpoint providing welcome message.
      *
@@ -38,18 +54,62 @@ public class BookstoreController {
     }
 
     /**
-     * Health check endpoint.
+     * Readiness check endpoint, kept for existing monitors.
+     * Same response as {@link #readiness()}.
      *
-     * @return map containing health status
+     * @return readiness status, 200 when ready and 503 otherwise
      */
     @GetMapping("/health")
     @Operation(
-            summary = "Health check", 
-            description = "Returns the health status of the application. This endpoint is typically used by monitoring systems, load balancers, and orchestration platforms to verify that the service is operational and ready to accept requests."
+            summary = "Health check",
+            description = "Alias of GET /health/readiness, kept for monitors configured before the liveness and readiness endpoints were split."
     )
-    public Map<String, String> health() {
-        Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
-        return response;
+    public ResponseEntity<Map<String, Object>> health() {
+        return readiness();
+    }
+
+    /**
+     * Liveness check endpoint.
+     * Reports whether the background health checks are still completing on schedule.
+     *
+     * @return liveness status, 200 when live and 503 otherwise
+     */
+    @GetMapping("/health/liveness")
+    @Operation(
+            summary = "Liveness check",
+            description = "Returns whether the process is live, meaning its background health checks keep completing on schedule. Never touches the database, so a locked or slow database does not cause restarts; use the readiness endpoint to route traffic."
+    )
+    public ResponseEntity<Map<String, Object>> liveness() {
+        boolean live = healthMonitor.isLive();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", live ? "UP" : "DOWN");
+        response.put("ageMs", healthMonitor.getAgeMillis());
+        return ResponseEntity.status(live ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    /**
+     * Readiness check endpoint.
+     * Reports the cached results of the background readiness checks.
+     *
+     * @return readiness status, 200 when ready and 503 otherwise
+     */
+    @GetMapping("/health/readiness")
+    @Operation(
+            summary = "Readiness check",
+            description = "Returns whether the instance should receive traffic, from results computed in the background: a database probe with a timeout, connection pool saturation, write queue depth, recent error rate and the adaptive request limits. Responds with 503 when any check fails, when the checks have not run yet, or when their results are stale. Load balancers can poll this as often as needed, since it never touches the database itself."
+    )
+    public ResponseEntity<Map<String, Object>> readiness() {
+        HealthSnapshot snapshot = healthMonitor.getSnapshot();
+        boolean ready = healthMonitor.isReady();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", ready ? "UP" : "DOWN");
+        if (snapshot == null) {
+            response.put("message", "Health checks have not run yet");
+        } else {
+            response.put("checkedAt", snapshot.getCheckedAt());
+            response.put("ageMs", healthMonitor.getAgeMillis());
+            response.put("checks", snapshot.getChecks());
+        }
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
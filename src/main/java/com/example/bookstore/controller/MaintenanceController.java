@@ -0,0 +1,72 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.maintenance.DatabaseMaintenance;
+import com.example.bookstore.maintenance.MaintenanceTask;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST controller for database maintenance.
+ * Starts maintenance tasks on demand and reports the outcome and cost of their last runs.
+ */
+@RestController
+@RequestMapping("/admin/maintenance")
+@Tag(name = "Maintenance", description = "Maintenance Endpoints - Runs PRAGMA optimize, ANALYZE, incremental vacuum, WAL checkpoints and the tombstone purge, throttled by the request load, and reports what each run cost and achieved.")
+public class MaintenanceController {
+
+    private final DatabaseMaintenance databaseMaintenance;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param databaseMaintenance the database maintenance
+     */
+    public MaintenanceController(DatabaseMaintenance databaseMaintenance) {
+        this.databaseMaintenance = databaseMaintenance;
+    }
+
+    /**
+     * Starts a maintenance task in the background.
+     *
+     * @param task the task's path: optimize, analyze, incremental-vacuum, checkpoint or purge-tombstones
+     * @return accepted response with the maintenance status
+     */
+    @PostMapping("/{task}")
+    @Operation(
+            summary = "Start a maintenance task",
+            description = "Runs the task in short steps, each holding the write lock briefly. Before every step the task waits while writes are queued or recent request latency is above its bound, and gives up after the maximum wait. Returns 202 Accepted with the status to poll, 400 Bad Request for an unknown task, or 503 Service Unavailable if a task is already running."
+    )
+    public ResponseEntity<Map<String, Object>> startTask(
+            @Parameter(description = "Task to run", required = true,
+                    schema = @Schema(allowableValues = {"optimize", "analyze", "incremental-vacuum", "checkpoint",
+                            "purge-tombstones"}))
+            @PathVariable String task) {
+        databaseMaintenance.start(MaintenanceTask.fromPath(task), DatabaseMaintenance.TRIGGER_ADMIN);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(databaseMaintenance.getStatus());
+    }
+
+    /**
+     * Retrieves the maintenance status.
+     *
+     * @return map with the running task, the last run of every task and the current load
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get maintenance status",
+            description = "Returns the running task, the last run of every task with its outcome (COMPLETED, THROTTLED, SKIPPED or FAILED), duration, time spent backing off, number and longest of its steps, and task details such as tables analyzed, pages freed, file size and WAL size before and after, and tombstones purged. Also shows outcome counters, the current load against the throttle bounds, and the settings."
+    )
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(databaseMaintenance.getStatus());
+    }
+}
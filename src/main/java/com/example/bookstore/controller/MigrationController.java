@@ -0,0 +1,59 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.migration.AppliedMigration;
+import com.example.bookstore.migration.BackfillRunner;
+import com.example.bookstore.migration.SchemaMigrator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for schema migrations.
+ * Reports the schema version, the migrations applied to the database and the progress of the
+ * background backfills that follow them.
+ */
+@RestController
+@RequestMapping("/admin/migrations")
+@Tag(name = "Migrations", description = "Migration Endpoints - Reports the versioned schema migrations applied at startup and the batched background backfills that complete them.")
+public class MigrationController {
+
+    private final SchemaMigrator schemaMigrator;
+    private final BackfillRunner backfillRunner;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param schemaMigrator the schema migrator
+     * @param backfillRunner the backfill runner
+     */
+    public MigrationController(SchemaMigrator schemaMigrator, BackfillRunner backfillRunner) {
+        this.schemaMigrator = schemaMigrator;
+        this.backfillRunner = backfillRunner;
+    }
+
+    /**
+     * Retrieves the migration status.
+     *
+     * @return map with the schema version, the applied migrations and the backfill progress
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get migration status",
+            description = "Returns the schema version and every applied migration with its checksum, install time and duration, followed by the backfills: their state (PENDING, RUNNING, COMPLETED or FAILED), the key and row count they reached, and when they started and completed."
+    )
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        List<AppliedMigration> migrations = schemaMigrator.appliedMigrations();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("schemaVersion", migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version());
+        status.put("migrations", migrations);
+        status.put("backfill", backfillRunner.getStatus());
+        return ResponseEntity.ok(status);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.dto.ReplicationBatch;
+import com.example.bookstore.replication.ReplicationFollower;
+import com.example.bookstore.replication.ReplicationSource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller for replication.
+ * Serves snapshots and the change feed to followers, and reports the replication state.
+ * Not available in sharded storage mode.
+ */
+@RestController
+@ConditionalOnProperty(name = "bookstore.sharding.enabled", havingValue = "false", matchIfMissing = true)
+@RequestMapping("/admin/replication")
+@Validated
+@Tag(name = "Replication", description = "Replication Endpoints - Serves database snapshots and the ordered change feed that followers apply, and reports how far a follower is behind its leader.")
+public class ReplicationController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationController.class);
+
+    private final ReplicationSource replicationSource;
+    private final ChangeLog changeLog;
+    private final ObjectProvider<ReplicationFollower> replicationFollower;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param replicationSource   the source of snapshots and the change feed
+     * @param changeLog           the change log
+     * @param replicationFollower the follower, present only when running as one
+     */
+    public ReplicationController(ReplicationSource replicationSource, ChangeLog changeLog,
+                                 ObjectProvider<ReplicationFollower> replicationFollower) {
+        this.replicationSource = replicationSource;
+        this.changeLog = changeLog;
+        this.replicationFollower = replicationFollower;
+    }
+
+    /**
+     * Streams a consistent copy of the database file.
+     *
+     * @return the snapshot as a SQLite database file
+     * @throws IOException if the snapshot cannot be written
+     */
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Download a database snapshot",
+            description = "Writes a consistent copy of the SQLite database with VACUUM INTO and streams it. Reads and writes carry on while the copy is made. A new follower restores the snapshot, then applies the change feed from the latest sequence number it contains."
+    )
+    public ResponseEntity<StreamingResponseBody> getSnapshot() throws IOException {
+        Path snapshot = replicationSource.createSnapshot();
+        StreamingResponseBody body = output -> {
+            try {
+                Files.copy(snapshot, output);
+            } finally {
+                try {
+                    replicationSource.deleteSnapshot(snapshot);
+                } catch (IOException ex) {
+                    log.warn("Could not delete snapshot {}", snapshot, ex);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(snapshot))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookstore-snapshot.db\"")
+                .body(body);
+    }
+
+    /**
+     * Retrieves the changes after a sequence number with the current rows of the changed books.
+     *
+     * @param since the last sequence number the follower has applied
+     * @param limit maximum number of changes to return
+     * @return the batch, oldest change first
+     */
+    @GetMapping("/feed")
+    @Operation(
+            summary = "Get the replication feed",
+            description = "Returns the changes after the given sequence number, oldest first, each with the changed book's current row, or no row if the book has since been deleted. Followers apply the batch and ask again from its last sequence number while hasMore is true. Returns 410 Gone if changes after since were already compacted; the follower then restores a new snapshot."
+    )
+    public ResponseEntity<ReplicationBatch> getFeed(
+            @Parameter(
+                    description = "Last sequence number already applied",
+                    example = "0",
+                    schema = @Schema(type = "integer", format = "int64", minimum = "0")
+            )
+            @RequestParam(defaultValue = "0") @Min(0) long since,
+            @Parameter(
+                    description = "Maximum number of changes to return",
+                    example = "500",
+                    schema = @Schema(type = "integer", minimum = "1", maximum = "5000")
+            )
+            @RequestParam(defaultValue = "500") @Min(1) @Max(5000) int limit) {
+        return ResponseEntity.ok(replicationSource.readBatch(since, limit));
+    }
+
+    /**
+     * Retrieves the replication state of this instance.
+     *
+     * @return the role, sequence numbers and, on a follower, its lag behind the leader
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get replication status",
+            description = "On a leader, returns the latest sequence number of the change log. On a follower, returns the leader URL, the applied and leader sequence numbers, the lag in changes and in milliseconds, the time since the leader last answered, and failure counters."
+    )
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        ReplicationFollower follower = replicationFollower.getIfAvailable();
+        if (follower != null) {
+            return ResponseEntity.ok(follower.getStatus());
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", "leader");
+        status.put("lastSeq", changeLog.getLastSeq());
+        return ResponseEntity.ok(status);
+    }
+}
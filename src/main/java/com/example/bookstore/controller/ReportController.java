@@ -0,0 +1,141 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.AuthorInventoryReport;
+import com.example.bookstore.dto.InventorySummaryReport;
+import com.example.bookstore.dto.PriceBucketReport;
+import com.example.bookstore.reporting.ReportQueries;
+import com.example.bookstore.reporting.ReportingRefresher;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * REST controller for catalog reports.
+ * Every report runs on the reporting database, a periodically refreshed copy of the catalog, and
+ * never on the database serving customer traffic.
+ */
+@RestController
+@ConditionalOnProperty(name = "bookstore.reporting.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/reports")
+@Validated
+@Tag(name = "Reports", description = "Reporting Endpoints - Aggregates over a separately refreshed copy of the catalog, such as inventory value by author and price distributions, isolated from customer traffic.")
+public class ReportController {
+
+    static final String AS_OF_HEADER = "X-Report-As-Of";
+    static final String SEQ_HEADER = "X-Report-Seq";
+
+    private final ReportQueries reportQueries;
+    private final ReportingRefresher reportingRefresher;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param reportQueries      the report queries
+     * @param reportingRefresher the refresher of the reporting database
+     */
+    public ReportController(ReportQueries reportQueries, ReportingRefresher reportingRefresher) {
+        this.reportQueries = reportQueries;
+        this.reportingRefresher = reportingRefresher;
+    }
+
+    /**
+     * Values the stock of each author at list price.
+     *
+     * @param limit maximum number of authors to return
+     * @return the authors with the most valuable stock first
+     */
+    @GetMapping("/inventory-by-author")
+    @Operation(
+            summary = "Get inventory value by author",
+            description = "Returns, per author, the number of titles, the copies in stock and their value at list price, most valuable first. The X-Report-As-Of and X-Report-Seq headers give the time and change log sequence number the reporting copy was last refreshed to."
+    )
+    public ResponseEntity<List<AuthorInventoryReport>> getInventoryByAuthor(
+            @Parameter(
+                    description = "Maximum number of authors to return",
+                    example = "50",
+                    schema = @Schema(type = "integer", minimum = "1", maximum = "1000")
+            )
+            @RequestParam(defaultValue = "50") @Min(1) @Max(1000) int limit) {
+        return withAsOf(() -> reportQueries.inventoryByAuthor(limit));
+    }
+
+    /**
+     * Counts titles and stock per price bucket.
+     *
+     * @param bucketWidth the width of each price bucket
+     * @return the non-empty buckets, cheapest first
+     */
+    @GetMapping("/price-distribution")
+    @Operation(
+            summary = "Get price distribution",
+            description = "Groups titles into price buckets of the given width and returns, per non-empty bucket, its bounds, the number of titles and the copies in stock, cheapest first. The X-Report-As-Of and X-Report-Seq headers give the freshness of the reporting copy."
+    )
+    public ResponseEntity<List<PriceBucketReport>> getPriceDistribution(
+            @Parameter(
+                    description = "Width of each price bucket",
+                    example = "5.00",
+                    schema = @Schema(type = "number", minimum = "0.01")
+            )
+            @RequestParam(defaultValue = "5.00") @DecimalMin("0.01") BigDecimal bucketWidth) {
+        return withAsOf(() -> reportQueries.priceDistribution(bucketWidth));
+    }
+
+    /**
+     * Totals the whole catalog.
+     *
+     * @return the summary
+     */
+    @GetMapping("/summary")
+    @Operation(
+            summary = "Get inventory summary",
+            description = "Returns the number of titles and authors, copies in stock, total inventory value, titles out of stock and the average, lowest and highest list price. The X-Report-As-Of and X-Report-Seq headers give the freshness of the reporting copy."
+    )
+    public ResponseEntity<InventorySummaryReport> getSummary() {
+        return withAsOf(reportQueries::summary);
+    }
+
+    /**
+     * Retrieves the refresh state of the reporting database.
+     *
+     * @return the applied sequence number, lag and refresh timings
+     */
+    @GetMapping("/status")
+    @Operation(
+            summary = "Get reporting database status",
+            description = "Returns the change log sequence number the reporting copy was refreshed to, the primary's sequence number seen at the last refresh and the lag between them, when and how long the last refresh took, and the number of full copies and failed refreshes."
+    )
+    public ResponseEntity<Map<String, Object>> getStatus() {
+        return ResponseEntity.ok(reportingRefresher.getStatus());
+    }
+
+    /**
+     * Runs a report and states the freshness of the copy it ran on. The state is read first, so
+     * the report is at least as recent as the headers say.
+     */
+    private <T> ResponseEntity<T> withAsOf(Supplier<T> report) {
+        long seq = reportingRefresher.getAppliedSeq();
+        LocalDateTime refreshedAt = reportingRefresher.getRefreshedAt();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header(SEQ_HEADER, Long.toString(seq));
+        if (refreshedAt != null) {
+            response.header(AS_OF_HEADER, refreshedAt.toString());
+        }
+        return response.body(report.get());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one row of the inventory value by author report.
+ */
+@Schema(description = "Stock held for one author, valued at list price")
+public class AuthorInventoryReport {
+
+    @Schema(description = "Author name", example = "Jane Doe")
+    private String author;
+
+    @Schema(description = "Number of titles by the author", example = "12")
+    private long titles;
+
+    @Schema(description = "Copies in stock across the titles", example = "340")
+    private long units;
+
+    @Schema(description = "Sum of price times quantity", example = "5123.50")
+    private BigDecimal inventoryValue;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public AuthorInventoryReport() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param author         author name
+     * @param titles         number of titles by the author
+     * @param units          copies in stock across the titles
+     * @param inventoryValue sum of price times quantity
+     */
+    public AuthorInventoryReport(String author, long titles, long units, BigDecimal inventoryValue) {
+        this.author = author;
+        this.titles = titles;
+        this.units = units;
+        this.inventoryValue = inventoryValue;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public long getTitles() {
+        return titles;
+    }
+
+    public void setTitles(long titles) {
+        this.titles = titles;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public BigDecimal getInventoryValue() {
+        return inventoryValue;
+    }
+
+    public void setInventoryValue(BigDecimal inventoryValue) {
+        this.inventoryValue = inventoryValue;
+    }
+}
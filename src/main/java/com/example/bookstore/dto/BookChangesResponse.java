@@ -0,0 +1,82 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.changelog.BookChange;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the change log.
+ * Consumers pass {@code nextSince} as {@code since} on their next call.
+ */
+@Schema(description = "Changes to the catalog after a sequence number, oldest first",
+        example = "{\"changes\":[{\"seq\":42,\"bookId\":1,\"operation\":\"UPDATE\",\"changedFields\":[\"price\"],\"changedAt\":\"2024-01-15T10:30:00\"}],\"nextSince\":42,\"lastSeq\":42,\"hasMore\":false}")
+public class BookChangesResponse {
+
+    @Schema(description = "Changes in sequence order")
+    private List<BookChange> changes;
+
+    @Schema(description = "Sequence number to pass as 'since' on the next call", example = "42")
+    private long nextSince;
+
+    @Schema(description = "Sequence number of the latest change in the log", example = "42")
+    private long lastSeq;
+
+    @Schema(description = "Whether more changes are available after this page", example = "false")
+    private boolean hasMore;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public BookChangesResponse() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param changes   changes in sequence order
+     * @param nextSince sequence number to resume from
+     * @param lastSeq   sequence number of the latest change
+     * @param hasMore   whether more changes follow
+     */
+    public BookChangesResponse(List<BookChange> changes, long nextSince, long lastSeq, boolean hasMore) {
+        this.changes = changes;
+        this.nextSince = nextSince;
+        this.lastSeq = lastSeq;
+        this.hasMore = hasMore;
+    }
+
+    public List<BookChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<BookChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a deleted book that has not been purged yet.
+ */
+@Schema(description = "A deleted book, kept as a tombstone until it is purged",
+        example = "{\"id\":1,\"isbn\":\"978-0-7432-7356-5\",\"title\":\"The Great Gatsby\",\"deletedAt\":\"2024-01-15T10:30:00\"}")
+public class BookTombstone {
+
+    @Schema(description = "Identifier the book had", example = "1")
+    private Long id;
+
+    @Schema(description = "ISBN the book had, free for a new book since the deletion", example = "978-0-7432-7356-5")
+    private String isbn;
+
+    @Schema(description = "Title the book had", example = "The Great Gatsby")
+    private String title;
+
+    @Schema(description = "Timestamp when the book was deleted", example = "2024-01-15T10:30:00")
+    private LocalDateTime deletedAt;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public BookTombstone() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param id        the book id
+     * @param isbn      the book ISBN
+     * @param title     the book title
+     * @param deletedAt when the book was deleted
+     */
+    public BookTombstone(Long id, String isbn, String title, LocalDateTime deletedAt) {
+        this.id = id;
+        this.isbn = isbn;
+        this.title = title;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIsbn() {
+        return isbn;
+    }
+
+    public void setIsbn(String isbn) {
+        this.isbn = isbn;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
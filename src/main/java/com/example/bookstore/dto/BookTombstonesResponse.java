@@ -0,0 +1,82 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for a page of tombstones.
+ * Consumers pass {@code nextSince} and {@code nextAfterId} as {@code since} and {@code afterId}
+ * on their next call.
+ */
+@Schema(description = "Deleted books not purged yet, in deletion order",
+        example = "{\"tombstones\":[{\"id\":1,\"isbn\":\"978-0-7432-7356-5\",\"title\":\"The Great Gatsby\",\"deletedAt\":\"2024-01-15T10:30:00\"}],\"nextSince\":1705311000000,\"nextAfterId\":1,\"hasMore\":false}")
+public class BookTombstonesResponse {
+
+    @Schema(description = "Tombstones in deletion order")
+    private List<BookTombstone> tombstones;
+
+    @Schema(description = "Deletion time in epoch milliseconds to pass as 'since' on the next call", example = "1705311000000")
+    private long nextSince;
+
+    @Schema(description = "Book id to pass as 'afterId' on the next call", example = "1")
+    private long nextAfterId;
+
+    @Schema(description = "Whether more tombstones are available after this page", example = "false")
+    private boolean hasMore;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public BookTombstonesResponse() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param tombstones  tombstones in deletion order
+     * @param nextSince   deletion time to resume from
+     * @param nextAfterId book id to resume after
+     * @param hasMore     whether more tombstones follow
+     */
+    public BookTombstonesResponse(List<BookTombstone> tombstones, long nextSince, long nextAfterId, boolean hasMore) {
+        this.tombstones = tombstones;
+        this.nextSince = nextSince;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    public List<BookTombstone> getTombstones() {
+        return tombstones;
+    }
+
+    public void setTombstones(List<BookTombstone> tombstones) {
+        this.tombstones = tombstones;
+    }
+
+    public long getNextSince() {
+        return nextSince;
+    }
+
+    public void setNextSince(long nextSince) {
+        this.nextSince = nextSince;
+    }
+
+    public long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the inventory summary report.
+ */
+@Schema(description = "Totals over the whole catalog")
+public class InventorySummaryReport {
+
+    @Schema(description = "Number of titles", example = "1000")
+    private long titles;
+
+    @Schema(description = "Number of distinct authors", example = "250")
+    private long authors;
+
+    @Schema(description = "Copies in stock", example = "25000")
+    private long units;
+
+    @Schema(description = "Sum of price times quantity", example = "412345.75")
+    private BigDecimal inventoryValue;
+
+    @Schema(description = "Titles with no copies in stock", example = "150")
+    private long outOfStock;
+
+    @Schema(description = "Average list price", example = "16.49")
+    private BigDecimal averagePrice;
+
+    @Schema(description = "Lowest list price", example = "0.99")
+    private BigDecimal minPrice;
+
+    @Schema(description = "Highest list price", example = "199.99")
+    private BigDecimal maxPrice;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public InventorySummaryReport() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param titles         number of titles
+     * @param authors        number of distinct authors
+     * @param units          copies in stock
+     * @param inventoryValue sum of price times quantity
+     * @param outOfStock     titles with no copies in stock
+     * @param averagePrice   average list price
+     * @param minPrice       lowest list price
+     * @param maxPrice       highest list price
+     */
+    public InventorySummaryReport(long titles, long authors, long units, BigDecimal inventoryValue, long outOfStock,
+                                  BigDecimal averagePrice, BigDecimal minPrice, BigDecimal maxPrice) {
+        this.titles = titles;
+        this.authors = authors;
+        this.units = units;
+        this.inventoryValue = inventoryValue;
+        this.outOfStock = outOfStock;
+        this.averagePrice = averagePrice;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    public long getTitles() {
+        return titles;
+    }
+
+    public void setTitles(long titles) {
+        this.titles = titles;
+    }
+
+    public long getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(long authors) {
+        this.authors = authors;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+
+    public BigDecimal getInventoryValue() {
+        return inventoryValue;
+    }
+
+    public void setInventoryValue(BigDecimal inventoryValue) {
+        this.inventoryValue = inventoryValue;
+    }
+
+    public long getOutOfStock() {
+        return outOfStock;
+    }
+
+    public void setOutOfStock(long outOfStock) {
+        this.outOfStock = outOfStock;
+    }
+
+    public BigDecimal getAveragePrice() {
+        return averagePrice;
+    }
+
+    public void setAveragePrice(BigDecimal averagePrice) {
+        this.averagePrice = averagePrice;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one bucket of the price distribution report.
+ * A bucket covers prices from its lower bound up to, but excluding, its upper bound.
+ */
+@Schema(description = "Titles and stock whose price falls in one bucket")
+public class PriceBucketReport {
+
+    @Schema(description = "Lowest price in the bucket", example = "10.00")
+    private BigDecimal lowerBound;
+
+    @Schema(description = "Price the next bucket starts at", example = "15.00")
+    private BigDecimal upperBound;
+
+    @Schema(description = "Number of titles in the bucket", example = "120")
+    private long titles;
+
+    @Schema(description = "Copies in stock across the titles", example = "2400")
+    private long units;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public PriceBucketReport() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param lowerBound lowest price in the bucket
+     * @param upperBound price the next bucket starts at
+     * @param titles     number of titles in the bucket
+     * @param units      copies in stock across the titles
+     */
+    public PriceBucketReport(BigDecimal lowerBound, BigDecimal upperBound, long titles, long units) {
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.titles = titles;
+        this.units = units;
+    }
+
+    public BigDecimal getLowerBound() {
+        return lowerBound;
+    }
+
+    public void setLowerBound(BigDecimal lowerBound) {
+        this.lowerBound = lowerBound;
+    }
+
+    public BigDecimal getUpperBound() {
+        return upperBound;
+    }
+
+    public void setUpperBound(BigDecimal upperBound) {
+        this.upperBound = upperBound;
+    }
+
+    public long getTitles() {
+        return titles;
+    }
+
+    public void setTitles(long titles) {
+        this.titles = titles;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public void setUnits(long units) {
+        this.units = units;
+    }
+}
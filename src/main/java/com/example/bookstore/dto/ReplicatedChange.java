@@ -0,0 +1,108 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.changelog.ChangeOperation;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for one entry of the replication feed.
+ * Carries the change log entry together with the book's current row on the leader.
+ */
+@Schema(description = "A change log entry with the current state of the changed book")
+public class ReplicatedChange {
+
+    @Schema(description = "Sequence number of the change", example = "42")
+    private long seq;
+
+    @Schema(description = "ID of the changed book", example = "1")
+    private long bookId;
+
+    @Schema(description = "Kind of write", example = "UPDATE")
+    private ChangeOperation operation;
+
+    @Schema(description = "Names of the changed fields", example = "[\"price\"]")
+    private List<String> changedFields;
+
+    @Schema(description = "When the change was made, in epoch milliseconds", example = "1705314600000")
+    private long changedAt;
+
+    @Schema(description = "The book as it is now on the leader, or null if it has since been deleted")
+    private BookResponse book;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public ReplicatedChange() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param seq           sequence number of the change
+     * @param bookId        ID of the changed book
+     * @param operation     kind of write
+     * @param changedFields names of the changed fields
+     * @param changedAt     when the change was made, in epoch milliseconds
+     * @param book          the book as it is now, or null if deleted
+     */
+    public ReplicatedChange(long seq, long bookId, ChangeOperation operation, List<String> changedFields,
+                            long changedAt, BookResponse book) {
+        this.seq = seq;
+        this.bookId = bookId;
+        this.operation = operation;
+        this.changedFields = changedFields;
+        this.changedAt = changedAt;
+        this.book = book;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(long bookId) {
+        this.bookId = bookId;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public void setChangedFields(List<String> changedFields) {
+        this.changedFields = changedFields;
+    }
+
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(long changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    public BookResponse getBook() {
+        return book;
+    }
+
+    public void setBook(BookResponse book) {
+        this.book = book;
+    }
+}
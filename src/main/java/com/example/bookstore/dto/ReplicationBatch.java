@@ -0,0 +1,67 @@
+package com.example.bookstore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for a page of the replication feed.
+ * Followers apply the changes in order and ask again from the last one's sequence number.
+ */
+@Schema(description = "Changes after a sequence number with the current rows of the changed books, oldest first")
+public class ReplicationBatch {
+
+    @Schema(description = "Changes in sequence order")
+    private List<ReplicatedChange> changes;
+
+    @Schema(description = "Sequence number of the latest change on the leader", example = "42")
+    private long lastSeq;
+
+    @Schema(description = "Whether more changes are available after this page", example = "false")
+    private boolean hasMore;
+
+    /**
+     * Default constructor.
+     * Required for JSON deserialization by Spring Framework.
+     */
+    public ReplicationBatch() {
+        // Empty constructor required for framework deserialization
+    }
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param changes changes in sequence order
+     * @param lastSeq sequence number of the latest change on the leader
+     * @param hasMore whether more changes follow
+     */
+    public ReplicationBatch(List<ReplicatedChange> changes, long lastSeq, boolean hasMore) {
+        this.changes = changes;
+        this.lastSeq = lastSeq;
+        this.hasMore = hasMore;
+    }
+
+    public List<ReplicatedChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ReplicatedChange> changes) {
+        this.changes = changes;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public void setLastSeq(long lastSeq) {
+        this.lastSeq = lastSeq;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bookstore.entity;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Table;
 
 import java.math.BigDecimal;
@@ -22,6 +23,9 @@ public class Book {
     private Integer quantity;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Set by BookRepository.softDeleteById only, so saving a book never revives or deletes it
+    @ReadOnlyProperty
+    private Long deletedAt;
 
     /**
      * Default constructor.
@@ -111,4 +115,17 @@ public class Book {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    /**
+     * Returns when the book was deleted.
+     *
+     * @return epoch milliseconds, or null for a live book
+     */
+    public Long getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(Long deletedAt) {
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,64 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.dto.BookResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A committed change to a book, published by the book service and streamed to subscribers.
+ * The sequence number is the change log's, so it can be used to resume from the change log.
+ */
+public final class BookEvent {
+
+    private final long seq;
+    private final BookEventType type;
+    private final long bookId;
+    private final BookResponse book;
+    private final List<String> changedFields;
+    private final LocalDateTime occurredAt;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param seq           the change log sequence number of the write
+     * @param type          the kind of change
+     * @param bookId        the id of the changed book
+     * @param book          the book after the write, or as it was before a delete
+     * @param changedFields names of the changed fields
+     * @param occurredAt    when the write happened
+     */
+    public BookEvent(long seq, BookEventType type, long bookId, BookResponse book, List<String> changedFields,
+                     LocalDateTime occurredAt) {
+        this.seq = seq;
+        this.type = type;
+        this.bookId = bookId;
+        this.book = book;
+        this.changedFields = List.copyOf(changedFields);
+        this.occurredAt = occurredAt;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public BookEventType getType() {
+        return type;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public BookResponse getBook() {
+        return book;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
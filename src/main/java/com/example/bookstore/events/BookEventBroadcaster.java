@@ -0,0 +1,454 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Streams committed {@link BookEvent}s to Server-Sent Events subscribers.
+ *
+ * Writers never wait for subscribers. An event is published after its transaction commits by
+ * claiming a slot in a fixed ring with a single atomic increment; a dispatcher thread drains the
+ * ring, puts events back into sequence order (concurrent commits may publish out of order), keeps
+ * the most recent ones for replay, and offers each to the bounded queue of every subscriber whose
+ * filter matches. Queues are drained by a small sender pool, one task per subscriber at a time.
+ *
+ * A subscriber whose queue is full is dropped: it receives a final {@code reset} event naming the
+ * sequence number to resume from, and is expected to catch up through GET /api/books/changes
+ * before reconnecting. The same happens when a Last-Event-ID is older than the replay history, or
+ * when writers overrun the ring before the dispatcher drains it.
+ */
+@Component
+public class BookEventBroadcaster {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final Logger log = LoggerFactory.getLogger(BookEventBroadcaster.class);
+    private static final Object HEARTBEAT = new Object();
+
+    private final ChangeLog changeLog;
+    private final AtomicReferenceArray<Slot> ring;
+    private final int ringMask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final int historySize;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long timeoutMillis;
+    private final long reorderWindowNanos;
+    private final Queue<Registration> registrations = new ConcurrentLinkedQueue<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overruns = new LongAdder();
+    private volatile Thread dispatcher;
+    private volatile boolean running;
+
+    // Owned by the dispatcher thread
+    private final NavigableMap<Long, Pending> reorder = new TreeMap<>();
+    private final ArrayDeque<BookEvent> history = new ArrayDeque<>();
+    private long consumed;
+    private long historyFloor;
+    private long nextSeq;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param changeLog           the change log whose sequence numbers the events carry
+     * @param ringSize            slots in the inbound ring, rounded up to a power of two
+     * @param historySize         number of recent events kept for Last-Event-ID replay
+     * @param queueCapacity       events a subscriber may have pending before it is dropped
+     * @param maxSubscribers      maximum number of open streams
+     * @param senderThreads       threads writing events to subscribers
+     * @param timeoutMillis       lifetime of a stream, after which the client reconnects
+     * @param reorderWindowMillis how long an event waits for an earlier sequence number
+     */
+    public BookEventBroadcaster(ChangeLog changeLog,
+                                @Value("${bookstore.events.ring-size:4096}") int ringSize,
+                                @Value("${bookstore.events.history-size:1024}") int historySize,
+                                @Value("${bookstore.events.queue-capacity:256}") int queueCapacity,
+                                @Value("${bookstore.events.max-subscribers:1000}") int maxSubscribers,
+                                @Value("${bookstore.events.sender-threads:4}") int senderThreads,
+                                @Value("${bookstore.events.timeout-ms:300000}") long timeoutMillis,
+                                @Value("${bookstore.events.reorder-window-ms:100}") long reorderWindowMillis) {
+        int capacity = Integer.highestOneBit(Math.max(2, ringSize - 1)) << 1;
+        this.changeLog = changeLog;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.ringMask = capacity - 1;
+        this.historySize = historySize;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.reorderWindowNanos = TimeUnit.MILLISECONDS.toNanos(reorderWindowMillis);
+        // Each subscriber has at most one drain task queued, so the queue is bounded by maxSubscribers
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory("book-events-"));
+        this.senders.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts the dispatcher once the application is ready, with the replay history beginning at
+     * the latest logged change.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        historyFloor = changeLog.getLastSeq();
+        nextSeq = historyFloor + 1;
+        running = true;
+        Thread thread = daemonThreadFactory("book-events-dispatcher").newThread(this::dispatch);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the dispatcher and completes every open stream.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+        senders.shutdown();
+    }
+
+    /**
+     * Receives an event once the publishing transaction has committed, or immediately when it was
+     * published outside a transaction. Never blocks.
+     *
+     * @param event the event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        long index = claimed.getAndIncrement();
+        ring.set((int) (index & ringMask), new Slot(index, event));
+        published.increment();
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Opens a stream of the events matching a filter.
+     *
+     * @param filter      the events to send
+     * @param lastEventId the last sequence number the client received, or null for live events only
+     * @return the emitter to return from the controller
+     * @throws ServiceUnavailableException if the maximum number of streams is open
+     */
+    public SseEmitter subscribe(BookEventFilter filter, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribe(emitter, filter, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Registers an emitter. The dispatcher replays history into it before any live event, so the
+     * stream has neither gaps nor duplicates.
+     *
+     * @param emitter     the emitter events are sent to
+     * @param filter      the events to send
+     * @param lastEventId the last sequence number the client received, or null for live events only
+     */
+    void subscribe(SseEmitter emitter, BookEventFilter filter, Long lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many event subscribers", 5);
+        }
+        Subscriber subscriber = new Subscriber(emitter, filter, new ArrayBlockingQueue<>(queueCapacity));
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        registrations.add(new Registration(subscriber, lastEventId));
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Sends a comment to every stream, so idle connections stay open through proxies and closed
+     * ones are noticed.
+     */
+    @Scheduled(fixedDelayString = "${bookstore.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            // A full queue already has data on the way
+            if (subscriber.queue.offer(HEARTBEAT)) {
+                drain(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Returns the broadcaster counters, for the admin endpoint.
+     *
+     * @return map of counter name to value
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("subscribers", subscriberCount.get());
+        statistics.put("published", published.sum());
+        statistics.put("delivered", delivered.sum());
+        statistics.put("dropped", dropped.sum());
+        statistics.put("overruns", overruns.sum());
+        return statistics;
+    }
+
+    private void dispatch() {
+        while (running) {
+            boolean progressed = drainRing();
+            progressed |= release(System.nanoTime());
+            progressed |= register();
+            if (!progressed) {
+                LockSupport.parkNanos(this, reorder.isEmpty() ? TimeUnit.SECONDS.toNanos(1) : reorderWindowNanos);
+            }
+        }
+    }
+
+    private boolean drainRing() {
+        boolean progressed = false;
+        while (true) {
+            Slot slot = ring.get((int) (consumed & ringMask));
+            if (slot == null || slot.index < consumed) {
+                // Not yet written by the writer that claimed it
+                return progressed;
+            }
+            if (slot.index > consumed) {
+                overrun();
+                continue;
+            }
+            reorder.put(slot.event.getSeq(), new Pending(slot.event, System.nanoTime()));
+            consumed++;
+            progressed = true;
+        }
+    }
+
+    private void overrun() {
+        // Writers lapped the dispatcher: the events in between are lost, so no stream is complete
+        overruns.increment();
+        consumed = Math.max(consumed + 1, claimed.get() - ring.length());
+        log.warn("Book event ring overrun; resetting {} subscribers", subscribers.size());
+        for (Subscriber subscriber : subscribers) {
+            drop(subscriber, "overrun");
+        }
+        // Replaying history would hide the lost events, so it starts again at the newest change
+        history.clear();
+        reorder.clear();
+        historyFloor = changeLog.getLastSeq();
+        nextSeq = historyFloor + 1;
+    }
+
+    private boolean release(long now) {
+        boolean progressed = false;
+        while (!reorder.isEmpty()) {
+            Map.Entry<Long, Pending> first = reorder.firstEntry();
+            // An event waits for the ones before it, but never longer than the window
+            if (first.getKey() > nextSeq && now - first.getValue().receivedNanos < reorderWindowNanos) {
+                return progressed;
+            }
+            reorder.pollFirstEntry();
+            BookEvent event = first.getValue().event;
+            if (event.getSeq() <= historyFloor) {
+                continue;
+            }
+            nextSeq = event.getSeq() + 1;
+            history.addLast(event);
+            if (history.size() > historySize) {
+                historyFloor = history.removeFirst().getSeq();
+            }
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, event);
+            }
+            progressed = true;
+        }
+        return progressed;
+    }
+
+    private boolean register() {
+        boolean progressed = false;
+        Registration registration;
+        while ((registration = registrations.poll()) != null) {
+            progressed = true;
+            Subscriber subscriber = registration.subscriber;
+            if (subscriber.closed.get()) {
+                continue;
+            }
+            subscribers.add(subscriber);
+            Long lastEventId = registration.lastEventId;
+            if (lastEventId == null) {
+                continue;
+            }
+            subscriber.lastSeq = lastEventId;
+            subscriber.skipUpTo = lastEventId;
+            if (lastEventId < historyFloor) {
+                drop(subscriber, "history-expired");
+                continue;
+            }
+            for (BookEvent event : history) {
+                if (!offer(subscriber, event)) {
+                    break;
+                }
+            }
+        }
+        return progressed;
+    }
+
+    private boolean offer(Subscriber subscriber, BookEvent event) {
+        // Events up to Last-Event-ID may still be waiting in the reorder window after registration
+        if (subscriber.closed.get() || event.getSeq() <= subscriber.skipUpTo || !subscriber.filter.matches(event)) {
+            return true;
+        }
+        if (!subscriber.queue.offer(event)) {
+            drop(subscriber, "slow-consumer");
+            return false;
+        }
+        drain(subscriber);
+        return true;
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        if (!subscriber.close()) {
+            return;
+        }
+        dropped.increment();
+        // Whatever was queued is superseded by the reset, which the cleared queue has room for
+        subscriber.queue.clear();
+        // An event being sent right now may land after this, which only makes the client re-read it
+        subscriber.queue.offer(new Reset(reason, subscriber.lastSeq));
+        drain(subscriber);
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        senders.execute(() -> send(subscriber));
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            Object item;
+            while ((item = subscriber.queue.poll()) != null) {
+                if (item instanceof BookEvent event) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.getSeq()))
+                            .name(event.getType().name().toLowerCase())
+                            .data(event, MediaType.APPLICATION_JSON));
+                    subscriber.lastSeq = event.getSeq();
+                    delivered.increment();
+                } else if (item instanceof Reset reset) {
+                    subscriber.emitter.send(SseEmitter.event().name(RESET_EVENT).data(reset, MediaType.APPLICATION_JSON));
+                    subscriber.emitter.complete();
+                    return;
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away; the emitter reports the error to its callbacks
+            subscriber.close();
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An item queued after the last poll but before the flag was cleared would otherwise wait
+        if (!subscriber.queue.isEmpty()) {
+            drain(subscriber);
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Notice sent before a stream is closed because it cannot continue without a gap.
+     *
+     * @param reason     slow-consumer, history-expired or overrun
+     * @param resumeFrom the sequence number to pass as since to GET /api/books/changes
+     */
+    public record Reset(String reason, long resumeFrom) {
+    }
+
+    private record Slot(long index, BookEvent event) {
+    }
+
+    private record Pending(BookEvent event, long receivedNanos) {
+    }
+
+    private record Registration(Subscriber subscriber, Long lastEventId) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BookEventFilter filter;
+        private final BlockingQueue<Object> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long lastSeq;
+        private long skipUpTo;
+
+        private Subscriber(SseEmitter emitter, BookEventFilter filter, BlockingQueue<Object> queue) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.queue = queue;
+        }
+
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            subscribers.remove(this);
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.exception.ValidationException;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Selects the events a subscriber receives. Empty criteria match everything; given criteria must
+ * all match. The {@link BookEventType#STOCK} type matches every event that changed the quantity,
+ * including creates, deletes and updates of several fields.
+ */
+public final class BookEventFilter {
+
+    private final Set<Long> ids;
+    private final String author;
+    private final Set<BookEventType> types;
+
+    private BookEventFilter(Set<Long> ids, String author, Set<BookEventType> types) {
+        this.ids = ids;
+        this.author = author;
+        this.types = types;
+    }
+
+    /**
+     * Builds a filter from request parameters.
+     *
+     * @param ids    book ids to receive, or null or empty for all
+     * @param author author to receive, or null for all
+     * @param types  event type names, case-insensitive, or null or empty for all
+     * @return the filter
+     * @throws ValidationException if a type name is unknown
+     */
+    public static BookEventFilter of(Collection<Long> ids, String author, Collection<String> types) {
+        Set<BookEventType> parsedTypes = EnumSet.noneOf(BookEventType.class);
+        if (types != null) {
+            for (String type : types) {
+                try {
+                    parsedTypes.add(BookEventType.valueOf(type.trim().toUpperCase()));
+                } catch (IllegalArgumentException ex) {
+                    throw new ValidationException("Unknown event type: " + type, ex);
+                }
+            }
+        }
+        return new BookEventFilter(ids == null ? Set.of() : Set.copyOf(ids),
+                author == null || author.isBlank() ? null : author, parsedTypes);
+    }
+
+    /**
+     * Tests whether a subscriber with this filter receives an event.
+     *
+     * @param event the event
+     * @return true if every given criterion matches
+     */
+    public boolean matches(BookEvent event) {
+        if (!ids.isEmpty() && !ids.contains(event.getBookId())) {
+            return false;
+        }
+        if (author != null && (event.getBook() == null || !author.equals(event.getBook().getAuthor()))) {
+            return false;
+        }
+        return types.isEmpty() || types.contains(event.getType())
+                || types.contains(BookEventType.STOCK) && event.getChangedFields().contains("quantity");
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.bookstore.events;
+
+/**
+ * The kind of change a {@link BookEvent} reports.
+ * An update or patch that changed only the quantity is reported as {@link #STOCK}.
+ */
+public enum BookEventType {
+    CREATED,
+    UPDATED,
+    PATCHED,
+    DELETED,
+    STOCK
+}
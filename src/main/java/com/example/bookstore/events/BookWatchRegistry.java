@@ -0,0 +1,273 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.ResourceNotFoundException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Long-poll watches on a single book or on the catalog generation, for clients that cannot use
+ * the event stream.
+ *
+ * A watch is a {@link DeferredResult}: the request thread is released while it waits, and the
+ * watch is completed when a committed {@link BookEvent} moves past what the client has seen, or
+ * answered with 304 Not Modified when its timeout expires. A book's version is its updatedAt
+ * timestamp in epoch milliseconds; the catalog generation is the change log sequence number of
+ * the latest committed write.
+ *
+ * Waiters are completed on a notifier thread, so a write never waits for them.
+ */
+@Component
+public class BookWatchRegistry {
+
+    static final String VERSION_HEADER = "X-Book-Version";
+    static final String GENERATION_HEADER = "X-Catalog-Generation";
+
+    private final ChangeLog changeLog;
+    private final long defaultTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final int maxWaiters;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Long, Set<Watch<BookResponse>>> bookWatches = new ConcurrentHashMap<>();
+    private final Set<Watch<Map<String, Long>>> generationWatches = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final ExecutorService notifier;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param changeLog            the change log whose latest sequence number is the generation
+     * @param defaultTimeoutMillis how long a watch waits when the client does not say
+     * @param maxTimeoutMillis     upper bound for timeouts requested by clients
+     * @param maxWaiters           maximum number of open watches
+     */
+    public BookWatchRegistry(ChangeLog changeLog,
+                             @Value("${bookstore.watch.default-timeout-ms:30000}") long defaultTimeoutMillis,
+                             @Value("${bookstore.watch.max-timeout-ms:60000}") long maxTimeoutMillis,
+                             @Value("${bookstore.watch.max-waiters:10000}") int maxWaiters) {
+        this.changeLog = changeLog;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+        this.maxWaiters = maxWaiters;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("book-watch-");
+        threadFactory.setDaemon(true);
+        this.notifier = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Reads the current generation once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        advance(changeLog.getLastSeq());
+    }
+
+    /**
+     * Stops the notifier. Open watches are left to time out with the container.
+     */
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    /**
+     * Records a committed write and completes the watches it satisfies.
+     *
+     * @param event the event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookEvent(BookEvent event) {
+        // Advanced before the watches are read, so a watch registered meanwhile sees it on its re-check
+        advance(event.getSeq());
+        notifier.execute(() -> notify(event));
+    }
+
+    /**
+     * Watches a book until its version moves past the one the client has.
+     *
+     * @param id            the book ID
+     * @param version       the version the client has, 0 for any
+     * @param timeoutMillis requested timeout, or null for the default
+     * @param loader        reads the current book, throwing {@link ResourceNotFoundException} if absent
+     * @return a result holding the newer book, 404 if it is deleted, or 304 on timeout
+     */
+    public DeferredResult<ResponseEntity<BookResponse>> watchBook(long id, long version, Long timeoutMillis,
+                                                                  Supplier<BookResponse> loader) {
+        long observed = generation.get();
+        BookResponse current = loader.get();
+        DeferredResult<ResponseEntity<BookResponse>> result =
+                new DeferredResult<>(timeout(timeoutMillis), notModified(VERSION_HEADER, version));
+        if (versionOf(current) > version) {
+            result.setResult(bookResponse(current));
+            return result;
+        }
+        Watch<BookResponse> watch = new Watch<>(result, version);
+        reserve();
+        bookWatches.compute(id, (key, watches) -> {
+            Set<Watch<BookResponse>> set = watches == null ? ConcurrentHashMap.newKeySet() : watches;
+            set.add(watch);
+            return set;
+        });
+        result.onCompletion(() -> removeBookWatch(id, watch));
+        if (generation.get() != observed) {
+            // A write committed between the read and the registration may have been missed
+            BookResponse latest;
+            try {
+                latest = loader.get();
+            } catch (RuntimeException ex) {
+                removeBookWatch(id, watch);
+                throw ex;
+            }
+            if (versionOf(latest) > version) {
+                result.setResult(bookResponse(latest));
+                removeBookWatch(id, watch);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Watches the catalog until its generation moves past the one the client has.
+     *
+     * @param after         the generation the client has
+     * @param timeoutMillis requested timeout, or null for the default
+     * @return a result holding the new generation, or 304 on timeout
+     */
+    public DeferredResult<ResponseEntity<Map<String, Long>>> watchGeneration(long after, Long timeoutMillis) {
+        DeferredResult<ResponseEntity<Map<String, Long>>> result =
+                new DeferredResult<>(timeout(timeoutMillis), notModified(GENERATION_HEADER, after));
+        long current = generation.get();
+        if (current > after) {
+            result.setResult(generationResponse(current));
+            return result;
+        }
+        Watch<Map<String, Long>> watch = new Watch<>(result, after);
+        reserve();
+        generationWatches.add(watch);
+        result.onCompletion(() -> removeGenerationWatch(watch));
+        current = generation.get();
+        if (current > after) {
+            result.setResult(generationResponse(current));
+            removeGenerationWatch(watch);
+        }
+        return result;
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public int getWaiters() {
+        return waiters.get();
+    }
+
+    private void notify(BookEvent event) {
+        Set<Watch<BookResponse>> watches = bookWatches.get(event.getBookId());
+        if (watches != null) {
+            for (Watch<BookResponse> watch : watches) {
+                if (event.getType() == BookEventType.DELETED) {
+                    watch.result.setErrorResult(new ResourceNotFoundException(
+                            String.format("Book not found with id: %d", event.getBookId())));
+                } else {
+                    watch.result.setResult(bookResponse(event.getBook()));
+                }
+                removeBookWatch(event.getBookId(), watch);
+            }
+        }
+        long current = generation.get();
+        for (Watch<Map<String, Long>> watch : generationWatches) {
+            if (current > watch.seen) {
+                watch.result.setResult(generationResponse(current));
+                removeGenerationWatch(watch);
+            }
+        }
+    }
+
+    private void advance(long seq) {
+        generation.accumulateAndGet(seq, Math::max);
+    }
+
+    private long timeout(Long requestedMillis) {
+        if (requestedMillis == null || requestedMillis <= 0) {
+            return defaultTimeoutMillis;
+        }
+        return Math.min(requestedMillis, maxTimeoutMillis);
+    }
+
+    private void reserve() {
+        if (waiters.incrementAndGet() > maxWaiters) {
+            waiters.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open watches", 5);
+        }
+    }
+
+    private void removeBookWatch(long id, Watch<BookResponse> watch) {
+        bookWatches.computeIfPresent(id, (key, watches) -> {
+            if (watches.remove(watch)) {
+                waiters.decrementAndGet();
+            }
+            return watches.isEmpty() ? null : watches;
+        });
+    }
+
+    private void removeGenerationWatch(Watch<Map<String, Long>> watch) {
+        if (generationWatches.remove(watch)) {
+            waiters.decrementAndGet();
+        }
+    }
+
+    private static <T> ResponseEntity<T> notModified(String header, long seen) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).header(header, Long.toString(seen)).build();
+    }
+
+    private static ResponseEntity<BookResponse> bookResponse(BookResponse book) {
+        return ResponseEntity.ok().header(VERSION_HEADER, Long.toString(versionOf(book))).body(book);
+    }
+
+    private static ResponseEntity<Map<String, Long>> generationResponse(long generation) {
+        return ResponseEntity.ok()
+                .header(GENERATION_HEADER, Long.toString(generation))
+                .body(Map.of("generation", generation));
+    }
+
+    /**
+     * Returns the version of a book: its last update time in epoch milliseconds.
+     *
+     * @param book the book
+     * @return the version, 0 if the book has no update time
+     */
+    public static long versionOf(BookResponse book) {
+        LocalDateTime updatedAt = book.getUpdatedAt();
+        return updatedAt == null ? 0 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * A waiting request and the version or generation its client has seen.
+     */
+    private record Watch<T>(DeferredResult<ResponseEntity<T>> result, long seen) {
+    }
+}
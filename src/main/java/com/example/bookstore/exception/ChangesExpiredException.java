@@ -0,0 +1,25 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a consumer asks for changes that were already compacted out of the change log.
+ * Used for 410 Gone responses; the consumer reloads the catalog and resumes from the latest sequence number.
+ */
+public class ChangesExpiredException extends RuntimeException {
+
+    private final long lastSeq;
+
+    /**
+     * Constructs a new ChangesExpiredException with the specified message and the sequence to resume from.
+     *
+     * @param message the detail message
+     * @param lastSeq sequence number of the latest change, to resume from after reloading
+     */
+    public ChangesExpiredException(String message, long lastSeq) {
+        super(message);
+        this.lastSeq = lastSeq;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a request could not be completed before its deadline.
+ * Used for 504 Gateway Timeout responses (e.g., a search still running when the client's budget ran out).
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    /**
+     * Constructs a new DeadlineExceededException with the specified message.
+     *
+     * @param message the detail message
+     */
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new DeadlineExceededException with the specified message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause
+     */
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bookstore.exception;
 
 import com.example.bookstore.dto.ErrorResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -68,6 +69,110 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Handles ServiceUnavailableException.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error response with 503 status and a Retry-After header
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles RateLimitExceededException.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error response with 429 status and a Retry-After header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+            RateLimitExceededException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Too Many Requests",
+                ex.getMessage(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles DeadlineExceededException.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error response with 504 status
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(
+            DeadlineExceededException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                "Deadline Exceeded",
+                ex.getMessage(),
+                extractPath(request)
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Handles ChangesExpiredException.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error response with 410 status and an X-Last-Seq header to resume from
+     */
+    @ExceptionHandler(ChangesExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangesExpiredException(
+            ChangesExpiredException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.GONE.value(),
+                "Changes Expired",
+                ex.getMessage(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.GONE)
+                .header("X-Last-Seq", String.valueOf(ex.getLastSeq()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles ReadOnlyReplicaException.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return error response with 405 status, the methods a follower allows and the leader to write to
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<ErrorResponse> handleReadOnlyReplicaException(
+            ReadOnlyReplicaException ex, WebRequest request) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.METHOD_NOT_ALLOWED.value(),
+                "Read-Only Replica",
+                ex.getMessage(),
+                extractPath(request)
+        );
+        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED)
+                .header(HttpHeaders.ALLOW, "GET, HEAD, OPTIONS")
+                .header("X-Leader-Url", ex.getLeaderUrl())
+                .body(errorResponse);
+    }
+
     /**
      * Handles ValidationException.
      *
@@ -0,0 +1,25 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a client exceeds its rate limit.
+ * Used for 429 Too Many Requests responses with a Retry-After hint.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new RateLimitExceededException with the specified message and retry hint.
+     *
+     * @param message           the detail message
+     * @param retryAfterSeconds seconds until the client may send its next request
+     */
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
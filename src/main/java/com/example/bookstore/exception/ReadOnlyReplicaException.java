@@ -0,0 +1,25 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when a write reaches a follower that is configured to reject writes.
+ * Used for 405 Method Not Allowed responses; the client sends the write to the leader instead.
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    private final String leaderUrl;
+
+    /**
+     * Constructs a new ReadOnlyReplicaException with the specified message and the leader to write to.
+     *
+     * @param message   the detail message
+     * @param leaderUrl base URL of the leader that accepts writes
+     */
+    public ReadOnlyReplicaException(String message, String leaderUrl) {
+        super(message);
+        this.leaderUrl = leaderUrl;
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+}
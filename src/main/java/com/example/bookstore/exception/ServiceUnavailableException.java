@@ -0,0 +1,25 @@
+package com.example.bookstore.exception;
+
+/**
+ * Exception thrown when the service is temporarily unable to accept a request.
+ * Used for 503 Service Unavailable responses with a Retry-After hint (e.g., database saturated).
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified message and retry hint.
+     *
+     * @param message           the detail message
+     * @param retryAfterSeconds seconds the client should wait before retrying
+     */
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
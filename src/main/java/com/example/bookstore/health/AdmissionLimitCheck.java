@@ -0,0 +1,49 @@
+package com.example.bookstore.health;
+
+import com.example.bookstore.concurrency.AdaptiveConcurrencyLimit;
+import com.example.bookstore.concurrency.AdmissionControl;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the adaptive request limits, and the instance unready under sustained overload.
+ *
+ * A saturated limit on its own is a momentary state that the next check run would likely not see
+ * again. A read limit that has been backed off all the way to its minimum and is still full
+ * means latency has stayed above target for many requests in a row.
+ */
+@Component
+public class AdmissionLimitCheck implements ReadinessCheck {
+
+    private final AdmissionControl admissionControl;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param admissionControl the adaptive request limits
+     */
+    public AdmissionLimitCheck(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public String getName() {
+        return "limits";
+    }
+
+    @Override
+    public CheckResult check() {
+        AdaptiveConcurrencyLimit read = admissionControl.getReadLimit();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("enabled", admissionControl.isEnabled());
+        details.put("read", read.toMap());
+        details.put("write", admissionControl.getWriteLimit().toMap());
+        boolean overloaded = admissionControl.isEnabled() && read.isSaturated()
+                && read.getLimit() <= read.getMinLimit();
+        return overloaded
+                ? CheckResult.down("Read limit is at its minimum and saturated", details)
+                : CheckResult.up(details);
+    }
+}
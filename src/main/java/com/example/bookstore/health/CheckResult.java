@@ -0,0 +1,65 @@
+package com.example.bookstore.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of a single {@link ReadinessCheck}.
+ */
+public class CheckResult {
+
+    private final boolean up;
+    private final String message;
+    private final Map<String, Object> details;
+
+    /**
+     * Constructor with the result values.
+     *
+     * @param up      whether the check passed
+     * @param message short explanation, mainly for failures
+     * @param details measured values behind the result
+     */
+    public CheckResult(boolean up, String message, Map<String, Object> details) {
+        this.up = up;
+        this.message = message;
+        this.details = Collections.unmodifiableMap(new LinkedHashMap<>(details));
+    }
+
+    /**
+     * Creates a passing result.
+     *
+     * @param details measured values behind the result
+     * @return the result
+     */
+    public static CheckResult up(Map<String, Object> details) {
+        return new CheckResult(true, null, details);
+    }
+
+    /**
+     * Creates a failing result.
+     *
+     * @param message why the check failed
+     * @param details measured values behind the result
+     * @return the result
+     */
+    public static CheckResult down(String message, Map<String, Object> details) {
+        return new CheckResult(false, message, details);
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    public String getStatus() {
+        return up ? "UP" : "DOWN";
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.bookstore.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the instance unready while too many threads are waiting for a pooled connection.
+ *
+ * All connections being busy is normal under load; a queue of waiting threads means requests are
+ * already spending their time in the pool rather than in the database.
+ */
+@Component
+public class ConnectionPoolCheck implements ReadinessCheck {
+
+    private final DataSource dataSource;
+    private final int maxWaiting;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param dataSource the application data source, possibly wrapping a Hikari pool
+     * @param maxWaiting number of threads that may wait for a connection before the pool counts as saturated
+     */
+    public ConnectionPoolCheck(DataSource dataSource,
+                               @Value("${bookstore.health.pool.max-waiting:10}") int maxWaiting) {
+        this.dataSource = dataSource;
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public String getName() {
+        return "connectionPool";
+    }
+
+    @Override
+    public CheckResult check() {
+        HikariPoolMXBean pool = poolBean();
+        Map<String, Object> details = new LinkedHashMap<>();
+        if (pool == null) {
+            details.put("pool", "not started");
+            return CheckResult.up(details);
+        }
+        int waiting = pool.getThreadsAwaitingConnection();
+        details.put("active", pool.getActiveConnections());
+        details.put("idle", pool.getIdleConnections());
+        details.put("total", pool.getTotalConnections());
+        details.put("waiting", waiting);
+        details.put("maxWaiting", maxWaiting);
+        return waiting > maxWaiting
+                ? CheckResult.down(waiting + " threads waiting for a connection", details)
+                : CheckResult.up(details);
+    }
+
+    private HikariPoolMXBean poolBean() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bookstore.health;
+
+import com.example.bookstore.concurrency.Deadline;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Probes the database with a one-row read of the books table.
+ *
+ * Unlike SELECT 1, the probe opens the database file and takes a read lock, so it notices a file
+ * that is locked or unreadable. It runs under a {@link Deadline}, which the JDBC layer turns into
+ * a query timeout, so a stuck database fails the probe instead of stalling the check run.
+ *
+ * The deadline does not cover the wait for a pooled connection, which is bounded only by the
+ * pool's much longer connection timeout. The probe therefore runs on its own thread and the check
+ * waits for it no longer than the timeout: an exhausted pool makes the instance unready, but the
+ * check run goes on. While a probe is still waiting, no second one is started.
+ */
+@Component
+public class DatabaseProbeCheck implements ReadinessCheck {
+
+    static final String PROBE_SQL = "SELECT COUNT(*) FROM (SELECT id FROM books LIMIT 1)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    // Only touched by the health monitor's thread
+    private Future<Integer> pending;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate  the JDBC template used for the probe
+     * @param timeoutMillis how long the probe may take before the database is reported down
+     */
+    public DatabaseProbeCheck(JdbcTemplate jdbcTemplate,
+                              @Value("${bookstore.health.database.timeout-ms:1000}") long timeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeoutMillis = timeoutMillis;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-probe-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    @Override
+    public String getName() {
+        return "database";
+    }
+
+    @Override
+    public CheckResult check() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("timeoutMs", timeoutMillis);
+        if (pending != null && !pending.isDone()) {
+            return CheckResult.down("The previous probe is still waiting for the database", details);
+        }
+        Deadline deadline = Deadline.afterMillis(timeoutMillis);
+        long start = System.nanoTime();
+        pending = executor.submit(() -> {
+            Deadline.bind(deadline);
+            try {
+                return jdbcTemplate.queryForObject(PROBE_SQL, Integer.class);
+            } finally {
+                Deadline.bind(null);
+            }
+        });
+        try {
+            pending.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            details.put("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return CheckResult.up(details);
+        } catch (TimeoutException ex) {
+            details.put("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return CheckResult.down("No connection or result within " + timeoutMillis + " ms", details);
+        } catch (ExecutionException ex) {
+            details.put("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            Throwable cause = ex.getCause() instanceof DataAccessException dataAccess
+                    ? dataAccess.getMostSpecificCause() : ex.getCause();
+            return CheckResult.down(cause.getMessage(), details);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return CheckResult.down("Interrupted while waiting for the probe", details);
+        }
+    }
+
+    /**
+     * Stops the probe thread.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.bookstore.health;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the share of failed API requests over a sliding window and reports the instance unready
+ * when it exceeds a threshold.
+ *
+ * The window is a ring of one-second buckets; recording a request touches one bucket and never
+ * locks unless the bucket is being reused for a new second. 503 responses are not counted: they
+ * come from deliberate load shedding, which the other checks already account for, and counting
+ * them would take a merely busy instance out of rotation.
+ */
+@Component
+public class ErrorRateCheck implements ReadinessCheck {
+
+    private final Bucket[] buckets;
+    private final double maxErrorRate;
+    private final long minRequests;
+    private final LongSupplier clock;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param windowSeconds length of the sliding window
+     * @param maxErrorRate  share of failed requests above which the instance is unready
+     * @param minRequests   requests needed in the window before the rate is judged
+     */
+    @Autowired
+    public ErrorRateCheck(@Value("${bookstore.health.error-rate.window-seconds:60}") int windowSeconds,
+                          @Value("${bookstore.health.error-rate.max-rate:0.5}") double maxErrorRate,
+                          @Value("${bookstore.health.error-rate.min-requests:20}") long minRequests) {
+        this(windowSeconds, maxErrorRate, minRequests, System::nanoTime);
+    }
+
+    /**
+     * Constructor with an explicit clock, for tests.
+     *
+     * @param windowSeconds length of the sliding window
+     * @param maxErrorRate  share of failed requests above which the instance is unready
+     * @param minRequests   requests needed in the window before the rate is judged
+     * @param clock         source of monotonic nanosecond timestamps
+     */
+    ErrorRateCheck(int windowSeconds, double maxErrorRate, long minRequests, LongSupplier clock) {
+        if (windowSeconds < 1) {
+            throw new IllegalArgumentException("Error rate window must be at least one second");
+        }
+        this.buckets = new Bucket[windowSeconds];
+        for (int i = 0; i < windowSeconds; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.maxErrorRate = maxErrorRate;
+        this.minRequests = minRequests;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param status the response status
+     * @param failed whether the request ended with an unhandled exception
+     */
+    public void record(int status, boolean failed) {
+        long second = currentSecond();
+        Bucket bucket = buckets[(int) (second % buckets.length)];
+        bucket.roll(second);
+        bucket.total.increment();
+        if (failed || (status >= 500 && status != 503)) {
+            bucket.errors.increment();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "errorRate";
+    }
+
+    @Override
+    public CheckResult check() {
+        long oldest = currentSecond() - buckets.length + 1;
+        long total = 0;
+        long errors = 0;
+        for (Bucket bucket : buckets) {
+            if (bucket.second >= oldest) {
+                total += bucket.total.sum();
+                errors += bucket.errors.sum();
+            }
+        }
+        double rate = total == 0 ? 0.0 : (double) errors / total;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("requests", total);
+        details.put("errors", errors);
+        details.put("rate", rate);
+        details.put("maxRate", maxErrorRate);
+        details.put("windowSeconds", buckets.length);
+        return total >= minRequests && rate > maxErrorRate
+                ? CheckResult.down(errors + " of " + total + " recent requests failed", details)
+                : CheckResult.up(details);
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong());
+    }
+
+    /**
+     * Request counts of one second.
+     */
+    private static final class Bucket {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private volatile long second = Long.MIN_VALUE;
+
+        private void roll(long now) {
+            if (second == now) {
+                return;
+            }
+            synchronized (this) {
+                if (second != now) {
+                    total.reset();
+                    errors.reset();
+                    second = now;
+                }
+            }
+        }
+    }
+}
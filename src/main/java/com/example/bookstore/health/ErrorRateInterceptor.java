@@ -0,0 +1,30 @@
+package com.example.bookstore.health;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Feeds the status of every completed API request into the {@link ErrorRateCheck}.
+ *
+ * Registered ahead of the limiting interceptors so that requests they reject are counted too.
+ */
+public class ErrorRateInterceptor implements HandlerInterceptor {
+
+    private final ErrorRateCheck errorRateCheck;
+
+    /**
+     * Constructor with the check to feed.
+     *
+     * @param errorRateCheck the error rate check
+     */
+    public ErrorRateInterceptor(ErrorRateCheck errorRateCheck) {
+        this.errorRateCheck = errorRateCheck;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        errorRateCheck.record(response.getStatus(), ex != null);
+    }
+}
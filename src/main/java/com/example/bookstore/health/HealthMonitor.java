@@ -0,0 +1,181 @@
+package com.example.bookstore.health;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs the readiness checks in the background and caches their results.
+ *
+ * Health endpoints only read the cached {@link HealthSnapshot}, so load balancers can probe as
+ * often as they like without adding database work. Liveness is deliberately narrower than
+ * readiness: the process is live as long as the monitor thread keeps making progress, one check
+ * after another, whatever the checks report. A locked, slow or busy database makes the instance
+ * unready, but never asks for a restart that would not help. The
+ * checks therefore run on their own thread rather than the shared {@code @Scheduled} one, where
+ * a long housekeeping job would delay them and make a healthy instance look dead.
+ */
+@Component
+public class HealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthMonitor.class);
+    private static final int STALE_AFTER_INTERVALS = 5;
+
+    private final List<ReadinessCheck> checks;
+    private final long intervalMillis;
+    private final long staleAfterNanos;
+    private final LongSupplier clock;
+    private volatile HealthSnapshot snapshot;
+    private volatile long lastCompletedNanos;
+    private volatile long lastProgressNanos;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param checks         all readiness checks in the context
+     * @param intervalMillis delay between check runs
+     */
+    @Autowired
+    public HealthMonitor(List<ReadinessCheck> checks,
+                         @Value("${bookstore.health.interval-ms:2000}") long intervalMillis) {
+        this(checks, intervalMillis, System::nanoTime);
+    }
+
+    /**
+     * Constructor with an explicit clock, for tests.
+     *
+     * @param checks         the readiness checks
+     * @param intervalMillis delay between check runs
+     * @param clock          source of monotonic nanosecond timestamps
+     */
+    HealthMonitor(List<ReadinessCheck> checks, long intervalMillis, LongSupplier clock) {
+        this.checks = List.copyOf(checks);
+        this.intervalMillis = intervalMillis;
+        this.staleAfterNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis * STALE_AFTER_INTERVALS);
+        this.clock = clock;
+        this.lastCompletedNanos = clock.getAsLong();
+        this.lastProgressNanos = lastCompletedNanos;
+    }
+
+    /**
+     * Starts the check runs on the monitor's own thread.
+     */
+    @PostConstruct
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("health-");
+        threadFactory.setDaemon(true);
+        executor = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException ex) {
+                // A failed run must not cancel the schedule; the results just age until the next one
+                log.error("Health check run failed", ex);
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the check runs.
+     */
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs every check and publishes the results. A check that throws is reported as down.
+     *
+     * @return the new snapshot
+     */
+    public HealthSnapshot refresh() {
+        long start = clock.getAsLong();
+        lastProgressNanos = start;
+        Map<String, CheckResult> results = new LinkedHashMap<>();
+        for (ReadinessCheck check : checks) {
+            CheckResult result;
+            try {
+                result = check.check();
+            } catch (RuntimeException ex) {
+                result = CheckResult.down(ex.getClass().getSimpleName() + ": " + ex.getMessage(), Map.of());
+            }
+            results.put(check.getName(), result);
+            lastProgressNanos = clock.getAsLong();
+        }
+        long end = clock.getAsLong();
+        HealthSnapshot updated = new HealthSnapshot(System.currentTimeMillis(),
+                TimeUnit.NANOSECONDS.toMillis(end - start), results);
+        HealthSnapshot previous = snapshot;
+        if (previous != null && previous.isReady() != updated.isReady()) {
+            log.warn("Readiness changed to {}: {}", updated.isReady() ? "UP" : "DOWN", failures(updated));
+        }
+        snapshot = updated;
+        lastCompletedNanos = end;
+        return updated;
+    }
+
+    /**
+     * Returns the latest snapshot.
+     *
+     * @return the cached results, or null before the first run completed
+     */
+    public HealthSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns whether the instance should receive traffic. The instance is not ready before the
+     * first run, or when the cached results are too old to be trusted.
+     *
+     * @return true if ready
+     */
+    public boolean isReady() {
+        HealthSnapshot current = snapshot;
+        return current != null && current.isReady() && clock.getAsLong() - lastCompletedNanos <= staleAfterNanos;
+    }
+
+    /**
+     * Returns whether the monitor thread is still making progress: starting runs and finishing
+     * checks. A run that is slow because some checks take long keeps the process live.
+     *
+     * @return true if the process is live
+     */
+    public boolean isLive() {
+        return clock.getAsLong() - lastProgressNanos <= staleAfterNanos;
+    }
+
+    /**
+     * Returns the time since the last completed check run.
+     *
+     * @return age of the cached results in milliseconds
+     */
+    public long getAgeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(clock.getAsLong() - lastCompletedNanos);
+    }
+
+    private static Map<String, String> failures(HealthSnapshot snapshot) {
+        Map<String, String> failures = new LinkedHashMap<>();
+        snapshot.getChecks().forEach((name, result) -> {
+            if (!result.isUp()) {
+                failures.put(name, result.getMessage());
+            }
+        });
+        return failures;
+    }
+}
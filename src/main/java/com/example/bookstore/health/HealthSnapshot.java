@@ -0,0 +1,49 @@
+package com.example.bookstore.health;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of one background run of all readiness checks.
+ */
+public class HealthSnapshot {
+
+    private final long checkedAt;
+    private final long durationMillis;
+    private final Map<String, CheckResult> checks;
+
+    /**
+     * Constructor with the run's results.
+     *
+     * @param checkedAt      wall-clock time the run finished, in epoch milliseconds
+     * @param durationMillis how long the run took
+     * @param checks         results by check name, in run order
+     */
+    public HealthSnapshot(long checkedAt, long durationMillis, Map<String, CheckResult> checks) {
+        this.checkedAt = checkedAt;
+        this.durationMillis = durationMillis;
+        this.checks = Collections.unmodifiableMap(new LinkedHashMap<>(checks));
+    }
+
+    /**
+     * Returns whether every check passed.
+     *
+     * @return true if the instance is ready for traffic
+     */
+    public boolean isReady() {
+        return checks.values().stream().allMatch(CheckResult::isUp);
+    }
+
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public Map<String, CheckResult> getChecks() {
+        return checks;
+    }
+}
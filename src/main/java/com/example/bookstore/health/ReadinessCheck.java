@@ -0,0 +1,25 @@
+package com.example.bookstore.health;
+
+/**
+ * A condition that must hold for the instance to receive traffic.
+ *
+ * Beans implementing this interface are run periodically in the background by the
+ * {@link HealthMonitor}; health endpoints only ever read the cached results. Implementations
+ * should be cheap and must bound their own running time.
+ */
+public interface ReadinessCheck {
+
+    /**
+     * Returns the name under which the result is reported.
+     *
+     * @return the check name
+     */
+    String getName();
+
+    /**
+     * Evaluates the check.
+     *
+     * @return the result
+     */
+    CheckResult check();
+}
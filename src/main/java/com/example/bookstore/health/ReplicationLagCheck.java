@@ -0,0 +1,61 @@
+package com.example.bookstore.health;
+
+import com.example.bookstore.replication.ReplicationFollower;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports a follower unready while it is too far behind the leader, or has not heard from the
+ * leader for too long to know, so load balancers send reads to fresher instances.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.replication.role", havingValue = "follower")
+public class ReplicationLagCheck implements ReadinessCheck {
+
+    private final ReplicationFollower follower;
+    private final long maxLagMillis;
+    private final long maxSilenceMillis;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param follower         the follower whose lag is checked
+     * @param maxLagMillis     age of the newest applied change above which a lagging follower is unready
+     * @param maxSilenceMillis time without an answer from the leader above which the follower is unready
+     */
+    public ReplicationLagCheck(ReplicationFollower follower,
+                               @Value("${bookstore.health.replication.max-lag-ms:5000}") long maxLagMillis,
+                               @Value("${bookstore.health.replication.max-silence-ms:60000}") long maxSilenceMillis) {
+        this.follower = follower;
+        this.maxLagMillis = maxLagMillis;
+        this.maxSilenceMillis = maxSilenceMillis;
+    }
+
+    @Override
+    public String getName() {
+        return "replicationLag";
+    }
+
+    @Override
+    public CheckResult check() {
+        long lagMillis = follower.getLagMillis();
+        long sinceContactMillis = follower.getSinceContactMillis();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("lagEntries", follower.getLagEntries());
+        details.put("lagMillis", lagMillis);
+        details.put("sinceContactMillis", sinceContactMillis);
+        details.put("maxLagMillis", maxLagMillis);
+        details.put("maxSilenceMillis", maxSilenceMillis);
+        if (lagMillis > maxLagMillis) {
+            return CheckResult.down("Replication lag " + lagMillis + " ms", details);
+        }
+        if (sinceContactMillis > maxSilenceMillis) {
+            return CheckResult.down("No answer from the leader for " + sinceContactMillis + " ms", details);
+        }
+        return CheckResult.up(details);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.bookstore.health;
+
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.service.AsyncBookService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the instance unready while too many writes are queued.
+ *
+ * SQLite runs one write at a time, so queued writes drain no faster than the single writer; a
+ * long queue means new writes will mostly time out and are better sent elsewhere.
+ */
+@Component
+public class WriteBacklogCheck implements ReadinessCheck {
+
+    private final DatabaseConcurrencyGate databaseConcurrencyGate;
+    private final AsyncBookService asyncBookService;
+    private final int maxQueued;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param databaseConcurrencyGate the gate holding synchronous writes
+     * @param asyncBookService        the executor holding asynchronous writes
+     * @param maxQueued               number of queued writes above which the instance is unready
+     */
+    public WriteBacklogCheck(DatabaseConcurrencyGate databaseConcurrencyGate, AsyncBookService asyncBookService,
+                             @Value("${bookstore.health.write-backlog.max-queued:25}") int maxQueued) {
+        this.databaseConcurrencyGate = databaseConcurrencyGate;
+        this.asyncBookService = asyncBookService;
+        this.maxQueued = maxQueued;
+    }
+
+    @Override
+    public String getName() {
+        return "writeBacklog";
+    }
+
+    @Override
+    public CheckResult check() {
+        int gateQueued = databaseConcurrencyGate.getQueuedWriters();
+        int asyncQueued = asyncBookService.getQueuedWrites();
+        int queued = gateQueued + asyncQueued;
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("queued", queued);
+        details.put("gate", gateQueued);
+        details.put("async", asyncQueued);
+        details.put("maxQueued", maxQueued);
+        return queued > maxQueued
+                ? CheckResult.down(queued + " writes queued", details)
+                : CheckResult.up(details);
+    }
+}
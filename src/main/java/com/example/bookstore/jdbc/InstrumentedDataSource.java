@@ -0,0 +1,349 @@
+package com.example.bookstore.jdbc;
+
+import com.example.bookstore.concurrency.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * DataSource decorator that times every statement executed on its connections.
+ *
+ * Connections, statements and result sets are wrapped in lightweight JDK proxies. A statement
+ * is considered complete once its update count is known or, for queries, once its result set
+ * is closed, so the reported time includes fetching the rows. Completed statements are handed
+ * to the registered {@link StatementListener}s and, while Flight Recorder is recording, emitted
+ * as {@link SqlStatementEvent}s.
+ *
+ * When the executing thread carries a {@link Deadline}, statements are bounded by it: expired
+ * work fails before reaching the database, the remaining budget becomes the JDBC query timeout,
+ * and a timer cancels the statement (SQLite's interrupt) if it is still running at the deadline.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(InstrumentedDataSource.class);
+    private static final String[] NO_PARAMETERS = new String[0];
+
+    private final Supplier<List<StatementListener>> listeners;
+
+    /**
+     * Constructor with the data source to decorate.
+     *
+     * @param targetDataSource the actual data source
+     * @param listeners        supplier of the listeners to notify, resolved on first use
+     */
+    public InstrumentedDataSource(DataSource targetDataSource, Supplier<List<StatementListener>> listeners) {
+        super(targetDataSource);
+        this.listeners = listeners;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(target));
+    }
+
+    private void notifyListeners(StatementExecution execution) {
+        for (StatementListener listener : listeners.get()) {
+            try {
+                listener.afterStatement(execution);
+            } catch (RuntimeException ex) {
+                log.warn("Statement listener {} failed", listener.getClass().getSimpleName(), ex);
+            }
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static Object handleObjectMethod(Object proxy, Method method, Object[] args, Object target) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "Instrumented[" + target + "]";
+        };
+    }
+
+    /**
+     * Wraps statements created on a connection.
+     */
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return handleObjectMethod(proxy, method, args, target);
+            }
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if ("prepareCall".equals(name)) {
+                return wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+            }
+            if ("prepareStatement".equals(name)) {
+                return wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            }
+            if ("createStatement".equals(name)) {
+                return wrapStatement(Statement.class, (Statement) result, null);
+            }
+            return result;
+        }
+
+        private Object wrapStatement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[] {type}, new StatementHandler(statement, target, sql));
+        }
+    }
+
+    /**
+     * Records parameter shapes and times executions of a single statement.
+     * Statements are confined to one thread by JDBC convention, so no synchronization is needed.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final String sql;
+        private String[] parameterTypes = NO_PARAMETERS;
+        private Execution pending;
+        private ScheduledFuture<?> cancellation;
+
+        private StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return handleObjectMethod(proxy, method, args, target);
+            }
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                recordParameter(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                parameterTypes = NO_PARAMETERS;
+            } else if ("close".equals(name) || "getMoreResults".equals(name)) {
+                finishPending();
+            }
+            Object result = invokeTarget(target, method, args);
+            if ("getResultSet".equals(name) && result instanceof ResultSet resultSet && pending != null) {
+                return wrapResultSet(proxy, resultSet);
+            }
+            return result;
+        }
+
+        private void recordParameter(int index, Object value) {
+            if (index > parameterTypes.length) {
+                parameterTypes = Arrays.copyOf(parameterTypes, index);
+            }
+            parameterTypes[index - 1] = value == null ? "null" : value.getClass().getSimpleName();
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            finishPending();
+            Deadline deadline = Deadline.current();
+            if (deadline != null) {
+                armDeadline(deadline);
+            }
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            SqlStatementEvent event = new SqlStatementEvent();
+            event.begin();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable ex) {
+                complete(statementSql, event, -1, System.nanoTime() - start, true);
+                throw ex;
+            }
+            if (result instanceof ResultSet resultSet) {
+                pending = new Execution(statementSql, event, start);
+                return wrapResultSet(proxy, resultSet);
+            }
+            if (Boolean.TRUE.equals(result)) {
+                pending = new Execution(statementSql, event, start);
+                return result;
+            }
+            complete(statementSql, event, rowCount(result), System.nanoTime() - start, false);
+            return result;
+        }
+
+        private void armDeadline(Deadline deadline) throws SQLException {
+            long remainingNanos = deadline.remainingNanos();
+            if (remainingNanos <= 0) {
+                throw new SQLTimeoutException("Deadline expired before the statement was executed");
+            }
+            int timeoutSeconds = (int) Math.min(Integer.MAX_VALUE,
+                    TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+            target.setQueryTimeout(timeoutSeconds);
+            cancellation = Canceller.SCHEDULER.schedule(this::cancel, remainingNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void cancel() {
+            try {
+                target.cancel();
+            } catch (SQLException ex) {
+                log.debug("Could not cancel statement past its deadline", ex);
+            }
+        }
+
+        private long rowCount(Object result) throws SQLException {
+            if (result instanceof Number count) {
+                return count.longValue();
+            }
+            if (result instanceof int[] counts) {
+                return Arrays.stream(counts).asLongStream().sum();
+            }
+            if (result instanceof long[] counts) {
+                return Arrays.stream(counts).sum();
+            }
+            return target.getUpdateCount();
+        }
+
+        private Object wrapResultSet(Object statementProxy, ResultSet resultSet) {
+            return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, new ResultSetHandler(resultSet, statementProxy, this));
+        }
+
+        private void finishPending() {
+            Execution execution = pending;
+            if (execution != null) {
+                pending = null;
+                complete(execution.sql, execution.event, execution.rows, System.nanoTime() - execution.start, false);
+            }
+        }
+
+        private void complete(String statementSql, SqlStatementEvent event, long rows, long elapsedNanos,
+                              boolean failed) {
+            if (cancellation != null) {
+                cancellation.cancel(false);
+                cancellation = null;
+            }
+            if (event.shouldCommit()) {
+                event.sql = statementSql;
+                event.parameterTypes = Arrays.toString(parameterTypes);
+                event.rows = rows;
+                event.failed = failed;
+                event.commit();
+            }
+            if (listeners.get().isEmpty()) {
+                return;
+            }
+            notifyListeners(new StatementExecution(statementSql,
+                    Collections.unmodifiableList(Arrays.asList(parameterTypes.clone())), rows,
+                    elapsedNanos, failed, connection));
+        }
+    }
+
+    /**
+     * Counts fetched rows and completes the owning statement's execution on close.
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Object statementProxy;
+        private final StatementHandler owner;
+
+        private ResultSetHandler(ResultSet target, Object statementProxy, StatementHandler owner) {
+            this.target = target;
+            this.statementProxy = statementProxy;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return handleObjectMethod(proxy, method, args, target);
+            }
+            String name = method.getName();
+            if ("getStatement".equals(name)) {
+                return statementProxy;
+            }
+            Object result = invokeTarget(target, method, args);
+            if ("next".equals(name) && Boolean.TRUE.equals(result) && owner.pending != null) {
+                owner.pending.rows++;
+            } else if ("close".equals(name)) {
+                owner.finishPending();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Lazily started timer thread that cancels statements running past their deadline.
+     */
+    private static final class Canceller {
+
+        private static final ScheduledThreadPoolExecutor SCHEDULER = createScheduler();
+
+        private static ScheduledThreadPoolExecutor createScheduler() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "jdbc-deadline-canceller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+
+    /**
+     * A query whose result set is still being consumed.
+     */
+    private static final class Execution {
+
+        private final String sql;
+        private final SqlStatementEvent event;
+        private final long start;
+        private long rows;
+
+        private Execution(String sql, SqlStatementEvent event, long start) {
+            this.sql = sql;
+            this.event = event;
+            this.start = start;
+        }
+    }
+}
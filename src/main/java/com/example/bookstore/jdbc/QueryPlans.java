@@ -0,0 +1,74 @@
+package com.example.bookstore.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for capturing and inspecting SQLite query plans.
+ */
+public final class QueryPlans {
+
+    // A scan that walks an index, e.g. for ORDER BY ... LIMIT, reads rows in index order and can stop early
+    private static final Pattern FULL_SCAN_OF_BOOKS =
+            Pattern.compile("\\bSCAN (TABLE )?books\\b(?! USING (COVERING )?INDEX)");
+    private static final List<String> EXPLAINABLE_PREFIXES =
+            List.of("SELECT", "WITH", "UPDATE", "DELETE", "INSERT", "REPLACE");
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private QueryPlans() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Checks whether a statement can be passed to EXPLAIN QUERY PLAN.
+     *
+     * @param sql the SQL text
+     * @return true for queries and DML statements
+     */
+    public static boolean isExplainable(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String head = sql.stripLeading().toUpperCase(Locale.ROOT);
+        return EXPLAINABLE_PREFIXES.stream().anyMatch(head::startsWith);
+    }
+
+    /**
+     * Runs EXPLAIN QUERY PLAN for a statement. Parameters are left unbound, which SQLite treats as NULL;
+     * this does not affect index selection.
+     *
+     * @param connection the connection to run on
+     * @param sql        the statement to explain
+     * @return the detail column of every plan row, in order
+     * @throws SQLException if the statement cannot be explained
+     */
+    public static List<String> explain(Connection connection, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                plan.add(resultSet.getString("detail"));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Checks whether a plan contains a full scan of the books table.
+     *
+     * @param plan the plan detail lines
+     * @return true if any step scans books without an index
+     */
+    public static boolean hasFullScanOfBooks(List<String> plan) {
+        return plan.stream().anyMatch(detail -> FULL_SCAN_OF_BOOKS.matcher(detail).find());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.bookstore.jdbc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted for every SQL statement executed through an {@link InstrumentedDataSource}.
+ * The event's duration runs from execution until the result was fully consumed.
+ */
+@Name("com.example.bookstore.SqlStatement")
+@Label("SQL Statement")
+@Category({"Bookstore", "JDBC"})
+@Description("A SQL statement executed against the SQLite database")
+public class SqlStatementEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Parameter Types")
+    @Description("Simple type names of the bound parameters; values are never recorded")
+    String parameterTypes;
+
+    @Label("Rows")
+    @Description("Rows returned or affected, or -1 if unknown")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+}
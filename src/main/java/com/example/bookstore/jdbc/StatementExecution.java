@@ -0,0 +1,67 @@
+package com.example.bookstore.jdbc;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Describes a single completed SQL statement.
+ * Only the shape of the bound parameters (their Java types) is captured, never their values.
+ */
+public final class StatementExecution {
+
+    private final String sql;
+    private final List<String> parameterTypes;
+    private final long rowCount;
+    private final long elapsedNanos;
+    private final boolean failed;
+    private final Connection connection;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param sql            the SQL text as sent to the driver
+     * @param parameterTypes simple type names of the bound parameters, by position
+     * @param rowCount       rows returned or affected, or -1 if unknown
+     * @param elapsedNanos   time from execution until the result was fully consumed
+     * @param failed         whether the driver threw an exception
+     * @param connection     the underlying (non-instrumented) connection the statement ran on
+     */
+    public StatementExecution(String sql, List<String> parameterTypes, long rowCount,
+                              long elapsedNanos, boolean failed, Connection connection) {
+        this.sql = sql;
+        this.parameterTypes = parameterTypes;
+        this.rowCount = rowCount;
+        this.elapsedNanos = elapsedNanos;
+        this.failed = failed;
+        this.connection = connection;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Returns the connection the statement ran on. Statements issued on it are not instrumented.
+     *
+     * @return the underlying connection, still open and owned by the caller
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.bookstore.jdbc;
+
+/**
+ * Callback notified after every SQL statement executed through an {@link InstrumentedDataSource}.
+ * Implementations are invoked synchronously on the thread that ran the statement, so they
+ * must be cheap on the fast path and must never close the connection they are handed.
+ */
+public interface StatementListener {
+
+    /**
+     * Called once a statement has completed, i.e. its update count is known or its result set was closed.
+     *
+     * @param execution details of the completed statement
+     */
+    void afterStatement(StatementExecution execution);
+}
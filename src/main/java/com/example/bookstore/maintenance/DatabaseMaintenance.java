@@ -0,0 +1,612 @@
+package com.example.bookstore.maintenance;
+
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.sharding.BookShards;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background maintenance of the database file: {@code PRAGMA optimize}, {@code ANALYZE},
+ * {@code PRAGMA incremental_vacuum}, WAL checkpoints and the purge of old tombstones, each on its
+ * own cron schedule.
+ *
+ * Every task is split into short steps: ANALYZE runs one table at a time, the incremental
+ * vacuum frees a bounded number of pages per transaction and the purge deletes a bounded number
+ * of tombstones per transaction. Before each step the task waits until
+ * the {@link MaintenanceThrottle} reports the load low enough and a write permit of the
+ * {@link DatabaseConcurrencyGate} is free, so a step never queues ahead of a request. A task that
+ * has waited longer than the maximum in total gives up; the steps already run are kept.
+ *
+ * {@code PRAGMA optimize} considers the tables queried on the connection it runs on, which for a
+ * pooled connection are the ones requests use. The incremental vacuum needs a file in
+ * {@code auto_vacuum = INCREMENTAL} mode; if enabled, its first run switches a file to that mode
+ * with one full VACUUM. In WAL mode the file itself shrinks at the next checkpoint. Only one task
+ * runs at a time, on a dedicated thread; each run is reported as a {@link MaintenanceEvent} and
+ * kept as the task's last result.
+ *
+ * In sharded mode the purge also runs on every shard file, in the same steps; the other tasks
+ * maintain the main file only.
+ */
+@Component
+public class DatabaseMaintenance {
+
+    public static final String TRIGGER_ADMIN = "ADMIN";
+    public static final String TRIGGER_SCHEDULE = "SCHEDULE";
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseMaintenance.class);
+    private static final Set<String> CHECKPOINT_MODES = Set.of("PASSIVE", "FULL", "RESTART", "TRUNCATE");
+    private static final String TABLES_SQL =
+            "SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite_%' ORDER BY name";
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    // Oldest first, so a run that gives up has removed the tombstones that were due longest
+    private static final String PURGE_SQL = "DELETE FROM books WHERE id IN (SELECT id FROM books "
+            + "WHERE deleted_at IS NOT NULL AND deleted_at < ? ORDER BY deleted_at LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<BookShards> bookShards;
+    private final MaintenanceThrottle maintenanceThrottle;
+    private final DatabaseConcurrencyGate databaseConcurrencyGate;
+    private final long backoffMillis;
+    private final long maxWaitMillis;
+    private final int optimizeAnalysisLimit;
+    private final int analyzeAnalysisLimit;
+    private final int vacuumPagesPerStep;
+    private final boolean convertAutoVacuum;
+    private final String checkpointMode;
+    private final int purgeBatchSize;
+    private final long tombstoneRetentionMillis;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<MaintenanceTask, MaintenanceResult> lastResults = new ConcurrentHashMap<>();
+    private final Map<MaintenanceResult.Outcome, AtomicLong> outcomes = new EnumMap<>(MaintenanceResult.Outcome.class);
+    private volatile MaintenanceTask currentTask;
+    private volatile String currentTrigger;
+    private volatile LocalDateTime currentStartedAt;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param jdbcTemplate             the JDBC template of the database to maintain
+     * @param bookShards               the shard files, present in sharded mode only
+     * @param maintenanceThrottle      decides when the load leaves room for a step
+     * @param databaseConcurrencyGate  the gate whose write permit each step holds
+     * @param backoffMillis            pause before checking the load again
+     * @param maxWaitMillis            total time a run may wait for the load before it gives up
+     * @param optimizeAnalysisLimit    rows examined per index by PRAGMA optimize, 0 for all
+     * @param analyzeAnalysisLimit     rows examined per index by ANALYZE, 0 for all
+     * @param vacuumPagesPerStep       pages freed per incremental vacuum step
+     * @param convertAutoVacuum        whether the incremental vacuum may switch a file to incremental auto_vacuum
+     * @param checkpointMode           PASSIVE, FULL, RESTART or TRUNCATE
+     * @param purgeBatchSize           tombstones deleted per purge step
+     * @param tombstoneRetentionMillis how long a deleted book is kept as a tombstone before it is purged
+     */
+    public DatabaseMaintenance(JdbcTemplate jdbcTemplate, ObjectProvider<BookShards> bookShards,
+                               MaintenanceThrottle maintenanceThrottle,
+                               DatabaseConcurrencyGate databaseConcurrencyGate,
+                               @Value("${bookstore.maintenance.backoff-ms:1000}") long backoffMillis,
+                               @Value("${bookstore.maintenance.max-wait-ms:600000}") long maxWaitMillis,
+                               @Value("${bookstore.maintenance.optimize.analysis-limit:400}") int optimizeAnalysisLimit,
+                               @Value("${bookstore.maintenance.analyze.analysis-limit:0}") int analyzeAnalysisLimit,
+                               @Value("${bookstore.maintenance.vacuum.pages-per-step:1000}") int vacuumPagesPerStep,
+                               @Value("${bookstore.maintenance.vacuum.convert:false}") boolean convertAutoVacuum,
+                               @Value("${bookstore.maintenance.checkpoint.mode:PASSIVE}") String checkpointMode,
+                               @Value("${bookstore.maintenance.purge.batch-size:500}") int purgeBatchSize,
+                               @Value("${bookstore.tombstones.retention-ms:604800000}") long tombstoneRetentionMillis) {
+        String mode = checkpointMode.toUpperCase(Locale.ROOT);
+        if (!CHECKPOINT_MODES.contains(mode)) {
+            throw new IllegalArgumentException("Checkpoint mode must be one of " + CHECKPOINT_MODES);
+        }
+        if (backoffMillis < 1 || vacuumPagesPerStep < 1 || purgeBatchSize < 1) {
+            throw new IllegalArgumentException("Backoff, pages per step and purge batch size must be at least 1");
+        }
+        if (tombstoneRetentionMillis < 0) {
+            throw new IllegalArgumentException("Tombstone retention must not be negative");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookShards = bookShards;
+        this.maintenanceThrottle = maintenanceThrottle;
+        this.databaseConcurrencyGate = databaseConcurrencyGate;
+        this.backoffMillis = backoffMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.optimizeAnalysisLimit = optimizeAnalysisLimit;
+        this.analyzeAnalysisLimit = analyzeAnalysisLimit;
+        this.vacuumPagesPerStep = vacuumPagesPerStep;
+        this.convertAutoVacuum = convertAutoVacuum;
+        this.checkpointMode = mode;
+        this.purgeBatchSize = purgeBatchSize;
+        this.tombstoneRetentionMillis = tombstoneRetentionMillis;
+        for (MaintenanceResult.Outcome outcome : MaintenanceResult.Outcome.values()) {
+            outcomes.put(outcome, new AtomicLong());
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("maintenance-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Starts a task in the background.
+     *
+     * @param task    the task
+     * @param trigger what started the task
+     * @throws ServiceUnavailableException if a task is already running
+     */
+    public void start(MaintenanceTask task, String trigger) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ServiceUnavailableException("A maintenance task is already running", 60);
+        }
+        currentTask = task;
+        currentTrigger = trigger;
+        currentStartedAt = LocalDateTime.now();
+        executor.execute(() -> {
+            try {
+                run(task, trigger);
+            } finally {
+                currentTask = null;
+                currentTrigger = null;
+                currentStartedAt = null;
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Runs the scheduled PRAGMA optimize.
+     */
+    @Scheduled(cron = "${bookstore.maintenance.optimize.cron:0 0 * * * *}")
+    public void scheduledOptimize() {
+        startScheduled(MaintenanceTask.OPTIMIZE);
+    }
+
+    /**
+     * Runs the scheduled ANALYZE.
+     */
+    @Scheduled(cron = "${bookstore.maintenance.analyze.cron:0 30 3 * * SUN}")
+    public void scheduledAnalyze() {
+        startScheduled(MaintenanceTask.ANALYZE);
+    }
+
+    /**
+     * Runs the scheduled incremental vacuum.
+     */
+    @Scheduled(cron = "${bookstore.maintenance.vacuum.cron:0 0 4 * * *}")
+    public void scheduledVacuum() {
+        startScheduled(MaintenanceTask.INCREMENTAL_VACUUM);
+    }
+
+    /**
+     * Runs the scheduled WAL checkpoint.
+     */
+    @Scheduled(cron = "${bookstore.maintenance.checkpoint.cron:0 */5 * * * *}")
+    public void scheduledCheckpoint() {
+        startScheduled(MaintenanceTask.CHECKPOINT);
+    }
+
+    /**
+     * Runs the scheduled purge of old tombstones.
+     */
+    @Scheduled(cron = "${bookstore.maintenance.purge.cron:0 15 * * * *}")
+    public void scheduledPurge() {
+        startScheduled(MaintenanceTask.PURGE_TOMBSTONES);
+    }
+
+    /**
+     * Stops the maintenance thread. A step in progress finishes; the rest of its task is dropped.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void startScheduled(MaintenanceTask task) {
+        try {
+            start(task, TRIGGER_SCHEDULE);
+        } catch (ServiceUnavailableException ex) {
+            log.warn("Skipping scheduled {}: {}", task.getPath(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs one task to the end. Never throws: failures are logged and returned.
+     *
+     * @param task    the task
+     * @param trigger what started the task
+     * @return the outcome
+     */
+    MaintenanceResult run(MaintenanceTask task, String trigger) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        MaintenanceEvent event = new MaintenanceEvent();
+        event.begin();
+        Run run = new Run();
+        MaintenanceResult.Outcome outcome = MaintenanceResult.Outcome.COMPLETED;
+        String error = null;
+        try {
+            switch (task) {
+                case OPTIMIZE -> optimize(run);
+                case ANALYZE -> analyze(run);
+                case INCREMENTAL_VACUUM -> incrementalVacuum(run);
+                case CHECKPOINT -> checkpoint(run);
+                case PURGE_TOMBSTONES -> purgeTombstones(run);
+            }
+        } catch (Stopped ex) {
+            outcome = ex.outcome;
+            error = ex.getMessage();
+        } catch (RuntimeException ex) {
+            outcome = MaintenanceResult.Outcome.FAILED;
+            error = ex.getMessage();
+            log.error("Maintenance task {} failed", task.getPath(), ex);
+        }
+        MaintenanceResult result = new MaintenanceResult(task, trigger, startedAt, outcome, elapsedMillis(start),
+                run.throttledMillis, run.steps, run.maxStepMillis, run.details, error);
+        lastResults.put(task, result);
+        outcomes.get(outcome).incrementAndGet();
+        if (outcome != MaintenanceResult.Outcome.FAILED) {
+            log.info("Maintenance task {} {} in {} ms ({} steps, longest {} ms, throttled {} ms): {}{}",
+                    task.getPath(), outcome, result.durationMillis(), run.steps, run.maxStepMillis,
+                    run.throttledMillis, run.details, error == null ? "" : " - " + error);
+        }
+        event.task = task.name();
+        event.trigger = trigger;
+        event.outcome = outcome.name();
+        event.steps = run.steps;
+        event.maxStepMillis = run.maxStepMillis;
+        event.throttledMillis = run.throttledMillis;
+        event.details = run.details.toString();
+        event.commit();
+        return result;
+    }
+
+    /**
+     * Returns the running task, the last result of every task, counters and the current load.
+     *
+     * @return map with running, lastRuns, outcome counters, load and settings
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        MaintenanceTask active = currentTask;
+        status.put("running", running.get());
+        if (active != null) {
+            status.put("task", active.getPath());
+            status.put("trigger", currentTrigger);
+            status.put("startedAt", currentStartedAt);
+        }
+        Map<String, Object> lastRuns = new LinkedHashMap<>();
+        for (MaintenanceTask task : MaintenanceTask.values()) {
+            lastRuns.put(task.getPath(), lastResults.get(task));
+        }
+        status.put("lastRuns", lastRuns);
+        for (Map.Entry<MaintenanceResult.Outcome, AtomicLong> count : outcomes.entrySet()) {
+            status.put(count.getKey().name().toLowerCase(Locale.ROOT), count.getValue().get());
+        }
+        status.put("load", maintenanceThrottle.getStatus());
+        status.put("backoffMs", backoffMillis);
+        status.put("maxWaitMs", maxWaitMillis);
+        status.put("vacuumPagesPerStep", vacuumPagesPerStep);
+        status.put("checkpointMode", checkpointMode);
+        status.put("purgeBatchSize", purgeBatchSize);
+        status.put("tombstoneRetentionMs", tombstoneRetentionMillis);
+        return status;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void optimize(Run run) {
+        run.details.put("analysisLimit", optimizeAnalysisLimit);
+        List<String> analyzed = step(run, connection -> {
+            try (Statement statement = connection.createStatement()) {
+                return withAnalysisLimit(statement, optimizeAnalysisLimit, () -> {
+                    // Mask 0x03 lists the ANALYZE statements optimize would run, without running them
+                    List<String> statements = new ArrayList<>();
+                    try (ResultSet resultSet = statement.executeQuery("PRAGMA optimize(0x03)")) {
+                        while (resultSet.next()) {
+                            statements.add(resultSet.getString(1));
+                        }
+                    }
+                    statement.execute("PRAGMA optimize");
+                    return statements;
+                });
+            }
+        });
+        run.details.put("analyzed", analyzed);
+    }
+
+    private void analyze(Run run) {
+        run.details.put("analysisLimit", analyzeAnalysisLimit);
+        Map<String, Long> tableMillis = new LinkedHashMap<>();
+        run.details.put("tableMs", tableMillis);
+        for (String table : jdbcTemplate.queryForList(TABLES_SQL, String.class)) {
+            long millis = step(run, connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    return withAnalysisLimit(statement, analyzeAnalysisLimit, () -> {
+                        long start = System.nanoTime();
+                        statement.execute("ANALYZE \"" + table.replace("\"", "\"\"") + "\"");
+                        return elapsedMillis(start);
+                    });
+                }
+            });
+            tableMillis.put(table, millis);
+        }
+    }
+
+    private void incrementalVacuum(Run run) {
+        long autoVacuum = queryForLong("PRAGMA auto_vacuum");
+        if (autoVacuum != AUTO_VACUUM_INCREMENTAL && !convertAutoVacuum) {
+            throw new Stopped(MaintenanceResult.Outcome.SKIPPED, "auto_vacuum is " + autoVacuum + ", not "
+                    + "INCREMENTAL (2); enable bookstore.maintenance.vacuum.convert to switch it with one VACUUM");
+        }
+        long pageSize = queryForLong("PRAGMA page_size");
+        run.details.put("pageSize", pageSize);
+        run.details.put("freePagesBefore", queryForLong("PRAGMA freelist_count"));
+        run.details.put("bytesBefore", queryForLong("PRAGMA page_count") * pageSize);
+        run.details.put("converted", autoVacuum != AUTO_VACUUM_INCREMENTAL);
+        long freed = 0;
+        try {
+            if (autoVacuum != AUTO_VACUUM_INCREMENTAL) {
+                // An existing file only changes mode when rebuilt; this one step holds the write lock throughout
+                freed += step(run, this::convertToIncremental);
+            }
+            long freedInStep;
+            do {
+                freedInStep = step(run, this::vacuumStep);
+                freed += freedInStep;
+            } while (freedInStep > 0);
+        } finally {
+            // Reported also when the run gives up, for the pages freed until then
+            run.details.put("pagesFreed", freed);
+            run.details.put("freePagesAfter", queryForLong("PRAGMA freelist_count"));
+            run.details.put("bytesAfter", queryForLong("PRAGMA page_count") * pageSize);
+        }
+    }
+
+    private long convertToIncremental(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            long before = queryForLong(statement, "PRAGMA page_count");
+            // Both must run on the same connection: the pragma only records the mode for the VACUUM
+            statement.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            statement.execute("VACUUM");
+            return Math.max(0, before - queryForLong(statement, "PRAGMA page_count"));
+        }
+    }
+
+    private long vacuumStep(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Takes the write lock up front, so the free page count cannot change under the step
+            statement.execute("BEGIN IMMEDIATE");
+            try {
+                long before = queryForLong(statement, "PRAGMA freelist_count");
+                long free = before;
+                // The pragma frees one page per row it steps over; a driver that stops stepping early
+                // frees fewer pages than asked, so repeat until the step's share is freed
+                while (free > 0 && before - free < vacuumPagesPerStep) {
+                    long pages = vacuumPagesPerStep - (before - free);
+                    statement.executeUpdate("PRAGMA incremental_vacuum(" + pages + ")");
+                    long after = queryForLong(statement, "PRAGMA freelist_count");
+                    if (after >= free) {
+                        break;
+                    }
+                    free = after;
+                }
+                statement.execute("COMMIT");
+                return before - free;
+            } catch (SQLException | RuntimeException ex) {
+                statement.execute("ROLLBACK");
+                throw ex;
+            }
+        }
+    }
+
+    private void checkpoint(Run run) {
+        String journalMode = jdbcTemplate.queryForObject("PRAGMA journal_mode", String.class);
+        if (!"wal".equalsIgnoreCase(journalMode)) {
+            throw new Stopped(MaintenanceResult.Outcome.SKIPPED, "journal mode is " + journalMode + ", not WAL");
+        }
+        Path wal = Path.of(jdbcTemplate.query("PRAGMA database_list", resultSet -> {
+            while (resultSet.next()) {
+                if ("main".equals(resultSet.getString("name"))) {
+                    return resultSet.getString("file");
+                }
+            }
+            return "";
+        }) + "-wal");
+        run.details.put("mode", checkpointMode);
+        run.details.put("walBytesBefore", size(wal));
+        long[] frames = step(run, connection -> {
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("PRAGMA wal_checkpoint(" + checkpointMode + ")")) {
+                resultSet.next();
+                return new long[] {resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3)};
+            }
+        });
+        // Busy means readers or writers kept the checkpoint from finishing; it resumes on the next run
+        run.details.put("busy", frames[0] != 0);
+        run.details.put("walFrames", frames[1]);
+        run.details.put("checkpointedFrames", frames[2]);
+        run.details.put("walBytesAfter", size(wal));
+    }
+
+    private void purgeTombstones(Run run) {
+        long cutoff = System.currentTimeMillis() - tombstoneRetentionMillis;
+        run.details.put("cutoff", cutoff);
+        run.details.put("batchSize", purgeBatchSize);
+        List<JdbcOperations> targets = new ArrayList<>();
+        targets.add(jdbcTemplate);
+        BookShards shards = bookShards.getIfAvailable();
+        if (shards != null) {
+            for (int shard = 0; shard < shards.getShardCount(); shard++) {
+                targets.add(shards.jdbc(shard).getJdbcOperations());
+            }
+            run.details.put("shards", shards.getShardCount());
+        }
+        long purged = 0;
+        try {
+            for (JdbcOperations target : targets) {
+                int purgedInStep;
+                do {
+                    purgedInStep = step(run, target, connection -> {
+                        try (PreparedStatement statement = connection.prepareStatement(PURGE_SQL)) {
+                            statement.setLong(1, cutoff);
+                            statement.setInt(2, purgeBatchSize);
+                            return statement.executeUpdate();
+                        }
+                    });
+                    purged += purgedInStep;
+                } while (purgedInStep == purgeBatchSize);
+            }
+        } finally {
+            // Reported also when the run gives up, for the tombstones purged until then
+            run.details.put("rowsPurged", purged);
+        }
+    }
+
+    /**
+     * Waits until the load is low and a write permit is free, then runs one step holding the permit.
+     */
+    private <T> T step(Run run, ConnectionCallback<T> action) {
+        return step(run, jdbcTemplate, action);
+    }
+
+    /**
+     * Runs one step on the given database, waiting as for a step on the main file.
+     */
+    private <T> T step(Run run, JdbcOperations target, ConnectionCallback<T> action) {
+        while (true) {
+            String busy = maintenanceThrottle.busyReason();
+            if (busy != null) {
+                backOff(run, busy);
+                continue;
+            }
+            DatabaseConcurrencyGate.Permit permit = databaseConcurrencyGate.tryAcquireWrite();
+            if (permit == null) {
+                backOff(run, "requests hold every write permit");
+                continue;
+            }
+            try (permit) {
+                long start = System.nanoTime();
+                T result = target.execute(action);
+                run.steps++;
+                run.maxStepMillis = Math.max(run.maxStepMillis, elapsedMillis(start));
+                return result;
+            }
+        }
+    }
+
+    private void backOff(Run run, String reason) {
+        if (run.throttledMillis >= maxWaitMillis) {
+            throw new Stopped(MaintenanceResult.Outcome.THROTTLED,
+                    "Gave up after waiting " + run.throttledMillis + " ms: " + reason);
+        }
+        long start = System.nanoTime();
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new Stopped(MaintenanceResult.Outcome.FAILED, "Interrupted while waiting: " + reason);
+        }
+        run.throttledMillis += elapsedMillis(start);
+    }
+
+    private static <T> T withAnalysisLimit(Statement statement, int analysisLimit, SqlAction<T> action)
+            throws SQLException {
+        statement.execute("PRAGMA analysis_limit = " + analysisLimit);
+        try {
+            return action.run();
+        } finally {
+            // The connection goes back to the pool
+            statement.execute("PRAGMA analysis_limit = 0");
+        }
+    }
+
+    private long queryForLong(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value == null ? 0 : value;
+    }
+
+    private static long queryForLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        }
+    }
+
+    private static long size(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Work done on a statement that may fail with an SQLException.
+     */
+    @FunctionalInterface
+    private interface SqlAction<T> {
+
+        T run() throws SQLException;
+    }
+
+    /**
+     * Progress of one run, confined to the maintenance thread.
+     */
+    private static final class Run {
+
+        private final Map<String, Object> details = new LinkedHashMap<>();
+        private int steps;
+        private long maxStepMillis;
+        private long throttledMillis;
+    }
+
+    /**
+     * Ends a run early with an outcome other than COMPLETED or an unexpected failure.
+     */
+    private static final class Stopped extends RuntimeException {
+
+        private final MaintenanceResult.Outcome outcome;
+
+        private Stopped(MaintenanceResult.Outcome outcome, String message) {
+            super(message);
+            this.outcome = outcome;
+        }
+    }
+}
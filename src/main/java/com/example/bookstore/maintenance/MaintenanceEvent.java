@@ -0,0 +1,48 @@
+package com.example.bookstore.maintenance;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event emitted for every database maintenance run.
+ * The event's duration covers the whole run, including time spent backing off.
+ */
+@Name("com.example.bookstore.Maintenance")
+@Label("Database Maintenance")
+@Category({"Bookstore", "Database"})
+@Description("A run of PRAGMA optimize, ANALYZE, incremental vacuum or WAL checkpoint")
+@StackTrace(false)
+public class MaintenanceEvent extends Event {
+
+    @Label("Task")
+    String task;
+
+    @Label("Trigger")
+    @Description("ADMIN or SCHEDULE")
+    String trigger;
+
+    @Label("Outcome")
+    @Description("COMPLETED, THROTTLED, SKIPPED or FAILED")
+    String outcome;
+
+    @Label("Steps")
+    int steps;
+
+    @Label("Longest Step")
+    @Description("Duration of the longest step, during which the write lock is held")
+    @Timespan(Timespan.MILLISECONDS)
+    long maxStepMillis;
+
+    @Label("Throttled")
+    @Description("Time spent waiting for request latency and the write queue to drop")
+    @Timespan(Timespan.MILLISECONDS)
+    long throttledMillis;
+
+    @Label("Details")
+    String details;
+}
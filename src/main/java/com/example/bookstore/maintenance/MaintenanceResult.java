@@ -0,0 +1,49 @@
+package com.example.bookstore.maintenance;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Outcome of one maintenance run.
+ *
+ * @param task            the task
+ * @param trigger         what started the run: ADMIN or SCHEDULE
+ * @param startedAt       when the run started
+ * @param outcome         how the run ended
+ * @param durationMillis  wall-clock time of the run, including time spent backing off
+ * @param throttledMillis time spent waiting for the load to drop
+ * @param steps           number of steps run, each holding the write lock
+ * @param maxStepMillis   duration of the longest step
+ * @param details         task-specific measurements, for example pages freed or WAL size
+ * @param error           why the run did not complete, or null
+ */
+public record MaintenanceResult(MaintenanceTask task, String trigger, LocalDateTime startedAt, Outcome outcome,
+                                long durationMillis, long throttledMillis, int steps, long maxStepMillis,
+                                Map<String, Object> details, String error) {
+
+    /**
+     * How a maintenance run ended.
+     */
+    public enum Outcome {
+
+        /**
+         * The task ran to the end.
+         */
+        COMPLETED,
+
+        /**
+         * The load stayed high past the maximum wait; the steps already run are kept.
+         */
+        THROTTLED,
+
+        /**
+         * The task does not apply to the database, for example a checkpoint without WAL.
+         */
+        SKIPPED,
+
+        /**
+         * A step failed.
+         */
+        FAILED
+    }
+}
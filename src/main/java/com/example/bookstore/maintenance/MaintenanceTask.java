@@ -0,0 +1,64 @@
+package com.example.bookstore.maintenance;
+
+import com.example.bookstore.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The database maintenance tasks run by {@link DatabaseMaintenance}.
+ */
+public enum MaintenanceTask {
+
+    /**
+     * {@code PRAGMA optimize}: re-analyzes the tables whose statistics the planner found stale.
+     */
+    OPTIMIZE("optimize"),
+
+    /**
+     * {@code ANALYZE}, one table at a time: refreshes the statistics of every table.
+     */
+    ANALYZE("analyze"),
+
+    /**
+     * {@code PRAGMA incremental_vacuum}, a batch of pages at a time: returns free pages to the file system.
+     */
+    INCREMENTAL_VACUUM("incremental-vacuum"),
+
+    /**
+     * {@code PRAGMA wal_checkpoint}: copies the WAL back into the database file.
+     */
+    CHECKPOINT("checkpoint"),
+
+    /**
+     * Hard-deletes the tombstones of books deleted longer ago than the retention, a batch at a time.
+     */
+    PURGE_TOMBSTONES("purge-tombstones");
+
+    private final String path;
+
+    MaintenanceTask(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Looks up a task by its URL path segment.
+     *
+     * @param path the path segment, for example {@code incremental-vacuum}
+     * @return the task
+     * @throws ValidationException if no task has that path
+     */
+    public static MaintenanceTask fromPath(String path) {
+        for (MaintenanceTask task : values()) {
+            if (task.path.equals(path)) {
+                return task;
+            }
+        }
+        throw new ValidationException("Unknown maintenance task '" + path + "', expected one of: "
+                + Arrays.stream(values()).map(MaintenanceTask::getPath).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.bookstore.maintenance;
+
+import com.example.bookstore.concurrency.AdaptiveConcurrencyLimit;
+import com.example.bookstore.concurrency.AdmissionControl;
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.service.AsyncBookService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decides whether the request load leaves room for database maintenance.
+ *
+ * Maintenance backs off while writes are queued, on the database gate or the async executor, or
+ * while the recent average latency of reads or writes is above its bound. Latency is taken from
+ * the admission control limits; with admission control disabled only the write queue counts.
+ * Once requests stop finishing, their old latency no longer counts, so an idle instance is
+ * never reported busy.
+ */
+@Component
+public class MaintenanceThrottle {
+
+    private static final long LATENCY_MAX_AGE_MILLIS = 5_000;
+
+    private final AdmissionControl admissionControl;
+    private final DatabaseConcurrencyGate databaseConcurrencyGate;
+    private final AsyncBookService asyncBookService;
+    private final long maxReadLatencyMillis;
+    private final long maxWriteLatencyMillis;
+    private final int maxQueuedWrites;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param admissionControl        the limits that measure request latency
+     * @param databaseConcurrencyGate the gate holding synchronous writes
+     * @param asyncBookService        the executor holding asynchronous writes
+     * @param maxReadLatencyMillis    average read latency above which maintenance backs off
+     * @param maxWriteLatencyMillis   average write latency above which maintenance backs off
+     * @param maxQueuedWrites         number of queued writes above which maintenance backs off
+     */
+    public MaintenanceThrottle(
+            AdmissionControl admissionControl, DatabaseConcurrencyGate databaseConcurrencyGate,
+            AsyncBookService asyncBookService,
+            @Value("${bookstore.maintenance.max-read-latency-ms:${bookstore.limiter.read.latency-target-ms:50}}")
+            long maxReadLatencyMillis,
+            @Value("${bookstore.maintenance.max-write-latency-ms:${bookstore.limiter.write.latency-target-ms:200}}")
+            long maxWriteLatencyMillis,
+            @Value("${bookstore.maintenance.max-queued-writes:0}") int maxQueuedWrites) {
+        this.admissionControl = admissionControl;
+        this.databaseConcurrencyGate = databaseConcurrencyGate;
+        this.asyncBookService = asyncBookService;
+        this.maxReadLatencyMillis = maxReadLatencyMillis;
+        this.maxWriteLatencyMillis = maxWriteLatencyMillis;
+        this.maxQueuedWrites = maxQueuedWrites;
+    }
+
+    /**
+     * Returns why maintenance should wait, if it should.
+     *
+     * @return the reason, or null if maintenance may run now
+     */
+    public String busyReason() {
+        int queued = databaseConcurrencyGate.getQueuedWriters() + asyncBookService.getQueuedWrites();
+        if (queued > maxQueuedWrites) {
+            return queued + " writes queued";
+        }
+        String read = latencyReason(admissionControl.getReadLimit(), maxReadLatencyMillis);
+        return read != null ? read : latencyReason(admissionControl.getWriteLimit(), maxWriteLatencyMillis);
+    }
+
+    /**
+     * Returns the current load and the bounds, for the maintenance status.
+     *
+     * @return map with the busy reason, queued writes, recent latencies and their bounds
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("busy", busyReason());
+        status.put("queuedWrites", databaseConcurrencyGate.getQueuedWriters() + asyncBookService.getQueuedWrites());
+        status.put("maxQueuedWrites", maxQueuedWrites);
+        status.put("readLatencyMs", admissionControl.getReadLimit().getRecentLatencyMillis(LATENCY_MAX_AGE_MILLIS));
+        status.put("maxReadLatencyMs", maxReadLatencyMillis);
+        status.put("writeLatencyMs", admissionControl.getWriteLimit().getRecentLatencyMillis(LATENCY_MAX_AGE_MILLIS));
+        status.put("maxWriteLatencyMs", maxWriteLatencyMillis);
+        return status;
+    }
+
+    private static String latencyReason(AdaptiveConcurrencyLimit limit, long maxLatencyMillis) {
+        long latency = limit.getRecentLatencyMillis(LATENCY_MAX_AGE_MILLIS);
+        return latency > maxLatencyMillis
+                ? limit.getName() + " latency " + latency + " ms above " + maxLatencyMillis + " ms"
+                : null;
+    }
+}
@@ -2,10 +2,13 @@ package com.example.bookstore.mapper;
 
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstone;
 import com.example.bookstore.dto.BookUpdateRequest;
 import com.example.bookstore.entity.Book;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * Mapper class for converting between Book entity and DTOs.
@@ -65,6 +68,21 @@ public class BookMapper {
         return response;
     }
 
+    /**
+     * Maps a deleted Book entity to a BookTombstone DTO.
+     *
+     * @param book the deleted Book entity
+     * @return the BookTombstone DTO
+     */
+    public static BookTombstone toTombstone(Book book) {
+        if (book == null) {
+            return null;
+        }
+        LocalDateTime deletedAt = book.getDeletedAt() == null ? null
+                : LocalDateTime.ofInstant(Instant.ofEpochMilli(book.getDeletedAt()), ZoneId.systemDefault());
+        return new BookTombstone(book.getId(), book.getIsbn(), book.getTitle(), deletedAt);
+    }
+
     /**
      * Updates a Book entity with values from BookUpdateRequest.
      * Only non-null fields from the request are applied.
@@ -0,0 +1,16 @@
+package com.example.bookstore.migration;
+
+import java.time.LocalDateTime;
+
+/**
+ * A migration recorded in the {@code schema_version} table.
+ *
+ * @param version         the schema version
+ * @param description     the description of the script
+ * @param checksum        the checksum of the script when it was applied
+ * @param installedAt     when the migration was applied
+ * @param executionMillis how long the script ran
+ */
+public record AppliedMigration(int version, String description, String checksum, LocalDateTime installedAt,
+                               long executionMillis) {
+}
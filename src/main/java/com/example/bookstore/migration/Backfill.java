@@ -0,0 +1,49 @@
+package com.example.bookstore.migration;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Data change that follows a schema migration and is too large to run inside it, such as filling
+ * a new column on every existing row. The {@link BackfillRunner} calls it in batches, in the
+ * background, once the database is at the version the backfill needs.
+ *
+ * Batches walk the table in key order. Each batch runs in its own short transaction, and the
+ * key it ends at is stored with it, so after a restart the backfill continues where it stopped.
+ * Rows written by requests meanwhile must already be correct, typically because a trigger added
+ * by the migration maintains the new column, so a batch only has to fix the rows that predate it.
+ */
+public interface Backfill {
+
+    /**
+     * Returns the name the progress is recorded under. Renaming a backfill starts it again.
+     *
+     * @return a unique name
+     */
+    String getName();
+
+    /**
+     * Returns the schema version the backfill needs.
+     *
+     * @return the version of the migration that prepared the schema
+     */
+    int getVersion();
+
+    /**
+     * Processes the rows following a key.
+     *
+     * @param jdbcTemplate the template to run the batch with, inside the batch transaction
+     * @param afterKey     the key the previous batch ended at, 0 for the first batch
+     * @param batchSize    maximum number of rows to process
+     * @return the batch, or null if no rows follow the key
+     */
+    Batch processBatch(NamedParameterJdbcTemplate jdbcTemplate, long afterKey, int batchSize);
+
+    /**
+     * The outcome of one batch.
+     *
+     * @param lastKey     the key of the last row the batch examined
+     * @param rowsUpdated number of rows changed
+     */
+    record Batch(long lastKey, int rowsUpdated) {
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.bookstore.migration;
+
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.maintenance.MaintenanceThrottle;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the registered {@link Backfill} beans in the background once the application is ready,
+ * in order of the schema version they need.
+ *
+ * A backfill advances one batch at a time. Before each batch the runner waits, as database
+ * maintenance does, until the {@link MaintenanceThrottle} reports the load low enough and a write
+ * permit of the {@link DatabaseConcurrencyGate} is free, then runs the batch and the update of its
+ * progress row in {@code schema_backfills} in one transaction while holding the permit, and pauses
+ * before the next. Unlike maintenance it never gives up waiting: a backfill only has to finish
+ * eventually, and resumes from its last batch after a restart. A backfill whose batch fails is
+ * left where it stopped and tried again on the next start.
+ */
+@Component
+public class BackfillRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BackfillRunner.class);
+    private static final String VERSION_SQL = "SELECT COALESCE(MAX(version), 0) FROM schema_version";
+    private static final String SELECT_SQL =
+            "SELECT name, version, last_key, rows_updated, started_at, completed_at FROM schema_backfills";
+    private static final String SAVE_SQL = """
+            INSERT INTO schema_backfills (name, version, last_key, rows_updated, started_at, completed_at)
+            VALUES (:name, :version, :lastKey, :rowsUpdated, :now, :completedAt)
+            ON CONFLICT (name) DO UPDATE SET last_key = excluded.last_key, rows_updated = excluded.rows_updated,
+                completed_at = excluded.completed_at""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final List<Backfill> backfills;
+    private final MaintenanceThrottle maintenanceThrottle;
+    private final DatabaseConcurrencyGate databaseConcurrencyGate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final long backoffMillis;
+    private final ExecutorService executor;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong throttledMillis = new AtomicLong();
+    private final Map<String, String> errors = new LinkedHashMap<>();
+    private volatile String current;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param jdbcTemplate            the template of the database to backfill
+     * @param transactionManager      the transaction manager of that database
+     * @param backfills               the backfills to run
+     * @param maintenanceThrottle     decides when the load leaves room for a batch
+     * @param databaseConcurrencyGate the gate whose write permit each batch holds
+     * @param enabled                 whether backfills run at startup
+     * @param batchSize               rows examined per batch
+     * @param pauseMillis             pause between batches
+     * @param backoffMillis           pause before checking the load again
+     */
+    public BackfillRunner(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          List<Backfill> backfills, MaintenanceThrottle maintenanceThrottle,
+                          DatabaseConcurrencyGate databaseConcurrencyGate,
+                          @Value("${bookstore.migration.backfill.enabled:true}") boolean enabled,
+                          @Value("${bookstore.migration.backfill.batch-size:1000}") int batchSize,
+                          @Value("${bookstore.migration.backfill.pause-ms:50}") long pauseMillis,
+                          @Value("${bookstore.migration.backfill.backoff-ms:1000}") long backoffMillis) {
+        if (batchSize < 1 || backoffMillis < 1) {
+            throw new IllegalArgumentException("Batch size and backoff must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.backfills = backfills.stream()
+                .sorted(Comparator.comparingInt(Backfill::getVersion).thenComparing(Backfill::getName))
+                .toList();
+        this.maintenanceThrottle = maintenanceThrottle;
+        this.databaseConcurrencyGate = databaseConcurrencyGate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.backoffMillis = backoffMillis;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("backfill-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                threadFactory);
+    }
+
+    /**
+     * Starts the backfills once the application serves traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled && !backfills.isEmpty()) {
+            executor.execute(this::runAll);
+        }
+    }
+
+    /**
+     * Stops the backfill thread. The batch in progress finishes; the rest continues on the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs every backfill the schema is ready for to completion, on the calling thread.
+     */
+    void runAll() {
+        Integer schemaVersion = jdbcTemplate.getJdbcTemplate().queryForObject(VERSION_SQL, Integer.class);
+        Map<String, Map<String, Object>> progress = progress();
+        for (Backfill backfill : backfills) {
+            Map<String, Object> row = progress.get(backfill.getName());
+            if (row != null && row.get("completedAt") != null) {
+                continue;
+            }
+            if (schemaVersion == null || backfill.getVersion() > schemaVersion) {
+                log.warn("Backfill {} needs schema V{}, the database is at V{}", backfill.getName(),
+                        backfill.getVersion(), schemaVersion);
+                continue;
+            }
+            long lastKey = row == null ? 0 : (Long) row.get("lastKey");
+            long rowsUpdated = row == null ? 0 : (Long) row.get("rowsUpdated");
+            current = backfill.getName();
+            try {
+                run(backfill, lastKey, rowsUpdated);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Backfill {} failed, it continues on the next start", backfill.getName(), ex);
+                synchronized (errors) {
+                    errors.put(backfill.getName(), ex.getMessage());
+                }
+            } finally {
+                current = null;
+            }
+        }
+    }
+
+    private void run(Backfill backfill, long lastKey, long rowsUpdated) throws InterruptedException {
+        log.info("Backfill {} starting after key {}", backfill.getName(), lastKey);
+        long key = lastKey;
+        long updated = rowsUpdated;
+        while (true) {
+            Backfill.Batch batch;
+            try (DatabaseConcurrencyGate.Permit ignored = awaitPermit()) {
+                long after = key;
+                long total = updated;
+                batch = transaction.execute(status -> {
+                    Backfill.Batch result = backfill.processBatch(jdbcTemplate, after, batchSize);
+                    save(backfill, result == null ? after : result.lastKey(),
+                            result == null ? total : total + result.rowsUpdated(), result == null);
+                    return result;
+                });
+            }
+            if (batch == null) {
+                log.info("Backfill {} completed, {} rows updated", backfill.getName(), updated);
+                return;
+            }
+            batches.incrementAndGet();
+            key = batch.lastKey();
+            updated += batch.rowsUpdated();
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+    }
+
+    private DatabaseConcurrencyGate.Permit awaitPermit() throws InterruptedException {
+        while (true) {
+            if (maintenanceThrottle.busyReason() == null) {
+                DatabaseConcurrencyGate.Permit permit = databaseConcurrencyGate.tryAcquireWrite();
+                if (permit != null) {
+                    return permit;
+                }
+            }
+            Thread.sleep(backoffMillis);
+            throttledMillis.addAndGet(backoffMillis);
+        }
+    }
+
+    private void save(Backfill backfill, long lastKey, long rowsUpdated, boolean completed) {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update(SAVE_SQL, new MapSqlParameterSource()
+                .addValue("name", backfill.getName())
+                .addValue("version", backfill.getVersion())
+                .addValue("lastKey", lastKey)
+                .addValue("rowsUpdated", rowsUpdated)
+                .addValue("now", now)
+                .addValue("completedAt", completed ? now : null));
+    }
+
+    private Map<String, Map<String, Object>> progress() {
+        Map<String, Map<String, Object>> progress = new LinkedHashMap<>();
+        jdbcTemplate.getJdbcTemplate().query(SELECT_SQL, rows -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("version", rows.getInt("version"));
+            row.put("lastKey", rows.getLong("last_key"));
+            row.put("rowsUpdated", rows.getLong("rows_updated"));
+            row.put("startedAt", time(rows.getLong("started_at")));
+            long completedAt = rows.getLong("completed_at");
+            row.put("completedAt", rows.wasNull() ? null : time(completedAt));
+            progress.put(rows.getString("name"), row);
+        });
+        return progress;
+    }
+
+    /**
+     * Returns the progress of every backfill for the admin endpoint.
+     *
+     * @return map with the runner settings and counters and one entry per backfill
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Map<String, Object>> progress = progress();
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Backfill backfill : backfills) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", backfill.getName());
+            Map<String, Object> row = progress.get(backfill.getName());
+            String error;
+            synchronized (errors) {
+                error = errors.get(backfill.getName());
+            }
+            String state;
+            if (row != null && row.get("completedAt") != null) {
+                state = "COMPLETED";
+            } else if (backfill.getName().equals(current)) {
+                state = "RUNNING";
+            } else if (error != null) {
+                state = "FAILED";
+            } else {
+                state = "PENDING";
+            }
+            entry.put("state", state);
+            if (row != null) {
+                entry.putAll(row);
+            } else {
+                entry.put("version", backfill.getVersion());
+            }
+            entry.put("error", error);
+            entries.add(entry);
+        }
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("batchSize", batchSize);
+        status.put("batches", batches.get());
+        status.put("throttledMs", throttledMillis.get());
+        status.put("backfills", entries);
+        return status;
+    }
+
+    private static LocalDateTime time(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.bookstore.migration;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code books.isbn_normalized}, added by migration V2, for the books that existed before it.
+ * Books created or changed since then are kept current by the migration's triggers.
+ */
+@Component
+public class IsbnNormalizedBackfill implements Backfill {
+
+    private static final String LAST_KEY_SQL =
+            "SELECT MAX(id) FROM (SELECT id FROM books WHERE id > :after ORDER BY id LIMIT :limit)";
+    // Same expression as the triggers in V2__isbn_normalized.sql
+    private static final String UPDATE_SQL = """
+            UPDATE books
+            SET isbn_normalized = UPPER(REPLACE(REPLACE(REPLACE(REPLACE(REPLACE(
+                    isbn, '-', ''), ' ', ''), char(9), ''), char(10), ''), char(13), ''))
+            WHERE id > :after AND id <= :last AND isbn IS NOT NULL AND isbn_normalized IS NULL""";
+
+    @Override
+    public String getName() {
+        return "isbn_normalized";
+    }
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public Batch processBatch(NamedParameterJdbcTemplate jdbcTemplate, long afterKey, int batchSize) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("after", afterKey)
+                .addValue("limit", batchSize);
+        Long lastKey = jdbcTemplate.queryForObject(LAST_KEY_SQL, parameters, Long.class);
+        if (lastKey == null) {
+            return null;
+        }
+        int updated = jdbcTemplate.update(UPDATE_SQL, parameters.addValue("last", lastKey));
+        return new Batch(lastKey, updated);
+    }
+}
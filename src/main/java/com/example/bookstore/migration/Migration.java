@@ -0,0 +1,56 @@
+package com.example.bookstore.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A migration script, named {@code V<version>__<description>.sql}.
+ *
+ * @param version     the schema version the script brings the database to
+ * @param description the description from the file name, underscores as spaces
+ * @param script      the SQL text
+ * @param checksum    SHA-256 of the script with line endings normalized, in hex
+ */
+public record Migration(int version, String description, String script, String checksum) {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * Creates a migration from its file name and contents.
+     *
+     * @param fileName the file name
+     * @param script   the SQL text
+     * @return the migration
+     * @throws IllegalArgumentException if the file name does not follow the pattern
+     */
+    public static Migration of(String fileName, String script) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Migration file name must be V<version>__<description>.sql: "
+                    + fileName);
+        }
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script,
+                checksum(script));
+    }
+
+    /**
+     * Returns the checksum of a script. Line endings are normalized first, so a checkout with
+     * CRLF line endings does not count as a changed migration.
+     *
+     * @param script the SQL text
+     * @return SHA-256 in hex
+     */
+    static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.bookstore.migration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Brings a database to the newest schema version by applying the migration scripts it has not
+ * seen yet, in version order.
+ *
+ * Scripts are named {@code V<version>__<description>.sql} and found under a location, by default
+ * {@code classpath:db/migration}. Every applied script is recorded in {@code schema_version} with
+ * its checksum. Before anything runs, the recorded migrations are checked against the scripts: a
+ * script changed after it was applied, an applied version with no script and a new script older
+ * than the newest applied one all stop the migration, since the schema would no longer match what
+ * the scripts describe.
+ *
+ * Each script runs in one transaction together with its {@code schema_version} row, so a failing
+ * script leaves neither a partial schema change nor a record behind. SQLite cannot VACUUM inside a
+ * transaction, and ignores {@code PRAGMA foreign_keys} there, so scripts must not rely on either.
+ * Work that would hold the write lock for long, such as filling a new column on a large table,
+ * belongs in a {@link Backfill} instead, which runs in the background in short batches.
+ */
+public class SchemaMigrator {
+
+    public static final String DEFAULT_LOCATION = "classpath:db/migration";
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+    private static final Pattern CREATE_TRIGGER =
+            Pattern.compile("CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b", Pattern.CASE_INSENSITIVE);
+    private static final String CREATE_VERSION_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                checksum TEXT NOT NULL,
+                installed_at INTEGER NOT NULL,
+                execution_ms INTEGER NOT NULL
+            )""";
+    private static final String CREATE_BACKFILL_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS schema_backfills (
+                name TEXT PRIMARY KEY,
+                version INTEGER NOT NULL,
+                last_key INTEGER NOT NULL,
+                rows_updated INTEGER NOT NULL,
+                started_at INTEGER NOT NULL,
+                completed_at INTEGER
+            )""";
+    private static final String SELECT_SQL =
+            "SELECT version, description, checksum, installed_at, execution_ms FROM schema_version ORDER BY version";
+    private static final String INSERT_SQL =
+            "INSERT INTO schema_version (version, description, checksum, installed_at, execution_ms) "
+                    + "VALUES (?, ?, ?, ?, 0)";
+    private static final String UPDATE_SQL = "UPDATE schema_version SET execution_ms = ? WHERE version = ?";
+
+    private final DataSource dataSource;
+    private final String location;
+
+    /**
+     * Constructor with the database and the script location.
+     *
+     * @param dataSource the database to migrate
+     * @param location   the directory holding the scripts, as a resource location
+     */
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    /**
+     * Applies the pending migrations.
+     *
+     * @return the migrations applied now, empty if the schema was current
+     * @throws IllegalStateException if the applied migrations do not match the scripts or a script fails
+     */
+    public List<AppliedMigration> migrate() {
+        List<Migration> migrations = findMigrations();
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_VERSION_TABLE_SQL);
+                statement.execute(CREATE_BACKFILL_TABLE_SQL);
+            }
+            List<Migration> pending = pending(migrations, applied(connection));
+            List<AppliedMigration> applied = new ArrayList<>(pending.size());
+            for (Migration migration : pending) {
+                AppliedMigration result = apply(connection, migration);
+                log.info("Migrated schema to V{} ({}) in {} ms", result.version(), result.description(),
+                        result.executionMillis());
+                applied.add(result);
+            }
+            return applied;
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not migrate the schema: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the migrations recorded in the database.
+     *
+     * @return the applied migrations in version order, empty if none were ever applied
+     */
+    public List<AppliedMigration> appliedMigrations() {
+        try (Connection connection = dataSource.getConnection()) {
+            return new ArrayList<>(applied(connection).values());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the schema version: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns the schema version of the database.
+     *
+     * @return the newest applied version, 0 if none
+     */
+    public int currentVersion() {
+        List<AppliedMigration> applied = appliedMigrations();
+        return applied.isEmpty() ? 0 : applied.get(applied.size() - 1).version();
+    }
+
+    /**
+     * Reads the migration scripts.
+     *
+     * @return the migrations in version order
+     * @throws IllegalStateException if two scripts have the same version
+     */
+    public List<Migration> findMigrations() {
+        Map<Integer, Migration> migrations = new TreeMap<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(location + "/V*__*.sql");
+            for (Resource resource : resources) {
+                Migration migration =
+                        Migration.of(resource.getFilename(), resource.getContentAsString(StandardCharsets.UTF_8));
+                Migration previous = migrations.put(migration.version(), migration);
+                if (previous != null) {
+                    throw new IllegalStateException(String.format("Two migrations for V%d: %s and %s",
+                            migration.version(), previous.description(), migration.description()));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read migrations from " + location, ex);
+        }
+        return new ArrayList<>(migrations.values());
+    }
+
+    private static List<Migration> pending(List<Migration> migrations, Map<Integer, AppliedMigration> applied) {
+        Map<Integer, Migration> byVersion = new TreeMap<>();
+        for (Migration migration : migrations) {
+            byVersion.put(migration.version(), migration);
+        }
+        int newestApplied = 0;
+        for (AppliedMigration recorded : applied.values()) {
+            Migration migration = byVersion.get(recorded.version());
+            if (migration == null) {
+                throw new IllegalStateException(String.format(
+                        "Applied migration V%d (%s) has no script; the database is newer than this build",
+                        recorded.version(), recorded.description()));
+            }
+            if (!migration.checksum().equals(recorded.checksum())) {
+                throw new IllegalStateException(String.format(
+                        "Migration V%d (%s) was changed after it was applied; add the change as a new migration",
+                        recorded.version(), recorded.description()));
+            }
+            newestApplied = Math.max(newestApplied, recorded.version());
+        }
+        List<Migration> pending = new ArrayList<>();
+        for (Migration migration : byVersion.values()) {
+            if (applied.containsKey(migration.version())) {
+                continue;
+            }
+            if (migration.version() < newestApplied) {
+                throw new IllegalStateException(String.format(
+                        "Migration V%d (%s) is older than the applied V%d; give it a higher version",
+                        migration.version(), migration.description(), newestApplied));
+            }
+            pending.add(migration);
+        }
+        return pending;
+    }
+
+    private static Map<Integer, AppliedMigration> applied(Connection connection) throws SQLException {
+        Map<Integer, AppliedMigration> applied = new TreeMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet table = statement.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version'")) {
+                if (!table.next()) {
+                    return applied;
+                }
+            }
+            try (ResultSet rows = statement.executeQuery(SELECT_SQL)) {
+                while (rows.next()) {
+                    LocalDateTime installedAt = LocalDateTime.ofInstant(
+                            Instant.ofEpochMilli(rows.getLong("installed_at")), ZoneId.systemDefault());
+                    applied.put(rows.getInt("version"), new AppliedMigration(rows.getInt("version"),
+                            rows.getString("description"), rows.getString("checksum"), installedAt,
+                            rows.getLong("execution_ms")));
+                }
+            }
+        }
+        return applied;
+    }
+
+    private static AppliedMigration apply(Connection connection, Migration migration) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        long installedAt = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            // Recording the version first takes the write lock, so an instance starting at the same
+            // time waits here and then fails on the primary key instead of running the script twice
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                insert.setInt(1, migration.version());
+                insert.setString(2, migration.description());
+                insert.setString(3, migration.checksum());
+                insert.setLong(4, installedAt);
+                insert.executeUpdate();
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : statements(migration.script())) {
+                    statement.execute(sql);
+                }
+            }
+            long executionMillis = (System.nanoTime() - start) / 1_000_000;
+            try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+                update.setLong(1, executionMillis);
+                update.setInt(2, migration.version());
+                update.executeUpdate();
+            }
+            connection.commit();
+            return new AppliedMigration(migration.version(), migration.description(), migration.checksum(),
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(installedAt), ZoneId.systemDefault()),
+                    executionMillis);
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw new IllegalStateException(String.format("Migration V%d (%s) failed and was rolled back: %s",
+                    migration.version(), migration.description(), ex.getMessage()), ex);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Splits a script into statements. A statement ends with a line ending in a semicolon, except
+     * that a CREATE TRIGGER ends with a line {@code END;}, since its body holds statements of its
+     * own. Lines starting with {@code --} are comments and skipped.
+     *
+     * @param script the SQL text
+     * @return the statements in order
+     */
+    static List<String> statements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean trigger = false;
+        for (String line : script.split("\\R")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() && current.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            if (current.isEmpty()) {
+                trigger = CREATE_TRIGGER.matcher(trimmed).lookingAt();
+            }
+            current.append(line).append('\n');
+            if (trigger ? trimmed.equalsIgnoreCase("END;") : trimmed.endsWith(";")) {
+                statements.add(current.toString().strip());
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().strip());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.bookstore.monitoring;
+
+/**
+ * Scope covering one book service operation.
+ *
+ * Records the time spent in service logic against the current request's {@link RequestTiming}
+ * and emits a {@link BookOperationEvent} to Flight Recorder. When neither is active, a shared
+ * no-op instance is returned and the scope costs nothing. Row counts and cache outcomes are only
+ * kept by scopes that record an event, so the shared instance is never written to.
+ */
+public final class BookOperation implements AutoCloseable {
+
+    private static final BookOperation NOOP = new BookOperation(null, null, null, null);
+    private static final String NO_CACHE = "NONE";
+
+    private final String name;
+    private final Object key;
+    private final RequestTiming timing;
+    private final BookOperationEvent event;
+    private int rows;
+    private String cache = NO_CACHE;
+    private boolean completed;
+
+    private BookOperation(String name, Object key, RequestTiming timing, BookOperationEvent event) {
+        this.name = name;
+        this.key = key;
+        this.timing = timing;
+        this.event = event;
+    }
+
+    /**
+     * Enters a service operation.
+     *
+     * @param name the operation name
+     * @param key  the argument identifying what the operation works on, or null
+     * @return the operation scope, to be closed when the operation finishes
+     */
+    public static BookOperation begin(String name, Object key) {
+        RequestTiming timing = RequestTimings.current();
+        BookOperationEvent event = new BookOperationEvent();
+        boolean recording = event.isEnabled();
+        if (timing == null && !recording) {
+            return NOOP;
+        }
+        if (timing != null) {
+            timing.serviceStarted();
+        }
+        if (recording) {
+            event.begin();
+        }
+        return new BookOperation(name, key, timing, recording ? event : null);
+    }
+
+    /**
+     * Records the number of books returned or written and marks the operation as successful.
+     *
+     * @param rows the row count
+     */
+    public void rows(int rows) {
+        if (event == null) {
+            return;
+        }
+        this.rows = rows;
+        this.completed = true;
+    }
+
+    /**
+     * Records whether the entity cache answered the operation.
+     *
+     * @param hit true for a cache hit, false for a miss that went to the database
+     */
+    public void cache(boolean hit) {
+        if (event == null) {
+            return;
+        }
+        this.cache = hit ? "HIT" : "MISS";
+    }
+
+    @Override
+    public void close() {
+        if (timing != null) {
+            timing.serviceFinished();
+        }
+        if (event != null && event.shouldCommit()) {
+            event.operation = name;
+            event.key = key == null ? null : String.valueOf(key);
+            event.rows = rows;
+            event.cache = cache;
+            event.failed = !completed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bookstore.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for every book service operation.
+ * The event's duration covers the whole operation, including database access and mapping.
+ */
+@Name("com.example.bookstore.BookOperation")
+@Label("Book Operation")
+@Category({"Bookstore", "Service"})
+@Description("A BookService operation such as getBookById or createBook")
+@StackTrace(false)
+public class BookOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Key")
+    @Description("The id, ISBN, author or search term the operation was called with")
+    String key;
+
+    @Label("Rows")
+    @Description("Number of books returned or written")
+    int rows;
+
+    @Label("Cache")
+    @Description("Entity cache outcome: HIT, MISS or NONE when the operation does not use the cache")
+    String cache;
+
+    @Label("Failed")
+    boolean failed;
+}
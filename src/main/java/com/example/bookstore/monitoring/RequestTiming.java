@@ -0,0 +1,128 @@
+package com.example.bookstore.monitoring;
+
+import java.util.Locale;
+
+/**
+ * Per-request accumulator of time spent in each phase of the request pipeline.
+ * Instances are confined to the request thread, so plain fields are sufficient.
+ */
+public final class RequestTiming {
+
+    private final long startNanos;
+    private long handlerStartNanos;
+    private long serviceStartNanos;
+    private long serviceNanos;
+    private int serviceDepth;
+    private long dbNanos;
+    private int dbStatements;
+    private long mappingNanos;
+    private long serializationStartNanos;
+
+    /**
+     * Starts timing a request.
+     */
+    public RequestTiming() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the point at which a handler was selected; request binding and validation follow.
+     */
+    public void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks entry into a service operation. Nested calls are only counted once.
+     */
+    public void serviceStarted() {
+        if (serviceDepth++ == 0) {
+            long now = System.nanoTime();
+            if (serviceStartNanos == 0) {
+                serviceStartNanos = now;
+            }
+            serviceNanos -= now;
+        }
+    }
+
+    /**
+     * Marks exit from a service operation.
+     */
+    public void serviceFinished() {
+        if (--serviceDepth == 0) {
+            serviceNanos += System.nanoTime();
+        }
+    }
+
+    /**
+     * Adds one executed SQL statement.
+     *
+     * @param elapsedNanos the statement duration
+     */
+    public void addStatement(long elapsedNanos) {
+        dbNanos += elapsedNanos;
+        dbStatements++;
+    }
+
+    /**
+     * Adds time spent mapping between entities and DTOs.
+     *
+     * @param elapsedNanos the mapping duration
+     */
+    public void addMapping(long elapsedNanos) {
+        mappingNanos += elapsedNanos;
+    }
+
+    /**
+     * Marks the point at which the response body starts being serialized.
+     */
+    public void serializationStarted() {
+        if (serializationStartNanos == 0) {
+            serializationStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Renders the accumulated phases as a Server-Timing header value.
+     * Service time excludes the database and mapping time spent inside it.
+     *
+     * @return the header value
+     */
+    public String toHeaderValue() {
+        long endNanos = System.nanoTime();
+        StringBuilder header = new StringBuilder(160);
+        if (handlerStartNanos != 0) {
+            long validationEnd = firstNonZero(serviceStartNanos, serializationStartNanos, endNanos);
+            appendMetric(header, "validation", validationEnd - handlerStartNanos, null);
+        }
+        appendMetric(header, "service", Math.max(0, serviceNanos - dbNanos - mappingNanos), null);
+        appendMetric(header, "db", dbNanos, dbStatements + (dbStatements == 1 ? " statement" : " statements"));
+        appendMetric(header, "mapping", mappingNanos, null);
+        if (serializationStartNanos != 0) {
+            appendMetric(header, "serialization", endNanos - serializationStartNanos, null);
+        }
+        appendMetric(header, "total", endNanos - startNanos, null);
+        return header.toString();
+    }
+
+    public int getDbStatements() {
+        return dbStatements;
+    }
+
+    private static long firstNonZero(long first, long second, long fallback) {
+        if (first != 0) {
+            return first;
+        }
+        return second != 0 ? second : fallback;
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos, String description) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.jdbc.StatementExecution;
+import com.example.bookstore.jdbc.StatementListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds every statement's duration to the current request's {@link RequestTiming}.
+ */
+@Component
+public class RequestTimingStatementListener implements StatementListener {
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        RequestTiming timing = RequestTimings.current();
+        if (timing != null) {
+            timing.addStatement(execution.getElapsedNanos());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bookstore.monitoring;
+
+/**
+ * Static access point for the {@link RequestTiming} of the current request.
+ *
+ * Instrumentation points call {@link #current()} and skip all work when it returns null,
+ * so when Server-Timing is switched off the only cost is a volatile read.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static volatile boolean enabled;
+
+    /**
+     * Private constructor to prevent instantiation.
+     * This is a utility class with only static methods.
+     */
+    private RequestTimings() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        RequestTimings.enabled = enabled;
+    }
+
+    /**
+     * Returns the timing of the request being processed on this thread.
+     *
+     * @return the current request timing, or null if timing is disabled or no request is active
+     */
+    public static RequestTiming current() {
+        return enabled ? CURRENT.get() : null;
+    }
+
+    /**
+     * Binds a timing to the current thread.
+     *
+     * @param timing the timing to bind, or null to unbind
+     */
+    public static void bind(RequestTiming timing) {
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.bookstore.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Adds a Server-Timing header with the per-phase breakdown of each request.
+ *
+ * While enabled, the response body is buffered so the header can be written after serialization
+ * has finished. Streaming requests, those accepting an event-stream, any request to the book
+ * event stream and replication snapshot downloads, are never buffered. When disabled the filter passes requests straight through.
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String EVENT_STREAM_PATH = "/api/books/events";
+    private static final String SNAPSHOT_PATH = "/admin/replication/snapshot";
+    private static final String TIMING_ATTRIBUTE = RequestTiming.class.getName();
+
+    /**
+     * Constructor applying the initial switch position.
+     *
+     * @param enabled whether Server-Timing is enabled at startup
+     */
+    public ServerTimingFilter(@Value("${bookstore.server-timing.enabled:false}") boolean enabled) {
+        RequestTimings.setEnabled(enabled);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        return accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE)
+                || EVENT_STREAM_PATH.equals(request.getServletPath())
+                || SNAPSHOT_PATH.equals(request.getServletPath());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null && !RequestTimings.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        RequestTimings.bind(timing);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.bind(null);
+        }
+        if (!isAsyncStarted(request)) {
+            wrapper.setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+            wrapper.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marks the start of request binding and validation once a handler has been selected.
+ */
+public class ServerTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming timing = RequestTimings.current();
+        if (timing != null) {
+            timing.handlerStarted();
+        }
+        return true;
+    }
+}
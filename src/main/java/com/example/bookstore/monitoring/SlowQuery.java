@@ -0,0 +1,74 @@
+package com.example.bookstore.monitoring;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A statement that exceeded the slow-query threshold, together with its query plan.
+ */
+public final class SlowQuery {
+
+    private final String sql;
+    private final List<String> parameterTypes;
+    private final long rowCount;
+    private final double elapsedMillis;
+    private final boolean failed;
+    private final List<String> queryPlan;
+    private final boolean fullTableScan;
+    private final LocalDateTime capturedAt;
+
+    /**
+     * Constructor with all fields.
+     *
+     * @param sql            the SQL text
+     * @param parameterTypes simple type names of the bound parameters
+     * @param rowCount       rows returned or affected, or -1 if unknown
+     * @param elapsedMillis  statement duration in milliseconds
+     * @param failed         whether the statement threw an exception
+     * @param queryPlan      the EXPLAIN QUERY PLAN detail lines
+     * @param fullTableScan  whether the plan contains a full scan of the books table
+     */
+    public SlowQuery(String sql, List<String> parameterTypes, long rowCount, double elapsedMillis,
+                     boolean failed, List<String> queryPlan, boolean fullTableScan) {
+        this.sql = sql;
+        this.parameterTypes = parameterTypes;
+        this.rowCount = rowCount;
+        this.elapsedMillis = elapsedMillis;
+        this.failed = failed;
+        this.queryPlan = queryPlan;
+        this.fullTableScan = fullTableScan;
+        this.capturedAt = LocalDateTime.now();
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public List<String> getQueryPlan() {
+        return queryPlan;
+    }
+
+    public boolean isFullTableScan() {
+        return fullTableScan;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.jdbc.QueryPlans;
+import com.example.bookstore.jdbc.StatementExecution;
+import com.example.bookstore.jdbc.StatementListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs statements slower than a configurable threshold.
+ *
+ * Each slow statement is logged with its SQL, parameter shapes, row count and SQLite query plan.
+ * The slowest statements seen so far are retained in a bounded in-memory buffer for the admin endpoint.
+ */
+@Component
+public class SlowQueryLog implements StatementListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+    private static final Comparator<SlowQuery> BY_ELAPSED = Comparator.comparingDouble(SlowQuery::getElapsedMillis);
+
+    private final long thresholdNanos;
+    private final int capacity;
+    private final boolean explain;
+    private final PriorityQueue<SlowQuery> slowest;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param thresholdMillis statements at or above this duration are logged
+     * @param capacity        number of slowest statements retained
+     * @param explain         whether to capture EXPLAIN QUERY PLAN output
+     */
+    public SlowQueryLog(@Value("${bookstore.jdbc.slow-query.threshold-ms:100}") long thresholdMillis,
+                        @Value("${bookstore.jdbc.slow-query.capacity:50}") int capacity,
+                        @Value("${bookstore.jdbc.slow-query.explain:true}") boolean explain) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.capacity = capacity;
+        this.explain = explain;
+        this.slowest = new PriorityQueue<>(capacity + 1, BY_ELAPSED);
+    }
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        if (execution.getElapsedNanos() < thresholdNanos) {
+            return;
+        }
+        List<String> plan = explain ? explain(execution) : List.of();
+        boolean fullTableScan = QueryPlans.hasFullScanOfBooks(plan);
+        SlowQuery slowQuery = new SlowQuery(execution.getSql(), execution.getParameterTypes(),
+                execution.getRowCount(), execution.getElapsedNanos() / 1_000_000.0,
+                execution.isFailed(), plan, fullTableScan);
+
+        log.warn("Slow statement ({} ms, {} rows{}): {} params={} plan={}",
+                String.format("%.2f", slowQuery.getElapsedMillis()), slowQuery.getRowCount(),
+                fullTableScan ? ", FULL SCAN of books" : "", slowQuery.getSql(),
+                slowQuery.getParameterTypes(), plan);
+        record(slowQuery);
+    }
+
+    /**
+     * Returns the retained slow statements, slowest first.
+     *
+     * @return snapshot of the slowest statements
+     */
+    public synchronized List<SlowQuery> getSlowest() {
+        List<SlowQuery> snapshot = new ArrayList<>(slowest);
+        snapshot.sort(BY_ELAPSED.reversed());
+        return snapshot;
+    }
+
+    /**
+     * Discards all retained slow statements.
+     */
+    public synchronized void clear() {
+        slowest.clear();
+    }
+
+    private synchronized void record(SlowQuery slowQuery) {
+        slowest.offer(slowQuery);
+        if (slowest.size() > capacity) {
+            slowest.poll();
+        }
+    }
+
+    private List<String> explain(StatementExecution execution) {
+        if (execution.isFailed() || !QueryPlans.isExplainable(execution.getSql())) {
+            return List.of();
+        }
+        try {
+            return QueryPlans.explain(execution.getConnection(), execution.getSql());
+        } catch (SQLException ex) {
+            return List.of("EXPLAIN failed: " + ex.getMessage());
+        }
+    }
+}
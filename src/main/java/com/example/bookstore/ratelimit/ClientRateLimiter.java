@@ -0,0 +1,190 @@
+package com.example.bookstore.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client rate limiter using the generic cell rate algorithm (GCRA).
+ *
+ * GCRA is a token bucket expressed as a single number per client: the theoretical arrival time
+ * (TAT) at which the client's bucket would be full again. A request advances the TAT by one
+ * emission interval and is allowed if the TAT stays within one burst window of now. Each bucket
+ * is one {@link AtomicLong} updated by compare-and-set, so checks never lock and the table costs
+ * roughly one map entry per active client and category.
+ *
+ * A bucket whose TAT is in the past is indistinguishable from a new one, which makes idle eviction
+ * exact: the periodic sweep removes exactly those entries.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientRateLimiter.class);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private volatile Map<RateLimitCategory, RateLimitPolicy> policies = new EnumMap<>(RateLimitCategory.class);
+    private final Map<RateLimitCategory, ConcurrentHashMap<String, AtomicLong>> buckets =
+            new EnumMap<>(RateLimitCategory.class);
+    private final Map<RateLimitCategory, LongAdder> rejected = new EnumMap<>(RateLimitCategory.class);
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param enabled     whether requests are rate limited
+     * @param readRate    sustained reads per second per client
+     * @param readBurst   read burst per client
+     * @param searchRate  sustained searches per second per client
+     * @param searchBurst search burst per client
+     * @param writeRate   sustained writes per second per client
+     * @param writeBurst  write burst per client
+     */
+    @Autowired
+    public ClientRateLimiter(@Value("${bookstore.rate-limit.enabled:true}") boolean enabled,
+                             @Value("${bookstore.rate-limit.read.requests-per-second:50}") double readRate,
+                             @Value("${bookstore.rate-limit.read.burst:100}") int readBurst,
+                             @Value("${bookstore.rate-limit.search.requests-per-second:10}") double searchRate,
+                             @Value("${bookstore.rate-limit.search.burst:20}") int searchBurst,
+                             @Value("${bookstore.rate-limit.write.requests-per-second:5}") double writeRate,
+                             @Value("${bookstore.rate-limit.write.burst:10}") int writeBurst) {
+        this(enabled, System::nanoTime);
+        updatePolicy(RateLimitCategory.READ, new RateLimitPolicy(readRate, readBurst));
+        updatePolicy(RateLimitCategory.SEARCH, new RateLimitPolicy(searchRate, searchBurst));
+        updatePolicy(RateLimitCategory.WRITE, new RateLimitPolicy(writeRate, writeBurst));
+    }
+
+    /**
+     * Constructor with an explicit clock, for tests. All categories start without a policy.
+     *
+     * @param enabled whether requests are rate limited
+     * @param clock   source of monotonic nanosecond timestamps
+     */
+    ClientRateLimiter(boolean enabled, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        for (RateLimitCategory category : RateLimitCategory.values()) {
+            buckets.put(category, new ConcurrentHashMap<>());
+            rejected.put(category, new LongAdder());
+        }
+    }
+
+    /**
+     * Counts a request against the client's bucket for the category.
+     *
+     * @param clientId the API key or address identifying the client
+     * @param category the endpoint category
+     * @return the decision, or null if rate limiting is disabled
+     */
+    public RateLimitDecision check(String clientId, RateLimitCategory category) {
+        if (!enabled) {
+            return null;
+        }
+        RateLimitPolicy policy = policies.get(category);
+        long interval = policy.emissionIntervalNanos();
+        long window = policy.burstWindowNanos();
+        long now = clock.getAsLong();
+        ConcurrentHashMap<String, AtomicLong> table = buckets.get(category);
+        AtomicLong bucket = table.get(clientId);
+        if (bucket == null) {
+            bucket = table.computeIfAbsent(clientId, id -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + interval;
+            long ahead = newTat - now;
+            if (ahead > window) {
+                rejected.get(category).increment();
+                long backlog = Math.max(tat, now) - now;
+                return new RateLimitDecision(false, policy.getBurst(), 0, ceilSeconds(backlog),
+                        ceilSeconds(ahead - window), ceilSeconds(window));
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                int remaining = (int) ((window - ahead) / interval);
+                return new RateLimitDecision(true, policy.getBurst(), remaining, ceilSeconds(ahead), 0,
+                        ceilSeconds(window));
+            }
+        }
+    }
+
+    /**
+     * Replaces the policy of a category. Existing buckets keep their state and are measured
+     * against the new policy from the next request on. Policies are swapped as an immutable
+     * copy so that {@link #check} reads them without locking.
+     *
+     * @param category the endpoint category
+     * @param policy   the new policy
+     */
+    public synchronized void updatePolicy(RateLimitCategory category, RateLimitPolicy policy) {
+        Map<RateLimitCategory, RateLimitPolicy> updated = new EnumMap<>(policies);
+        updated.put(category, policy);
+        policies = updated;
+        log.info("Rate limit for {} set to {}/s, burst {}", category, policy.getRequestsPerSecond(),
+                policy.getBurst());
+    }
+
+    /**
+     * Removes buckets that have fully refilled; they carry no state a new bucket would not have.
+     * A request racing with the removal of its bucket is counted against the detached bucket,
+     * which can admit at most one extra request for that client.
+     *
+     * @return number of buckets removed
+     */
+    @Scheduled(fixedDelayString = "${bookstore.rate-limit.eviction-interval-ms:60000}")
+    public int evictIdleBuckets() {
+        long now = clock.getAsLong();
+        int before = getTrackedClients();
+        for (ConcurrentHashMap<String, AtomicLong> table : buckets.values()) {
+            table.values().removeIf(bucket -> bucket.get() <= now);
+        }
+        return before - getTrackedClients();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of buckets currently held across all categories.
+     *
+     * @return tracked client buckets
+     */
+    public int getTrackedClients() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Returns the policies and rejection counts for the admin endpoint.
+     *
+     * @return map of category name to its policy and counters
+     */
+    public Map<String, Map<String, Object>> getStatus() {
+        Map<String, Map<String, Object>> status = new LinkedHashMap<>();
+        for (RateLimitCategory category : RateLimitCategory.values()) {
+            RateLimitPolicy policy = policies.get(category);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requestsPerSecond", policy == null ? null : policy.getRequestsPerSecond());
+            entry.put("burst", policy == null ? null : policy.getBurst());
+            entry.put("clients", buckets.get(category).size());
+            entry.put("rejected", rejected.get(category).sum());
+            status.put(category.name().toLowerCase(), entry);
+        }
+        return status;
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * Endpoint categories with independent rate limits.
+ * Searches are limited separately from point reads because they cost far more per request.
+ */
+public enum RateLimitCategory {
+
+    READ,
+    SEARCH,
+    WRITE;
+
+    /**
+     * Resolves the category of a request.
+     *
+     * @param method the HTTP method
+     * @param path   the request path
+     * @return the category the request is counted against
+     */
+    public static RateLimitCategory of(String method, String path) {
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        return path.endsWith("/search") ? SEARCH : READ;
+    }
+}
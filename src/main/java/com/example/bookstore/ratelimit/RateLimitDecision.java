@@ -0,0 +1,58 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * Outcome of a rate-limit check, with the values for the RateLimit response headers.
+ */
+public class RateLimitDecision {
+
+    private final boolean allowed;
+    private final int limit;
+    private final int remaining;
+    private final long resetSeconds;
+    private final long retryAfterSeconds;
+    private final long windowSeconds;
+
+    /**
+     * Constructor with the decision values.
+     *
+     * @param allowed           whether the request may proceed
+     * @param limit             the burst size of the policy
+     * @param remaining         requests the client may still send immediately
+     * @param resetSeconds      seconds until the client's bucket is full again
+     * @param retryAfterSeconds seconds until the next request would be allowed, 0 if allowed
+     * @param windowSeconds     seconds it takes to earn a full burst
+     */
+    public RateLimitDecision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds,
+                             long windowSeconds) {
+        this.allowed = allowed;
+        this.limit = limit;
+        this.remaining = remaining;
+        this.resetSeconds = resetSeconds;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.windowSeconds = windowSeconds;
+    }
+
+    public boolean isAllowed() {
+        return allowed;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public long getResetSeconds() {
+        return resetSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public long getWindowSeconds() {
+        return windowSeconds;
+    }
+}
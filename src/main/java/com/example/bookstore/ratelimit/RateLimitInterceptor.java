@@ -0,0 +1,66 @@
+package com.example.bookstore.ratelimit;
+
+import com.example.bookstore.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Applies the {@link ClientRateLimiter} to book API requests and reports the client's quota in
+ * the RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset and RateLimit-Policy headers.
+ *
+ * Clients are identified by their X-API-Key header when it carries one of the configured keys, and
+ * by remote address otherwise. Unknown keys are ignored, so a client cannot reset its quota by
+ * sending a fresh key with every request.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+    private static final String CHECKED_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".checked";
+
+    private final ClientRateLimiter rateLimiter;
+    private final Set<String> apiKeys;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param rateLimiter the per-client rate limiter
+     * @param apiKeys     the API keys that identify a client; any other key counts as none
+     */
+    public RateLimitInterceptor(ClientRateLimiter rateLimiter, Set<String> apiKeys) {
+        this.rateLimiter = rateLimiter;
+        this.apiKeys = Set.copyOf(apiKeys);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return true;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+        RateLimitCategory category = RateLimitCategory.of(request.getMethod(), request.getRequestURI());
+        RateLimitDecision decision = rateLimiter.check(clientId(request), category);
+        if (decision == null) {
+            return true;
+        }
+        response.setHeader("RateLimit-Limit", String.valueOf(decision.getLimit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(decision.getResetSeconds()));
+        response.setHeader("RateLimit-Policy", decision.getLimit() + ";w=" + decision.getWindowSeconds());
+        if (!decision.isAllowed()) {
+            throw new RateLimitExceededException("Rate limit exceeded for " + category.name().toLowerCase()
+                    + " requests", decision.getRetryAfterSeconds());
+        }
+        return true;
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
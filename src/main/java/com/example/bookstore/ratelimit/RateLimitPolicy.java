@@ -0,0 +1,54 @@
+package com.example.bookstore.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained rate and burst size of one rate limit.
+ */
+public class RateLimitPolicy {
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final long emissionIntervalNanos;
+
+    /**
+     * Constructor with the policy values.
+     *
+     * @param requestsPerSecond sustained request rate
+     * @param burst             number of requests a client may send at once after being idle
+     */
+    public RateLimitPolicy(double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Returns the time one request adds to a client's bucket.
+     *
+     * @return emission interval in nanoseconds
+     */
+    long emissionIntervalNanos() {
+        return emissionIntervalNanos;
+    }
+
+    /**
+     * Returns how far ahead of now a client's bucket may run before requests are rejected.
+     *
+     * @return burst window in nanoseconds
+     */
+    long burstWindowNanos() {
+        return emissionIntervalNanos * burst;
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.ReplicatedChange;
+import com.example.bookstore.events.BookEvent;
+import com.example.bookstore.events.BookEventType;
+import com.example.bookstore.mapper.BookMapper;
+import com.example.bookstore.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the leader's data into a follower's local database: a snapshot when the follower starts
+ * empty or has fallen behind the leader's change log, then every batch of the change feed.
+ *
+ * Each change is applied by writing the row the leader sent, or marking the row deleted, as of the
+ * leader's deletion time, if the book is gone on the leader, and copying the change log entry
+ * under its original sequence number. The local change log therefore mirrors the leader's, so the
+ * follower's own change feed, event stream and watches keep the leader's sequence numbers. Events
+ * are published for every applied change, as the book service does for local writes, except for
+ * creates and updates of books that were deleted since.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.replication.role", havingValue = "follower")
+public class ReplicaApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaApplier.class);
+    private static final String RELEASE_ISBN_SQL =
+            "UPDATE books SET isbn = NULL WHERE isbn = :isbn AND id <> :id";
+    private static final String UPSERT_BOOK_SQL =
+            "INSERT INTO books (id, title, author, isbn, price, quantity, created_at, updated_at) " +
+            "VALUES (:id, :title, :author, :isbn, :price, :quantity, :createdAt, :updatedAt) " +
+            "ON CONFLICT (id) DO UPDATE SET title = excluded.title, author = excluded.author, " +
+            "isbn = excluded.isbn, price = excluded.price, quantity = excluded.quantity, " +
+            "created_at = excluded.created_at, updated_at = excluded.updated_at";
+    private static final String DELETE_BOOK_SQL =
+            "UPDATE books SET deleted_at = :deletedAt, deleted_isbn = isbn, isbn = NULL " +
+            "WHERE id = :id AND deleted_at IS NULL";
+    private static final String INSERT_CHANGE_SQL =
+            "INSERT OR IGNORE INTO book_changes (seq, book_id, operation, changed_fields, changed_at) " +
+            "VALUES (:seq, :bookId, :operation, :changedFields, :changedAt)";
+    private static final String[] RESTORE_SQL = {
+        "DELETE FROM main.books",
+        "DELETE FROM main.book_changes",
+        "INSERT INTO main.books (id, title, author, isbn, price, quantity, created_at, updated_at, " +
+                "deleted_at, deleted_isbn) " +
+                "SELECT id, title, author, isbn, price, quantity, created_at, updated_at, deleted_at, deleted_isbn " +
+                "FROM snapshot.books",
+        "INSERT INTO main.book_changes (seq, book_id, operation, changed_fields, changed_at) " +
+                "SELECT seq, book_id, operation, changed_fields, changed_at FROM snapshot.book_changes",
+        "DELETE FROM main.sqlite_sequence WHERE name IN ('books', 'book_changes')",
+        "INSERT INTO main.sqlite_sequence (name, seq) " +
+                "SELECT name, seq FROM snapshot.sqlite_sequence WHERE name IN ('books', 'book_changes')"
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final BookRepository bookRepository;
+    private final ChangeLog changeLog;
+    private final BookCache bookCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate   the JDBC template
+     * @param bookRepository the repository deleted rows are read from before they go
+     * @param changeLog      the local change log
+     * @param bookCache      the cache invalidated for every applied change
+     * @param eventPublisher the publisher of book events
+     */
+    public ReplicaApplier(NamedParameterJdbcTemplate jdbcTemplate, BookRepository bookRepository,
+                          ChangeLog changeLog, BookCache bookCache, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookRepository = bookRepository;
+        this.changeLog = changeLog;
+        this.bookCache = bookCache;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns the sequence number of the latest change applied locally.
+     *
+     * @return the sequence number, 0 if nothing was applied
+     */
+    public long getAppliedSeq() {
+        return changeLog.getLastSeq();
+    }
+
+    /**
+     * Applies a batch of the change feed in one transaction.
+     *
+     * @param changes changes in sequence order
+     * @return the sequence number of the latest applied change
+     */
+    @Transactional
+    public long apply(List<ReplicatedChange> changes) {
+        // Rows of books deleted in this batch, as they were before, for the delete events
+        Map<Long, BookResponse> deleted = new HashMap<>();
+        long appliedSeq = 0;
+        for (ReplicatedChange change : changes) {
+            long id = change.getBookId();
+            BookResponse book = change.getBook();
+            if (book != null) {
+                upsert(book);
+            } else if (!deleted.containsKey(id)) {
+                deleted.put(id, BookMapper.toResponse(bookRepository.findById(id).orElse(null)));
+                jdbcTemplate.update(DELETE_BOOK_SQL, new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("deletedAt", change.getChangedAt()));
+            }
+            jdbcTemplate.update(INSERT_CHANGE_SQL, new MapSqlParameterSource()
+                    .addValue("seq", change.getSeq())
+                    .addValue("bookId", id)
+                    .addValue("operation", change.getOperation().name())
+                    .addValue("changedFields", String.join(",", change.getChangedFields()))
+                    .addValue("changedAt", change.getChangedAt()));
+            bookCache.invalidate(id);
+            if (book != null || change.getOperation() == ChangeOperation.DELETE) {
+                // A create or update of a book deleted since has no row to report; its delete follows
+                publish(change, book != null ? book : deleted.get(id));
+            }
+            appliedSeq = change.getSeq();
+        }
+        return appliedSeq;
+    }
+
+    /**
+     * Replaces the books and the change log with those of a snapshot of the leader's database.
+     * The file is attached to a pooled connection and copied in one transaction, so readers see
+     * either the old catalog or the new one. Must not be called inside a transaction.
+     *
+     * @param snapshot the snapshot file
+     * @return the sequence number of the latest change in the snapshot
+     */
+    public long restore(Path snapshot) {
+        jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement attach = connection.prepareStatement("ATTACH DATABASE ? AS snapshot")) {
+                attach.setString(1, snapshot.toString());
+                attach.execute();
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            try (Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(false);
+                try {
+                    for (String sql : RESTORE_SQL) {
+                        statement.executeUpdate(sql);
+                    }
+                    connection.commit();
+                } catch (SQLException ex) {
+                    connection.rollback();
+                    throw ex;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                    statement.execute("DETACH DATABASE snapshot");
+                }
+            }
+            return null;
+        });
+        bookCache.clear();
+        long lastSeq = changeLog.getLastSeq();
+        log.info("Restored snapshot {} up to sequence {}", snapshot, lastSeq);
+        return lastSeq;
+    }
+
+    private void upsert(BookResponse book) {
+        if (book.getIsbn() != null) {
+            // Another book may still hold the ISBN locally if it gave it up in a later change;
+            // that change is in this or a following batch and will set its final value
+            jdbcTemplate.update(RELEASE_ISBN_SQL, new MapSqlParameterSource()
+                    .addValue("isbn", book.getIsbn())
+                    .addValue("id", book.getId()));
+        }
+        jdbcTemplate.update(UPSERT_BOOK_SQL, new MapSqlParameterSource()
+                .addValue("id", book.getId())
+                .addValue("title", book.getTitle())
+                .addValue("author", book.getAuthor())
+                .addValue("isbn", book.getIsbn())
+                .addValue("price", book.getPrice())
+                .addValue("quantity", book.getQuantity())
+                .addValue("createdAt", book.getCreatedAt())
+                .addValue("updatedAt", book.getUpdatedAt()));
+    }
+
+    private void publish(ReplicatedChange change, BookResponse book) {
+        BookEventType type = switch (change.getOperation()) {
+            case CREATE -> BookEventType.CREATED;
+            case DELETE -> BookEventType.DELETED;
+            case UPDATE -> List.of("quantity").equals(change.getChangedFields())
+                    ? BookEventType.STOCK
+                    : BookEventType.UPDATED;
+        };
+        LocalDateTime occurredAt =
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(change.getChangedAt()), ZoneId.systemDefault());
+        eventPublisher.publishEvent(new BookEvent(change.getSeq(), type, change.getBookId(), book,
+                change.getChangedFields(), occurredAt));
+    }
+}
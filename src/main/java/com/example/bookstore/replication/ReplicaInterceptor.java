@@ -0,0 +1,97 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.exception.ReadOnlyReplicaException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.exception.ValidationException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Serves book API requests on a follower: reads locally, writes on the leader.
+ *
+ * Writes are redirected to the leader with 307 Temporary Redirect, which keeps the method and
+ * body, or rejected with 405 when forwarding is disabled. A read that carries X-Min-Seq, the
+ * X-Catalog-Seq the leader returned for a write, waits briefly until the follower has applied
+ * that change, so a client reads its own writes; if the follower is still behind, the read is
+ * redirected to the leader, or answered with 503 when forwarding is disabled. Every read reports
+ * the sequence number it reflects in X-Catalog-Seq.
+ */
+public class ReplicaInterceptor implements HandlerInterceptor {
+
+    /**
+     * Header carrying the catalog sequence number a response reflects.
+     */
+    public static final String CATALOG_SEQ_HEADER = "X-Catalog-Seq";
+
+    /**
+     * Header carrying the sequence number a read must reflect.
+     */
+    public static final String MIN_SEQ_HEADER = "X-Min-Seq";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+    private static final String CHECKED_ATTRIBUTE = ReplicaInterceptor.class.getName() + ".checked";
+
+    private final ReplicationFollower follower;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param follower the follower whose local database serves reads
+     */
+    public ReplicaInterceptor(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return true;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, Boolean.TRUE);
+        if (!READ_METHODS.contains(request.getMethod())) {
+            if (follower.isForwardWrites()) {
+                redirectToLeader(request, response);
+                return false;
+            }
+            throw new ReadOnlyReplicaException(
+                    "This instance is a read-only follower; send writes to " + follower.getLeaderUrl(),
+                    follower.getLeaderUrl());
+        }
+        String minSeqHeader = request.getHeader(MIN_SEQ_HEADER);
+        if (minSeqHeader != null) {
+            long minSeq = parseMinSeq(minSeqHeader);
+            if (!follower.awaitSeq(minSeq, follower.getMinSeqWaitMillis())) {
+                if (follower.isForwardWrites()) {
+                    redirectToLeader(request, response);
+                    return false;
+                }
+                throw new ServiceUnavailableException(String.format(
+                        "Follower has applied changes up to %d, not yet %d", follower.getAppliedSeq(), minSeq), 1);
+            }
+        }
+        response.setHeader(CATALOG_SEQ_HEADER, Long.toString(follower.getAppliedSeq()));
+        return true;
+    }
+
+    private static long parseMinSeq(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new ValidationException(MIN_SEQ_HEADER + " must be a sequence number");
+        }
+    }
+
+    private void redirectToLeader(HttpServletRequest request, HttpServletResponse response) {
+        StringBuilder location = new StringBuilder(follower.getLeaderUrl()).append(request.getRequestURI());
+        if (request.getQueryString() != null) {
+            location.append('?').append(request.getQueryString());
+        }
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, location.toString());
+    }
+}
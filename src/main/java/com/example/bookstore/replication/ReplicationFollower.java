@@ -0,0 +1,420 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.dto.ReplicatedChange;
+import com.example.bookstore.dto.ReplicationBatch;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.FlightRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a follower's local database in step with the leader.
+ *
+ * A follower that starts with an empty change log first restores a snapshot of the leader's
+ * database, before the rest of the application starts. A replication thread then applies the
+ * leader's change feed in batches until it is caught up, and waits for the next write with a
+ * long-poll on the leader's catalog generation, so changes arrive within one round trip without
+ * polling. If the leader has compacted changes the follower has not applied, it restores a new
+ * snapshot.
+ *
+ * The applied sequence number is what reads on the follower reflect. Requests that must see a
+ * write they made on the leader wait for it with {@link #awaitSeq(long, long)}.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.replication.role", havingValue = "follower")
+public class ReplicationFollower {
+
+    static final String SNAPSHOT_PATH = "/admin/replication/snapshot";
+    static final String FEED_PATH = "/admin/replication/feed?since={since}&limit={limit}";
+    static final String GENERATION_PATH = "/api/books/generation?after={after}&timeout={timeout}";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationFollower.class);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long READ_TIMEOUT_MARGIN_MILLIS = 10_000;
+
+    private final ReplicaApplier applier;
+    private final RestClient restClient;
+    private final String leaderUrl;
+    private final int batchSize;
+    private final long watchTimeoutMillis;
+    private final long retryIntervalMillis;
+    private final long bootstrapTimeoutMillis;
+    private final boolean forwardWrites;
+    private final long minSeqWaitMillis;
+    private final Object applied = new Object();
+    private final AtomicLong bootstraps = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final Runnable recordEvent = this::recordEvent;
+    private volatile long appliedSeq;
+    private volatile long leaderSeq;
+    private volatile long lastChangeMillis;
+    private volatile long lastContactMillis;
+    private volatile String lastError;
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param applier                the writer of the local database
+     * @param leaderUrl              base URL of the leader
+     * @param batchSize              maximum number of changes fetched per request
+     * @param watchTimeoutMillis     how long a long-poll for the next write waits on the leader
+     * @param retryIntervalMillis    pause after a failed request
+     * @param bootstrapTimeoutMillis how long startup keeps retrying the initial snapshot
+     * @param forwardWrites          whether writes are redirected to the leader rather than rejected
+     * @param minSeqWaitMillis       how long a read waits for the sequence number it asked for
+     */
+    @Autowired
+    public ReplicationFollower(ReplicaApplier applier,
+                               @Value("${bookstore.replication.leader-url:}") String leaderUrl,
+                               @Value("${bookstore.replication.batch-size:500}") int batchSize,
+                               @Value("${bookstore.replication.watch-timeout-ms:30000}") long watchTimeoutMillis,
+                               @Value("${bookstore.replication.retry-interval-ms:1000}") long retryIntervalMillis,
+                               @Value("${bookstore.replication.bootstrap-timeout-ms:60000}") long bootstrapTimeoutMillis,
+                               @Value("${bookstore.replication.forward-writes:true}") boolean forwardWrites,
+                               @Value("${bookstore.replication.min-seq-wait-ms:1000}") long minSeqWaitMillis) {
+        this(applier, restClientBuilder(watchTimeoutMillis), leaderUrl, batchSize, watchTimeoutMillis,
+                retryIntervalMillis, bootstrapTimeoutMillis, forwardWrites, minSeqWaitMillis);
+    }
+
+    /**
+     * Constructor with an explicit HTTP client, for tests.
+     *
+     * @param applier                the writer of the local database
+     * @param restClientBuilder      builder of the client that talks to the leader
+     * @param leaderUrl              base URL of the leader
+     * @param batchSize              maximum number of changes fetched per request
+     * @param watchTimeoutMillis     how long a long-poll for the next write waits on the leader
+     * @param retryIntervalMillis    pause after a failed request
+     * @param bootstrapTimeoutMillis how long startup keeps retrying the initial snapshot
+     * @param forwardWrites          whether writes are redirected to the leader rather than rejected
+     * @param minSeqWaitMillis       how long a read waits for the sequence number it asked for
+     */
+    ReplicationFollower(ReplicaApplier applier, RestClient.Builder restClientBuilder, String leaderUrl,
+                        int batchSize, long watchTimeoutMillis, long retryIntervalMillis,
+                        long bootstrapTimeoutMillis, boolean forwardWrites, long minSeqWaitMillis) {
+        if (leaderUrl == null || leaderUrl.isBlank()) {
+            throw new IllegalStateException("bookstore.replication.leader-url must be set on a follower");
+        }
+        this.applier = applier;
+        this.leaderUrl = leaderUrl.endsWith("/") ? leaderUrl.substring(0, leaderUrl.length() - 1) : leaderUrl;
+        this.restClient = restClientBuilder.baseUrl(this.leaderUrl).build();
+        this.batchSize = batchSize;
+        this.watchTimeoutMillis = watchTimeoutMillis;
+        this.retryIntervalMillis = retryIntervalMillis;
+        this.bootstrapTimeoutMillis = bootstrapTimeoutMillis;
+        this.forwardWrites = forwardWrites;
+        this.minSeqWaitMillis = minSeqWaitMillis;
+    }
+
+    private static RestClient.Builder restClientBuilder(long watchTimeoutMillis) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        // Long-polls are answered by the leader after the watch timeout at the latest
+        requestFactory.setReadTimeout(Duration.ofMillis(watchTimeoutMillis + READ_TIMEOUT_MARGIN_MILLIS));
+        return RestClient.builder().requestFactory(requestFactory);
+    }
+
+    /**
+     * Restores a snapshot if the local change log is empty, then starts the replication thread.
+     * Runs before the application is ready, so nothing is served from an empty database.
+     */
+    @PostConstruct
+    public void start() {
+        appliedSeq = applier.getAppliedSeq();
+        leaderSeq = appliedSeq;
+        lastChangeMillis = System.currentTimeMillis();
+        if (appliedSeq == 0) {
+            bootstrapWithRetries();
+        }
+        FlightRecorder.addPeriodicEvent(ReplicationLagEvent.class, recordEvent);
+        running = true;
+        thread = new Thread(this::run, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the replication thread.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        FlightRecorder.removePeriodicEvent(recordEvent);
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                catchUp();
+                awaitLeaderWrite();
+            } catch (HttpClientErrorException.Gone ex) {
+                log.warn("Leader has compacted changes after {}; restoring a new snapshot", appliedSeq);
+                try {
+                    bootstrap();
+                } catch (RuntimeException bootstrapFailure) {
+                    fail(bootstrapFailure);
+                }
+            } catch (RuntimeException ex) {
+                fail(ex);
+            }
+        }
+    }
+
+    private void fail(RuntimeException ex) {
+        if (!running) {
+            return;
+        }
+        failures.incrementAndGet();
+        lastError = ex.getMessage();
+        log.warn("Replication from {} failed: {}", leaderUrl, ex.getMessage());
+        try {
+            Thread.sleep(retryIntervalMillis);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * Fetches and applies batches of the change feed until the leader reports no more.
+     *
+     * @return number of changes applied
+     */
+    int catchUp() {
+        int total = 0;
+        ReplicationBatch batch;
+        do {
+            batch = restClient.get()
+                    .uri(FEED_PATH, appliedSeq, batchSize)
+                    .retrieve()
+                    .body(ReplicationBatch.class);
+            if (batch == null) {
+                throw new IllegalStateException("Leader returned an empty replication batch");
+            }
+            lastContactMillis = System.currentTimeMillis();
+            List<ReplicatedChange> changes = batch.getChanges();
+            if (changes != null && !changes.isEmpty()) {
+                long seq = applier.apply(changes);
+                lastChangeMillis = changes.get(changes.size() - 1).getChangedAt();
+                total += changes.size();
+                advance(seq);
+            }
+            leaderSeq = Math.max(batch.getLastSeq(), appliedSeq);
+        } while (batch.isHasMore() && running);
+        lastError = null;
+        return total;
+    }
+
+    /**
+     * Waits on the leader until its catalog generation moves past what was applied, or the watch
+     * times out.
+     */
+    void awaitLeaderWrite() {
+        // Past the leader's last reported sequence too, so a gap in its log cannot make this spin
+        long after = Math.max(appliedSeq, leaderSeq);
+        restClient.get()
+                .uri(GENERATION_PATH, after, watchTimeoutMillis)
+                .retrieve()
+                .toBodilessEntity();
+        lastContactMillis = System.currentTimeMillis();
+    }
+
+    private void bootstrapWithRetries() {
+        long deadline = System.currentTimeMillis() + bootstrapTimeoutMillis;
+        while (true) {
+            try {
+                bootstrap();
+                return;
+            } catch (RuntimeException ex) {
+                failures.incrementAndGet();
+                lastError = ex.getMessage();
+                if (System.currentTimeMillis() + retryIntervalMillis > deadline) {
+                    throw new IllegalStateException("Could not restore a snapshot from " + leaderUrl, ex);
+                }
+                log.warn("Snapshot from {} failed, retrying: {}", leaderUrl, ex.getMessage());
+                try {
+                    Thread.sleep(retryIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while restoring a snapshot", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Downloads a snapshot of the leader's database and replaces the local catalog with it.
+     */
+    void bootstrap() {
+        Path file;
+        try {
+            file = Files.createTempFile("bookstore-replica", ".db");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try {
+            restClient.get()
+                    .uri(SNAPSHOT_PATH)
+                    .exchange((request, response) -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("Leader answered " + response.getStatusCode()
+                                    + " to a snapshot request");
+                        }
+                        try (InputStream body = response.getBody()) {
+                            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+                        }
+                        return null;
+                    });
+            lastContactMillis = System.currentTimeMillis();
+            long seq = applier.restore(file);
+            lastChangeMillis = System.currentTimeMillis();
+            bootstraps.incrementAndGet();
+            synchronized (applied) {
+                appliedSeq = seq;
+                leaderSeq = Math.max(leaderSeq, seq);
+                applied.notifyAll();
+            }
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("Could not delete snapshot file {}", file, ex);
+            }
+        }
+    }
+
+    private void advance(long seq) {
+        synchronized (applied) {
+            appliedSeq = Math.max(appliedSeq, seq);
+            applied.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the local database has applied a sequence number.
+     *
+     * @param seq           the sequence number
+     * @param timeoutMillis how long to wait at most
+     * @return true if the sequence number was applied in time
+     */
+    public boolean awaitSeq(long seq, long timeoutMillis) {
+        long deadline = System.nanoTime() + Duration.ofMillis(timeoutMillis).toNanos();
+        synchronized (applied) {
+            while (appliedSeq < seq) {
+                long remainingMillis = Duration.ofNanos(deadline - System.nanoTime()).toMillis();
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                try {
+                    applied.wait(remainingMillis);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return appliedSeq >= seq;
+                }
+            }
+            return true;
+        }
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    public String getLeaderUrl() {
+        return leaderUrl;
+    }
+
+    public boolean isForwardWrites() {
+        return forwardWrites;
+    }
+
+    public long getMinSeqWaitMillis() {
+        return minSeqWaitMillis;
+    }
+
+    /**
+     * Returns the number of changes committed on the leader and not yet applied.
+     *
+     * @return the lag in changes, as of the leader's last answer
+     */
+    public long getLagEntries() {
+        return Math.max(0, leaderSeq - appliedSeq);
+    }
+
+    /**
+     * Returns how stale the local data is: the age of the newest applied change while the
+     * follower is behind, 0 when it is caught up.
+     *
+     * @return the lag in milliseconds
+     */
+    public long getLagMillis() {
+        return getLagEntries() == 0 ? 0 : Math.max(0, System.currentTimeMillis() - lastChangeMillis);
+    }
+
+    /**
+     * Returns the time since the leader last answered.
+     *
+     * @return milliseconds since the last successful request, or -1 before the first one
+     */
+    public long getSinceContactMillis() {
+        long contact = lastContactMillis;
+        return contact == 0 ? -1 : System.currentTimeMillis() - contact;
+    }
+
+    /**
+     * Returns the replication state for the admin endpoint and readiness check.
+     *
+     * @return map with the leader URL, sequence numbers, lag and failure counters
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("role", "follower");
+        status.put("leaderUrl", leaderUrl);
+        status.put("appliedSeq", appliedSeq);
+        status.put("leaderSeq", leaderSeq);
+        status.put("lagEntries", getLagEntries());
+        status.put("lagMillis", getLagMillis());
+        status.put("sinceContactMillis", getSinceContactMillis());
+        status.put("forwardWrites", forwardWrites);
+        status.put("bootstraps", bootstraps.get());
+        status.put("failures", failures.get());
+        status.put("lastError", lastError);
+        return status;
+    }
+
+    private void recordEvent() {
+        ReplicationLagEvent event = new ReplicationLagEvent();
+        event.appliedSeq = appliedSeq;
+        event.leaderSeq = leaderSeq;
+        event.lagEntries = getLagEntries();
+        event.lagMillis = getLagMillis();
+        event.sinceContactMillis = getSinceContactMillis();
+        event.commit();
+    }
+}
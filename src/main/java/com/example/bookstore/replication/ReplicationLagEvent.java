@@ -0,0 +1,45 @@
+package com.example.bookstore.replication;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic Flight Recorder event emitted by a {@link ReplicationFollower} with how far it is
+ * behind the leader.
+ */
+@Name("com.example.bookstore.ReplicationLag")
+@Label("Replication Lag")
+@Category({"Bookstore", "Replication"})
+@Description("How far a follower is behind the leader's change log")
+@Period("5 s")
+@StackTrace(false)
+public class ReplicationLagEvent extends Event {
+
+    @Label("Applied Sequence")
+    @Description("Sequence number of the latest change applied locally")
+    long appliedSeq;
+
+    @Label("Leader Sequence")
+    @Description("Sequence number of the latest change on the leader, as last seen")
+    long leaderSeq;
+
+    @Label("Lag Entries")
+    @Description("Changes committed on the leader and not yet applied")
+    long lagEntries;
+
+    @Label("Lag")
+    @Description("Age of the newest applied change while behind, zero when caught up")
+    @Timespan(Timespan.MILLISECONDS)
+    long lagMillis;
+
+    @Label("Since Contact")
+    @Description("Time since the leader last answered")
+    @Timespan(Timespan.MILLISECONDS)
+    long sinceContactMillis;
+}
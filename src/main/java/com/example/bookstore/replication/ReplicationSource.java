@@ -0,0 +1,134 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.ReplicatedChange;
+import com.example.bookstore.dto.ReplicationBatch;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.exception.ChangesExpiredException;
+import com.example.bookstore.mapper.BookMapper;
+import com.example.bookstore.repository.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The leader's side of replication: consistent snapshots of the database file and the change
+ * feed followers apply after restoring one.
+ *
+ * Feed entries carry the changed book's current row rather than its old and new values, so a
+ * follower that applies them in order converges on the leader's state even though a later write
+ * may already be folded into an earlier entry. A book deleted since is sent without a row.
+ *
+ * Snapshots copy the single database file, so a sharded leader cannot be replicated.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class ReplicationSource {
+
+    private static final String SNAPSHOT_FILE = "snapshot.db";
+
+    private final ChangeLog changeLog;
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param changeLog      the change log the feed is read from
+     * @param bookRepository the repository the current rows are read from
+     * @param jdbcTemplate   the JDBC template snapshots are taken with
+     */
+    public ReplicationSource(ChangeLog changeLog, BookRepository bookRepository, JdbcTemplate jdbcTemplate) {
+        this.changeLog = changeLog;
+        this.bookRepository = bookRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reads the changes after a sequence number with the current rows of the changed books, in one
+     * read transaction so the rows are no older than the changes.
+     *
+     * @param since the last sequence number the follower has applied
+     * @param limit maximum number of changes
+     * @return the batch
+     * @throws ChangesExpiredException if changes after {@code since} were compacted
+     */
+    @Transactional(readOnly = true)
+    public ReplicationBatch readBatch(long since, int limit) {
+        Long firstSeq = changeLog.getFirstSeq();
+        if (firstSeq != null && since < firstSeq - 1) {
+            long lastSeq = changeLog.getLastSeq();
+            throw new ChangesExpiredException(String.format(
+                    "Changes after %d were compacted; take a new snapshot and resume from it", since), lastSeq);
+        }
+        // One extra row tells whether another page follows
+        List<BookChange> changes = changeLog.findSince(since, limit + 1);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        Set<Long> ids = new LinkedHashSet<>();
+        for (BookChange change : changes) {
+            ids.add(change.getBookId());
+        }
+        Map<Long, BookResponse> rows = new HashMap<>();
+        for (Book book : bookRepository.findAllById(ids)) {
+            rows.put(book.getId(), BookMapper.toResponse(book));
+        }
+        List<ReplicatedChange> replicated = new ArrayList<>(changes.size());
+        for (BookChange change : changes) {
+            replicated.add(new ReplicatedChange(
+                    change.getSeq(),
+                    change.getBookId(),
+                    change.getOperation(),
+                    change.getChangedFields(),
+                    change.getChangedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                    rows.get(change.getBookId())));
+        }
+        return new ReplicationBatch(replicated, changeLog.getLastSeq(), hasMore);
+    }
+
+    /**
+     * Writes a consistent copy of the database to a new temporary file with {@code VACUUM INTO}.
+     * Readers and the writer carry on meanwhile; the copy reflects the moment it started. Must not
+     * be called inside a transaction.
+     *
+     * @return the snapshot file, to be removed with {@link #deleteSnapshot(Path)}
+     * @throws IOException if the temporary directory cannot be created
+     */
+    public Path createSnapshot() throws IOException {
+        Path snapshot = Files.createTempDirectory("bookstore-snapshot").resolve(SNAPSHOT_FILE);
+        try {
+            jdbcTemplate.update("VACUUM INTO ?", snapshot.toString());
+        } catch (RuntimeException ex) {
+            deleteSnapshot(snapshot);
+            throw ex;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Removes a snapshot and its temporary directory.
+     *
+     * @param snapshot the file returned by {@link #createSnapshot()}
+     * @throws IOException if the files cannot be removed
+     */
+    public void deleteSnapshot(Path snapshot) throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(snapshot.getParent());
+    }
+}
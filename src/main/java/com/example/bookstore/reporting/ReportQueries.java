@@ -0,0 +1,109 @@
+package com.example.bookstore.reporting;
+
+import com.example.bookstore.dto.AuthorInventoryReport;
+import com.example.bookstore.dto.InventorySummaryReport;
+import com.example.bookstore.dto.PriceBucketReport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Analytical queries over the {@link ReportingDatabase}. They scan and aggregate the whole copy
+ * of the catalog and run only on the reporting pool, never on the primary.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reporting.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportQueries {
+
+    private static final String INVENTORY_BY_AUTHOR_SQL =
+            "SELECT author, COUNT(*) AS titles, COALESCE(SUM(quantity), 0) AS units, " +
+            "COALESCE(SUM(price * quantity), 0) AS inventory_value " +
+            "FROM books GROUP BY author ORDER BY inventory_value DESC, author LIMIT :limit";
+    private static final String PRICE_DISTRIBUTION_SQL =
+            "SELECT CAST(ROUND(price * 100) AS INTEGER) / :widthCents AS bucket, COUNT(*) AS titles, " +
+            "COALESCE(SUM(quantity), 0) AS units " +
+            "FROM books WHERE price IS NOT NULL GROUP BY bucket ORDER BY bucket";
+    private static final String SUMMARY_SQL =
+            "SELECT COUNT(*) AS titles, COUNT(DISTINCT author) AS authors, COALESCE(SUM(quantity), 0) AS units, " +
+            "COALESCE(SUM(price * quantity), 0) AS inventory_value, " +
+            "COALESCE(SUM(CASE WHEN quantity = 0 THEN 1 ELSE 0 END), 0) AS out_of_stock, " +
+            "AVG(price) AS average_price, MIN(price) AS min_price, MAX(price) AS max_price FROM books";
+
+    private final ReportingDatabase reportingDatabase;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param reportingDatabase the reporting database
+     */
+    public ReportQueries(ReportingDatabase reportingDatabase) {
+        this.reportingDatabase = reportingDatabase;
+    }
+
+    /**
+     * Values the stock of each author at list price.
+     *
+     * @param limit maximum number of authors
+     * @return the authors with the most valuable stock first
+     */
+    public List<AuthorInventoryReport> inventoryByAuthor(int limit) {
+        return reportingDatabase.reads().query(INVENTORY_BY_AUTHOR_SQL, new MapSqlParameterSource("limit", limit),
+                (rs, rowNum) -> new AuthorInventoryReport(
+                        rs.getString("author"),
+                        rs.getLong("titles"),
+                        rs.getLong("units"),
+                        money(rs, "inventory_value")));
+    }
+
+    /**
+     * Counts titles and stock per price bucket of a fixed width. Prices are bucketed in whole
+     * cents, so bounds are exact.
+     *
+     * @param width the bucket width, at least one cent; rounded to cents
+     * @return the non-empty buckets, cheapest first
+     */
+    public List<PriceBucketReport> priceDistribution(BigDecimal width) {
+        BigDecimal cents = width.setScale(2, RoundingMode.HALF_UP);
+        if (cents.signum() <= 0) {
+            throw new IllegalArgumentException("Bucket width must be at least 0.01");
+        }
+        return reportingDatabase.reads().query(PRICE_DISTRIBUTION_SQL,
+                new MapSqlParameterSource("widthCents", cents.unscaledValue().longValueExact()),
+                (rs, rowNum) -> {
+                    BigDecimal lower = cents.multiply(BigDecimal.valueOf(rs.getLong("bucket")));
+                    return new PriceBucketReport(lower, lower.add(cents), rs.getLong("titles"), rs.getLong("units"));
+                });
+    }
+
+    /**
+     * Totals the whole catalog.
+     *
+     * @return the summary
+     */
+    public InventorySummaryReport summary() {
+        return reportingDatabase.reads().queryForObject(SUMMARY_SQL, new MapSqlParameterSource(),
+                (rs, rowNum) -> new InventorySummaryReport(
+                        rs.getLong("titles"),
+                        rs.getLong("authors"),
+                        rs.getLong("units"),
+                        money(rs, "inventory_value"),
+                        rs.getLong("out_of_stock"),
+                        money(rs, "average_price"),
+                        money(rs, "min_price"),
+                        money(rs, "max_price")));
+    }
+
+    /**
+     * Reads an amount computed in floating point by SQLite, rounded to cents.
+     */
+    private static BigDecimal money(ResultSet rs, String column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? null : value.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.bookstore.reporting;
+
+import com.example.bookstore.jdbc.InstrumentedDataSource;
+import com.example.bookstore.jdbc.StatementListener;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The reporting database: a separate SQLite file holding a copy of the catalog for analytical
+ * queries, so that they never compete with customer traffic for the primary file, its pool or
+ * its locks.
+ *
+ * Reports read through their own pool of query-only connections. The copy is written by the
+ * {@link ReportingRefresher} through a single writer connection; the file is in WAL mode, so a
+ * refresh never blocks a running report and a report always sees a committed refresh.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reporting.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportingDatabase {
+
+    private final HikariDataSource readPool;
+    private final HikariDataSource writePool;
+    private final NamedParameterJdbcTemplate reads;
+    private final NamedParameterJdbcTemplate writes;
+    private final TransactionTemplate transaction;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param file      path of the reporting database file
+     * @param poolSize  connections available to reports
+     * @param listeners the statement listeners, resolved lazily on the first statement
+     */
+    @Autowired
+    public ReportingDatabase(@Value("${bookstore.reporting.file:reporting.db}") String file,
+                             @Value("${bookstore.reporting.pool-size:2}") int poolSize,
+                             ObjectProvider<StatementListener> listeners) {
+        this(Path.of(file), poolSize, SingletonSupplier.of(() -> listeners.orderedStream().toList()));
+    }
+
+    /**
+     * Constructor with explicit listeners, for tests.
+     *
+     * @param file      path of the reporting database file
+     * @param poolSize  connections available to reports
+     * @param listeners supplier of the statement listeners
+     */
+    ReportingDatabase(Path file, int poolSize, Supplier<List<StatementListener>> listeners) {
+        String url = "jdbc:sqlite:" + file + "?journal_mode=WAL&busy_timeout=5000";
+        this.writePool = pool("reporting-writer", url, 1, null);
+        try {
+            InstrumentedDataSource writeSource = new InstrumentedDataSource(writePool, listeners);
+            new ResourceDatabasePopulator(new ClassPathResource("reporting-schema.sql")).execute(writeSource);
+            this.writes = new NamedParameterJdbcTemplate(writeSource);
+            this.transaction = new TransactionTemplate(new DataSourceTransactionManager(writeSource));
+            this.readPool = pool("reporting", url, poolSize, "PRAGMA query_only = ON");
+        } catch (RuntimeException ex) {
+            writePool.close();
+            throw ex;
+        }
+        this.reads = new NamedParameterJdbcTemplate(new InstrumentedDataSource(readPool, listeners));
+    }
+
+    /**
+     * Returns the template reports run on. Its connections reject writes.
+     *
+     * @return the query-only template
+     */
+    public NamedParameterJdbcTemplate reads() {
+        return reads;
+    }
+
+    /**
+     * Returns the template of the single writer connection, for refreshes.
+     *
+     * @return the writer template
+     */
+    NamedParameterJdbcTemplate writes() {
+        return writes;
+    }
+
+    /**
+     * Returns the transaction template of the writer connection.
+     *
+     * @return the transaction template
+     */
+    TransactionTemplate transaction() {
+        return transaction;
+    }
+
+    /**
+     * Closes both connection pools.
+     */
+    @PreDestroy
+    public void close() {
+        readPool.close();
+        writePool.close();
+    }
+
+    private static HikariDataSource pool(String name, String url, int size, String initSql) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(size);
+        config.setConnectionInitSql(initSql);
+        return new HikariDataSource(config);
+    }
+}
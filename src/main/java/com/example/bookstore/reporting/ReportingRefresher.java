@@ -0,0 +1,240 @@
+package com.example.bookstore.reporting;
+
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the {@link ReportingDatabase} up to date with the primary.
+ *
+ * The first refresh copies the whole catalog, reading it from the primary in pages of batch-size
+ * books by id, each a short query, into a single transaction on the copy, so reports never see
+ * a half-built catalog and the heap never holds more than one page. Later refreshes follow the {@link ChangeLog}: the
+ * books changed since the last applied sequence number are read again from the primary and
+ * replaced or removed in the copy, one batch per transaction together with the new sequence
+ * number. A row read after its log entry may already include later writes; their entries are
+ * applied again by a later batch, so the copy converges. If the log was compacted past the
+ * applied sequence number, the whole catalog is copied again.
+ *
+ * The primary is only read here, with short indexed queries, never by the reports themselves.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.reporting.enabled", havingValue = "true", matchIfMissing = true)
+public class ReportingRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportingRefresher.class);
+    private static final String LAST_SEQ = "last_seq";
+    private static final String REFRESHED_AT = "refreshed_at";
+    private static final String SELECT_STATE_SQL = "SELECT name, value FROM reporting_state";
+    private static final String UPDATE_STATE_SQL =
+            "INSERT OR REPLACE INTO reporting_state (name, value) VALUES (:name, :value)";
+    private static final String UPSERT_BOOK_SQL =
+            "INSERT OR REPLACE INTO books (id, title, author, isbn, price, quantity, created_at, updated_at) " +
+            "VALUES (:id, :title, :author, :isbn, :price, :quantity, :createdAt, :updatedAt)";
+    private static final String DELETE_BOOK_SQL = "DELETE FROM books WHERE id = :id";
+    private static final String DELETE_ALL_SQL = "DELETE FROM books";
+
+    private final ReportingDatabase reportingDatabase;
+    private final ChangeLog changeLog;
+    private final BookRepository bookRepository;
+    private final int batchSize;
+    private volatile long appliedSeq;
+    private volatile long refreshedAtMillis;
+    private volatile long primarySeq;
+    private volatile long lastRefreshMillis;
+    private volatile long fullRefreshes;
+    private volatile long failures;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param reportingDatabase the reporting database
+     * @param changeLog         the change log of the primary
+     * @param bookRepository    the repository of the primary
+     * @param batchSize         changes applied per transaction
+     */
+    public ReportingRefresher(ReportingDatabase reportingDatabase, ChangeLog changeLog, BookRepository bookRepository,
+                              @Value("${bookstore.reporting.batch-size:1000}") int batchSize) {
+        this.reportingDatabase = reportingDatabase;
+        this.changeLog = changeLog;
+        this.bookRepository = bookRepository;
+        this.batchSize = batchSize;
+        Map<String, Long> state = new HashMap<>();
+        reportingDatabase.writes().query(SELECT_STATE_SQL, rs -> {
+            state.put(rs.getString("name"), rs.getLong("value"));
+        });
+        this.appliedSeq = state.getOrDefault(LAST_SEQ, 0L);
+        this.refreshedAtMillis = state.getOrDefault(REFRESHED_AT, 0L);
+    }
+
+    /**
+     * Brings the reporting database up to date. Failures are logged and retried on the next run.
+     */
+    @Scheduled(initialDelayString = "${bookstore.reporting.initial-delay-ms:30000}",
+            fixedDelayString = "${bookstore.reporting.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        try {
+            long lastSeq = changeLog.getLastSeq();
+            primarySeq = lastSeq;
+            Long firstSeq = changeLog.getFirstSeq();
+            if (refreshedAtMillis == 0 || (firstSeq != null && firstSeq > appliedSeq + 1 && lastSeq > appliedSeq)) {
+                copyAll(lastSeq);
+            } else {
+                applyChanges();
+            }
+        } catch (RuntimeException ex) {
+            failures++;
+            log.warn("Reporting database refresh failed", ex);
+        } finally {
+            lastRefreshMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Replaces the copy with the whole catalog, as of a sequence number read before the catalog.
+     * Books written while the pages are read are applied again from the log by later refreshes.
+     */
+    private void copyAll(long lastSeq) {
+        long now = System.currentTimeMillis();
+        long[] copied = new long[1];
+        reportingDatabase.transaction().executeWithoutResult(status -> {
+            reportingDatabase.writes().update(DELETE_ALL_SQL, new MapSqlParameterSource());
+            long afterId = 0;
+            List<Book> page;
+            do {
+                page = bookRepository.findAfterId(afterId, batchSize);
+                if (page.isEmpty()) {
+                    break;
+                }
+                reportingDatabase.writes().batchUpdate(UPSERT_BOOK_SQL,
+                        page.stream().map(ReportingRefresher::parameters).toArray(SqlParameterSource[]::new));
+                afterId = page.get(page.size() - 1).getId();
+                copied[0] += page.size();
+            } while (page.size() == batchSize);
+            saveState(lastSeq, now);
+        });
+        appliedSeq = lastSeq;
+        refreshedAtMillis = now;
+        fullRefreshes++;
+        log.info("Copied {} books to the reporting database up to sequence {}", copied[0], lastSeq);
+    }
+
+    private void applyChanges() {
+        List<BookChange> changes;
+        boolean applied = false;
+        do {
+            changes = changeLog.findSince(appliedSeq, batchSize);
+            if (changes.isEmpty()) {
+                break;
+            }
+            applied = true;
+            Set<Long> ids = new LinkedHashSet<>();
+            for (BookChange change : changes) {
+                ids.add(change.getBookId());
+            }
+            Map<Long, Book> current = new HashMap<>();
+            for (Book book : bookRepository.findAllById(ids)) {
+                current.put(book.getId(), book);
+            }
+            long seq = changes.get(changes.size() - 1).getSeq();
+            long now = System.currentTimeMillis();
+            reportingDatabase.transaction().executeWithoutResult(status -> {
+                List<SqlParameterSource> upserts = new ArrayList<>();
+                for (Long id : ids) {
+                    Book book = current.get(id);
+                    if (book == null) {
+                        reportingDatabase.writes().update(DELETE_BOOK_SQL, new MapSqlParameterSource("id", id));
+                    } else {
+                        upserts.add(parameters(book));
+                    }
+                }
+                if (!upserts.isEmpty()) {
+                    reportingDatabase.writes().batchUpdate(UPSERT_BOOK_SQL,
+                            upserts.toArray(SqlParameterSource[]::new));
+                }
+                saveState(seq, now);
+            });
+            appliedSeq = seq;
+            refreshedAtMillis = now;
+        } while (changes.size() == batchSize);
+        if (!applied) {
+            // Nothing changed, but the copy is now known to be current
+            long now = System.currentTimeMillis();
+            reportingDatabase.writes().update(UPDATE_STATE_SQL,
+                    new MapSqlParameterSource("name", REFRESHED_AT).addValue("value", now));
+            refreshedAtMillis = now;
+        }
+    }
+
+    private void saveState(long seq, long refreshedAt) {
+        reportingDatabase.writes().update(UPDATE_STATE_SQL,
+                new MapSqlParameterSource("name", LAST_SEQ).addValue("value", seq));
+        reportingDatabase.writes().update(UPDATE_STATE_SQL,
+                new MapSqlParameterSource("name", REFRESHED_AT).addValue("value", refreshedAt));
+    }
+
+    private static MapSqlParameterSource parameters(Book book) {
+        return new MapSqlParameterSource()
+                .addValue("id", book.getId())
+                .addValue("title", book.getTitle())
+                .addValue("author", book.getAuthor())
+                .addValue("isbn", book.getIsbn())
+                .addValue("price", book.getPrice())
+                .addValue("quantity", book.getQuantity())
+                .addValue("createdAt", book.getCreatedAt())
+                .addValue("updatedAt", book.getUpdatedAt());
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    /**
+     * Returns when the copy was last brought up to date.
+     *
+     * @return the time, or null before the first refresh
+     */
+    public LocalDateTime getRefreshedAt() {
+        long millis = refreshedAtMillis;
+        return millis == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    /**
+     * Returns the refresh state without touching the primary.
+     *
+     * @return map with the applied and primary sequence numbers, lag, timings and counters
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("appliedSeq", appliedSeq);
+        status.put("primarySeq", primarySeq);
+        status.put("lagEntries", Math.max(0, primarySeq - appliedSeq));
+        status.put("refreshedAt", getRefreshedAt());
+        status.put("lastRefreshMs", lastRefreshMillis);
+        status.put("fullRefreshes", fullRefreshes);
+        status.put("failures", failures);
+        return status;
+    }
+}
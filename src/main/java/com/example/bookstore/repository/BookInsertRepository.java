@@ -0,0 +1,17 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.Book;
+
+/**
+ * Custom insert for books, mixed into {@link BookRepository}.
+ */
+public interface BookInsertRepository {
+
+    /**
+     * Inserts a new book in a single round trip.
+     *
+     * @param book the book, without an id
+     * @return the id assigned to the book
+     */
+    Long insert(Book book);
+}
@@ -0,0 +1,49 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.Book;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Inserts books with {@code INSERT ... RETURNING id}. The UNIQUE constraint on isbn replaces a
+ * separate existence check, and RETURNING avoids the getGeneratedKeys() issue of the driver.
+ */
+public class BookInsertRepositoryImpl implements BookInsertRepository {
+
+    private static final String INSERT_BOOK_SQL =
+            "INSERT INTO books (title, author, isbn, price, quantity, created_at, updated_at) " +
+            "VALUES (:title, :author, :isbn, :price, :quantity, :createdAt, :updatedAt) RETURNING id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param jdbcTemplate the JDBC template
+     */
+    public BookInsertRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Long insert(Book book) {
+        return jdbcTemplate.queryForObject(INSERT_BOOK_SQL, parameters(book), Long.class);
+    }
+
+    /**
+     * Binds the columns of a book, named after its properties.
+     *
+     * @param book the book
+     * @return parameters title, author, isbn, price, quantity, createdAt and updatedAt
+     */
+    public static MapSqlParameterSource parameters(Book book) {
+        return new MapSqlParameterSource()
+                .addValue("title", book.getTitle())
+                .addValue("author", book.getAuthor())
+                .addValue("isbn", book.getIsbn())
+                .addValue("price", book.getPrice())
+                .addValue("quantity", book.getQuantity())
+                .addValue("createdAt", book.getCreatedAt())
+                .addValue("updatedAt", book.getUpdatedAt());
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bookstore.repository;
 
 import com.example.bookstore.entity.Book;
+import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -9,24 +10,78 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Repository of books. Deleted books stay in the table as tombstones until they are purged;
+ * every query except {@link #findDeletedSince} leaves them out. The conditions on
+ * {@code deleted_at} match the partial indexes, which only hold live books. A tombstone keeps its
+ * ISBN in {@code deleted_isbn}, outside the unique {@code isbn} column, so the ISBN is free for a
+ * new book at once.
+ */
 @Repository
-public interface BookRepository extends CrudRepository<Book, Long> {
-    
+public interface BookRepository extends CrudRepository<Book, Long>, BookInsertRepository {
+
+    @Query("SELECT * FROM books WHERE deleted_at IS NULL")
     List<Book> findAll();
-    
-    Optional<Book> findById(Long id);
-    
-    @Query("SELECT * FROM books WHERE isbn = :isbn")
+
+    @Query("SELECT * FROM books WHERE id = :id AND deleted_at IS NULL")
+    Optional<Book> findById(@Param("id") Long id);
+
+    @Query("SELECT * FROM books WHERE id IN (:ids) AND deleted_at IS NULL")
+    List<Book> findAllById(@Param("ids") Iterable<Long> ids);
+
+    @Query("SELECT * FROM books WHERE isbn = :isbn AND deleted_at IS NULL")
     Optional<Book> findByIsbn(@Param("isbn") String isbn);
-    
-    @Query("SELECT * FROM books WHERE author = :author")
+
+    @Query("SELECT * FROM books WHERE author = :author AND deleted_at IS NULL")
     List<Book> findByAuthor(@Param("author") String author);
-    
-    @Query("SELECT * FROM books WHERE title LIKE '%' || :title || '%'")
+
+    @Query("SELECT * FROM books WHERE title LIKE '%' || :title || '%' AND deleted_at IS NULL")
     List<Book> findByTitleContaining(@Param("title") String title);
-    
-    boolean existsById(Long id);
-    
+
+    @Query("SELECT * FROM books WHERE deleted_at IS NULL ORDER BY updated_at DESC LIMIT :limit")
+    List<Book> findRecentlyUpdated(@Param("limit") int limit);
+
+    /**
+     * Reads a page of books in id order, for copying the catalog without holding it all.
+     *
+     * @param afterId id of the last book of the previous page, 0 for the first page
+     * @param limit   maximum number of books
+     * @return the books with an id greater than {@code afterId}
+     */
+    @Query("SELECT * FROM books WHERE id > :afterId AND deleted_at IS NULL ORDER BY id LIMIT :limit")
+    List<Book> findAfterId(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    @Query("SELECT EXISTS (SELECT 1 FROM books WHERE id = :id AND deleted_at IS NULL)")
+    boolean existsById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(*) FROM books WHERE deleted_at IS NULL")
+    long count();
+
+    /**
+     * Marks a book deleted, leaving its row as a tombstone for change consumers until it is purged.
+     *
+     * @param id        the book id
+     * @param deletedAt the deletion time in epoch milliseconds
+     * @return true if a live book was marked
+     */
+    @Modifying
+    @Query("UPDATE books SET deleted_at = :deletedAt, deleted_isbn = isbn, isbn = NULL " +
+           "WHERE id = :id AND deleted_at IS NULL")
+    boolean softDeleteById(@Param("id") Long id, @Param("deletedAt") long deletedAt);
+
+    /**
+     * Reads tombstones in deletion order, after a position given by deletion time and id.
+     *
+     * @param since   deletion time of the last tombstone seen, in epoch milliseconds, 0 for all
+     * @param afterId id of the last tombstone seen, 0 for all
+     * @param limit   maximum number of tombstones
+     * @return the deleted books, each with the ISBN it had when it was deleted
+     */
+    @Query("SELECT id, title, author, deleted_isbn AS isbn, price, quantity, created_at, updated_at, deleted_at " +
+           "FROM books WHERE deleted_at IS NOT NULL AND (deleted_at, id) > (:since, :afterId) " +
+           "ORDER BY deleted_at, id LIMIT :limit")
+    List<Book> findDeletedSince(@Param("since") long since, @Param("afterId") long afterId,
+                                @Param("limit") int limit);
+
     void deleteById(Long id);
 }
-
@@ -0,0 +1,109 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookRequest;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookUpdateRequest;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link BookService}.
+ *
+ * Operations run on bounded executors separate from the request threads and are bounded by a
+ * {@link Deadline}. Returned futures fail with
+ * {@link com.example.bookstore.exception.DeadlineExceededException} when the deadline passes and with
+ * {@link com.example.bookstore.exception.ServiceUnavailableException} when the executor is saturated.
+ */
+public interface AsyncBookService {
+
+    /**
+     * Retrieves all books.
+     *
+     * @param deadline the time by which the result is needed
+     * @return future list of all books
+     */
+    CompletableFuture<List<BookResponse>> getAllBooks(Deadline deadline);
+
+    /**
+     * Retrieves a book by its ID.
+     *
+     * @param id       the book ID
+     * @param deadline the time by which the result is needed
+     * @return future book response
+     */
+    CompletableFuture<BookResponse> getBookById(Long id, Deadline deadline);
+
+    /**
+     * Retrieves a book by its ISBN.
+     *
+     * @param isbn     the book ISBN
+     * @param deadline the time by which the result is needed
+     * @return future book response
+     */
+    CompletableFuture<BookResponse> getBookByIsbn(String isbn, Deadline deadline);
+
+    /**
+     * Retrieves all books by a specific author.
+     *
+     * @param author   the author name
+     * @param deadline the time by which the result is needed
+     * @return future list of books by the author
+     */
+    CompletableFuture<List<BookResponse>> getBooksByAuthor(String author, Deadline deadline);
+
+    /**
+     * Searches books by title (partial match).
+     *
+     * @param title    the title to search for
+     * @param deadline the time by which the result is needed
+     * @return future list of matching books
+     */
+    CompletableFuture<List<BookResponse>> searchBooksByTitle(String title, Deadline deadline);
+
+    /**
+     * Creates a new book.
+     *
+     * @param bookRequest the book creation request
+     * @param deadline    the time by which the result is needed
+     * @return future created book response
+     */
+    CompletableFuture<BookResponse> createBook(BookRequest bookRequest, Deadline deadline);
+
+    /**
+     * Updates an existing book (full update).
+     *
+     * @param id          the book ID
+     * @param bookRequest the book update request
+     * @param deadline    the time by which the result is needed
+     * @return future updated book response
+     */
+    CompletableFuture<BookResponse> updateBook(Long id, BookRequest bookRequest, Deadline deadline);
+
+    /**
+     * Partially updates an existing book.
+     *
+     * @param id            the book ID
+     * @param updateRequest the partial update request
+     * @param deadline      the time by which the result is needed
+     * @return future updated book response
+     */
+    CompletableFuture<BookResponse> patchBook(Long id, BookUpdateRequest updateRequest, Deadline deadline);
+
+    /**
+     * Deletes a book by its ID.
+     *
+     * @param id       the book ID
+     * @param deadline the time by which the result is needed
+     * @return future completed once the book is deleted
+     */
+    CompletableFuture<Void> deleteBook(Long id, Deadline deadline);
+
+    /**
+     * Returns the number of accepted writes still waiting to run.
+     *
+     * @return queued write count
+     */
+    int getQueuedWrites();
+}
@@ -1,7 +1,9 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.BookChangesResponse;
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstonesResponse;
 import com.example.bookstore.dto.BookUpdateRequest;
 
 import java.util.List;
@@ -91,4 +93,24 @@ public interface BookService {
      * @throws com.example.bookstore.exception.ResourceNotFoundException if book is not found
      */
     void deleteBook(Long id);
+    
+    /**
+     * Retrieves the changes made to the catalog after a sequence number, oldest first.
+     *
+     * @param since the last sequence number the caller has seen, 0 for all retained changes
+     * @param limit maximum number of changes to return
+     * @return the changes and the sequence number to resume from
+     * @throws com.example.bookstore.exception.ChangesExpiredException if changes after {@code since} were compacted
+     */
+    BookChangesResponse getChanges(long since, int limit);
+    
+    /**
+     * Retrieves deleted books that have not been purged yet, in deletion order.
+     *
+     * @param since   deletion time of the last tombstone seen, in epoch milliseconds, 0 for all
+     * @param afterId id of the last tombstone seen, 0 for all
+     * @param limit   maximum number of tombstones to return
+     * @return the tombstones and the position to resume from
+     */
+    BookTombstonesResponse getTombstones(long since, long afterId, int limit);
 }
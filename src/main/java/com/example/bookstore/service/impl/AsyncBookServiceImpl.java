@@ -0,0 +1,222 @@
+package com.example.bookstore.service.impl;
+
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookRequest;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.exception.DeadlineExceededException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.service.AsyncBookService;
+import com.example.bookstore.service.BookService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of AsyncBookService.
+ *
+ * Reads and writes run on separate bounded executors so a burst of slow searches cannot delay
+ * writes, and a full queue is reported as 503 instead of buffering unbounded work. Each task
+ * checks its deadline before it starts and binds it to the worker thread, where the JDBC layer
+ * turns it into a query timeout. Work whose deadline has passed, or whose caller has cancelled
+ * the future, is dropped without touching the database.
+ */
+@Service
+public class AsyncBookServiceImpl implements AsyncBookService {
+
+    private static final String DEADLINE_EXCEEDED_MESSAGE = "Request deadline exceeded";
+
+    private final BookService bookService;
+    private final ThreadPoolExecutor readExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final ScheduledThreadPoolExecutor deadlineTimer;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param bookService  the synchronous book service doing the work
+     * @param readThreads  number of threads serving reads
+     * @param readQueue    number of reads that may wait for a thread
+     * @param writeThreads number of threads serving writes
+     * @param writeQueue   number of writes that may wait for a thread
+     */
+    public AsyncBookServiceImpl(BookService bookService,
+                                @Value("${bookstore.async.read.threads:4}") int readThreads,
+                                @Value("${bookstore.async.read.queue-capacity:100}") int readQueue,
+                                @Value("${bookstore.async.write.threads:1}") int writeThreads,
+                                @Value("${bookstore.async.write.queue-capacity:50}") int writeQueue) {
+        this.bookService = bookService;
+        this.readExecutor = newExecutor("book-read-", readThreads, readQueue);
+        this.writeExecutor = newExecutor("book-write-", writeThreads, writeQueue);
+        this.deadlineTimer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("book-deadline-"));
+        this.deadlineTimer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<BookResponse>> getAllBooks(Deadline deadline) {
+        return submit(readExecutor, deadline, bookService::getAllBooks);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<BookResponse> getBookById(Long id, Deadline deadline) {
+        return submit(readExecutor, deadline, () -> bookService.getBookById(id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<BookResponse> getBookByIsbn(String isbn, Deadline deadline) {
+        return submit(readExecutor, deadline, () -> bookService.getBookByIsbn(isbn));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<BookResponse>> getBooksByAuthor(String author, Deadline deadline) {
+        return submit(readExecutor, deadline, () -> bookService.getBooksByAuthor(author));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<BookResponse>> searchBooksByTitle(String title, Deadline deadline) {
+        return submit(readExecutor, deadline, () -> bookService.searchBooksByTitle(title));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<BookResponse> createBook(BookRequest bookRequest, Deadline deadline) {
+        return submit(writeExecutor, deadline, () -> bookService.createBook(bookRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<BookResponse> updateBook(Long id, BookRequest bookRequest, Deadline deadline) {
+        return submit(writeExecutor, deadline, () -> bookService.updateBook(id, bookRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<BookResponse> patchBook(Long id, BookUpdateRequest updateRequest, Deadline deadline) {
+        return submit(writeExecutor, deadline, () -> bookService.patchBook(id, updateRequest));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> deleteBook(Long id, Deadline deadline) {
+        return submit(writeExecutor, deadline, () -> {
+            bookService.deleteBook(id);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(ThreadPoolExecutor executor, Deadline deadline, Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (deadline.isExpired()) {
+            expired.increment();
+            future.completeExceptionally(new DeadlineExceededException(DEADLINE_EXCEEDED_MESSAGE));
+            return future;
+        }
+        try {
+            executor.execute(() -> run(future, deadline, work));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            future.completeExceptionally(
+                    new ServiceUnavailableException("Book executor is saturated, please retry", 1));
+            return future;
+        }
+        ScheduledFuture<?> timeout = deadlineTimer.schedule(
+                () -> future.completeExceptionally(new DeadlineExceededException(DEADLINE_EXCEEDED_MESSAGE)),
+                deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        future.whenComplete((result, ex) -> timeout.cancel(false));
+        return future;
+    }
+
+    private <T> void run(CompletableFuture<T> future, Deadline deadline, Supplier<T> work) {
+        if (future.isDone() || deadline.isExpired()) {
+            expired.increment();
+            future.completeExceptionally(new DeadlineExceededException(DEADLINE_EXCEEDED_MESSAGE));
+            return;
+        }
+        Deadline.bind(deadline);
+        try {
+            future.complete(work.get());
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(deadline.isExpired()
+                    ? new DeadlineExceededException(DEADLINE_EXCEEDED_MESSAGE, ex)
+                    : ex);
+        } finally {
+            Deadline.bind(null);
+        }
+    }
+
+    /**
+     * Stops the executors, abandoning queued work.
+     */
+    @PreDestroy
+    public void shutdown() {
+        readExecutor.shutdownNow();
+        writeExecutor.shutdownNow();
+        deadlineTimer.shutdownNow();
+    }
+
+    public int getQueuedReads() {
+        return readExecutor.getQueue().size();
+    }
+
+    @Override
+    public int getQueuedWrites() {
+        return writeExecutor.getQueue().size();
+    }
+
+    public long getRejectedRequests() {
+        return rejected.sum();
+    }
+
+    public long getExpiredRequests() {
+        return expired.sum();
+    }
+
+    private static ThreadPoolExecutor newExecutor(String prefix, int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreadFactory(prefix),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
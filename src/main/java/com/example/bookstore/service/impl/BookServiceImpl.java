@@ -1,102 +1,180 @@
 package com.example.bookstore.service.impl;
 
+import com.example.bookstore.cache.AccessTracker;
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.concurrency.RequestCoalescer;
+import com.example.bookstore.dto.BookChangesResponse;
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstone;
+import com.example.bookstore.dto.BookTombstonesResponse;
 import com.example.bookstore.dto.BookUpdateRequest;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.events.BookEvent;
+import com.example.bookstore.events.BookEventType;
+import com.example.bookstore.exception.ChangesExpiredException;
 import com.example.bookstore.exception.DuplicateResourceException;
 import com.example.bookstore.exception.ResourceNotFoundException;
 import com.example.bookstore.mapper.BookMapper;
+import com.example.bookstore.monitoring.BookOperation;
+import com.example.bookstore.monitoring.RequestTiming;
+import com.example.bookstore.monitoring.RequestTimings;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.service.BookService;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
-import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of BookService.
  * Contains all business logic for book operations.
+ *
+ * Lookups by id and ISBN are answered from the {@link BookCache} when possible, and writes
+ * invalidate the affected entry. These lookups, author lookups and title searches are counted by
+ * the {@link AccessTracker}, whose estimates decide which entries survive a restart and which
+ * keys are reported and pinned as hot. Reads that reach the database are coalesced through the
+ * {@link RequestCoalescer} at the repository level, so concurrent identical requests share one
+ * query while each caller still maps its own response. They run with
+ * SUPPORTS propagation: each is a single statement, and waiting callers must not hold a pooled
+ * connection open for a transaction that would never issue a query.
+ *
+ * Every write appends to the {@link ChangeLog} in the same transaction as the write, so the entry
+ * commits or rolls back with the change and downstream consumers can sync from the log instead of
+ * re-reading the catalog. Each logged write is also published as a {@link BookEvent} carrying the
+ * log's sequence number, which is streamed to subscribers once the transaction commits.
  */
 @Service
 @Transactional
 public class BookServiceImpl implements BookService {
     
     private static final String BOOK_NOT_FOUND_BY_ID_MESSAGE = "Book not found with id: %d";
+    private static final int SQLITE_CONSTRAINT = 19;
     
     private final BookRepository bookRepository;
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final RequestCoalescer requestCoalescer;
+    private final BookCache bookCache;
+    private final AccessTracker accessTracker;
+    private final ChangeLog changeLog;
+    private final ApplicationEventPublisher eventPublisher;
     
     /**
      * Constructor for dependency injection.
      *
-     * @param bookRepository the book repository
-     * @param jdbcTemplate   the JDBC template for custom queries
+     * @param bookRepository   the book repository
+     * @param requestCoalescer the coalescer shared by concurrent identical reads
+     * @param bookCache        the cache of books by id and ISBN
+     * @param accessTracker    the tracker counting lookups and searches
+     * @param changeLog        the log every write is appended to
+     * @param eventPublisher   the publisher of book events
      */
-    public BookServiceImpl(BookRepository bookRepository, NamedParameterJdbcTemplate jdbcTemplate) {
+    public BookServiceImpl(BookRepository bookRepository, RequestCoalescer requestCoalescer,
+                           BookCache bookCache, AccessTracker accessTracker,
+                           ChangeLog changeLog, ApplicationEventPublisher eventPublisher) {
         this.bookRepository = bookRepository;
-        this.jdbcTemplate = jdbcTemplate;
+        this.requestCoalescer = requestCoalescer;
+        this.bookCache = bookCache;
+        this.accessTracker = accessTracker;
+        this.changeLog = changeLog;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<BookResponse> getAllBooks() {
-        List<Book> books = bookRepository.findAll();
-        return books.stream()
-                .map(BookMapper::toResponse)
-                .toList();
+        try (BookOperation operation = BookOperation.begin("getAllBooks", null)) {
+            List<Book> books = requestCoalescer.execute("findAll", null, bookRepository::findAll);
+            operation.rows(books.size());
+            return toResponses(books);
+        }
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public BookResponse getBookById(Long id) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
-        return BookMapper.toResponse(book);
+        try (BookOperation operation = BookOperation.begin("getBookById", id)) {
+            accessTracker.recordId(id);
+            Book book = bookCache.getById(id);
+            operation.cache(book != null);
+            if (book == null) {
+                long generation = bookCache.generation();
+                // Only loads started in the same generation are joined, so the row put below was
+                // read after every invalidation the generation accounts for
+                book = requestCoalescer.execute("findById", List.of(id, generation), () -> bookRepository.findById(id))
+                        .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
+                bookCache.put(book, generation);
+            }
+            operation.rows(1);
+            return toResponse(book);
+        }
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public BookResponse getBookByIsbn(String isbn) {
-        Book book = bookRepository.findByIsbn(isbn)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format("Book not found with ISBN: %s", isbn)));
-        return BookMapper.toResponse(book);
+        try (BookOperation operation = BookOperation.begin("getBookByIsbn", isbn)) {
+            accessTracker.recordIsbn(isbn);
+            Book book = bookCache.getByIsbn(isbn);
+            operation.cache(book != null);
+            if (book == null) {
+                long generation = bookCache.generation();
+                book = requestCoalescer.execute("findByIsbn", List.of(isbn, generation),
+                        () -> bookRepository.findByIsbn(isbn))
+                        .orElseThrow(() -> new ResourceNotFoundException(String.format("Book not found with ISBN: %s", isbn)));
+                bookCache.put(book, generation);
+            }
+            operation.rows(1);
+            return toResponse(book);
+        }
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<BookResponse> getBooksByAuthor(String author) {
-        List<Book> books = bookRepository.findByAuthor(author);
-        return books.stream()
-                .map(BookMapper::toResponse)
-                .toList();
+        try (BookOperation operation = BookOperation.begin("getBooksByAuthor", author)) {
+            accessTracker.recordAuthor(author);
+            List<Book> books = requestCoalescer.execute("findByAuthor", author,
+                    () -> bookRepository.findByAuthor(author));
+            operation.rows(books.size());
+            return toResponses(books);
+        }
     }
     
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<BookResponse> searchBooksByTitle(String title) {
-        List<Book> books = bookRepository.findByTitleContaining(title);
-        return books.stream()
-                .map(BookMapper::toResponse)
-                .toList();
+        try (BookOperation operation = BookOperation.begin("searchBooksByTitle", title)) {
+            accessTracker.recordSearch(title);
+            List<Book> books = requestCoalescer.execute("findByTitleContaining",
+                    RequestCoalescer.likeKey(title),
+                    () -> bookRepository.findByTitleContaining(title));
+            operation.rows(books.size());
+            return toResponses(books);
+        }
     }
     
     /**
@@ -111,36 +189,100 @@ public class BookServiceImpl implements BookService {
         }
     }
 
+    /**
+     * Maps a book to its response DTO, recording the mapping time for Server-Timing.
+     *
+     * @param book the book entity
+     * @return the book response
+     */
+    private static BookResponse toResponse(Book book) {
+        RequestTiming timing = RequestTimings.current();
+        if (timing == null) {
+            return BookMapper.toResponse(book);
+        }
+        long start = System.nanoTime();
+        BookResponse response = BookMapper.toResponse(book);
+        timing.addMapping(System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Maps books to response DTOs, recording the mapping time for Server-Timing.
+     *
+     * @param books the book entities
+     * @return the book responses
+     */
+    private static List<BookResponse> toResponses(List<Book> books) {
+        RequestTiming timing = RequestTimings.current();
+        if (timing == null) {
+            return books.stream().map(BookMapper::toResponse).toList();
+        }
+        long start = System.nanoTime();
+        List<BookResponse> responses = books.stream().map(BookMapper::toResponse).toList();
+        timing.addMapping(System.nanoTime() - start);
+        return responses;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public BookResponse createBook(BookRequest bookRequest) {
-        validateIsbnNotExists(bookRequest.getIsbn());
-        
-        Book book = BookMapper.toEntity(bookRequest);
-        
-        // Use custom insert with SQLite's last_insert_rowid() to avoid getGeneratedKeys() issue
-        String insertSql = "INSERT INTO books (title, author, isbn, price, quantity, created_at, updated_at) " +
-                          "VALUES (:title, :author, :isbn, :price, :quantity, :createdAt, :updatedAt)";
-        
-        SqlParameterSource parameters = new MapSqlParameterSource()
-            .addValue("title", book.getTitle())
-            .addValue("author", book.getAuthor())
-            .addValue("isbn", book.getIsbn())
-            .addValue("price", book.getPrice())
-            .addValue("quantity", book.getQuantity())
-            .addValue("createdAt", book.getCreatedAt())
-            .addValue("updatedAt", book.getUpdatedAt());
-        
-        jdbcTemplate.update(insertSql, parameters);
-        
-        // Get the generated ID using SQLite's last_insert_rowid()
-        Long generatedId = jdbcTemplate.getJdbcOperations()
-            .queryForObject("SELECT last_insert_rowid()", Long.class);
-        
-        book.setId(generatedId);
-        return BookMapper.toResponse(book);
+        try (BookOperation operation = BookOperation.begin("createBook", bookRequest.getIsbn())) {
+            Book book = BookMapper.toEntity(bookRequest);
+            
+            // A single insert: the UNIQUE constraint on isbn replaces a separate existence check
+            Long generatedId;
+            try {
+                generatedId = bookRepository.insert(book);
+            } catch (DataAccessException ex) {
+                if (isDuplicateIsbn(ex)) {
+                    throw new DuplicateResourceException(
+                            String.format("Book with ISBN %s already exists", book.getIsbn()), ex);
+                }
+                throw ex;
+            }
+            
+            book.setId(generatedId);
+            long seq = changeLog.append(generatedId, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+            BookResponse response = toResponse(book);
+            publish(seq, BookEventType.CREATED, generatedId, response, ChangeLog.ALL_FIELDS);
+            operation.rows(1);
+            return response;
+        }
+    }
+    
+    /**
+     * Saves a changed book. The ISBN check before an update can race with a concurrent write that
+     * takes the same ISBN; that conflict is reported here, by the UNIQUE constraint.
+     *
+     * @param book the changed book
+     * @return the saved book
+     * @throws DuplicateResourceException if another book has the ISBN
+     */
+    private Book saveBook(Book book) {
+        try {
+            return bookRepository.save(book);
+        } catch (DataAccessException ex) {
+            if (isDuplicateIsbn(ex)) {
+                throw new DuplicateResourceException(
+                        String.format("Book with ISBN %s already exists", book.getIsbn()), ex);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Checks whether a failed statement violated the unique ISBN constraint.
+     *
+     * @param ex the data access exception
+     * @return true if the cause is a SQLite UNIQUE constraint failure on books.isbn
+     */
+    private static boolean isDuplicateIsbn(DataAccessException ex) {
+        Throwable cause = ex.getMostSpecificCause();
+        return cause instanceof SQLException sqlException
+                && sqlException.getErrorCode() == SQLITE_CONSTRAINT
+                && String.valueOf(sqlException.getMessage()).contains("books.isbn");
     }
     
     /**
@@ -148,17 +290,24 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public BookResponse updateBook(Long id, BookRequest bookRequest) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
-        
-        // Check if ISBN is being changed and if it conflicts with another book
-        if (bookRequest.getIsbn() != null && !bookRequest.getIsbn().equals(book.getIsbn())) {
-            validateIsbnNotExists(bookRequest.getIsbn());
+        try (BookOperation operation = BookOperation.begin("updateBook", id)) {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
+            
+            // Check if ISBN is being changed and if it conflicts with another book
+            if (bookRequest.getIsbn() != null && !bookRequest.getIsbn().equals(book.getIsbn())) {
+                validateIsbnNotExists(bookRequest.getIsbn());
+            }
+            
+            Map<String, Object> before = ChangeLog.fields(book);
+            BookMapper.updateEntityFromRequest(book, bookRequest);
+            Book updatedBook = saveBook(book);
+            BookResponse response = toResponse(updatedBook);
+            logUpdate(id, BookEventType.UPDATED, response, ChangeLog.changedFields(before, updatedBook));
+            bookCache.invalidate(id);
+            operation.rows(1);
+            return response;
         }
-        
-        BookMapper.updateEntityFromRequest(book, bookRequest);
-        Book updatedBook = bookRepository.save(book);
-        return BookMapper.toResponse(updatedBook);
     }
     
     /**
@@ -166,17 +315,24 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public BookResponse patchBook(Long id, BookUpdateRequest updateRequest) {
-        Book book = bookRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
-        
-        // Check if ISBN is being changed and if it conflicts with another book
-        if (updateRequest.getIsbn() != null && !updateRequest.getIsbn().equals(book.getIsbn())) {
-            validateIsbnNotExists(updateRequest.getIsbn());
+        try (BookOperation operation = BookOperation.begin("patchBook", id)) {
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
+            
+            // Check if ISBN is being changed and if it conflicts with another book
+            if (updateRequest.getIsbn() != null && !updateRequest.getIsbn().equals(book.getIsbn())) {
+                validateIsbnNotExists(updateRequest.getIsbn());
+            }
+            
+            Map<String, Object> before = ChangeLog.fields(book);
+            BookMapper.updateEntity(book, updateRequest);
+            Book updatedBook = saveBook(book);
+            BookResponse response = toResponse(updatedBook);
+            logUpdate(id, BookEventType.PATCHED, response, ChangeLog.changedFields(before, updatedBook));
+            bookCache.invalidate(id);
+            operation.rows(1);
+            return response;
         }
-        
-        BookMapper.updateEntity(book, updateRequest);
-        Book updatedBook = bookRepository.save(book);
-        return BookMapper.toResponse(updatedBook);
     }
     
     /**
@@ -184,9 +340,100 @@ public class BookServiceImpl implements BookService {
      */
     @Override
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
-            throw new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id));
+        try (BookOperation operation = BookOperation.begin("deleteBook", id)) {
+            // Loaded rather than checked for existence, so the event tells subscribers what was deleted
+            Book book = bookRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id)));
+            // A tombstone is one small update; the row itself is removed later by the batched purge
+            if (!bookRepository.softDeleteById(id, System.currentTimeMillis())) {
+                throw new ResourceNotFoundException(String.format(BOOK_NOT_FOUND_BY_ID_MESSAGE, id));
+            }
+            long seq = changeLog.append(id, ChangeOperation.DELETE, List.of());
+            publish(seq, BookEventType.DELETED, id, BookMapper.toResponse(book), List.of());
+            bookCache.invalidate(id);
+            operation.rows(1);
+        }
+    }
+    
+    /**
+     * Appends an update to the change log and publishes it, unless the write left every logged
+     * field unchanged. An update of the quantity alone is published as a stock event.
+     *
+     * @param id            the book ID
+     * @param type          the event type of the write
+     * @param book          the updated book
+     * @param changedFields names of the changed fields
+     */
+    private void logUpdate(Long id, BookEventType type, BookResponse book, List<String> changedFields) {
+        if (changedFields.isEmpty()) {
+            return;
+        }
+        long seq = changeLog.append(id, ChangeOperation.UPDATE, changedFields);
+        BookEventType eventType = changedFields.equals(List.of("quantity")) ? BookEventType.STOCK : type;
+        publish(seq, eventType, id, book, changedFields);
+    }
+
+    /**
+     * Publishes a logged write. Listeners that stream it wait for the transaction to commit.
+     *
+     * @param seq           the change log sequence number
+     * @param type          the event type
+     * @param id            the book ID
+     * @param book          the book after the write, or before a delete
+     * @param changedFields names of the changed fields
+     */
+    private void publish(long seq, BookEventType type, long id, BookResponse book, List<String> changedFields) {
+        eventPublisher.publishEvent(new BookEvent(seq, type, id, book, changedFields, LocalDateTime.now()));
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookChangesResponse getChanges(long since, int limit) {
+        try (BookOperation operation = BookOperation.begin("getChanges", since)) {
+            Long firstSeq = changeLog.getFirstSeq();
+            if (firstSeq != null && since < firstSeq - 1) {
+                long lastSeq = changeLog.getLastSeq();
+                throw new ChangesExpiredException(String.format(
+                        "Changes after %d were compacted; reload the catalog and resume from %d", since, lastSeq), lastSeq);
+            }
+            // One extra row tells whether another page follows
+            List<BookChange> changes = changeLog.findSince(since, limit + 1);
+            boolean hasMore = changes.size() > limit;
+            if (hasMore) {
+                changes = changes.subList(0, limit);
+            }
+            long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+            operation.rows(changes.size());
+            return new BookChangesResponse(changes, nextSince, changeLog.getLastSeq(), hasMore);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BookTombstonesResponse getTombstones(long since, long afterId, int limit) {
+        try (BookOperation operation = BookOperation.begin("getTombstones", since)) {
+            // One extra row tells whether another page follows
+            List<Book> deleted = bookRepository.findDeletedSince(since, afterId, limit + 1);
+            boolean hasMore = deleted.size() > limit;
+            if (hasMore) {
+                deleted = deleted.subList(0, limit);
+            }
+            long nextSince = since;
+            long nextAfterId = afterId;
+            if (!deleted.isEmpty()) {
+                Book last = deleted.get(deleted.size() - 1);
+                nextSince = last.getDeletedAt();
+                nextAfterId = last.getId();
+            }
+            List<BookTombstone> tombstones = deleted.stream().map(BookMapper::toTombstone).toList();
+            operation.rows(tombstones.size());
+            return new BookTombstonesResponse(tombstones, nextSince, nextAfterId, hasMore);
         }
-        bookRepository.deleteById(id);
     }
 }
@@ -0,0 +1,216 @@
+package com.example.bookstore.sharding;
+
+import com.example.bookstore.jdbc.InstrumentedDataSource;
+import com.example.bookstore.jdbc.StatementListener;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * The SQLite files of the sharded storage mode, one per shard, each with its own connection pool.
+ *
+ * Every shard is a separate database with its own write lock, so writes to different shards
+ * proceed in parallel. Shard files are named {@code bookstore-shard-<n>.db} and are created with
+ * {@code shard-schema.sql} on startup; files created before the schema had the tombstone columns
+ * get them added first. Statements are reported to the {@link StatementListener} beans like those
+ * on the main data source.
+ *
+ * Queries that must visit every shard are run in parallel on a shared pool sized to the total
+ * number of shard connections.
+ */
+@Component
+@ConditionalOnProperty(name = "bookstore.sharding.enabled", havingValue = "true")
+public class BookShards {
+
+    private static final Logger log = LoggerFactory.getLogger(BookShards.class);
+    private static final String COLUMNS_SQL = "SELECT name FROM pragma_table_info('books')";
+    private static final Map<String, String> TOMBSTONE_COLUMNS = Map.of(
+            "deleted_at", "ALTER TABLE books ADD COLUMN deleted_at INTEGER",
+            "deleted_isbn", "ALTER TABLE books ADD COLUMN deleted_isbn TEXT");
+
+    private final ShardRouter router;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<NamedParameterJdbcTemplate> templates = new ArrayList<>();
+    private final ExecutorService executor;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param shardCount number of shards
+     * @param directory  directory holding the shard files
+     * @param poolSize   connections per shard
+     * @param listeners  the statement listeners, resolved lazily on the first statement
+     */
+    @Autowired
+    public BookShards(@Value("${bookstore.sharding.shards:4}") int shardCount,
+                      @Value("${bookstore.sharding.directory:shards}") String directory,
+                      @Value("${bookstore.sharding.pool-size:4}") int poolSize,
+                      ObjectProvider<StatementListener> listeners) {
+        this(shardCount, Path.of(directory), poolSize,
+                SingletonSupplier.of(() -> listeners.orderedStream().toList()));
+    }
+
+    /**
+     * Constructor with explicit listeners, for tests.
+     *
+     * @param shardCount number of shards
+     * @param directory  directory holding the shard files
+     * @param poolSize   connections per shard
+     * @param listeners  supplier of the statement listeners
+     */
+    BookShards(int shardCount, Path directory, int poolSize, Supplier<List<StatementListener>> listeners) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Shard pool size must be at least 1");
+        }
+        this.router = new ShardRouter(shardCount);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create shard directory " + directory, ex);
+        }
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("shard-schema.sql"));
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                HikariConfig config = new HikariConfig();
+                config.setPoolName("shard-" + shard);
+                config.setJdbcUrl("jdbc:sqlite:" + directory.resolve(fileName(shard))
+                        + "?journal_mode=WAL&busy_timeout=5000");
+                config.setMaximumPoolSize(poolSize);
+                HikariDataSource pool = new HikariDataSource(config);
+                pools.add(pool);
+                InstrumentedDataSource dataSource = new InstrumentedDataSource(pool, listeners);
+                NamedParameterJdbcTemplate template = new NamedParameterJdbcTemplate(dataSource);
+                addTombstoneColumns(template);
+                schema.execute(dataSource);
+                templates.add(template);
+            }
+        } catch (RuntimeException ex) {
+            pools.forEach(HikariDataSource::close);
+            throw ex;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("book-shard-");
+        threadFactory.setDaemon(true);
+        int threads = shardCount * poolSize;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        log.info("Opened {} book shards in {}", shardCount, directory.toAbsolutePath());
+    }
+
+    /**
+     * Returns the JDBC template of a shard. Statements run in auto-commit mode on the shard's own
+     * connections and never join a transaction of the main data source.
+     *
+     * @param shard the shard number
+     * @return the template
+     */
+    public NamedParameterJdbcTemplate jdbc(int shard) {
+        return templates.get(shard);
+    }
+
+    /**
+     * Runs a query on every shard in parallel.
+     *
+     * @param query the query, given the shard number
+     * @param <T>   the result type
+     * @return the results, indexed by shard number
+     */
+    public <T> List<T> scatter(IntFunction<T> query) {
+        if (templates.size() == 1) {
+            return List.of(query.apply(0));
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(templates.size());
+        for (int shard = 0; shard < templates.size(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(target), executor));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    public ShardRouter getRouter() {
+        return router;
+    }
+
+    public int getShardCount() {
+        return templates.size();
+    }
+
+    /**
+     * Stops the query pool and closes the shard connection pools.
+     */
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+
+    /**
+     * Returns the file name of a shard.
+     *
+     * @param shard the shard number
+     * @return the file name
+     */
+    public static String fileName(int shard) {
+        return "bookstore-shard-" + shard + ".db";
+    }
+
+    /**
+     * Adds the tombstone columns to a shard file created before the schema had them. The schema
+     * script cannot do this itself: its CREATE TABLE leaves an existing table unchanged.
+     *
+     * @param template the shard's template
+     */
+    private static void addTombstoneColumns(NamedParameterJdbcTemplate template) {
+        List<String> columns = template.getJdbcTemplate().queryForList(COLUMNS_SQL, String.class);
+        if (columns.isEmpty()) {
+            return;
+        }
+        TOMBSTONE_COLUMNS.forEach((column, alter) -> {
+            if (!columns.contains(column)) {
+                template.getJdbcTemplate().execute(alter);
+            }
+        });
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
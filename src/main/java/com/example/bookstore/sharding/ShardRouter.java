@@ -0,0 +1,126 @@
+package com.example.bookstore.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which shard holds a book.
+ *
+ * A book lives on the shard chosen by a hash of its canonical ISBN, so a lookup by ISBN and the
+ * uniqueness check of a create only ever touch one shard. Books without an ISBN are spread round
+ * robin. The shard is also encoded in the low {@value #SHARD_BITS} bits of the book id, so a
+ * lookup by id is routed without a directory: {@code id = (local << SHARD_BITS) | shard}.
+ *
+ * The hash is FNV-1a over the UTF-8 bytes, which is stable across JVMs and releases; changing it
+ * or the number of shards moves books and requires a reshard.
+ */
+public class ShardRouter {
+
+    /**
+     * Number of low id bits holding the shard number.
+     */
+    public static final int SHARD_BITS = 10;
+
+    /**
+     * Largest supported number of shards.
+     */
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+
+    private static final long SHARD_MASK = MAX_SHARDS - 1;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int shardCount;
+    private final AtomicLong roundRobin = new AtomicLong();
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param shardCount number of shards
+     */
+    public ShardRouter(int shardCount) {
+        if (shardCount < 1 || shardCount > MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard count must be between 1 and " + MAX_SHARDS);
+        }
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Returns the shard a book with the given ISBN belongs on.
+     *
+     * @param isbn the ISBN, in any formatting
+     * @return the shard number
+     */
+    public int shardForIsbn(String isbn) {
+        return (int) Math.floorMod(fnv1a(canonicalIsbn(isbn)), (long) shardCount);
+    }
+
+    /**
+     * Returns the shard a new book is created on: by ISBN, or round robin if it has none.
+     *
+     * @param isbn the ISBN, or null
+     * @return the shard number
+     */
+    public int shardForNewBook(String isbn) {
+        if (isbn == null) {
+            return (int) Math.floorMod(roundRobin.getAndIncrement(), (long) shardCount);
+        }
+        return shardForIsbn(isbn);
+    }
+
+    /**
+     * Returns the shard encoded in a book id.
+     *
+     * @param id the book id
+     * @return the shard number, or -1 if the id cannot belong to any shard
+     */
+    public int shardForId(Long id) {
+        if (id == null || id <= 0) {
+            return -1;
+        }
+        int shard = (int) (id & SHARD_MASK);
+        return shard < shardCount ? shard : -1;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Builds a book id from a shard-local sequence number and the shard.
+     *
+     * @param local the shard-local sequence number, at least 1
+     * @param shard the shard number
+     * @return the id
+     */
+    public static long encodeId(long local, int shard) {
+        return (local << SHARD_BITS) | shard;
+    }
+
+    /**
+     * Normalizes an ISBN for routing: hyphens and whitespace removed, upper case.
+     *
+     * @param isbn the ISBN
+     * @return the canonical form
+     */
+    public static String canonicalIsbn(String isbn) {
+        StringBuilder canonical = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c != '-' && !Character.isWhitespace(c)) {
+                canonical.append(c);
+            }
+        }
+        return canonical.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static long fnv1a(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
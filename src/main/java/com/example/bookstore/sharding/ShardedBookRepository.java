@@ -0,0 +1,351 @@
+package com.example.bookstore.sharding;
+
+import com.example.bookstore.cache.CacheSnapshotStore;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.exception.ValidationException;
+import com.example.bookstore.repository.BookInsertRepositoryImpl;
+import com.example.bookstore.repository.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * {@link BookRepository} over the {@link BookShards}, replacing the single-file repository when
+ * sharding is enabled.
+ *
+ * Lookups by ISBN and inserts go to the shard chosen by the {@link ShardRouter}; lookups, updates
+ * and deletes by id go to the shard encoded in the id. Inserts allocate the id on their shard in
+ * the same statement: the next shard-local number after the highest ever used there, shifted
+ * left, with the shard in the low bits. Queries that can match books on any shard are sent to
+ * all shards in parallel, each returning its rows in the merge order, and the sorted pages are
+ * merged.
+ *
+ * Because the shard follows the ISBN, changing a book's ISBN to one that hashes to another shard
+ * is rejected: the book would have to move and change its id. Such books are deleted and created
+ * again instead.
+ *
+ * Shard statements run in auto-commit mode and are not part of the service's transaction, which
+ * covers the change log in the main database only. A write that commits on its shard is followed
+ * by its change log entry, but a crash between the two leaves the write unlogged.
+ *
+ * Deletes leave a tombstone on the book's shard, as in the single file: every query except
+ * {@link #findDeletedSince} leaves it out, its ISBN moves out of the unique column, and the
+ * tombstones of all shards are listed in one merged order.
+ */
+@Repository("shardedBookRepository")
+@Primary
+@ConditionalOnProperty(name = "bookstore.sharding.enabled", havingValue = "true")
+public class ShardedBookRepository implements BookRepository {
+
+    private static final String COLUMNS =
+            "id, title, author, isbn, price, quantity, created_at, updated_at, deleted_at";
+    private static final String SELECT_ALL_SQL =
+            "SELECT " + COLUMNS + " FROM books WHERE deleted_at IS NULL ORDER BY id";
+    private static final String SELECT_BY_ID_SQL =
+            "SELECT " + COLUMNS + " FROM books WHERE id = :id AND deleted_at IS NULL";
+    private static final String SELECT_BY_IDS_SQL =
+            "SELECT " + COLUMNS + " FROM books WHERE id IN (:ids) AND deleted_at IS NULL ORDER BY id";
+    private static final String SELECT_BY_ISBN_SQL =
+            "SELECT " + COLUMNS + " FROM books WHERE isbn = :isbn AND deleted_at IS NULL";
+    private static final String SELECT_BY_AUTHOR_SQL =
+            "SELECT " + COLUMNS + " FROM books WHERE author = :author AND deleted_at IS NULL ORDER BY id";
+    private static final String SELECT_BY_TITLE_SQL = "SELECT " + COLUMNS + " FROM books " +
+            "WHERE title LIKE '%' || :title || '%' AND deleted_at IS NULL ORDER BY id";
+    private static final String SELECT_PAGE_SQL = "SELECT " + COLUMNS + " FROM books " +
+            "WHERE id > :afterId AND deleted_at IS NULL ORDER BY id LIMIT :limit";
+    private static final String SELECT_RECENT_SQL = "SELECT " + COLUMNS + " FROM books " +
+            "WHERE deleted_at IS NULL ORDER BY updated_at DESC, id LIMIT :limit";
+    private static final String SELECT_DELETED_SQL = "SELECT id, title, author, deleted_isbn AS isbn, price, " +
+            "quantity, created_at, updated_at, deleted_at FROM books " +
+            "WHERE deleted_at IS NOT NULL AND (deleted_at, id) > (:since, :afterId) " +
+            "ORDER BY deleted_at, id LIMIT :limit";
+    private static final String EXISTS_SQL = "SELECT COUNT(*) FROM books WHERE id = :id AND deleted_at IS NULL";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM books WHERE deleted_at IS NULL";
+    // AUTOINCREMENT records every explicit id in sqlite_sequence, so local numbers are never reused
+    private static final String INSERT_SQL =
+            "INSERT INTO books (id, title, author, isbn, price, quantity, created_at, updated_at) VALUES (" +
+            "((((SELECT COALESCE(MAX(seq), 0) FROM sqlite_sequence WHERE name = 'books') >> " +
+            ShardRouter.SHARD_BITS + ") + 1) << " + ShardRouter.SHARD_BITS + ") | :shard, " +
+            ":title, :author, :isbn, :price, :quantity, :createdAt, :updatedAt) RETURNING id";
+    private static final String UPDATE_SQL =
+            "UPDATE books SET title = :title, author = :author, isbn = :isbn, price = :price, " +
+            "quantity = :quantity, created_at = :createdAt, updated_at = :updatedAt WHERE id = :id";
+    private static final String SOFT_DELETE_SQL =
+            "UPDATE books SET deleted_at = :deletedAt, deleted_isbn = isbn, isbn = NULL " +
+            "WHERE id = :id AND deleted_at IS NULL";
+    private static final String DELETE_BY_ID_SQL = "DELETE FROM books WHERE id = :id";
+    private static final String DELETE_ALL_SQL = "DELETE FROM books";
+
+    private static final RowMapper<Book> BOOK_ROW_MAPPER = ShardedBookRepository::mapBook;
+    private static final Comparator<Book> BY_ID = Comparator.comparing(Book::getId);
+    private static final Comparator<Book> BY_RECENT_UPDATE = Comparator
+            .comparing(Book::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Book::getId);
+    private static final Comparator<Book> BY_DELETION =
+            Comparator.comparing(Book::getDeletedAt).thenComparing(Book::getId);
+
+    private final BookShards shards;
+    private final ShardRouter router;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param shards the shard files
+     */
+    public ShardedBookRepository(BookShards shards) {
+        this.shards = shards;
+        this.router = shards.getRouter();
+    }
+
+    @Override
+    public Long insert(Book book) {
+        int shard = router.shardForNewBook(book.getIsbn());
+        MapSqlParameterSource parameters = BookInsertRepositoryImpl.parameters(book).addValue("shard", shard);
+        return shards.jdbc(shard).queryForObject(INSERT_SQL, parameters, Long.class);
+    }
+
+    @Override
+    public <S extends Book> S save(S book) {
+        if (book.getId() == null) {
+            book.setId(insert(book));
+            return book;
+        }
+        int shard = router.shardForId(book.getId());
+        if (shard >= 0 && book.getIsbn() != null && router.shardForIsbn(book.getIsbn()) != shard) {
+            throw new ValidationException(String.format(
+                    "Cannot change the ISBN of book %d to %s: it belongs on another shard; " +
+                    "delete the book and create it again instead", book.getId(), book.getIsbn()));
+        }
+        int updated = shard < 0 ? 0 : shards.jdbc(shard).update(UPDATE_SQL,
+                BookInsertRepositoryImpl.parameters(book).addValue("id", book.getId()));
+        if (updated == 0) {
+            throw new IncorrectUpdateSemanticsDataAccessException(String.format(
+                    "Failed to update entity [%s]; Id [%s] not found in database", book, book.getId()));
+        }
+        return book;
+    }
+
+    @Override
+    public <S extends Book> List<S> saveAll(Iterable<S> books) {
+        List<S> saved = new ArrayList<>();
+        for (S book : books) {
+            saved.add(save(book));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Book> findById(Long id) {
+        int shard = router.shardForId(id);
+        if (shard < 0) {
+            return Optional.empty();
+        }
+        List<Book> books = shards.jdbc(shard).query(SELECT_BY_ID_SQL, new MapSqlParameterSource("id", id),
+                BOOK_ROW_MAPPER);
+        return books.stream().findFirst();
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        int shard = router.shardForId(id);
+        if (shard < 0) {
+            return false;
+        }
+        Long count = shards.jdbc(shard).queryForObject(EXISTS_SQL, new MapSqlParameterSource("id", id), Long.class);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public List<Book> findAll() {
+        return merge(shards.scatter(shard ->
+                shards.jdbc(shard).query(SELECT_ALL_SQL, new MapSqlParameterSource(), BOOK_ROW_MAPPER)),
+                BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Book> findAllById(Iterable<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = new HashMap<>();
+        for (Long id : ids) {
+            int shard = router.shardForId(id);
+            if (shard >= 0) {
+                idsByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(id);
+            }
+        }
+        if (idsByShard.isEmpty()) {
+            return List.of();
+        }
+        return merge(shards.scatter(shard -> {
+            List<Long> shardIds = idsByShard.get(shard);
+            return shardIds == null ? List.of() : shards.jdbc(shard).query(SELECT_BY_IDS_SQL,
+                    new MapSqlParameterSource("ids", shardIds), BOOK_ROW_MAPPER);
+        }), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        if (isbn == null) {
+            return Optional.empty();
+        }
+        List<Book> books = shards.jdbc(router.shardForIsbn(isbn)).query(SELECT_BY_ISBN_SQL,
+                new MapSqlParameterSource("isbn", isbn), BOOK_ROW_MAPPER);
+        return books.stream().findFirst();
+    }
+
+    @Override
+    public List<Book> findByAuthor(String author) {
+        return merge(shards.scatter(shard -> shards.jdbc(shard).query(SELECT_BY_AUTHOR_SQL,
+                new MapSqlParameterSource("author", author), BOOK_ROW_MAPPER)), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Book> findByTitleContaining(String title) {
+        return merge(shards.scatter(shard -> shards.jdbc(shard).query(SELECT_BY_TITLE_SQL,
+                new MapSqlParameterSource("title", title), BOOK_ROW_MAPPER)), BY_ID, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Book> findRecentlyUpdated(int limit) {
+        // Each shard returns its own newest books; the overall newest are among them
+        return merge(shards.scatter(shard -> shards.jdbc(shard).query(SELECT_RECENT_SQL,
+                new MapSqlParameterSource("limit", limit), BOOK_ROW_MAPPER)), BY_RECENT_UPDATE, limit);
+    }
+
+    @Override
+    public List<Book> findAfterId(long afterId, int limit) {
+        // Each shard returns its own next ids; the overall next ones are among them
+        return merge(shards.scatter(shard -> shards.jdbc(shard).query(SELECT_PAGE_SQL,
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit), BOOK_ROW_MAPPER)),
+                BY_ID, limit);
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Long shardCount : shards.scatter(shard ->
+                shards.jdbc(shard).queryForObject(COUNT_SQL, new MapSqlParameterSource(), Long.class))) {
+            count += shardCount == null ? 0 : shardCount;
+        }
+        return count;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        int shard = router.shardForId(id);
+        if (shard >= 0) {
+            shards.jdbc(shard).update(DELETE_BY_ID_SQL, new MapSqlParameterSource("id", id));
+        }
+    }
+
+    @Override
+    public boolean softDeleteById(Long id, long deletedAt) {
+        int shard = router.shardForId(id);
+        return shard >= 0 && shards.jdbc(shard).update(SOFT_DELETE_SQL,
+                new MapSqlParameterSource("id", id).addValue("deletedAt", deletedAt)) > 0;
+    }
+
+    @Override
+    public List<Book> findDeletedSince(long since, long afterId, int limit) {
+        // Each shard returns its own next tombstones; the overall next ones are among them
+        return merge(shards.scatter(shard -> shards.jdbc(shard).query(SELECT_DELETED_SQL,
+                new MapSqlParameterSource("since", since).addValue("afterId", afterId).addValue("limit", limit),
+                BOOK_ROW_MAPPER)), BY_DELETION, limit);
+    }
+
+    @Override
+    public void delete(Book book) {
+        deleteById(book.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> ids) {
+        for (Long id : ids) {
+            deleteById(id);
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Book> books) {
+        for (Book book : books) {
+            deleteById(book.getId());
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        shards.scatter(shard -> shards.jdbc(shard).update(DELETE_ALL_SQL, new MapSqlParameterSource()));
+    }
+
+    /**
+     * Merges pages that are each sorted in the given order into one sorted list.
+     *
+     * @param pages the pages, one per shard
+     * @param order the order every page is sorted in
+     * @param limit maximum number of books returned
+     * @return the first books of the merged pages
+     */
+    static List<Book> merge(List<List<Book>> pages, Comparator<Book> order, int limit) {
+        PriorityQueue<Cursor> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        int total = 0;
+        for (List<Book> page : pages) {
+            total += page.size();
+            if (!page.isEmpty()) {
+                heads.add(new Cursor(page));
+            }
+        }
+        List<Book> merged = new ArrayList<>(Math.min(total, limit));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            merged.add(cursor.head());
+            if (++cursor.position < cursor.page.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static Book mapBook(ResultSet resultSet, int rowNum) throws SQLException {
+        Book book = new Book();
+        book.setId(resultSet.getLong("id"));
+        book.setTitle(resultSet.getString("title"));
+        book.setAuthor(resultSet.getString("author"));
+        book.setIsbn(resultSet.getString("isbn"));
+        book.setPrice(resultSet.getBigDecimal("price"));
+        Object quantity = resultSet.getObject("quantity");
+        book.setQuantity(quantity == null ? null : ((Number) quantity).intValue());
+        book.setCreatedAt(CacheSnapshotStore.toLocalDateTime(resultSet.getObject("created_at")));
+        book.setUpdatedAt(CacheSnapshotStore.toLocalDateTime(resultSet.getObject("updated_at")));
+        Object deletedAt = resultSet.getObject("deleted_at");
+        book.setDeletedAt(deletedAt == null ? null : ((Number) deletedAt).longValue());
+        return book;
+    }
+
+    /**
+     * Position in one shard's page during a merge.
+     */
+    private static final class Cursor {
+
+        private final List<Book> page;
+        private int position;
+
+        private Cursor(List<Book> page) {
+            this.page = page;
+        }
+
+        private Book head() {
+            return page.get(position);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.example.bookstore.tools;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic but realistic book catalog and bulk-loads it into SQLite.
+ *
+ * Authors follow a Zipf distribution (a few prolific authors, a long tail), titles are drawn from
+ * a fixed vocabulary, ISBN-13s carry valid check digits and prices and stock levels follow skewed
+ * distributions. Output is fully determined by the seed and the starting sequence number.
+ */
+public class CatalogGenerator {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO books (title, author, isbn, price, quantity, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_NORMALIZED_SQL =
+            "INSERT INTO books (title, author, isbn, price, quantity, created_at, updated_at, isbn_normalized) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String DEFERRED_TABLE = "catalog_generator_deferred";
+    private static final List<String> RESTORED_PRAGMAS = List.of("synchronous", "cache_size", "temp_store");
+    private static final String ISBN_PREFIX = "9798";
+    private static final long MAX_SEQUENCE = 100_000_000L;
+    private static final double ZIPF_EXPONENT = 1.07;
+    private static final double OUT_OF_STOCK_RATIO = 0.15;
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Haruki", "Chimamanda", "Gabriel", "Isabel", "Orhan", "Arundhati", "Kazuo", "Zadie", "Jorge", "Elena"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Wilson", "Anderson", "Taylor", "Moore", "Jackson", "Martin", "Lee", "Thompson",
+        "White", "Harris", "Clark", "Lewis", "Robinson", "Walker", "Young", "Allen", "King", "Wright",
+        "Scott", "Green", "Baker", "Adams", "Nelson", "Hill", "Campbell", "Mitchell", "Roberts", "Carter"
+    };
+    private static final String[] ADJECTIVES = {
+        "Silent", "Hidden", "Last", "Broken", "Golden", "Dark", "Forgotten", "Endless", "Secret", "Burning",
+        "Lost", "Quiet", "Wild", "Crimson", "Distant", "Hollow", "Bright", "Frozen", "Sacred", "Restless"
+    };
+    private static final String[] NOUNS = {
+        "River", "Kingdom", "Garden", "Shadow", "City", "Ocean", "Mountain", "House", "Letter", "Storm",
+        "Forest", "Mirror", "Bridge", "Island", "Winter", "Empire", "Machine", "Orchard", "Harbor", "Night",
+        "Algorithm", "Covenant", "Lighthouse", "Frontier", "Symphony", "Archive", "Voyage", "Tide", "Crown", "Fire"
+    };
+    private static final String[] CONNECTORS = {"of", "in", "beyond", "under", "after", "and"};
+
+    private final SplittableRandom random;
+    private final double[] authorCumulative;
+    private final String[] authorNames;
+    private final long baseEpochMillis;
+
+    /**
+     * Constructor with the generation parameters.
+     *
+     * @param seed        seed for all random choices
+     * @param authorCount number of distinct authors
+     */
+    public CatalogGenerator(long seed, int authorCount) {
+        this.random = new SplittableRandom(seed);
+        this.authorCumulative = zipfCumulative(authorCount, ZIPF_EXPONENT);
+        this.authorNames = new String[authorCount];
+        for (int i = 0; i < authorCount; i++) {
+            authorNames[i] = authorName(i);
+        }
+        this.baseEpochMillis = 1_600_000_000_000L + Math.floorMod(seed, 1_000_000L) * 1000;
+    }
+
+    /**
+     * Bulk-loads books into the books table.
+     *
+     * Secondary indexes and triggers on books are dropped for the duration of the load and rebuilt
+     * at the end, rows are inserted through one reused prepared statement in batches, and each
+     * transaction covers {@code commitInterval} rows. Where the table has {@code isbn_normalized},
+     * the value is bound with the row instead of being written a second time by the V2 trigger.
+     * The definitions of the dropped objects are saved in the same transaction that drops them, and
+     * a load first recreates any that an interrupted earlier load left behind. The caller's
+     * connection settings and pragmas are restored afterwards.
+     *
+     * Generated books bypass the change log, so neither followers nor the reporting database's
+     * incremental refresh see them; load before those are set up, or restore them from scratch.
+     *
+     * @param connection     a dedicated connection to the target database
+     * @param rows           number of books to insert
+     * @param firstSequence  sequence number of the first book, used to derive unique ISBNs
+     * @param batchSize      rows per JDBC batch
+     * @param commitInterval rows per transaction
+     * @return number of rows inserted
+     * @throws SQLException if the load fails; rows of the current transaction are rolled back
+     */
+    public long load(Connection connection, long rows, long firstSequence, int batchSize, long commitInterval)
+            throws SQLException {
+        if (firstSequence + rows > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("ISBN sequence space exhausted: at most "
+                    + (MAX_SEQUENCE - firstSequence) + " more books can be generated");
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(true);
+        Map<String, Long> pragmas = readPragmas(connection);
+        restoreDeferred(connection);
+        boolean normalized = hasColumn(connection, "isbn_normalized");
+        deferSchemaObjects(connection);
+        long inserted = 0;
+        try {
+            // SQLite refuses to change the safety level inside a transaction
+            try (Statement pragma = connection.createStatement()) {
+                pragma.execute("PRAGMA synchronous = OFF");
+                pragma.execute("PRAGMA cache_size = -262144");
+                pragma.execute("PRAGMA temp_store = MEMORY");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(normalized ? INSERT_NORMALIZED_SQL : INSERT_SQL)) {
+                while (inserted < rows) {
+                    bind(insert, firstSequence + inserted, normalized);
+                    insert.addBatch();
+                    inserted++;
+                    if (inserted % batchSize == 0 || inserted == rows) {
+                        insert.executeBatch();
+                    }
+                    if (inserted % commitInterval == 0) {
+                        connection.commit();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            }
+        } finally {
+            connection.setAutoCommit(true);
+            restorePragmas(connection, pragmas);
+            restoreDeferred(connection);
+            connection.setAutoCommit(autoCommit);
+        }
+        return inserted;
+    }
+
+    /**
+     * Picks the next author, following the Zipf distribution.
+     *
+     * @return the author name
+     */
+    public String nextAuthor() {
+        return authorNames[nextAuthorIndex()];
+    }
+
+    /**
+     * Builds the next title from the vocabulary.
+     *
+     * @return the title
+     */
+    public String nextTitle() {
+        StringBuilder title = new StringBuilder(48);
+        if (random.nextInt(3) == 0) {
+            title.append("The ");
+        }
+        title.append(pick(ADJECTIVES)).append(' ').append(pick(NOUNS));
+        if (random.nextInt(2) == 0) {
+            title.append(' ').append(pick(CONNECTORS)).append(' ').append(pick(NOUNS));
+        }
+        return title.toString();
+    }
+
+    /**
+     * Draws the next price in cents: log-normally distributed around 15 with .99 endings.
+     *
+     * @return the price in cents
+     */
+    public long nextPriceCents() {
+        double price = Math.exp(2.7 + 0.6 * gaussian());
+        long dollars = Math.max(0, Math.min(199, (long) price));
+        return dollars * 100 + 99;
+    }
+
+    /**
+     * Draws the next stock level: a share of titles are sold out, the rest follow an exponential tail.
+     *
+     * @return the quantity in stock
+     */
+    public int nextQuantity() {
+        if (random.nextDouble() < OUT_OF_STOCK_RATIO) {
+            return 0;
+        }
+        return 1 + (int) Math.min(5_000, -Math.log(1 - random.nextDouble()) * 30);
+    }
+
+    /**
+     * Derives a hyphenated ISBN-13 with a valid check digit from a sequence number.
+     * Increasing sequence numbers yield increasing ISBNs, which keeps index inserts append-only.
+     *
+     * @param sequence the sequence number, below 100,000,000
+     * @return the ISBN, e.g. 979-8-0000-0042-7
+     */
+    public static String isbn13(long sequence) {
+        char[] digits = new char[13];
+        ISBN_PREFIX.getChars(0, 4, digits, 0);
+        long remaining = sequence;
+        for (int i = 11; i >= 4; i--) {
+            digits[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        digits[12] = (char) ('0' + checkDigit(new String(digits, 0, 12)));
+        return new StringBuilder(17)
+                .append(digits, 0, 3).append('-')
+                .append(digits[3]).append('-')
+                .append(digits, 4, 4).append('-')
+                .append(digits, 8, 4).append('-')
+                .append(digits[12])
+                .toString();
+    }
+
+    /**
+     * Validates an ISBN-13, ignoring hyphens and spaces.
+     *
+     * @param isbn the ISBN to check
+     * @return true if it has 13 digits and a correct check digit
+     */
+    public static boolean isValidIsbn13(String isbn) {
+        String digits = isbn.replace("-", "").replace(" ", "");
+        if (digits.length() != 13 || !digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        return checkDigit(digits.substring(0, 12)) == digits.charAt(12) - '0';
+    }
+
+    int nextAuthorIndex() {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = authorCumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (authorCumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void bind(PreparedStatement insert, long sequence, boolean normalized) throws SQLException {
+        long createdAt = baseEpochMillis + random.nextLong(1L << 35);
+        String isbn = isbn13(sequence);
+        insert.setString(1, nextTitle());
+        insert.setString(2, nextAuthor());
+        insert.setString(3, isbn);
+        insert.setDouble(4, nextPriceCents() / 100.0);
+        insert.setInt(5, nextQuantity());
+        // sqlite-jdbc stores timestamps as epoch milliseconds by default, so bind the same representation
+        insert.setLong(6, createdAt);
+        insert.setLong(7, createdAt + random.nextLong(1L << 31));
+        if (normalized) {
+            // Generated ISBNs hold only digits and hyphens, so this is what the V2 trigger would store
+            insert.setString(8, isbn.replace("-", ""));
+        }
+    }
+
+    private static String authorName(int index) {
+        String first = FIRST_NAMES[index % FIRST_NAMES.length];
+        String last = LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length];
+        int generation = index / (FIRST_NAMES.length * LAST_NAMES.length);
+        if (generation == 0) {
+            return first + " " + last;
+        }
+        return first + " " + (char) ('A' + generation % 26) + ". " + last
+                + (generation >= 26 ? " " + (generation / 26 + 1) : "");
+    }
+
+    private String pick(String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+
+    private double gaussian() {
+        // Box-Muller; SplittableRandom has no nextGaussian on Java 17
+        double u1 = 1 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static int checkDigit(String twelveDigits) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = twelveDigits.charAt(i) - '0';
+            sum += (i % 2 == 0) ? digit : digit * 3;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static double[] zipfCumulative(int count, double exponent) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int rank = 1; rank <= count; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static boolean hasColumn(Connection connection, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet columns = statement.executeQuery("PRAGMA table_info(books)")) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Long> readPragmas(Connection connection) throws SQLException {
+        Map<String, Long> values = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : RESTORED_PRAGMAS) {
+                try (ResultSet value = statement.executeQuery("PRAGMA " + pragma)) {
+                    value.next();
+                    values.put(pragma, value.getLong(1));
+                }
+            }
+        }
+        return values;
+    }
+
+    private static void restorePragmas(Connection connection, Map<String, Long> values) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (Map.Entry<String, Long> value : values.entrySet()) {
+                statement.execute("PRAGMA " + value.getKey() + " = " + value.getValue());
+            }
+        }
+    }
+
+    /**
+     * Drops the secondary indexes and triggers on books and saves their definitions in
+     * {@value #DEFERRED_TABLE}, committing both together so that no definition is ever lost.
+     */
+    private static void deferSchemaObjects(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + DEFERRED_TABLE
+                    + " (name TEXT PRIMARY KEY, type TEXT NOT NULL, sql TEXT NOT NULL)");
+            statement.execute("INSERT INTO " + DEFERRED_TABLE + " (name, type, sql) SELECT name, type, sql "
+                    + "FROM sqlite_master WHERE type IN ('index', 'trigger') AND tbl_name = 'books' AND sql IS NOT NULL");
+            List<String> drops = new ArrayList<>();
+            try (ResultSet objects = statement.executeQuery("SELECT name, type FROM " + DEFERRED_TABLE)) {
+                while (objects.next()) {
+                    drops.add("DROP " + objects.getString("type").toUpperCase(Locale.ROOT)
+                            + " IF EXISTS \"" + objects.getString("name") + "\"");
+                }
+            }
+            for (String drop : drops) {
+                statement.execute(drop);
+            }
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Recreates the indexes and triggers saved in {@value #DEFERRED_TABLE}, indexes first, skipping
+     * any that exist, and removes the table in the same transaction.
+     */
+    private static void restoreDeferred(Connection connection) throws SQLException {
+        if (!hasTable(connection, DEFERRED_TABLE)) {
+            return;
+        }
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            List<String> definitions = new ArrayList<>();
+            try (ResultSet objects = statement.executeQuery("SELECT d.sql FROM " + DEFERRED_TABLE + " d "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM sqlite_master m WHERE m.name = d.name) "
+                    + "ORDER BY CASE d.type WHEN 'index' THEN 0 ELSE 1 END, d.name")) {
+                while (objects.next()) {
+                    definitions.add(objects.getString("sql"));
+                }
+            }
+            for (String definition : definitions) {
+                statement.execute(definition);
+            }
+            statement.execute("DROP TABLE " + DEFERRED_TABLE);
+            connection.commit();
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private static boolean hasTable(Connection connection, String table) throws SQLException {
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            query.setString(1, table);
+            try (ResultSet resultSet = query.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bookstore.tools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Runs the {@link CatalogGenerator} when the application is started with the "generate" profile.
+ *
+ * The load uses its own connection rather than the pooled DataSource so that per-statement
+ * instrumentation stays out of the bulk path. ISBN sequence numbers continue after the highest
+ * existing book id, so repeated runs append without ISBN collisions. A run also recreates any
+ * indexes and triggers that an interrupted earlier run left dropped.
+ *
+ * Generated books get no change log entries: followers need a fresh snapshot and the reporting
+ * database a full refresh before they include them.
+ */
+@Component
+@Profile("generate")
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogGeneratorRunner.class);
+
+    private final String url;
+    private final long rows;
+    private final long seed;
+    private final int authors;
+    private final int batchSize;
+    private final long commitInterval;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param url            the JDBC URL of the target database
+     * @param rows           number of books to generate
+     * @param seed           random seed; equal seeds produce equal catalogs
+     * @param authors        number of distinct authors
+     * @param batchSize      rows per JDBC batch
+     * @param commitInterval rows per transaction
+     */
+    public CatalogGeneratorRunner(@Value("${spring.datasource.url}") String url,
+                                  @Value("${bookstore.generator.rows:1000000}") long rows,
+                                  @Value("${bookstore.generator.seed:42}") long seed,
+                                  @Value("${bookstore.generator.authors:50000}") int authors,
+                                  @Value("${bookstore.generator.batch-size:10000}") int batchSize,
+                                  @Value("${bookstore.generator.commit-interval:1000000}") long commitInterval) {
+        this.url = url;
+        this.rows = rows;
+        this.seed = seed;
+        this.authors = authors;
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        CatalogGenerator generator = new CatalogGenerator(seed, authors);
+        try (Connection connection = DriverManager.getConnection(url)) {
+            long firstSequence = nextSequence(connection);
+            log.info("Generating {} books (seed={}, authors={}) into {}", rows, seed, authors, url);
+            long start = System.nanoTime();
+            long inserted = generator.load(connection, rows, firstSequence, batchSize, commitInterval);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            log.info("Generated {} books in {} s ({} rows/s, indexes rebuilt)",
+                    inserted, String.format("%.1f", seconds), String.format("%.0f", inserted / seconds));
+            log.warn("Generated books are not in the change log; restore followers from a new snapshot "
+                    + "and delete the reporting database so that its next refresh copies the whole catalog");
+        }
+    }
+
+    private static long nextSequence(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM books")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
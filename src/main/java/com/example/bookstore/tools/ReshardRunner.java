@@ -0,0 +1,95 @@
+package com.example.bookstore.tools;
+
+import com.example.bookstore.sharding.BookShards;
+import com.example.bookstore.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the {@link Resharder} when the application is started with the "reshard" profile, copying
+ * the books of the configured single-file database into the shard files of the sharded mode.
+ *
+ * The copy uses its own connections, like {@link CatalogGeneratorRunner}, and should run with
+ * sharding disabled and no other instance writing. Missing shard files are created with the shard
+ * schema; shards that already hold books are refused. The change log stays in the single-file
+ * database and its entries keep the old ids, so change feed consumers must resync afterwards.
+ */
+@Component
+@Profile("reshard")
+public class ReshardRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReshardRunner.class);
+
+    private final String url;
+    private final Path directory;
+    private final int shardCount;
+    private final int batchSize;
+    private final String idMapFile;
+
+    /**
+     * Constructor with configuration values.
+     *
+     * @param url        the JDBC URL of the single-file database
+     * @param directory  directory of the shard files
+     * @param shardCount number of shards
+     * @param batchSize  rows per batch and transaction
+     * @param idMapFile  name of the old-to-new id map written into the shard directory
+     */
+    public ReshardRunner(@Value("${spring.datasource.url}") String url,
+                         @Value("${bookstore.sharding.directory:shards}") String directory,
+                         @Value("${bookstore.sharding.shards:4}") int shardCount,
+                         @Value("${bookstore.reshard.batch-size:10000}") int batchSize,
+                         @Value("${bookstore.reshard.id-map-file:id-map.csv}") String idMapFile) {
+        this.url = url;
+        this.directory = Path.of(directory);
+        this.shardCount = shardCount;
+        this.batchSize = batchSize;
+        this.idMapFile = idMapFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException, IOException {
+        Files.createDirectories(directory);
+        Path idMap = directory.resolve(idMapFile);
+        Resharder resharder = new Resharder(new ShardRouter(shardCount), batchSize);
+        List<Connection> targets = new ArrayList<>(shardCount);
+        try (Connection source = DriverManager.getConnection(url);
+             Writer idMapWriter = Files.newBufferedWriter(idMap, StandardCharsets.UTF_8)) {
+            for (int shard = 0; shard < shardCount; shard++) {
+                Connection target = DriverManager.getConnection(
+                        "jdbc:sqlite:" + directory.resolve(BookShards.fileName(shard)));
+                targets.add(target);
+                ScriptUtils.executeSqlScript(target, new ClassPathResource("shard-schema.sql"));
+            }
+            log.info("Resharding {} into {} shards in {}", url, shardCount, directory.toAbsolutePath());
+            long start = System.nanoTime();
+            long copied = resharder.reshard(source, targets, idMapWriter);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            log.info("Copied {} books in {} s; id map written to {}",
+                    copied, String.format("%.1f", seconds), idMap.toAbsolutePath());
+            log.warn("Change log entries refer to the old ids; change feed consumers must resync");
+        } finally {
+            for (Connection target : targets) {
+                target.close();
+            }
+        }
+    }
+}
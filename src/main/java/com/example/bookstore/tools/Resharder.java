@@ -0,0 +1,145 @@
+package com.example.bookstore.tools;
+
+import com.example.bookstore.sharding.ShardRouter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copies the books of a single-file database into shard databases.
+ *
+ * Each book goes to the shard the {@link ShardRouter} picks for its ISBN, round robin if it has
+ * none. Its new id is its old id with the shard appended ({@code (old << SHARD_BITS) | shard}),
+ * so ids stay unique and in their old order, and new books created on a shard continue after the
+ * highest copied id. Rows are copied value for value, timestamps in whatever form they were
+ * stored. The mapping from old to new ids is written out for clients that stored ids. Only live
+ * books are copied; tombstones of books deleted before the copy stay in the single file.
+ */
+public class Resharder {
+
+    private static final String SELECT_SQL =
+            "SELECT id, title, author, isbn, price, quantity, created_at, updated_at FROM books " +
+            "WHERE deleted_at IS NULL ORDER BY id";
+    private static final String INSERT_SQL =
+            "INSERT INTO books (id, title, author, isbn, price, quantity, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM books";
+
+    private final ShardRouter router;
+    private final int batchSize;
+
+    /**
+     * Constructor with the copy parameters.
+     *
+     * @param router    the router deciding the target shard of each book
+     * @param batchSize rows per JDBC batch and transaction
+     */
+    public Resharder(ShardRouter router, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.router = router;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Copies all books of the source into the shards, which must already have the shard schema
+     * and hold no books. Each batch is committed on every shard together; if the copy fails the
+     * shards keep the batches committed before, and must be emptied before a new attempt.
+     *
+     * @param source  a connection to the single-file database
+     * @param targets connections to the shards, indexed by shard number
+     * @param idMap   receives one {@code old_id,new_id} line per book, or null
+     * @return number of books copied
+     * @throws SQLException if the copy fails
+     */
+    public long reshard(Connection source, List<Connection> targets, Writer idMap) throws SQLException {
+        if (targets.size() != router.getShardCount()) {
+            throw new IllegalArgumentException(
+                    "Expected " + router.getShardCount() + " shard connections, got " + targets.size());
+        }
+        for (int shard = 0; shard < targets.size(); shard++) {
+            if (count(targets.get(shard)) > 0) {
+                throw new IllegalStateException("Shard " + shard + " already holds books");
+            }
+        }
+        List<PreparedStatement> inserts = new ArrayList<>(targets.size());
+        try {
+            for (Connection target : targets) {
+                target.setAutoCommit(false);
+                inserts.add(target.prepareStatement(INSERT_SQL));
+            }
+            writeLine(idMap, "old_id,new_id");
+            long copied = 0;
+            try (Statement select = source.createStatement();
+                 ResultSet books = select.executeQuery(SELECT_SQL)) {
+                while (books.next()) {
+                    long oldId = books.getLong("id");
+                    int shard = router.shardForNewBook(books.getString("isbn"));
+                    long newId = ShardRouter.encodeId(oldId, shard);
+                    PreparedStatement insert = inserts.get(shard);
+                    insert.setLong(1, newId);
+                    for (int column = 2; column <= 8; column++) {
+                        insert.setObject(column, books.getObject(column));
+                    }
+                    insert.addBatch();
+                    writeLine(idMap, oldId + "," + newId);
+                    if (++copied % batchSize == 0) {
+                        flush(targets, inserts);
+                    }
+                }
+            }
+            flush(targets, inserts);
+            return copied;
+        } catch (SQLException | RuntimeException ex) {
+            for (Connection target : targets) {
+                target.rollback();
+            }
+            throw ex;
+        } finally {
+            for (PreparedStatement insert : inserts) {
+                insert.close();
+            }
+            for (Connection target : targets) {
+                target.setAutoCommit(true);
+            }
+        }
+    }
+
+    private static void flush(List<Connection> targets, List<PreparedStatement> inserts) throws SQLException {
+        for (PreparedStatement insert : inserts) {
+            insert.executeBatch();
+        }
+        for (Connection target : targets) {
+            target.commit();
+        }
+    }
+
+    private static long count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(COUNT_SQL)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static void writeLine(Writer writer, String line) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write the id map", ex);
+        }
+    }
+}
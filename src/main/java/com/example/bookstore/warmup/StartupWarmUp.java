@@ -0,0 +1,274 @@
+package com.example.bookstore.warmup;
+
+import com.example.bookstore.cache.AccessTracker;
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.cache.CacheSnapshotStore;
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.health.CheckResult;
+import com.example.bookstore.health.ReadinessCheck;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.service.BookService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Warms the instance up after startup, before it reports ready.
+ *
+ * The hot set of books is loaded into the {@link BookCache}, restored from the cache snapshot when
+ * one is available or otherwise read from the most recently updated rows. Synthetic
+ * calls are then run through the book service and the MVC JSON converter, so the mapper, the JDBC
+ * layer and serialization are compiled before real traffic arrives. The synthetic calls are kept
+ * out of the {@link AccessTracker}, so they do not make the hot set look hotter than it is.
+ *
+ * The whole stage runs under a {@link Deadline} set to the time budget, which also bounds its
+ * queries. Readiness reports this check up once warm-up finished, failed or ran out of budget;
+ * warm-up only ever delays traffic, it never keeps an instance out of rotation.
+ */
+@Component
+public class StartupWarmUp implements ReadinessCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmUp.class);
+    private static final int AUTHOR_CALL_INTERVAL = 50;
+    private static final int SEARCH_CALL_INTERVAL = 200;
+
+    enum State { NOT_STARTED, RUNNING, DONE, TIMED_OUT, FAILED, DISABLED }
+
+    private final BookRepository bookRepository;
+    private final BookService bookService;
+    private final BookCache bookCache;
+    private final CacheSnapshotStore cacheSnapshotStore;
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+    private final boolean enabled;
+    private final int hotSetSize;
+    private final int iterations;
+    private final long budgetMillis;
+
+    private volatile State state;
+    private volatile long startedNanos;
+    private volatile long durationMillis;
+    private volatile String source;
+    private volatile int cachedBooks;
+    private volatile int syntheticCalls;
+    private volatile int failedCalls;
+    private volatile String error;
+
+    /**
+     * Constructor for dependency injection.
+     *
+     * @param bookRepository the repository the hot set is loaded from
+     * @param bookService    the service exercised by synthetic calls
+     * @param bookCache      the cache to fill
+     * @param snapshotStore  the store the hot set is restored from
+     * @param handlerAdapter the MVC adapter whose JSON converter is exercised
+     * @param enabled        whether warm-up runs
+     * @param hotSetSize     maximum number of books loaded into the cache
+     * @param iterations     number of synthetic call rounds
+     * @param budgetMillis   time after which warm-up is abandoned and the instance reports ready
+     */
+    public StartupWarmUp(BookRepository bookRepository, BookService bookService, BookCache bookCache,
+                         CacheSnapshotStore snapshotStore, ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter,
+                         @Value("${bookstore.warmup.enabled:true}") boolean enabled,
+                         @Value("${bookstore.warmup.hot-set-size:1000}") int hotSetSize,
+                         @Value("${bookstore.warmup.iterations:2000}") int iterations,
+                         @Value("${bookstore.warmup.budget-ms:30000}") long budgetMillis) {
+        this.bookRepository = bookRepository;
+        this.bookService = bookService;
+        this.bookCache = bookCache;
+        this.cacheSnapshotStore = snapshotStore;
+        this.handlerAdapter = handlerAdapter;
+        this.enabled = enabled;
+        this.hotSetSize = hotSetSize;
+        this.iterations = iterations;
+        this.budgetMillis = budgetMillis;
+        this.state = enabled ? State.NOT_STARTED : State.DISABLED;
+    }
+
+    /**
+     * Starts warm-up on a background thread once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Runs warm-up on the calling thread.
+     */
+    void run() {
+        startedNanos = System.nanoTime();
+        state = State.RUNNING;
+        Deadline deadline = Deadline.afterMillis(budgetMillis);
+        Deadline.bind(deadline);
+        try {
+            long generation = bookCache.generation();
+            List<Book> hotSet = loadHotSet();
+            cachedBooks = bookCache.putAll(hotSet, generation);
+            exercise(hotSet, deadline);
+            state = deadline.isExpired() ? State.TIMED_OUT : State.DONE;
+        } catch (RuntimeException ex) {
+            error = ex.getMessage();
+            state = deadline.isExpired() ? State.TIMED_OUT : State.FAILED;
+            log.warn("Warm-up stopped early: {}", ex.getMessage());
+        } finally {
+            Deadline.bind(null);
+            durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+        }
+        log.info("Warm-up {} in {} ms: {} books cached from {}, {} synthetic calls ({} failed)",
+                state, durationMillis, cachedBooks, source, syntheticCalls, failedCalls);
+    }
+
+    private List<Book> loadHotSet() {
+        List<Book> restored = cacheSnapshotStore.restore();
+        if (!restored.isEmpty()) {
+            source = "snapshot";
+            return restored;
+        }
+        source = "recently updated";
+        return bookRepository.findRecentlyUpdated(hotSetSize);
+    }
+
+    private void exercise(List<Book> hotSet, Deadline deadline) {
+        if (hotSet.isEmpty()) {
+            return;
+        }
+        HttpMessageConverter<Object> converter = jsonConverter();
+        try (AccessTracker.Suppression ignored = AccessTracker.suppress()) {
+            exercise(hotSet, deadline, converter);
+        }
+    }
+
+    private void exercise(List<Book> hotSet, Deadline deadline, HttpMessageConverter<Object> converter) {
+        for (int i = 0; i < iterations && !deadline.isExpired(); i++) {
+            Book book = hotSet.get(i % hotSet.size());
+            call(() -> bookService.getBookById(book.getId()), converter);
+            if (book.getIsbn() != null) {
+                call(() -> bookService.getBookByIsbn(book.getIsbn()), converter);
+            }
+            if (i % AUTHOR_CALL_INTERVAL == 0) {
+                call(() -> bookService.getBooksByAuthor(book.getAuthor()), converter);
+            }
+            if (i % SEARCH_CALL_INTERVAL == 0) {
+                call(() -> bookService.searchBooksByTitle(firstWord(book.getTitle())), converter);
+            }
+        }
+    }
+
+    private void call(Supplier<Object> operation, HttpMessageConverter<Object> converter) {
+        syntheticCalls++;
+        try {
+            Object response = operation.get();
+            if (converter != null) {
+                converter.write(response, MediaType.APPLICATION_JSON, new BufferOutputMessage());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException ex) {
+            // A book deleted since the hot set was loaded; the call still exercised the code path
+            failedCalls++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpMessageConverter<Object> jsonConverter() {
+        RequestMappingHandlerAdapter adapter = handlerAdapter.getIfAvailable();
+        if (adapter == null) {
+            return null;
+        }
+        for (HttpMessageConverter<?> converter : adapter.getMessageConverters()) {
+            if (converter.canWrite(BookResponse.class, MediaType.APPLICATION_JSON)) {
+                return (HttpMessageConverter<Object>) converter;
+            }
+        }
+        return null;
+    }
+
+    private static String firstWord(String title) {
+        if (title == null || title.isBlank()) {
+            return "a";
+        }
+        String trimmed = title.trim();
+        int space = trimmed.indexOf(' ');
+        return space < 0 ? trimmed : trimmed.substring(0, space);
+    }
+
+    @Override
+    public String getName() {
+        return "warmUp";
+    }
+
+    @Override
+    public CheckResult check() {
+        State current = state;
+        if (current == State.RUNNING
+                && System.nanoTime() - startedNanos > TimeUnit.MILLISECONDS.toNanos(budgetMillis)) {
+            // The warm-up thread may be stuck in a call; the budget is over either way
+            current = State.TIMED_OUT;
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", current.name());
+        details.put("source", source);
+        details.put("cachedBooks", cachedBooks);
+        details.put("syntheticCalls", syntheticCalls);
+        details.put("failedCalls", failedCalls);
+        details.put("durationMs", durationMillis);
+        details.put("budgetMs", budgetMillis);
+        if (error != null) {
+            details.put("error", error);
+        }
+        return switch (current) {
+            case NOT_STARTED -> CheckResult.down("Warm-up has not started", details);
+            case RUNNING -> CheckResult.down("Warm-up in progress", details);
+            default -> CheckResult.up(details);
+        };
+    }
+
+    State getState() {
+        return state;
+    }
+
+    /**
+     * In-memory response body for serialization warm-up.
+     */
+    private static final class BufferOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
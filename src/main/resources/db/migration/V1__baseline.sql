@@ -0,0 +1,26 @@
+-- The schema as schema.sql created it before migrations were versioned. IF NOT EXISTS lets those
+-- databases adopt it as version 1 without changes.
+CREATE TABLE IF NOT EXISTS books (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    title TEXT NOT NULL,
+    author TEXT NOT NULL,
+    isbn TEXT UNIQUE,
+    price DECIMAL(10, 2),
+    quantity INTEGER DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_books_author ON books (author);
+
+CREATE INDEX IF NOT EXISTS idx_books_updated_at ON books (updated_at);
+
+CREATE TABLE IF NOT EXISTS book_changes (
+    seq INTEGER PRIMARY KEY AUTOINCREMENT,
+    book_id INTEGER NOT NULL,
+    operation TEXT NOT NULL,
+    changed_fields TEXT NOT NULL DEFAULT '',
+    changed_at INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_book_changes_changed_at ON book_changes (changed_at);
@@ -0,0 +1,22 @@
+-- Soft deletes: a deleted book keeps its row with deleted_at set, in epoch milliseconds, until the
+-- tombstone purge removes it. Adding nullable columns only changes the table definition, so no
+-- row is rewritten. A delete moves the book's ISBN from the unique isbn column to deleted_isbn,
+-- which frees it for a new book at once and keeps it for the tombstone feed. The lookup indexes
+-- are rebuilt to cover live books only.
+ALTER TABLE books ADD COLUMN deleted_at INTEGER;
+
+ALTER TABLE books ADD COLUMN deleted_isbn TEXT;
+
+DROP INDEX IF EXISTS idx_books_author;
+
+CREATE INDEX idx_books_author ON books (author) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_books_updated_at;
+
+CREATE INDEX idx_books_updated_at ON books (updated_at) WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_books_isbn_normalized;
+
+CREATE INDEX idx_books_isbn_normalized ON books (isbn_normalized) WHERE deleted_at IS NULL;
+
+CREATE INDEX idx_books_deleted_at ON books (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS books (
+    id INTEGER PRIMARY KEY,
+    title TEXT NOT NULL,
+    author TEXT NOT NULL,
+    isbn TEXT,
+    price DECIMAL(10, 2),
+    quantity INTEGER DEFAULT 0,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_books_author ON books (author);
+
+CREATE INDEX IF NOT EXISTS idx_books_price ON books (price);
+
+CREATE TABLE IF NOT EXISTS reporting_state (
+    name TEXT PRIMARY KEY,
+    value INTEGER NOT NULL
+);
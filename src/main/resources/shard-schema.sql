@@ -0,0 +1,18 @@
+CREATE TABLE IF NOT EXISTS books (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    title TEXT NOT NULL,
+    author TEXT NOT NULL,
+    isbn TEXT UNIQUE,
+    price DECIMAL(10, 2),
+    quantity INTEGER DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    deleted_at INTEGER,
+    deleted_isbn TEXT
+);
+
+CREATE INDEX IF NOT EXISTS idx_books_author ON books (author);
+
+CREATE INDEX IF NOT EXISTS idx_books_updated_at ON books (updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_books_deleted_at ON books (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,172 @@
+package com.example.bookstore.backup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Backs up a WAL-mode database file in a temporary directory.
+ */
+@DisplayName("OnlineBackup Tests")
+class OnlineBackupTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String url;
+    private Path backups;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        url = "jdbc:sqlite:" + tempDir.resolve("bookstore.db") + "?journal_mode=WAL&busy_timeout=5000";
+        backups = tempDir.resolve("backups");
+        try (Connection connection = DriverManager.getConnection(url);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL)");
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books (title) VALUES (?)")) {
+                for (int i = 0; i < 2_000; i++) {
+                    insert.setString(1, "title " + i + " " + "x".repeat(100));
+                    insert.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    @Test
+    @DisplayName("Should copy the database in steps and verify the backup")
+    void shouldCopyAndVerify() throws Exception {
+        OnlineBackup backup = new OnlineBackup(url, backups.toString(), 16, 1, 7, 0);
+
+        BackupResult result = backup.run(OnlineBackup.TRIGGER_ADMIN);
+
+        assertThat(result.success()).isTrue();
+        assertThat(result.steps()).isGreaterThan(1);
+        assertThat(result.pages()).isGreaterThan(16);
+        assertThat(count(backups.resolve(result.file()))).isEqualTo(2_000);
+        assertThat(backup.listBackups()).extracting(BackupFile::name).containsExactly(result.file());
+        assertThat(backup.getStatus()).containsEntry("succeeded", 1L).containsEntry("running", false);
+    }
+
+    @Test
+    @DisplayName("Should let writers commit while the backup runs")
+    void shouldNotBlockWriters() throws Exception {
+        OnlineBackup backup = new OnlineBackup(url, backups.toString(), 1, 2, 7, 0);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong slowestWriteMillis = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        Thread writer = new Thread(() -> {
+            try (Connection connection = DriverManager.getConnection(url);
+                 PreparedStatement insert = connection.prepareStatement("INSERT INTO books (title) VALUES ('new')")) {
+                while (!done.get()) {
+                    long start = System.nanoTime();
+                    insert.executeUpdate();
+                    slowestWriteMillis.accumulateAndGet((System.nanoTime() - start) / 1_000_000, Math::max);
+                    writes.incrementAndGet();
+                    Thread.sleep(5);
+                }
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        writer.start();
+
+        BackupResult result;
+        try {
+            result = backup.run(OnlineBackup.TRIGGER_ADMIN);
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+
+        assertThat(result.success()).isTrue();
+        assertThat(writes.get()).isPositive();
+        assertThat(slowestWriteMillis.get()).isLessThan(1_000);
+        // The copy is of the snapshot taken when the backup started
+        assertThat(count(backups.resolve(result.file()))).isBetween(2_000L, 2_000L + writes.get());
+    }
+
+    @Test
+    @DisplayName("Should remove backups beyond the retention count and age, keeping the newest")
+    void shouldApplyRetention() throws Exception {
+        Files.createDirectories(backups);
+        LocalDateTime now = LocalDateTime.now();
+        Path old = backups.resolve(name(now.minusDays(40)));
+        Path recent1 = backups.resolve(name(now.minusHours(2)));
+        Path recent2 = backups.resolve(name(now.minusHours(1)));
+        Path partial = backups.resolve(name(now.minusMinutes(5)) + ".partial");
+        for (Path file : List.of(old, recent1, recent2, partial)) {
+            Files.writeString(file, "placeholder");
+        }
+        OnlineBackup backup = new OnlineBackup(url, backups.toString(), 256, 0, 2, 30L * 24 * 60 * 60 * 1000);
+
+        BackupResult result = backup.run(OnlineBackup.TRIGGER_SCHEDULE);
+
+        assertThat(result.success()).isTrue();
+        assertThat(result.deleted()).isEqualTo(2);
+        assertThat(backup.listBackups()).extracting(BackupFile::name)
+                .containsExactly(result.file(), recent2.getFileName().toString());
+        assertThat(partial).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should report a failed backup without keeping a partial file")
+    void shouldReportFailure() throws Exception {
+        Files.writeString(tempDir.resolve("not-a-directory"), "file");
+        OnlineBackup backup = new OnlineBackup(url, tempDir.resolve("not-a-directory").toString(), 256, 0, 7, 0);
+
+        BackupResult result = backup.run(OnlineBackup.TRIGGER_ADMIN);
+
+        assertThat(result.success()).isFalse();
+        assertThat(result.error()).isNotNull();
+        assertThat(backup.getStatus()).containsEntry("failed", 1L);
+    }
+
+    @Test
+    @DisplayName("Should only recognise backup file names")
+    void shouldParseBackupFileNames() {
+        assertThat(OnlineBackup.createdAt("bookstore-20260102-030405-006.db"))
+                .isEqualTo(LocalDateTime.of(2026, 1, 2, 3, 4, 5, 6_000_000));
+        assertThat(OnlineBackup.createdAt("bookstore-20260102-030405-006.db.partial")).isNull();
+        assertThat(OnlineBackup.createdAt("bookstore.db")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject invalid settings")
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new OnlineBackup(url, backups.toString(), 0, 0, 7, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String name(LocalDateTime createdAt) {
+        return "bookstore-" + DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").format(createdAt)
+                + ".db";
+    }
+
+    private static long count(Path database) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM books")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
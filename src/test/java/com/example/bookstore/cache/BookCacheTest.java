@@ -0,0 +1,140 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.entity.Book;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookCache Tests")
+class BookCacheTest {
+
+    @Test
+    @DisplayName("Should find cached books by ID and ISBN")
+    void shouldFindByIdAndIsbn() {
+        BookCache cache = new BookCache(true, 10);
+
+        assertThat(cache.put(book(1L, "isbn-1"), cache.generation())).isTrue();
+
+        assertThat(cache.getById(1L).getIsbn()).isEqualTo("isbn-1");
+        assertThat(cache.getByIsbn("isbn-1").getId()).isEqualTo(1L);
+        assertThat(cache.getById(2L)).isNull();
+        assertThat(cache.getStatistics()).containsEntry("hits", 2L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("Should not cache a load that raced with an invalidation")
+    void shouldRejectStaleLoads() {
+        BookCache cache = new BookCache(true, 10);
+        long generation = cache.generation();
+
+        cache.invalidate(1L);
+
+        assertThat(cache.put(book(1L, "isbn-1"), generation)).isFalse();
+        assertThat(cache.getById(1L)).isNull();
+        assertThat(cache.getByIsbn("isbn-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop the ISBN index entry when a book is invalidated")
+    void shouldInvalidateIsbnIndex() {
+        BookCache cache = new BookCache(true, 10);
+        cache.put(book(1L, "isbn-1"), cache.generation());
+
+        cache.invalidate(1L);
+
+        assertThat(cache.getById(1L)).isNull();
+        assertThat(cache.getByIsbn("isbn-1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop every book and reject loads that raced with a clear")
+    void shouldClear() {
+        BookCache cache = new BookCache(true, 10);
+        cache.put(book(1L, "isbn-1"), cache.generation());
+        long generation = cache.generation();
+
+        cache.clear();
+
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.getByIsbn("isbn-1")).isNull();
+        assertThat(cache.put(book(2L, "isbn-2"), generation)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should evict unreferenced books first when full")
+    void shouldEvictUnreferencedBooksFirst() {
+        BookCache cache = new BookCache(true, 10);
+        for (long id = 1; id <= 10; id++) {
+            cache.put(book(id, "isbn-" + id), cache.generation());
+        }
+        cache.getById(3L);
+        cache.getById(7L);
+
+        cache.put(book(11L, "isbn-11"), cache.generation());
+
+        assertThat(cache.getSize()).isEqualTo(9);
+        assertThat(cache.getById(3L)).isNotNull();
+        assertThat(cache.getById(7L)).isNotNull();
+        assertThat(cache.getStatistics()).containsEntry("evictions", 2L);
+    }
+
+    @Test
+    @DisplayName("Should never evict pinned books")
+    void shouldNeverEvictPinnedBooks() {
+        BookCache cache = new BookCache(true, 10);
+        cache.pin(List.of(1L, 2L));
+        for (long id = 1; id <= 10; id++) {
+            cache.put(book(id, "isbn-" + id), cache.generation());
+        }
+
+        for (long id = 11; id <= 30; id++) {
+            cache.put(book(id, "isbn-" + id), cache.generation());
+        }
+
+        assertThat(cache.getById(1L)).isNotNull();
+        assertThat(cache.getById(2L)).isNotNull();
+        assertThat(cache.findIdByIsbn("isbn-2")).isEqualTo(2L);
+        assertThat(cache.getStatistics()).containsEntry("pinned", 2);
+    }
+
+    @Test
+    @DisplayName("Should still invalidate pinned books")
+    void shouldInvalidatePinnedBooks() {
+        BookCache cache = new BookCache(true, 10);
+        cache.pin(List.of(1L));
+        cache.put(book(1L, "isbn-1"), cache.generation());
+
+        cache.invalidate(1L);
+
+        assertThat(cache.getById(1L)).isNull();
+        assertThat(cache.isPinned(1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should list cached books for snapshots")
+    void shouldListCachedBooks() {
+        BookCache cache = new BookCache(true, 10);
+        cache.putAll(List.of(book(1L, "isbn-1"), book(2L, "isbn-2")), cache.generation());
+
+        assertThat(cache.getCachedBooks()).extracting(Book::getId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassWhenDisabled() {
+        BookCache cache = new BookCache(false, 10);
+
+        assertThat(cache.put(book(1L, "isbn-1"), cache.generation())).isFalse();
+        assertThat(cache.getById(1L)).isNull();
+    }
+
+    private static Book book(long id, String isbn) {
+        Book book = new Book("title " + id, "author", isbn, new BigDecimal("10.00"), 1);
+        book.setId(id);
+        return book;
+    }
+}
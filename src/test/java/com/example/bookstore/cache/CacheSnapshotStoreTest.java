@@ -0,0 +1,149 @@
+package com.example.bookstore.cache;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("CacheSnapshotStore Tests")
+class CacheSnapshotStoreTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 12, 10, 30, 0, 123_000_000);
+
+    @TempDir
+    Path tempDir;
+
+    private final Map<Long, LocalDateTime> stored = new HashMap<>();
+    private BookRepository bookRepository;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        when(bookRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .filter(stored::containsKey)
+                    .map(id -> {
+                        Book book = book(id);
+                        book.setUpdatedAt(stored.get(id));
+                        return book;
+                    })
+                    .toList();
+        });
+        file = tempDir.resolve("cache-snapshot.bin");
+    }
+
+    @Test
+    @DisplayName("Should restore saved books hottest first together with the access counts")
+    void shouldRoundTrip() {
+        insert(1L, UPDATED_AT);
+        insert(2L, UPDATED_AT);
+        BookCache cache = new BookCache(true, 10);
+        AccessTracker tracker = new AccessTracker(true, 4, 256, 8, 600000);
+        cache.putAll(List.of(book(1L), book(2L)), cache.generation());
+        tracker.recordId(2L);
+        tracker.recordId(2L);
+        tracker.recordId(1L);
+
+        assertThat(store(cache, tracker).save()).isEqualTo(2);
+
+        AccessTracker restoredTracker = new AccessTracker(true, 4, 256, 8, 600000);
+        List<Book> restored = store(new BookCache(true, 10), restoredTracker).restore();
+
+        assertThat(restored).extracting(Book::getId).containsExactly(2L, 1L);
+        Book first = restored.get(0);
+        assertThat(first.getTitle()).isEqualTo("Title 2");
+        assertThat(first.getIsbn()).isEqualTo("isbn-2");
+        assertThat(first.getPrice()).isEqualByComparingTo("12.50");
+        assertThat(first.getQuantity()).isNull();
+        assertThat(first.getUpdatedAt()).isEqualTo(UPDATED_AT);
+        assertThat(restoredTracker.estimate(first)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop books that changed or were deleted since the snapshot")
+    void shouldDropStaleBooks() {
+        insert(1L, UPDATED_AT);
+        insert(2L, UPDATED_AT);
+        insert(4L, UPDATED_AT);
+        BookCache cache = new BookCache(true, 10);
+        AccessTracker tracker = new AccessTracker(true, 4, 256, 8, 600000);
+        cache.putAll(List.of(book(1L), book(2L), book(3L), book(4L)), cache.generation());
+        store(cache, tracker).save();
+
+        insert(2L, LocalDateTime.of(2026, 2, 1, 0, 0));
+        // Deleted books are not returned by the repository
+        stored.remove(4L);
+
+        List<Book> restored = store(new BookCache(true, 10), new AccessTracker(true, 4, 256, 8, 600000)).restore();
+
+        assertThat(restored).extracting(Book::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Should ignore a corrupt snapshot")
+    void shouldIgnoreCorruptSnapshot() throws Exception {
+        insert(1L, UPDATED_AT);
+        BookCache cache = new BookCache(true, 10);
+        cache.put(book(1L), cache.generation());
+        store(cache, new AccessTracker(true, 4, 256, 8, 600000)).save();
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+
+        assertThat(store(new BookCache(true, 10), new AccessTracker(true, 4, 256, 8, 600000)).restore()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should restore nothing without a snapshot file")
+    void shouldRestoreNothingWithoutFile() {
+        assertThat(store(new BookCache(true, 10), new AccessTracker(true, 4, 256, 8, 600000)).restore()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read updated_at values in the forms SQLite may hold")
+    void shouldConvertStoredTimestamps() {
+        LocalDateTime expected = LocalDateTime.of(2026, 1, 12, 10, 30);
+
+        assertThat(CacheSnapshotStore.toLocalDateTime("2026-01-12 10:30:00")).isEqualTo(expected);
+        assertThat(CacheSnapshotStore.toLocalDateTime("2026-01-12T10:30")).isEqualTo(expected);
+        assertThat(CacheSnapshotStore.toLocalDateTime(Timestamp.valueOf(expected))).isEqualTo(expected);
+        assertThat(CacheSnapshotStore.toLocalDateTime(Timestamp.valueOf(expected).getTime())).isEqualTo(expected);
+        assertThat(CacheSnapshotStore.toLocalDateTime("not a date")).isNull();
+    }
+
+    private CacheSnapshotStore store(BookCache cache, AccessTracker tracker) {
+        return new CacheSnapshotStore(cache, tracker, bookRepository, true, file.toString(), 100);
+    }
+
+    private void insert(long id, LocalDateTime updatedAt) {
+        stored.put(id, updatedAt);
+    }
+
+    private static Book book(long id) {
+        Book book = new Book("Title " + id, "Author", "isbn-" + id, new BigDecimal("12.50"), null);
+        book.setId(id);
+        book.setCreatedAt(UPDATED_AT);
+        book.setUpdatedAt(UPDATED_AT);
+        return book;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.bookstore.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CountMinSketch Tests")
+class CountMinSketchTest {
+
+    @Test
+    @DisplayName("Should never undercount and stay close for heavy keys")
+    void shouldNeverUndercount() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        int[] counts = new int[5_000];
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextDouble() < 0.5 ? random.nextInt(10) : random.nextInt(counts.length);
+            counts[key]++;
+            sketch.increment(CountMinSketch.hash(key));
+        }
+
+        for (int key = 0; key < counts.length; key++) {
+            assertThat(sketch.estimate(CountMinSketch.hash(key))).isGreaterThanOrEqualTo(counts[key]);
+        }
+        for (int key = 0; key < 10; key++) {
+            assertThat(sketch.estimate(CountMinSketch.hash(key))).isLessThanOrEqualTo(counts[key] + 2 * 50_000 / 1024);
+        }
+    }
+
+    @Test
+    @DisplayName("Should halve counts on decay")
+    void shouldHalveOnDecay() {
+        CountMinSketch sketch = new CountMinSketch(2, 64);
+        long key = CountMinSketch.hash("978-0134685991");
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(key);
+        }
+
+        sketch.decay();
+
+        assertThat(sketch.estimate(key)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should round the width up to a power of two")
+    void shouldRoundWidth() {
+        assertThat(new CountMinSketch(1, 1000).getWidth()).isEqualTo(1024);
+        assertThat(new CountMinSketch(1, 1024).getWidth()).isEqualTo(1024);
+        assertThat(new CountMinSketch(1, 1).getWidth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should merge counters from a sketch of the same dimensions")
+    void shouldMergeSnapshot() {
+        CountMinSketch source = new CountMinSketch(3, 128);
+        long key = CountMinSketch.hash(7L);
+        source.increment(key);
+        source.increment(key);
+
+        CountMinSketch target = new CountMinSketch(3, 128);
+        target.increment(key);
+        target.merge(source.toArray());
+
+        assertThat(target.estimate(key)).isEqualTo(3);
+        assertThatThrownBy(() -> new CountMinSketch(2, 128).merge(source.toArray()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.bookstore.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("HeavyHitters Tests")
+class HeavyHittersTest {
+
+    @Test
+    @DisplayName("Should keep the most looked-up keys among many cold ones")
+    void shouldFindHeavyHitters() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, 5);
+        Random random = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            // Keys 0-4 get half of the traffic, the other half is spread over 20,000 keys
+            long id = random.nextBoolean() ? random.nextInt(5) : 5 + random.nextInt(20_000);
+            offer(sketch, heavyHitters, HotKey.id(id));
+        }
+
+        assertThat(heavyHitters.getTop()).extracting(HotKey::key)
+                .containsExactlyInAnyOrder("0", "1", "2", "3", "4");
+    }
+
+    @Test
+    @DisplayName("Should rank keys by estimate and keep each key once")
+    void shouldRankWithoutDuplicates() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, 3);
+        for (int i = 0; i < 3; i++) {
+            offer(sketch, heavyHitters, HotKey.isbn("978-0134685991"));
+        }
+        for (int i = 0; i < 5; i++) {
+            offer(sketch, heavyHitters, HotKey.author("Joshua Bloch"));
+        }
+        offer(sketch, heavyHitters, HotKey.search("Java"));
+
+        assertThat(heavyHitters.getTop()).extracting(HotKey::kind)
+                .containsExactly(HotKey.Kind.AUTHOR, HotKey.Kind.ISBN, HotKey.Kind.SEARCH);
+        assertThat(heavyHitters.estimate(HotKey.author("Joshua Bloch"))).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should admit new keys again after the sketch decays")
+    void shouldAdmitAfterDecay() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, 1);
+        for (int i = 0; i < 8; i++) {
+            offer(sketch, heavyHitters, HotKey.id(1));
+        }
+        sketch.decay();
+        sketch.decay();
+        heavyHitters.refreshThreshold();
+
+        for (int i = 0; i < 3; i++) {
+            offer(sketch, heavyHitters, HotKey.id(2));
+        }
+
+        assertThat(heavyHitters.getTop()).containsExactly(HotKey.id(2));
+    }
+
+    @Test
+    @DisplayName("Should stay within its size and keep the hottest keys under concurrent offers")
+    void shouldStayConsistentUnderConcurrency() throws Exception {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        HeavyHitters heavyHitters = new HeavyHitters(sketch, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicLong seed = new AtomicLong();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed.incrementAndGet());
+                    for (int i = 0; i < 20_000; i++) {
+                        // Keys 0-3 are drawn far more often than keys 4-1003
+                        long id = random.nextInt(4) == 0 ? 4 + random.nextInt(1000) : random.nextInt(4);
+                        offer(sketch, heavyHitters, HotKey.id(id));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<HotKey> top = heavyHitters.getTop();
+        assertThat(top).hasSizeLessThanOrEqualTo(8);
+        assertThat(top.subList(0, 4)).extracting(HotKey::key).containsExactlyInAnyOrder("0", "1", "2", "3");
+    }
+
+    @Test
+    @DisplayName("Should reject an empty table")
+    void shouldRejectEmptyTable() {
+        assertThatThrownBy(() -> new HeavyHitters(new CountMinSketch(1, 1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void offer(CountMinSketch sketch, HeavyHitters heavyHitters, HotKey key) {
+        heavyHitters.offer(key, sketch.increment(key.hash()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bookstore.changelog;
+
+import com.example.bookstore.entity.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChangeLog Tests")
+class ChangeLogTest {
+
+    private SingleConnectionDataSource dataSource;
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE book_changes (seq INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + "book_id INTEGER NOT NULL, operation TEXT NOT NULL, changed_fields TEXT NOT NULL DEFAULT '', "
+                + "changed_at INTEGER NOT NULL)");
+        changeLog = new ChangeLog(new NamedParameterJdbcTemplate(jdbcTemplate), 1000, 100, now::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should return changes after a sequence number in order")
+    void shouldReturnChangesInOrder() {
+        assertThat(changeLog.append(1L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS)).isEqualTo(1L);
+        assertThat(changeLog.append(1L, ChangeOperation.UPDATE, List.of("price"))).isEqualTo(2L);
+        assertThat(changeLog.append(2L, ChangeOperation.DELETE, List.of())).isEqualTo(3L);
+
+        List<BookChange> changes = changeLog.findSince(1, 10);
+
+        assertThat(changes).extracting(BookChange::getSeq).containsExactly(2L, 3L);
+        assertThat(changes.get(0).getChangedFields()).containsExactly("price");
+        assertThat(changes.get(1).getOperation()).isEqualTo(ChangeOperation.DELETE);
+        assertThat(changes.get(1).getChangedFields()).isEmpty();
+        assertThat(changeLog.findSince(0, 1)).extracting(BookChange::getSeq).containsExactly(1L);
+        assertThat(changeLog.getFirstSeq()).isEqualTo(1L);
+        assertThat(changeLog.getLastSeq()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should compact expired entries but keep the newest one")
+    void shouldCompactExpiredEntries() {
+        changeLog.append(1L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        changeLog.append(2L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        now.addAndGet(500);
+        changeLog.append(3L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        now.addAndGet(5000);
+
+        assertThat(changeLog.compact()).isEqualTo(2);
+
+        assertThat(changeLog.getFirstSeq()).isEqualTo(3L);
+        assertThat(changeLog.getLastSeq()).isEqualTo(3L);
+        assertThat(changeLog.compact()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cap the log at its maximum size")
+    void shouldCapSize() {
+        for (long id = 1; id <= 250; id++) {
+            changeLog.append(id, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        }
+
+        assertThat(changeLog.compact()).isEqualTo(150);
+
+        assertThat(changeLog.getFirstSeq()).isEqualTo(151L);
+        changeLog.append(251L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        assertThat(changeLog.getLastSeq()).isEqualTo(251L);
+    }
+
+    @Test
+    @DisplayName("Should list only the fields a write changed")
+    void shouldDiffFields() {
+        Book book = new Book("Effective Java", "Joshua Bloch", "978-0134685991", new BigDecimal("54.99"), 10);
+        Map<String, Object> before = ChangeLog.fields(book);
+
+        book.setPrice(new BigDecimal("54.990"));
+        book.setQuantity(9);
+        book.setTitle("Effective Java 3rd Edition");
+
+        assertThat(ChangeLog.changedFields(before, book)).containsExactly("title", "quantity");
+    }
+}
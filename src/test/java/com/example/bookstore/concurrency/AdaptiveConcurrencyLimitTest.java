@@ -0,0 +1,122 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    @DisplayName("Should reject requests beyond the current limit")
+    void shouldRejectBeyondLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 2, 1, 10, 50);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.isSaturated()).isTrue();
+        assertThat(limit.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively on slow or overloaded requests")
+    void shouldBackOffOnSlowRequests() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 20, 2, 100, 50);
+
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.release(SLOW, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(6);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should grow additively only while the limit is in use")
+    void shouldGrowWhileInUse() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 4, 1, 100, 50);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        for (int round = 0; round < 50; round++) {
+            int admitted = 0;
+            while (limit.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limit.release(FAST, false);
+            }
+        }
+        assertThat(limit.getLimit()).isGreaterThan(20);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should average recent latencies and report none once requests stop")
+    void shouldAverageRecentLatency() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("read", 4, 1, 100, 50);
+
+        assertThat(limit.getRecentLatencyMillis(1_000)).isZero();
+        limit.tryAcquire();
+        limit.release(SLOW, false);
+        limit.tryAcquire();
+        limit.release(FAST, false);
+
+        assertThat(limit.getRecentLatencyMillis(1_000)).isBetween(300L, 500L);
+        Thread.sleep(20);
+        assertThat(limit.getRecentLatencyMillis(10)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject with 503 through the interceptor and release on completion")
+    void interceptorShouldShedLoad() {
+        AdmissionControl admissionControl = new AdmissionControl(true, 2, 1, 1, 10, 50, 1, 1, 10, 200);
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(admissionControl);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/books");
+        MockHttpServletRequest second = new MockHttpServletRequest("GET", "/api/books");
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(first, response, new Object());
+        assertThatThrownBy(() -> interceptor.preHandle(second, response, new Object()))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting("retryAfterSeconds").isEqualTo(2L);
+        interceptor.preHandle(write, response, new Object());
+        assertThat(admissionControl.getWriteLimit().getInFlight()).isEqualTo(1);
+
+        interceptor.afterCompletion(first, response, new Object(), null);
+        interceptor.afterCompletion(write, response, new Object(), null);
+        assertThat(admissionControl.getReadLimit().getInFlight()).isZero();
+        assertThat(admissionControl.getWriteLimit().getInFlight()).isZero();
+        interceptor.preHandle(second, response, new Object());
+    }
+
+    @Test
+    @DisplayName("Should admit everything when disabled")
+    void shouldAdmitEverythingWhenDisabled() {
+        AdmissionControl admissionControl = new AdmissionControl(false, 1, 1, 1, 1, 50, 1, 1, 1, 200);
+
+        assertThat(admissionControl.admit(false)).isNull();
+        assertThat(admissionControl.admit(false)).isNull();
+    }
+}
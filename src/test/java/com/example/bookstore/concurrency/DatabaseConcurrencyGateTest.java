@@ -0,0 +1,137 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DatabaseConcurrencyGate Tests")
+class DatabaseConcurrencyGateTest {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("jdk.virtualThreadScheduler.parallelism");
+    }
+
+    @Test
+    @DisplayName("Should reject when all permits are held past the timeout")
+    void shouldRejectWhenSaturated() {
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(2, 1, 10, false);
+
+        DatabaseConcurrencyGate.Permit write = gate.acquireWrite();
+        gate.acquireRead();
+        gate.acquireRead();
+
+        assertThat(gate.getActiveReaders()).isEqualTo(2);
+        assertThat(gate.getActiveWriters()).isEqualTo(1);
+        assertThatThrownBy(gate::acquireRead).isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(gate::acquireWrite).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(gate.getRejectedRequests()).isEqualTo(2);
+
+        write.close();
+        write.close();
+        assertThat(gate.getActiveWriters()).isZero();
+        gate.acquireWrite().close();
+    }
+
+    @Test
+    @DisplayName("Should hand background work a write permit only when one is free")
+    void shouldTryAcquireWriteWithoutWaiting() {
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(2, 1, 10, false);
+
+        DatabaseConcurrencyGate.Permit write = gate.acquireWrite();
+        assertThat(gate.tryAcquireWrite()).isNull();
+        assertThat(gate.getRejectedRequests()).isZero();
+
+        write.close();
+        DatabaseConcurrencyGate.Permit background = gate.tryAcquireWrite();
+        assertThat(background).isNotNull();
+        assertThat(gate.getActiveWriters()).isEqualTo(1);
+        background.close();
+    }
+
+    @Test
+    @DisplayName("Should keep permits below carrier parallelism with virtual threads")
+    void shouldCapPermitsWithVirtualThreads() {
+        System.setProperty("jdk.virtualThreadScheduler.parallelism", "4");
+
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(10, 1, 10, true);
+
+        assertThat(gate.getWriterLimit()).isEqualTo(1);
+        assertThat(gate.getReaderLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should let readers and writers share one permit on two carriers")
+    void shouldSharePermitOnTwoCarriers() {
+        System.setProperty("jdk.virtualThreadScheduler.parallelism", "2");
+
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(10, 1, 10, true);
+
+        DatabaseConcurrencyGate.Permit read = gate.acquireRead();
+        assertThat(gate.tryAcquireWrite()).isNull();
+        assertThatThrownBy(gate::acquireWrite).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(gate.getActiveWriters()).isZero();
+        read.close();
+
+        DatabaseConcurrencyGate.Permit write = gate.acquireWrite();
+        assertThatThrownBy(gate::acquireRead).isInstanceOf(ServiceUnavailableException.class);
+        write.close();
+        gate.acquireRead().close();
+    }
+
+    @Test
+    @DisplayName("Should leave limits unchanged on platform threads")
+    void shouldKeepLimitsOnPlatformThreads() {
+        System.setProperty("jdk.virtualThreadScheduler.parallelism", "4");
+
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(10, 1, 10, false);
+
+        assertThat(gate.getReaderLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Interceptor should hold a read or write permit until the request completes")
+    void interceptorShouldHoldPermitForRequest() {
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(2, 1, 10, false);
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(gate);
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/books");
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/books");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(read, response, new Object());
+        interceptor.preHandle(write, response, new Object());
+        assertThat(gate.getActiveReaders()).isEqualTo(1);
+        assertThat(gate.getActiveWriters()).isEqualTo(1);
+
+        interceptor.afterCompletion(read, response, new Object(), null);
+        interceptor.afterCompletion(write, response, new Object(), null);
+        interceptor.afterCompletion(write, response, new Object(), null);
+        assertThat(gate.getActiveReaders()).isZero();
+        assertThat(gate.getActiveWriters()).isZero();
+    }
+
+    @Test
+    @DisplayName("Interceptor should release the permit when the handler goes asynchronous")
+    void interceptorShouldReleasePermitForAsyncHandler() {
+        DatabaseConcurrencyGate gate = new DatabaseConcurrencyGate(2, 1, 10, false);
+        DatabaseConcurrencyInterceptor interceptor = new DatabaseConcurrencyInterceptor(gate);
+        MockHttpServletRequest watch = new MockHttpServletRequest("GET", "/api/books/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(watch, response, new Object());
+        interceptor.afterConcurrentHandlingStarted(watch, response, new Object());
+        assertThat(gate.getActiveReaders()).isZero();
+
+        // The dispatch writing the result neither takes nor returns a permit
+        interceptor.preHandle(watch, response, new Object());
+        assertThat(gate.getActiveReaders()).isZero();
+        interceptor.afterCompletion(watch, response, new Object(), null);
+        assertThat(gate.getActiveReaders()).isZero();
+    }
+}
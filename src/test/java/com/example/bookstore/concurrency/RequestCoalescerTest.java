@@ -0,0 +1,163 @@
+package com.example.bookstore.concurrency;
+
+import com.example.bookstore.exception.DeadlineExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RequestCoalescer Tests")
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Should share one in-flight load between concurrent identical calls")
+    void shouldShareInFlightLoad() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.execute("findByIsbn", "123", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "book";
+            })));
+            assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < CALLERS; i++) {
+                results.add(executor.submit(() -> coalescer.execute("findByIsbn", "123", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            waitForCoalesced(coalescer, CALLERS - 1);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("book");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(CALLERS - 1);
+        assertThat(coalescer.getStatistics().get("findByIsbn"))
+                .containsEntry("executed", 1L)
+                .containsEntry("coalesced", (long) CALLERS - 1);
+        assertThat(coalescer.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop waiting for a slow shared load when the joiner's deadline passes")
+    void shouldRespectJoinerDeadline() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> owner = executor.submit(() -> coalescer.execute("findByIsbn", "123", () -> {
+                loading.countDown();
+                await(release);
+                return "book";
+            }));
+            assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+
+            Future<Long> joiner = executor.submit(() -> {
+                Deadline.bind(Deadline.afterMillis(50));
+                long start = System.nanoTime();
+                try {
+                    assertThatThrownBy(() -> coalescer.execute("findByIsbn", "123", () -> "other"))
+                            .isInstanceOf(DeadlineExceededException.class);
+                } finally {
+                    Deadline.bind(null);
+                }
+                return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            });
+
+            assertThat(joiner.get(1, TimeUnit.SECONDS)).isLessThan(1_000);
+            assertThat(owner.isDone()).isFalse();
+            release.countDown();
+            assertThat(owner.get(1, TimeUnit.SECONDS)).isEqualTo("book");
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not coalesce different arguments or sequential calls")
+    void shouldNotCoalesceDifferentOrSequentialCalls() {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute("findByIsbn", "123", loads::incrementAndGet);
+        coalescer.execute("findByIsbn", "123", loads::incrementAndGet);
+        coalescer.execute("findByIsbn", "456", loads::incrementAndGet);
+        coalescer.execute("findByAuthor", "123", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(4);
+        assertThat(coalescer.getCoalescedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fold LIKE operands the way SQLite compares them")
+    void shouldFoldLikeKeysLikeSqlite() {
+        assertThat(RequestCoalescer.likeKey("The HOBBIT")).isEqualTo(RequestCoalescer.likeKey("the hobbit"));
+        // LIKE is case-sensitive beyond ASCII and matches whitespace literally
+        assertThat(RequestCoalescer.likeKey("\u00C9mile")).isNotEqualTo(RequestCoalescer.likeKey("\u00E9mile"));
+        assertThat(RequestCoalescer.likeKey(" hobbit")).isNotEqualTo(RequestCoalescer.likeKey("hobbit"));
+        assertThat(RequestCoalescer.likeKey(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should propagate the leader's failure and allow a retry")
+    void shouldPropagateFailure() {
+        RequestCoalescer coalescer = new RequestCoalescer(true);
+
+        assertThatThrownBy(() -> coalescer.execute("findAll", null, () -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(coalescer.execute("findAll", null, () -> "ok")).isEqualTo("ok");
+        assertThat(coalescer.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should call the loader directly when disabled")
+    void shouldBypassWhenDisabled() {
+        RequestCoalescer coalescer = new RequestCoalescer(false);
+
+        assertThat(coalescer.execute("findAll", null, () -> "ok")).isEqualTo("ok");
+        assertThat(coalescer.getStatistics()).isEmpty();
+    }
+
+    private static void waitForCoalesced(RequestCoalescer coalescer, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getCoalescedCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.bookstore.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares platform-thread and virtual-thread request execution against a real SQLite database.
+ *
+ * Each simulated request spends some time in non-database blocking I/O and then runs one
+ * statement behind the {@link DatabaseConcurrencyGate}, 90% reads and 10% writes. The platform
+ * run uses a pool the size of Tomcat's default worker pool; the virtual run uses one virtual
+ * thread per request. Run with {@code -Dbenchmark=true} on Java 21+.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@DisplayName("Virtual Thread Benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+    private static final int BOOKS = 10_000;
+    private static final int REQUESTS = 20_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long IO_MILLIS = 20;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should report throughput and latency for platform and virtual threads")
+    void compareThreadingModes() throws Exception {
+        ExecutorService virtualExecutor = newVirtualThreadPerTaskExecutor();
+        assumeTrue(virtualExecutor != null, "Virtual threads require Java 21+");
+
+        try (HikariDataSource dataSource = dataSource()) {
+            populate(dataSource);
+            Result platform = run("platform", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), dataSource,
+                    new DatabaseConcurrencyGate(10, 1, 5_000, false));
+            Result virtual = run("virtual", virtualExecutor, dataSource,
+                    new DatabaseConcurrencyGate(10, 1, 5_000, true));
+
+            log.info("{}", platform);
+            log.info("{}", virtual);
+            assertThat(platform.failed).isZero();
+            assertThat(virtual.failed).isZero();
+        }
+    }
+
+    private HikariDataSource dataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:sqlite:" + directory.resolve("bench.db") + "?journal_mode=WAL&busy_timeout=5000");
+        dataSource.setMaximumPoolSize(10);
+        return dataSource;
+    }
+
+    private static void populate(HikariDataSource dataSource) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY, title TEXT, quantity INTEGER)");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO books VALUES (?, ?, 0)")) {
+                for (int id = 1; id <= BOOKS; id++) {
+                    insert.setInt(1, id);
+                    insert.setString(2, "Book " + id);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    private static Result run(String mode, ExecutorService executor, HikariDataSource dataSource,
+                              DatabaseConcurrencyGate gate) throws Exception {
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger failed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        request(dataSource, gate);
+                    } catch (Exception ex) {
+                        failed.incrementAndGet();
+                    }
+                    latencies[index] = System.nanoTime() - requestStart;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        return new Result(mode, REQUESTS * 1_000_000_000.0 / elapsed,
+                latencies[REQUESTS / 2] / 1_000_000.0, latencies[REQUESTS * 99 / 100] / 1_000_000.0, failed.get());
+    }
+
+    private static void request(HikariDataSource dataSource, DatabaseConcurrencyGate gate) throws Exception {
+        Thread.sleep(IO_MILLIS);
+        int id = ThreadLocalRandom.current().nextInt(1, BOOKS + 1);
+        boolean write = ThreadLocalRandom.current().nextInt(10) == 0;
+        try (DatabaseConcurrencyGate.Permit permit = write ? gate.acquireWrite() : gate.acquireRead();
+             Connection connection = dataSource.getConnection()) {
+            if (write) {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE books SET quantity = quantity + 1 WHERE id = ?")) {
+                    update.setInt(1, id);
+                    update.executeUpdate();
+                }
+            } else {
+                try (PreparedStatement select = connection.prepareStatement("SELECT * FROM books WHERE id = ?")) {
+                    select.setInt(1, id);
+                    try (ResultSet resultSet = select.executeQuery()) {
+                        resultSet.next();
+                    }
+                }
+            }
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
+    private record Result(String mode, double requestsPerSecond, double p50Millis, double p99Millis, int failed) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %,10.0f req/s  p50 %7.2f ms  p99 %7.2f ms  failed %d",
+                    mode, requestsPerSecond, p50Millis, p99Millis, failed);
+        }
+    }
+}
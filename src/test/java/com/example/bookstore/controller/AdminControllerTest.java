@@ -0,0 +1,156 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.cache.AccessTracker;
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.cache.HotKeyMonitor;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.concurrency.RequestCoalescer;
+import com.example.bookstore.events.BookEventBroadcaster;
+import com.example.bookstore.events.BookEventFilter;
+import com.example.bookstore.monitoring.RequestTimings;
+import com.example.bookstore.monitoring.SlowQuery;
+import com.example.bookstore.monitoring.SlowQueryLog;
+import com.example.bookstore.ratelimit.ClientRateLimiter;
+import com.example.bookstore.ratelimit.RateLimitCategory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("AdminController Tests")
+class AdminControllerTest {
+
+    private MockMvc mockMvc;
+    private SlowQueryLog slowQueryLog;
+    private RequestCoalescer requestCoalescer;
+    private ClientRateLimiter clientRateLimiter;
+    private AccessTracker accessTracker;
+    private BookEventBroadcaster bookEventBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog = mock(SlowQueryLog.class);
+        requestCoalescer = mock(RequestCoalescer.class);
+        clientRateLimiter = new ClientRateLimiter(true, 50, 100, 10, 20, 5, 10);
+        accessTracker = new AccessTracker(true, 4, 256, 4, 600000);
+        HotKeyMonitor hotKeyMonitor = new HotKeyMonitor(accessTracker, new BookCache(true, 10), true);
+        bookEventBroadcaster = new BookEventBroadcaster(mock(ChangeLog.class), 16, 16, 4, 2, 1, 60000, 10);
+        mockMvc = MockMvcBuilders.standaloneSetup(new AdminController(slowQueryLog, requestCoalescer,
+                clientRateLimiter, hotKeyMonitor, bookEventBroadcaster)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.setEnabled(false);
+        bookEventBroadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return slow queries")
+    void shouldReturnSlowQueries() throws Exception {
+        SlowQuery slowQuery = new SlowQuery("SELECT * FROM books", List.of(), 3, 250.0,
+                false, List.of("SCAN books"), true);
+        when(slowQueryLog.getSlowest()).thenReturn(List.of(slowQuery));
+
+        mockMvc.perform(get("/admin/slow-queries"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].sql").value("SELECT * FROM books"))
+            .andExpect(jsonPath("$[0].fullTableScan").value(true))
+            .andExpect(jsonPath("$[0].queryPlan[0]").value("SCAN books"));
+    }
+
+    @Test
+    @DisplayName("Should clear slow queries")
+    void shouldClearSlowQueries() throws Exception {
+        mockMvc.perform(delete("/admin/slow-queries"))
+            .andExpect(status().isNoContent());
+
+        verify(slowQueryLog).clear();
+    }
+
+    @Test
+    @DisplayName("Should switch Server-Timing on at runtime")
+    void shouldSwitchServerTimingOn() throws Exception {
+        mockMvc.perform(put("/admin/server-timing").param("enabled", "true"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true));
+
+        mockMvc.perform(get("/admin/server-timing"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(true));
+    }
+
+    @Test
+    @DisplayName("Should return coalescing statistics")
+    void shouldReturnCoalescingStatistics() throws Exception {
+        when(requestCoalescer.getStatistics())
+                .thenReturn(Map.of("findByIsbn", Map.of("executed", 3L, "coalesced", 97L)));
+
+        mockMvc.perform(get("/admin/coalescing"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.findByIsbn.executed").value(3))
+            .andExpect(jsonPath("$.findByIsbn.coalesced").value(97));
+    }
+
+    @Test
+    @DisplayName("Should update a rate limit at runtime")
+    void shouldUpdateRateLimit() throws Exception {
+        mockMvc.perform(put("/admin/rate-limits/search").param("requestsPerSecond", "2").param("burst", "4"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.search.requestsPerSecond").value(2.0))
+            .andExpect(jsonPath("$.search.burst").value(4));
+
+        mockMvc.perform(get("/admin/rate-limits"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.read.burst").value(100))
+            .andExpect(jsonPath("$.search.burst").value(4));
+        for (int i = 0; i < 4; i++) {
+            clientRateLimiter.check("ip:1", RateLimitCategory.SEARCH);
+        }
+        assertThat(clientRateLimiter.check("ip:1", RateLimitCategory.SEARCH).isAllowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should report hot keys, most looked up first")
+    void shouldReturnHotKeys() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            accessTracker.recordId(7L);
+        }
+        accessTracker.recordAuthor("Robert C. Martin");
+        accessTracker.recordAuthor("Robert C. Martin");
+
+        mockMvc.perform(get("/admin/hot-keys"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.accesses").value(7))
+            .andExpect(jsonPath("$.hotKeys[0].kind").value("ID"))
+            .andExpect(jsonPath("$.hotKeys[0].key").value("7"))
+            .andExpect(jsonPath("$.hotKeys[0].estimate").value(5))
+            .andExpect(jsonPath("$.hotKeys[1].kind").value("AUTHOR"))
+            .andExpect(jsonPath("$.hotKeys[1].pinned").value(false))
+            .andExpect(jsonPath("$.cache.pinned").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return event stream statistics")
+    void shouldReturnEventStatistics() throws Exception {
+        bookEventBroadcaster.subscribe(BookEventFilter.of(null, null, null), null);
+
+        mockMvc.perform(get("/admin/events"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subscribers").value(1))
+            .andExpect(jsonPath("$.published").value(0))
+            .andExpect(jsonPath("$.dropped").value(0));
+    }
+}
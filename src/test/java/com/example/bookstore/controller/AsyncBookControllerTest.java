@@ -0,0 +1,134 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.DeadlineExceededException;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.service.AsyncBookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("AsyncBookController Tests")
+class AsyncBookControllerTest {
+
+    private MockMvc mockMvc;
+    private AsyncBookService asyncBookService;
+    private BookResponse testBookResponse;
+
+    @BeforeEach
+    void setUp() {
+        asyncBookService = mock(AsyncBookService.class);
+        AsyncBookController controller = new AsyncBookController(asyncBookService, 5_000, 30_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        testBookResponse = new BookResponse();
+        testBookResponse.setId(1L);
+        testBookResponse.setTitle("book title 1");
+        testBookResponse.setAuthor("author 1");
+        testBookResponse.setIsbn("123456");
+        testBookResponse.setPrice(new BigDecimal("25.50"));
+        testBookResponse.setQuantity(50);
+    }
+
+    @Test
+    @DisplayName("Should return the book once the future completes")
+    void shouldReturnBookAsynchronously() throws Exception {
+        when(asyncBookService.getBookById(eq(1L), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(testBookResponse));
+
+        MvcResult result = mockMvc.perform(get("/api/async/books/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("book title 1"));
+    }
+
+    @Test
+    @DisplayName("Should derive the deadline from the X-Request-Timeout header")
+    void shouldUseRequestTimeoutHeader() throws Exception {
+        when(asyncBookService.getAllBooks(any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(testBookResponse)));
+
+        mockMvc.perform(get("/api/async/books").header("X-Request-Timeout", "200"))
+                .andExpect(request().asyncStarted());
+
+        ArgumentCaptor<Deadline> deadline = ArgumentCaptor.forClass(Deadline.class);
+        verify(asyncBookService).getAllBooks(deadline.capture());
+        assertThat(deadline.getValue().remainingMillis()).isBetween(0L, 200L);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive X-Request-Timeout header")
+    void shouldRejectInvalidTimeout() throws Exception {
+        mockMvc.perform(get("/api/async/books").header("X-Request-Timeout", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(asyncBookService);
+    }
+
+    @Test
+    @DisplayName("Should map an exceeded deadline to 504")
+    void shouldMapDeadlineExceededTo504() throws Exception {
+        when(asyncBookService.searchBooksByTitle(eq("slow"), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new DeadlineExceededException("Request deadline exceeded")));
+
+        MvcResult result = mockMvc.perform(get("/api/async/books/search").param("title", "slow"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error").value("Deadline Exceeded"));
+    }
+
+    @Test
+    @DisplayName("Should map a saturated executor to 503 with Retry-After")
+    void shouldMapSaturationTo503() throws Exception {
+        when(asyncBookService.deleteBook(eq(1L), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("Busy", 1)));
+
+        MvcResult result = mockMvc.perform(delete("/api/async/books/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Should return 204 after an asynchronous delete")
+    void shouldDeleteAsynchronously() throws Exception {
+        when(asyncBookService.deleteBook(eq(1L), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        MvcResult result = mockMvc.perform(delete("/api/async/books/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNoContent());
+    }
+}
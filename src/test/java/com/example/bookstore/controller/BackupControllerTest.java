@@ -0,0 +1,73 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.backup.BackupFile;
+import com.example.bookstore.backup.OnlineBackup;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("BackupController Tests")
+class BackupControllerTest {
+
+    private MockMvc mockMvc;
+    private OnlineBackup onlineBackup;
+
+    @BeforeEach
+    void setUp() {
+        onlineBackup = mock(OnlineBackup.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BackupController(onlineBackup))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should start a backup and return 202 with the status")
+    void shouldStartBackup() throws Exception {
+        when(onlineBackup.getStatus()).thenReturn(new LinkedHashMap<>(Map.of("running", true)));
+
+        mockMvc.perform(post("/admin/backups"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.running").value(true));
+
+        verify(onlineBackup).start(OnlineBackup.TRIGGER_ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should return 503 when a backup is already running")
+    void shouldRejectConcurrentBackup() throws Exception {
+        doThrow(new ServiceUnavailableException("A backup is already running", 60))
+            .when(onlineBackup).start(OnlineBackup.TRIGGER_ADMIN);
+
+        mockMvc.perform(post("/admin/backups"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "60"));
+    }
+
+    @Test
+    @DisplayName("Should return the status with the retained backups")
+    void shouldReturnBackups() throws Exception {
+        when(onlineBackup.getStatus()).thenReturn(new LinkedHashMap<>(Map.of("running", false)));
+        when(onlineBackup.listBackups()).thenReturn(List.of(
+                new BackupFile("bookstore-20260101-030000-000.db", 4096, LocalDateTime.of(2026, 1, 1, 3, 0))));
+
+        mockMvc.perform(get("/admin/backups"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.running").value(false))
+            .andExpect(jsonPath("$.backups[0].name").value("bookstore-20260101-030000-000.db"))
+            .andExpect(jsonPath("$.backups[0].sizeBytes").value(4096));
+    }
+}
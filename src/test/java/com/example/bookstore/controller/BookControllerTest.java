@@ -1,8 +1,18 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.dto.BookChangesResponse;
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstone;
+import com.example.bookstore.dto.BookTombstonesResponse;
 import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.events.BookEvent;
+import com.example.bookstore.events.BookEventType;
+import com.example.bookstore.events.BookWatchRegistry;
+import com.example.bookstore.exception.ChangesExpiredException;
 import com.example.bookstore.exception.DuplicateResourceException;
 import com.example.bookstore.exception.ResourceNotFoundException;
 import com.example.bookstore.exception.GlobalExceptionHandler;
@@ -13,6 +23,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
@@ -33,6 +44,7 @@ class BookControllerTest {
 
     private MockMvc mockMvc;
     private BookService bookService;
+    private BookWatchRegistry bookWatchRegistry;
     private ObjectMapper objectMapper;
     private BookResponse testBookResponse;
     private BookResponse testBookResponse2;
@@ -41,7 +53,8 @@ class BookControllerTest {
     void setUp() {
         bookService = mock(BookService.class);
         objectMapper = new ObjectMapper();
-        BookController controller = new BookController(bookService);
+        bookWatchRegistry = new BookWatchRegistry(mock(ChangeLog.class), 1000, 1000, 10);
+        BookController controller = new BookController(bookService, bookWatchRegistry);
         GlobalExceptionHandler exceptionHandler = new GlobalExceptionHandler();
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setControllerAdvice(exceptionHandler)
@@ -145,6 +158,82 @@ class BookControllerTest {
         verify(bookService).searchBooksByTitle("title");
     }
 
+    @Test
+    @DisplayName("Should return catalog changes after a sequence number")
+    void shouldReturnChanges() throws Exception {
+        BookChange change = new BookChange(42L, 1L, ChangeOperation.UPDATE, List.of("price"), LocalDateTime.now());
+        when(bookService.getChanges(41L, 100)).thenReturn(new BookChangesResponse(List.of(change), 42L, 42L, false));
+
+        mockMvc.perform(get("/api/books/changes").param("since", "41"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes[0].seq").value(42))
+            .andExpect(jsonPath("$.changes[0].operation").value("UPDATE"))
+            .andExpect(jsonPath("$.changes[0].changedFields[0]").value("price"))
+            .andExpect(jsonPath("$.nextSince").value(42))
+            .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("Should return 410 when requested changes were compacted")
+    void shouldReturnGoneWhenChangesExpired() throws Exception {
+        when(bookService.getChanges(3L, 100)).thenThrow(new ChangesExpiredException("Changes after 3 were compacted", 900L));
+
+        mockMvc.perform(get("/api/books/changes").param("since", "3"))
+            .andExpect(status().isGone())
+            .andExpect(header().string("X-Last-Seq", "900"))
+            .andExpect(jsonPath("$.error").value("Changes Expired"));
+    }
+
+    @Test
+    @DisplayName("Should return tombstones after a deletion position")
+    void shouldReturnTombstones() throws Exception {
+        BookTombstone tombstone = new BookTombstone(7L, "978-0-7432-7356-5", "The Great Gatsby", LocalDateTime.now());
+        when(bookService.getTombstones(1705311000000L, 6L, 50))
+                .thenReturn(new BookTombstonesResponse(List.of(tombstone), 1705311000500L, 7L, true));
+
+        mockMvc.perform(get("/api/books/tombstones")
+                .param("since", "1705311000000").param("afterId", "6").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tombstones[0].id").value(7))
+            .andExpect(jsonPath("$.tombstones[0].isbn").value("978-0-7432-7356-5"))
+            .andExpect(jsonPath("$.nextSince").value(1705311000500L))
+            .andExpect(jsonPath("$.nextAfterId").value(7))
+            .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("Should answer a watch at once when the book is newer than the given version")
+    void shouldReturnNewerBookFromWatch() throws Exception {
+        when(bookService.getBookById(1L)).thenReturn(testBookResponse);
+        long version = BookWatchRegistry.versionOf(testBookResponse);
+
+        MvcResult result = mockMvc.perform(get("/api/books/1").param("watch", "true").param("version", "0"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Book-Version", Long.toString(version)))
+            .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("Should answer a generation watch at once when the catalog moved past it")
+    void shouldReturnGenerationFromWatch() throws Exception {
+        bookWatchRegistry.onBookEvent(new BookEvent(7L, BookEventType.CREATED, 1L, testBookResponse,
+                ChangeLog.ALL_FIELDS, LocalDateTime.now()));
+
+        MvcResult result = mockMvc.perform(get("/api/books/generation").param("after", "3"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Catalog-Generation", "7"))
+            .andExpect(jsonPath("$.generation").value(7));
+        bookWatchRegistry.shutdown();
+    }
+
     @Test
     @DisplayName("Should create book successfully")
     void shouldCreateBookSuccessfully() throws Exception {
@@ -265,6 +354,19 @@ class BookControllerTest {
         verify(bookService).deleteBook(1L);
     }
 
+    @Test
+    @DisplayName("Should report the catalog sequence number after a write")
+    void shouldReportCatalogSeqAfterWrite() throws Exception {
+        doNothing().when(bookService).deleteBook(1L);
+        bookWatchRegistry.onBookEvent(new BookEvent(12L, BookEventType.DELETED, 1L, testBookResponse,
+                List.of(), LocalDateTime.now()));
+
+        mockMvc.perform(delete("/api/books/1"))
+            .andExpect(status().isNoContent())
+            .andExpect(header().string("X-Catalog-Seq", "12"));
+        bookWatchRegistry.shutdown();
+    }
+
     @Test
     @DisplayName("Should return 404 when deleting non-existent book")
     void shouldReturn404WhenDeletingNonExistentBook() throws Exception {
@@ -0,0 +1,60 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.events.BookEventBroadcaster;
+import com.example.bookstore.events.BookEventFilter;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("BookEventController Tests")
+class BookEventControllerTest {
+
+    private MockMvc mockMvc;
+    private BookEventBroadcaster bookEventBroadcaster;
+
+    @BeforeEach
+    void setUp() {
+        bookEventBroadcaster = mock(BookEventBroadcaster.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookEventController(bookEventBroadcaster))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should open an event stream resuming after Last-Event-ID")
+    void shouldOpenEventStream() throws Exception {
+        when(bookEventBroadcaster.subscribe(any(BookEventFilter.class), eq(42L))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/books/events")
+                        .param("ids", "1", "2")
+                        .param("types", "stock")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted());
+
+        verify(bookEventBroadcaster).subscribe(any(BookEventFilter.class), eq(42L));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown event type")
+    void shouldRejectUnknownEventType() throws Exception {
+        mockMvc.perform(get("/api/books/events")
+                        .param("types", "renamed")
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+
+        verify(bookEventBroadcaster, never()).subscribe(any(BookEventFilter.class), isNull());
+    }
+}
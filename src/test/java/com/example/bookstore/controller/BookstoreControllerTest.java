@@ -1,10 +1,18 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.health.CheckResult;
+import com.example.bookstore.health.HealthMonitor;
+import com.example.bookstore.health.HealthSnapshot;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -12,14 +20,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class BookstoreControllerTest {
 
     private MockMvc mockMvc;
-    private BookstoreController controller;
+    private HealthMonitor healthMonitor;
+
+    @BeforeEach
+    void setUp() {
+        healthMonitor = mock(HealthMonitor.class);
+        when(healthMonitor.isLive()).thenReturn(true);
+        when(healthMonitor.getAgeMillis()).thenReturn(150L);
+        BookstoreController controller = new BookstoreController(healthMonitor);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
 
     @Test
     @DisplayName("Should return home endpoint response")
     void shouldReturnHomeEndpointResponse() throws Exception {
-        controller = new BookstoreController();
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
-
         mockMvc.perform(get("/"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.message").value("Welcome to Bookstore API"))
@@ -30,11 +44,61 @@ class BookstoreControllerTest {
     @Test
     @DisplayName("Should return health check response")
     void shouldReturnHealthCheckResponse() throws Exception {
-        controller = new BookstoreController();
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        givenSnapshot(true, CheckResult.up(Map.of("latencyMs", 1)));
 
         mockMvc.perform(get("/health"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.status").value("UP"));
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.checks.database.status").value("UP"))
+            .andExpect(jsonPath("$.checks.database.details.latencyMs").value(1));
+    }
+
+    @Test
+    @DisplayName("Should report not ready when a cached check failed")
+    void shouldReportNotReadyWhenCheckFailed() throws Exception {
+        givenSnapshot(false, CheckResult.down("database is locked", Map.of()));
+
+        mockMvc.perform(get("/health/readiness"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.status").value("DOWN"))
+            .andExpect(jsonPath("$.checks.database.status").value("DOWN"))
+            .andExpect(jsonPath("$.checks.database.message").value("database is locked"));
+    }
+
+    @Test
+    @DisplayName("Should report not ready before the first check run")
+    void shouldReportNotReadyBeforeFirstRun() throws Exception {
+        mockMvc.perform(get("/health/readiness"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.status").value("DOWN"))
+            .andExpect(jsonPath("$.message").value("Health checks have not run yet"));
+    }
+
+    @Test
+    @DisplayName("Should stay live while the database is down")
+    void shouldStayLiveWhileNotReady() throws Exception {
+        givenSnapshot(false, CheckResult.down("database is locked", Map.of()));
+
+        mockMvc.perform(get("/health/liveness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("UP"))
+            .andExpect(jsonPath("$.ageMs").value(150));
+    }
+
+    @Test
+    @DisplayName("Should report not live when check runs have stalled")
+    void shouldReportNotLiveWhenStalled() throws Exception {
+        when(healthMonitor.isLive()).thenReturn(false);
+
+        mockMvc.perform(get("/health/liveness"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(jsonPath("$.status").value("DOWN"));
+    }
+
+    private void givenSnapshot(boolean ready, CheckResult database) {
+        Map<String, CheckResult> checks = new LinkedHashMap<>();
+        checks.put("database", database);
+        when(healthMonitor.getSnapshot()).thenReturn(new HealthSnapshot(1_700_000_000_000L, 3, checks));
+        when(healthMonitor.isReady()).thenReturn(ready);
     }
 }
@@ -0,0 +1,78 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.maintenance.DatabaseMaintenance;
+import com.example.bookstore.maintenance.MaintenanceTask;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("MaintenanceController Tests")
+class MaintenanceControllerTest {
+
+    private MockMvc mockMvc;
+    private DatabaseMaintenance databaseMaintenance;
+
+    @BeforeEach
+    void setUp() {
+        databaseMaintenance = mock(DatabaseMaintenance.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MaintenanceController(databaseMaintenance))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should start a task and return 202 with the status")
+    void shouldStartTask() throws Exception {
+        when(databaseMaintenance.getStatus()).thenReturn(new LinkedHashMap<>(Map.of("running", true)));
+
+        mockMvc.perform(post("/admin/maintenance/incremental-vacuum"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.running").value(true));
+
+        verify(databaseMaintenance).start(MaintenanceTask.INCREMENTAL_VACUUM, DatabaseMaintenance.TRIGGER_ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown task")
+    void shouldRejectUnknownTask() throws Exception {
+        mockMvc.perform(post("/admin/maintenance/vacuum-full"))
+            .andExpect(status().isBadRequest());
+
+        verify(databaseMaintenance, never()).start(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return 503 when a task is already running")
+    void shouldRejectConcurrentTask() throws Exception {
+        doThrow(new ServiceUnavailableException("A maintenance task is already running", 60))
+            .when(databaseMaintenance).start(MaintenanceTask.ANALYZE, DatabaseMaintenance.TRIGGER_ADMIN);
+
+        mockMvc.perform(post("/admin/maintenance/analyze"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "60"));
+    }
+
+    @Test
+    @DisplayName("Should return the status")
+    void shouldReturnStatus() throws Exception {
+        when(databaseMaintenance.getStatus()).thenReturn(new LinkedHashMap<>(Map.of("running", false, "failed", 0L)));
+
+        mockMvc.perform(get("/admin/maintenance"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.running").value(false))
+            .andExpect(jsonPath("$.failed").value(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.migration.AppliedMigration;
+import com.example.bookstore.migration.BackfillRunner;
+import com.example.bookstore.migration.SchemaMigrator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("MigrationController Tests")
+class MigrationControllerTest {
+
+    private MockMvc mockMvc;
+    private SchemaMigrator schemaMigrator;
+    private BackfillRunner backfillRunner;
+
+    @BeforeEach
+    void setUp() {
+        schemaMigrator = mock(SchemaMigrator.class);
+        backfillRunner = mock(BackfillRunner.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new MigrationController(schemaMigrator, backfillRunner))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the schema version, applied migrations and backfill progress")
+    void shouldReturnStatus() throws Exception {
+        LocalDateTime installedAt = LocalDateTime.of(2026, 1, 15, 10, 30);
+        when(schemaMigrator.appliedMigrations()).thenReturn(List.of(
+                new AppliedMigration(1, "baseline", "aa", installedAt, 3),
+                new AppliedMigration(2, "isbn normalized", "bb", installedAt, 12)));
+        when(backfillRunner.getStatus()).thenReturn(Map.of("batches", 4));
+
+        mockMvc.perform(get("/admin/migrations"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.schemaVersion").value(2))
+            .andExpect(jsonPath("$.migrations[1].description").value("isbn normalized"))
+            .andExpect(jsonPath("$.migrations[1].executionMillis").value(12))
+            .andExpect(jsonPath("$.backfill.batches").value(4));
+    }
+
+    @Test
+    @DisplayName("Should report version 0 before any migration ran")
+    void shouldReportVersionZero() throws Exception {
+        when(schemaMigrator.appliedMigrations()).thenReturn(List.of());
+        when(backfillRunner.getStatus()).thenReturn(Map.of());
+
+        mockMvc.perform(get("/admin/migrations"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.schemaVersion").value(0))
+            .andExpect(jsonPath("$.migrations").isEmpty());
+    }
+}
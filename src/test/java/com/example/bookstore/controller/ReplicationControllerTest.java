@@ -0,0 +1,117 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.dto.ReplicatedChange;
+import com.example.bookstore.dto.ReplicationBatch;
+import com.example.bookstore.exception.ChangesExpiredException;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.replication.ReplicationFollower;
+import com.example.bookstore.replication.ReplicationSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("ReplicationController Tests")
+class ReplicationControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MockMvc mockMvc;
+    private ReplicationSource replicationSource;
+    private ChangeLog changeLog;
+    private ObjectProvider<ReplicationFollower> replicationFollower;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        replicationSource = mock(ReplicationSource.class);
+        changeLog = mock(ChangeLog.class);
+        replicationFollower = mock(ObjectProvider.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new ReplicationController(replicationSource, changeLog, replicationFollower))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return a batch of the replication feed")
+    void shouldReturnFeed() throws Exception {
+        ReplicatedChange change = new ReplicatedChange(5, 1, ChangeOperation.DELETE, List.of(), 1705314600000L, null);
+        when(replicationSource.readBatch(4, 100)).thenReturn(new ReplicationBatch(List.of(change), 9, true));
+
+        mockMvc.perform(get("/admin/replication/feed").param("since", "4").param("limit", "100"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes[0].seq").value(5))
+            .andExpect(jsonPath("$.changes[0].operation").value("DELETE"))
+            .andExpect(jsonPath("$.lastSeq").value(9))
+            .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    @DisplayName("Should return 410 when the follower is behind the retained feed")
+    void shouldReturnGoneWhenFeedExpired() throws Exception {
+        when(replicationSource.readBatch(1, 500)).thenThrow(new ChangesExpiredException("Compacted", 900));
+
+        mockMvc.perform(get("/admin/replication/feed").param("since", "1"))
+            .andExpect(status().isGone())
+            .andExpect(header().string("X-Last-Seq", "900"));
+    }
+
+    @Test
+    @DisplayName("Should stream a snapshot and remove it afterwards")
+    void shouldStreamSnapshot() throws Exception {
+        Path snapshot = Files.write(tempDir.resolve("snapshot.db"), new byte[] {1, 2, 3, 4});
+        when(replicationSource.createSnapshot()).thenReturn(snapshot);
+
+        MvcResult result = mockMvc.perform(get("/admin/replication/snapshot"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().longValue("Content-Length", 4))
+            .andExpect(content().bytes(new byte[] {1, 2, 3, 4}));
+
+        verify(replicationSource).deleteSnapshot(snapshot);
+    }
+
+    @Test
+    @DisplayName("Should report the leader role and last sequence number")
+    void shouldReportLeaderStatus() throws Exception {
+        when(changeLog.getLastSeq()).thenReturn(42L);
+
+        mockMvc.perform(get("/admin/replication"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.role").value("leader"))
+            .andExpect(jsonPath("$.lastSeq").value(42));
+    }
+
+    @Test
+    @DisplayName("Should report the follower's lag")
+    void shouldReportFollowerStatus() throws Exception {
+        ReplicationFollower follower = mock(ReplicationFollower.class);
+        when(follower.getStatus()).thenReturn(Map.of("role", "follower", "lagEntries", 3));
+        when(replicationFollower.getIfAvailable()).thenReturn(follower);
+
+        mockMvc.perform(get("/admin/replication"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.role").value("follower"))
+            .andExpect(jsonPath("$.lagEntries").value(3));
+    }
+}
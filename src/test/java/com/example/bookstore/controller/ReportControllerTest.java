@@ -0,0 +1,93 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.AuthorInventoryReport;
+import com.example.bookstore.dto.InventorySummaryReport;
+import com.example.bookstore.dto.PriceBucketReport;
+import com.example.bookstore.exception.GlobalExceptionHandler;
+import com.example.bookstore.reporting.ReportQueries;
+import com.example.bookstore.reporting.ReportingRefresher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("ReportController Tests")
+class ReportControllerTest {
+
+    private MockMvc mockMvc;
+    private ReportQueries reportQueries;
+    private ReportingRefresher reportingRefresher;
+
+    @BeforeEach
+    void setUp() {
+        reportQueries = mock(ReportQueries.class);
+        reportingRefresher = mock(ReportingRefresher.class);
+        when(reportingRefresher.getAppliedSeq()).thenReturn(42L);
+        when(reportingRefresher.getRefreshedAt()).thenReturn(LocalDateTime.of(2026, 1, 15, 10, 30));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ReportController(reportQueries, reportingRefresher))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return inventory by author with the freshness of the copy")
+    void shouldReturnInventoryByAuthor() throws Exception {
+        when(reportQueries.inventoryByAuthor(10)).thenReturn(List.of(
+                new AuthorInventoryReport("Ann", 2, 12, new BigDecimal("74.90"))));
+
+        mockMvc.perform(get("/api/reports/inventory-by-author").param("limit", "10"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ReportController.SEQ_HEADER, "42"))
+            .andExpect(header().string(ReportController.AS_OF_HEADER, "2026-01-15T10:30"))
+            .andExpect(jsonPath("$[0].author").value("Ann"))
+            .andExpect(jsonPath("$[0].inventoryValue").value(74.90));
+    }
+
+    @Test
+    @DisplayName("Should return the price distribution for the requested bucket width")
+    void shouldReturnPriceDistribution() throws Exception {
+        when(reportQueries.priceDistribution(any(BigDecimal.class))).thenReturn(List.of(
+                new PriceBucketReport(new BigDecimal("10.00"), new BigDecimal("20.00"), 3, 30)));
+
+        mockMvc.perform(get("/api/reports/price-distribution").param("bucketWidth", "10"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].lowerBound").value(10.00))
+            .andExpect(jsonPath("$[0].titles").value(3));
+
+        verify(reportQueries).priceDistribution(new BigDecimal("10"));
+    }
+
+    @Test
+    @DisplayName("Should return the inventory summary")
+    void shouldReturnSummary() throws Exception {
+        when(reportQueries.summary()).thenReturn(new InventorySummaryReport(5, 3, 23, new BigDecimal("194.90"), 1,
+                new BigDecimal("15.62"), new BigDecimal("4.99"), new BigDecimal("30.00")));
+
+        mockMvc.perform(get("/api/reports/summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.titles").value(5))
+            .andExpect(jsonPath("$.outOfStock").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return the refresh status")
+    void shouldReturnStatus() throws Exception {
+        when(reportingRefresher.getStatus()).thenReturn(Map.of("appliedSeq", 42L, "lagEntries", 3L));
+
+        mockMvc.perform(get("/api/reports/status"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.appliedSeq").value(42))
+            .andExpect(jsonPath("$.lagEntries").value(3));
+    }
+}
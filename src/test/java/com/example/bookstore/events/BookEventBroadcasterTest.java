@@ -0,0 +1,239 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BookEventBroadcaster Tests")
+class BookEventBroadcasterTest {
+
+    private static final BookEventFilter ALL = BookEventFilter.of(null, null, null);
+
+    private BookEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        if (broadcaster != null) {
+            broadcaster.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver events in sequence order even when published out of order")
+    void shouldDeliverInSequenceOrder() throws Exception {
+        broadcaster = start(0, 16, 16);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, ALL, null);
+        waitFor(() -> broadcaster.getStatistics().get("subscribers").equals(1));
+
+        broadcaster.onBookEvent(event(2, 1L));
+        broadcaster.onBookEvent(event(1, 1L));
+        broadcaster.onBookEvent(event(3, 1L));
+
+        waitFor(() -> emitter.sent().size() == 3);
+        assertThat(emitter.sent()).extracting(Sent::id).containsExactly("1", "2", "3");
+        assertThat(emitter.sent()).extracting(Sent::name).containsOnly("updated");
+    }
+
+    @Test
+    @DisplayName("Should send only the events matching the subscriber's filter")
+    void shouldFilterEvents() throws Exception {
+        broadcaster = start(0, 16, 16);
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, BookEventFilter.of(List.of(2L), null, null), null);
+        waitFor(() -> broadcaster.getStatistics().get("subscribers").equals(1));
+
+        broadcaster.onBookEvent(event(1, 1L));
+        broadcaster.onBookEvent(event(2, 2L));
+        broadcaster.onBookEvent(event(3, 1L));
+        broadcaster.onBookEvent(event(4, 2L));
+
+        waitFor(() -> emitter.sent().size() == 2);
+        Thread.sleep(50);
+        assertThat(emitter.sent()).extracting(Sent::id).containsExactly("2", "4");
+    }
+
+    @Test
+    @DisplayName("Should replay the events after Last-Event-ID before live ones")
+    void shouldReplayAfterLastEventId() throws Exception {
+        broadcaster = start(10, 16, 16);
+        for (long seq = 11; seq <= 14; seq++) {
+            broadcaster.onBookEvent(event(seq, 1L));
+        }
+        waitFor(() -> broadcaster.getStatistics().get("published").equals(4L));
+        Thread.sleep(50);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, ALL, 12L);
+        waitFor(() -> emitter.sent().size() == 2);
+        broadcaster.onBookEvent(event(15, 1L));
+
+        waitFor(() -> emitter.sent().size() == 3);
+        assertThat(emitter.sent()).extracting(Sent::id).containsExactly("13", "14", "15");
+    }
+
+    @Test
+    @DisplayName("Should send a reset when Last-Event-ID is older than the replay history")
+    void shouldResetWhenHistoryIsInsufficient() throws Exception {
+        broadcaster = start(0, 2, 16);
+        for (long seq = 1; seq <= 4; seq++) {
+            broadcaster.onBookEvent(event(seq, 1L));
+        }
+        waitFor(() -> broadcaster.getStatistics().get("published").equals(4L));
+        Thread.sleep(50);
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter, ALL, 1L);
+
+        waitFor(emitter::isCompleted);
+        assertThat(emitter.sent()).hasSize(1);
+        assertThat(emitter.sent().get(0).name()).isEqualTo(BookEventBroadcaster.RESET_EVENT);
+        assertThat(emitter.sent().get(0).data()).isEqualTo(new BookEventBroadcaster.Reset("history-expired", 1L));
+    }
+
+    @Test
+    @DisplayName("Should drop a slow subscriber without blocking writers")
+    void shouldDropSlowSubscriber() throws Exception {
+        broadcaster = start(0, 16, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        broadcaster.subscribe(slow, ALL, null);
+        broadcaster.subscribe(fast, ALL, null);
+        waitFor(() -> broadcaster.getStatistics().get("subscribers").equals(2));
+
+        long start = System.nanoTime();
+        for (long seq = 1; seq <= 10; seq++) {
+            broadcaster.onBookEvent(event(seq, 1L));
+            // Paced so the fast subscriber's queue never fills
+            Thread.sleep(20);
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        waitFor(() -> broadcaster.getStatistics().get("dropped").equals(1L));
+        release.countDown();
+
+        waitFor(slow::isCompleted);
+        Sent reset = slow.sent().get(slow.sent().size() - 1);
+        assertThat(reset.name()).isEqualTo(BookEventBroadcaster.RESET_EVENT);
+        assertThat(((BookEventBroadcaster.Reset) reset.data()).reason()).isEqualTo("slow-consumer");
+        waitFor(() -> fast.sent().size() == 10);
+        assertThat(fast.isCompleted()).isFalse();
+        assertThat(broadcaster.getStatistics()).containsEntry("subscribers", 1);
+    }
+
+    @Test
+    @DisplayName("Should reject subscribers beyond the maximum")
+    void shouldRejectExcessSubscribers() {
+        broadcaster = start(0, 16, 16);
+        broadcaster.subscribe(new RecordingEmitter(), ALL, null);
+        broadcaster.subscribe(new RecordingEmitter(), ALL, null);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(new RecordingEmitter(), ALL, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    private static BookEventBroadcaster start(long lastSeq, int historySize, int queueCapacity) {
+        ChangeLog changeLog = mock(ChangeLog.class);
+        when(changeLog.getLastSeq()).thenReturn(lastSeq);
+        BookEventBroadcaster broadcaster = new BookEventBroadcaster(changeLog, 64, historySize, queueCapacity,
+                2, 2, 60_000, 200);
+        broadcaster.start();
+        return broadcaster;
+    }
+
+    private static BookEvent event(long seq, long bookId) {
+        BookResponse book = new BookResponse();
+        book.setId(bookId);
+        return new BookEvent(seq, BookEventType.UPDATED, bookId, book, List.of("title"), LocalDateTime.now());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private record Sent(String id, String name, Object data) {
+    }
+
+    /**
+     * Emitter recording what is sent to it, optionally blocking on a latch like a stalled client.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+        private final List<Sent> sent = new ArrayList<>();
+        private volatile boolean completed;
+
+        private RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            String id = null;
+            String name = null;
+            Object data = null;
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        }
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            if (name != null) {
+                synchronized (sent) {
+                    sent.add(new Sent(id, name, data));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private List<Sent> sent() {
+            synchronized (sent) {
+                return new ArrayList<>(sent);
+            }
+        }
+
+        private boolean isCompleted() {
+            return completed;
+        }
+    }
+}
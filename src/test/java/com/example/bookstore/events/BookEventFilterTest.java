@@ -0,0 +1,61 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BookEventFilter Tests")
+class BookEventFilterTest {
+
+    @Test
+    @DisplayName("Should match every event when no criteria are given")
+    void shouldMatchEverythingWithoutCriteria() {
+        BookEventFilter filter = BookEventFilter.of(null, null, null);
+
+        assertThat(filter.matches(event(1L, "Author A", BookEventType.CREATED, List.of("title")))).isTrue();
+        assertThat(filter.matches(event(2L, "Author B", BookEventType.DELETED, List.of()))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should require every given criterion to match")
+    void shouldCombineCriteria() {
+        BookEventFilter filter = BookEventFilter.of(List.of(1L, 2L), "Author A", List.of("updated"));
+
+        assertThat(filter.matches(event(1L, "Author A", BookEventType.UPDATED, List.of("title")))).isTrue();
+        assertThat(filter.matches(event(3L, "Author A", BookEventType.UPDATED, List.of("title")))).isFalse();
+        assertThat(filter.matches(event(2L, "Author B", BookEventType.UPDATED, List.of("title")))).isFalse();
+        assertThat(filter.matches(event(2L, "Author A", BookEventType.PATCHED, List.of("title")))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should match any change of the quantity for the stock type")
+    void shouldMatchQuantityChangesForStock() {
+        BookEventFilter filter = BookEventFilter.of(null, null, List.of("STOCK"));
+
+        assertThat(filter.matches(event(1L, "Author A", BookEventType.STOCK, List.of("quantity")))).isTrue();
+        assertThat(filter.matches(event(1L, "Author A", BookEventType.PATCHED, List.of("price", "quantity")))).isTrue();
+        assertThat(filter.matches(event(1L, "Author A", BookEventType.PATCHED, List.of("price")))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown event type")
+    void shouldRejectUnknownType() {
+        assertThatThrownBy(() -> BookEventFilter.of(null, null, List.of("renamed")))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("renamed");
+    }
+
+    private static BookEvent event(long id, String author, BookEventType type, List<String> changedFields) {
+        BookResponse book = new BookResponse();
+        book.setId(id);
+        book.setAuthor(author);
+        return new BookEvent(1L, type, id, book, changedFields, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.bookstore.events;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.ResourceNotFoundException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("BookWatchRegistry Tests")
+class BookWatchRegistryTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private BookWatchRegistry registry;
+    private AtomicReference<BookResponse> stored;
+
+    @BeforeEach
+    void setUp() {
+        ChangeLog changeLog = mock(ChangeLog.class);
+        when(changeLog.getLastSeq()).thenReturn(10L);
+        registry = new BookWatchRegistry(changeLog, 30_000, 60_000, 2);
+        registry.start();
+        stored = new AtomicReference<>(book(UPDATED_AT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should wait until a write moves the book past the given version")
+    void shouldCompleteBookWatchOnWrite() throws Exception {
+        long version = BookWatchRegistry.versionOf(stored.get());
+
+        DeferredResult<ResponseEntity<BookResponse>> result = registry.watchBook(1L, version, null, stored::get);
+        assertThat(result.hasResult()).isFalse();
+        assertThat(registry.getWaiters()).isEqualTo(1);
+
+        BookResponse updated = book(UPDATED_AT.plusSeconds(1));
+        registry.onBookEvent(event(11L, BookEventType.STOCK, updated));
+
+        waitFor(result::hasResult);
+        ResponseEntity<?> response = (ResponseEntity<?>) result.getResult();
+        assertThat(response.getBody()).isSameAs(updated);
+        assertThat(response.getHeaders().getFirst(BookWatchRegistry.VERSION_HEADER))
+                .isEqualTo(Long.toString(BookWatchRegistry.versionOf(updated)));
+        assertThat(registry.getWaiters()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should answer at once when the book is already newer")
+    void shouldAnswerAtOnceWhenBookIsNewer() {
+        DeferredResult<ResponseEntity<BookResponse>> result = registry.watchBook(1L, 0, null, stored::get);
+
+        assertThat(result.hasResult()).isTrue();
+        assertThat(registry.getWaiters()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should end a book watch with not found when the book is deleted")
+    void shouldFailBookWatchOnDelete() throws Exception {
+        long version = BookWatchRegistry.versionOf(stored.get());
+        DeferredResult<ResponseEntity<BookResponse>> result = registry.watchBook(1L, version, null, stored::get);
+
+        registry.onBookEvent(event(11L, BookEventType.DELETED, stored.get()));
+
+        waitFor(result::hasResult);
+        assertThat(result.getResult()).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should ignore writes to other books")
+    void shouldIgnoreOtherBooks() throws Exception {
+        long version = BookWatchRegistry.versionOf(stored.get());
+        DeferredResult<ResponseEntity<BookResponse>> result = registry.watchBook(1L, version, null, stored::get);
+        DeferredResult<ResponseEntity<Map<String, Long>>> generation = registry.watchGeneration(10L, null);
+
+        BookResponse other = book(UPDATED_AT.plusSeconds(1));
+        other.setId(2L);
+        registry.onBookEvent(new BookEvent(11L, BookEventType.UPDATED, 2L, other, List.of("title"), LocalDateTime.now()));
+
+        waitFor(generation::hasResult);
+        assertThat(result.hasResult()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should wait until the catalog generation moves past the given one")
+    void shouldCompleteGenerationWatch() throws Exception {
+        assertThat(registry.getGeneration()).isEqualTo(10L);
+        assertThat(registry.watchGeneration(9L, null).hasResult()).isTrue();
+
+        DeferredResult<ResponseEntity<Map<String, Long>>> result = registry.watchGeneration(10L, null);
+        assertThat(result.hasResult()).isFalse();
+
+        registry.onBookEvent(event(11L, BookEventType.UPDATED, stored.get()));
+
+        waitFor(result::hasResult);
+        ResponseEntity<?> response = (ResponseEntity<?>) result.getResult();
+        assertThat(response.getBody()).isEqualTo(Map.of("generation", 11L));
+    }
+
+    @Test
+    @DisplayName("Should reject watches beyond the maximum")
+    void shouldRejectExcessWatches() {
+        registry.watchGeneration(10L, null);
+        registry.watchGeneration(10L, null);
+
+        assertThatThrownBy(() -> registry.watchGeneration(10L, null))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(registry.getWaiters()).isEqualTo(2);
+    }
+
+    private static BookResponse book(LocalDateTime updatedAt) {
+        BookResponse book = new BookResponse();
+        book.setId(1L);
+        book.setUpdatedAt(updatedAt);
+        return book;
+    }
+
+    private static BookEvent event(long seq, BookEventType type, BookResponse book) {
+        return new BookEvent(seq, type, book.getId(), book, List.of("quantity"), LocalDateTime.now());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
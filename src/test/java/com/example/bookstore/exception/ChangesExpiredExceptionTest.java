@@ -0,0 +1,20 @@
+package com.example.bookstore.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ChangesExpiredException Tests")
+class ChangesExpiredExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message and the sequence to resume from")
+    void shouldCreateExceptionWithMessageAndLastSeq() {
+        ChangesExpiredException ex = new ChangesExpiredException("Changes after 5 were compacted", 120);
+
+        assertThat(ex.getMessage()).isEqualTo("Changes after 5 were compacted");
+        assertThat(ex.getLastSeq()).isEqualTo(120);
+        assertThat(ex).isInstanceOf(RuntimeException.class);
+    }
+}
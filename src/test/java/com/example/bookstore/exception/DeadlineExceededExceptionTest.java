@@ -0,0 +1,29 @@
+package com.example.bookstore.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DeadlineExceededException Tests")
+class DeadlineExceededExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message")
+    void shouldCreateExceptionWithMessage() {
+        DeadlineExceededException ex = new DeadlineExceededException("Deadline exceeded");
+
+        assertThat(ex.getMessage()).isEqualTo("Deadline exceeded");
+        assertThat(ex).isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    @DisplayName("Should create exception with message and cause")
+    void shouldCreateExceptionWithMessageAndCause() {
+        Throwable cause = new IllegalStateException("interrupted");
+        DeadlineExceededException ex = new DeadlineExceededException("Deadline exceeded", cause);
+
+        assertThat(ex.getMessage()).isEqualTo("Deadline exceeded");
+        assertThat(ex.getCause()).isEqualTo(cause);
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -64,6 +65,77 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getMessage()).isEqualTo("ISBN already exists");
     }
 
+    @Test
+    @DisplayName("Should handle ServiceUnavailableException with Retry-After")
+    void shouldHandleServiceUnavailableException() {
+        ServiceUnavailableException ex = new ServiceUnavailableException("Database busy", 2);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleServiceUnavailableException(ex, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("2");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(503);
+        assertThat(response.getBody().getError()).isEqualTo("Service Unavailable");
+        assertThat(response.getBody().getMessage()).isEqualTo("Database busy");
+    }
+
+    @Test
+    @DisplayName("Should handle RateLimitExceededException with Retry-After")
+    void shouldHandleRateLimitExceededException() {
+        RateLimitExceededException ex = new RateLimitExceededException("Rate limit exceeded for search requests", 3);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleRateLimitExceededException(ex, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst("Retry-After")).isEqualTo("3");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(429);
+        assertThat(response.getBody().getError()).isEqualTo("Too Many Requests");
+    }
+
+    @Test
+    @DisplayName("Should handle DeadlineExceededException")
+    void shouldHandleDeadlineExceededException() {
+        DeadlineExceededException ex = new DeadlineExceededException("Request deadline exceeded");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleDeadlineExceededException(ex, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(504);
+        assertThat(response.getBody().getError()).isEqualTo("Deadline Exceeded");
+    }
+
+    @Test
+    @DisplayName("Should handle ChangesExpiredException with X-Last-Seq")
+    void shouldHandleChangesExpiredException() {
+        ChangesExpiredException ex = new ChangesExpiredException("Changes after 5 were compacted", 120);
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleChangesExpiredException(ex, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GONE);
+        assertThat(response.getHeaders().getFirst("X-Last-Seq")).isEqualTo("120");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(410);
+        assertThat(response.getBody().getError()).isEqualTo("Changes Expired");
+    }
+
+    @Test
+    @DisplayName("Should handle ReadOnlyReplicaException with Allow and X-Leader-Url")
+    void shouldHandleReadOnlyReplicaException() {
+        ReadOnlyReplicaException ex = new ReadOnlyReplicaException("Writes go to the leader", "http://leader:8080");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleReadOnlyReplicaException(ex, webRequest);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.METHOD_NOT_ALLOWED);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ALLOW)).isEqualTo("GET, HEAD, OPTIONS");
+        assertThat(response.getHeaders().getFirst("X-Leader-Url")).isEqualTo("http://leader:8080");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(405);
+        assertThat(response.getBody().getError()).isEqualTo("Read-Only Replica");
+    }
+
     @Test
     @DisplayName("Should handle ValidationException")
     void shouldHandleValidationException() {
@@ -0,0 +1,20 @@
+package com.example.bookstore.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitExceededException Tests")
+class RateLimitExceededExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message and retry hint")
+    void shouldCreateExceptionWithMessageAndRetryHint() {
+        RateLimitExceededException ex = new RateLimitExceededException("Rate limit exceeded", 4);
+
+        assertThat(ex.getMessage()).isEqualTo("Rate limit exceeded");
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(4);
+        assertThat(ex).isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReadOnlyReplicaException Tests")
+class ReadOnlyReplicaExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message and the leader to write to")
+    void shouldCreateExceptionWithMessageAndLeaderUrl() {
+        ReadOnlyReplicaException ex = new ReadOnlyReplicaException("Writes go to the leader", "http://leader:8080");
+
+        assertThat(ex.getMessage()).isEqualTo("Writes go to the leader");
+        assertThat(ex.getLeaderUrl()).isEqualTo("http://leader:8080");
+        assertThat(ex).isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ServiceUnavailableException Tests")
+class ServiceUnavailableExceptionTest {
+
+    @Test
+    @DisplayName("Should create exception with message and retry hint")
+    void shouldCreateExceptionWithMessageAndRetryHint() {
+        ServiceUnavailableException ex = new ServiceUnavailableException("Database busy", 3);
+
+        assertThat(ex.getMessage()).isEqualTo("Database busy");
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(3);
+        assertThat(ex).isInstanceOf(RuntimeException.class);
+    }
+}
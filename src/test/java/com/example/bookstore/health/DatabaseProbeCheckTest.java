@@ -0,0 +1,50 @@
+package com.example.bookstore.health;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DatabaseProbeCheck Tests")
+class DatabaseProbeCheckTest {
+
+    @Test
+    @DisplayName("Should report down within the timeout while no connection is free")
+    void shouldBoundWaitForConnection() throws Exception {
+        CountDownLatch poolFree = new CountDownLatch(1);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(eq(DatabaseProbeCheck.PROBE_SQL), eq(Integer.class))).thenAnswer(invocation -> {
+            // Stands in for a checkout from an exhausted pool, which the query timeout does not cover
+            poolFree.await(5, TimeUnit.SECONDS);
+            return 1;
+        });
+        DatabaseProbeCheck check = new DatabaseProbeCheck(jdbcTemplate, 50);
+        try {
+            long start = System.nanoTime();
+            CheckResult first = check.check();
+            CheckResult second = check.check();
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+            assertThat(first.isUp()).isFalse();
+            assertThat(first.getMessage()).contains("50 ms");
+            assertThat(second.isUp()).isFalse();
+            assertThat(second.getMessage()).contains("still waiting");
+            verify(jdbcTemplate, times(1)).queryForObject(DatabaseProbeCheck.PROBE_SQL, Integer.class);
+
+            poolFree.countDown();
+            Thread.sleep(100);
+            assertThat(check.check().isUp()).isTrue();
+        } finally {
+            check.close();
+        }
+    }
+}
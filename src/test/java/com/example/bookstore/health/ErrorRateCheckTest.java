@@ -0,0 +1,75 @@
+package com.example.bookstore.health;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ErrorRateCheck Tests")
+class ErrorRateCheckTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private ErrorRateCheck check;
+
+    @BeforeEach
+    void setUp() {
+        check = new ErrorRateCheck(10, 0.5, 4, now::get);
+    }
+
+    @Test
+    @DisplayName("Should report down when most recent requests failed")
+    void shouldReportDownAboveThreshold() {
+        check.record(200, false);
+        check.record(500, false);
+        check.record(504, false);
+        check.record(200, true);
+
+        CheckResult result = check.check();
+
+        assertThat(result.isUp()).isFalse();
+        assertThat(result.getDetails()).containsEntry("requests", 4L).containsEntry("errors", 3L);
+    }
+
+    @Test
+    @DisplayName("Should not judge the rate below the minimum number of requests")
+    void shouldIgnoreLowTraffic() {
+        check.record(500, false);
+        check.record(500, false);
+
+        assertThat(check.check().isUp()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not count load shedding and client errors as failures")
+    void shouldIgnoreSheddingAndClientErrors() {
+        check.record(503, false);
+        check.record(429, false);
+        check.record(404, false);
+        check.record(500, false);
+
+        CheckResult result = check.check();
+
+        assertThat(result.isUp()).isTrue();
+        assertThat(result.getDetails()).containsEntry("errors", 1L);
+    }
+
+    @Test
+    @DisplayName("Should forget requests that left the window")
+    void shouldSlideWindow() {
+        for (int i = 0; i < 4; i++) {
+            check.record(500, false);
+        }
+        assertThat(check.check().isUp()).isFalse();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        check.record(200, false);
+
+        CheckResult result = check.check();
+        assertThat(result.isUp()).isTrue();
+        assertThat(result.getDetails()).containsEntry("requests", 1L).containsEntry("errors", 0L);
+    }
+}
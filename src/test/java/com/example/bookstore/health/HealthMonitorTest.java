@@ -0,0 +1,175 @@
+package com.example.bookstore.health;
+
+import com.example.bookstore.config.SchedulingConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HealthMonitor Tests")
+class HealthMonitorTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @DisplayName("Should not be ready before the first run")
+    void shouldNotBeReadyBeforeFirstRun() {
+        HealthMonitor monitor = new HealthMonitor(List.of(check("database", () -> true)), 1000, now::get);
+
+        assertThat(monitor.getSnapshot()).isNull();
+        assertThat(monitor.isReady()).isFalse();
+        assertThat(monitor.isLive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should be ready only while every check passes")
+    void shouldAggregateChecks() {
+        AtomicBoolean databaseUp = new AtomicBoolean(true);
+        HealthMonitor monitor = new HealthMonitor(List.of(
+                check("database", databaseUp::get),
+                check("writeBacklog", () -> true)), 1000, now::get);
+
+        assertThat(monitor.refresh().isReady()).isTrue();
+        assertThat(monitor.isReady()).isTrue();
+
+        databaseUp.set(false);
+        HealthSnapshot snapshot = monitor.refresh();
+        assertThat(snapshot.isReady()).isFalse();
+        assertThat(snapshot.getChecks().get("database").getStatus()).isEqualTo("DOWN");
+        assertThat(snapshot.getChecks().get("writeBacklog").getStatus()).isEqualTo("UP");
+        assertThat(monitor.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should serve cached results without running the checks")
+    void shouldServeCachedResults() {
+        AtomicInteger runs = new AtomicInteger();
+        HealthMonitor monitor = new HealthMonitor(List.of(check("database", () -> {
+            runs.incrementAndGet();
+            return true;
+        })), 1000, now::get);
+        monitor.refresh();
+
+        for (int i = 0; i < 100; i++) {
+            monitor.isReady();
+            monitor.getSnapshot();
+        }
+
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report a throwing check as down")
+    void shouldReportThrowingCheckAsDown() {
+        HealthMonitor monitor = new HealthMonitor(List.of(check("database", () -> {
+            throw new IllegalStateException("boom");
+        })), 1000, now::get);
+
+        CheckResult result = monitor.refresh().getChecks().get("database");
+
+        assertThat(result.isUp()).isFalse();
+        assertThat(result.getMessage()).isEqualTo("IllegalStateException: boom");
+    }
+
+    @Test
+    @DisplayName("Should stop being live and ready when check runs stall")
+    void shouldDetectStaleResults() {
+        HealthMonitor monitor = new HealthMonitor(List.of(check("database", () -> true)), 1000, now::get);
+        monitor.refresh();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertThat(monitor.isLive()).isTrue();
+        assertThat(monitor.isReady()).isTrue();
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(monitor.isLive()).isFalse();
+        assertThat(monitor.isReady()).isFalse();
+        assertThat(monitor.getAgeMillis()).isEqualTo(5001);
+    }
+
+    @Test
+    @DisplayName("Should stay live while a run makes progress through slow checks")
+    void shouldStayLiveThroughSlowChecks() {
+        AtomicBoolean liveDuringRun = new AtomicBoolean();
+        HealthMonitor[] monitor = new HealthMonitor[1];
+        monitor[0] = new HealthMonitor(List.of(
+                check("database", () -> {
+                    now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+                    return false;
+                }),
+                check("pool", () -> {
+                    now.addAndGet(TimeUnit.SECONDS.toNanos(4));
+                    liveDuringRun.set(monitor[0].isLive());
+                    return true;
+                })), 1000, now::get);
+
+        monitor[0].refresh();
+
+        assertThat(liveDuringRun).isTrue();
+        assertThat(monitor[0].isLive()).isTrue();
+        assertThat(monitor[0].isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stay live while a scheduled job blocks the shared scheduler")
+    void shouldStayLiveWhileScheduledJobBlocks() throws Exception {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.register(SchedulingConfig.class, BlockingJob.class);
+            context.registerBean(HealthMonitor.class,
+                    () -> new HealthMonitor(List.of(check("database", () -> true)), 20, System::nanoTime));
+            context.refresh();
+            BlockingJob job = context.getBean(BlockingJob.class);
+            HealthMonitor monitor = context.getBean(HealthMonitor.class);
+            try {
+                assertThat(job.started.await(1, TimeUnit.SECONDS)).isTrue();
+                // Well past the five intervals after which results count as stale
+                Thread.sleep(300);
+
+                assertThat(monitor.isLive()).isTrue();
+                assertThat(monitor.isReady()).isTrue();
+            } finally {
+                job.release.countDown();
+            }
+        }
+    }
+
+    private static ReadinessCheck check(String name, BooleanSupplier up) {
+        return new ReadinessCheck() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public CheckResult check() {
+                return up.getAsBoolean() ? CheckResult.up(Map.of()) : CheckResult.down(name + " failed", Map.of());
+            }
+        };
+    }
+
+    /**
+     * A scheduled job that holds the scheduler thread until released.
+     */
+    static class BlockingJob {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Scheduled(fixedDelay = 10)
+        public void run() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.bookstore.jdbc;
+
+import com.example.bookstore.concurrency.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InstrumentedDataSource Tests")
+class InstrumentedDataSourceTest {
+
+    private SingleConnectionDataSource targetDataSource;
+    private List<StatementExecution> executions;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        targetDataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        executions = new ArrayList<>();
+        InstrumentedDataSource dataSource = new InstrumentedDataSource(targetDataSource,
+                () -> List.of(executions::add));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE books (id INTEGER PRIMARY KEY, title TEXT, price DECIMAL(10, 2))");
+        executions.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        Deadline.bind(null);
+        targetDataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should report update count and parameter types without values")
+    void shouldReportUpdateCountAndParameterTypes() {
+        jdbcTemplate.update("INSERT INTO books (title, price) VALUES (?, ?)", "title 1", new BigDecimal("12.50"));
+
+        assertThat(executions).hasSize(1);
+        StatementExecution execution = executions.get(0);
+        assertThat(execution.getSql()).startsWith("INSERT INTO books");
+        assertThat(execution.getParameterTypes()).containsExactly("String", "BigDecimal");
+        assertThat(execution.getRowCount()).isEqualTo(1);
+        assertThat(execution.isFailed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should count fetched rows once the result set is closed")
+    void shouldCountFetchedRows() {
+        jdbcTemplate.update("INSERT INTO books (title) VALUES ('a'), ('b'), ('c')");
+        executions.clear();
+
+        List<String> titles = jdbcTemplate.queryForList("SELECT title FROM books WHERE id > ?", String.class, 1);
+
+        assertThat(titles).hasSize(2);
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).getRowCount()).isEqualTo(2);
+        assertThat(executions.get(0).getParameterTypes()).containsExactly("Integer");
+        assertThat(executions.get(0).getElapsedNanos()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should report failed statements")
+    void shouldReportFailedStatements() {
+        assertThatThrownBy(() -> jdbcTemplate.queryForList("SELECT * FROM missing_table"))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).isFailed()).isTrue();
+        assertThat(executions.get(0).getRowCount()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should not execute statements once the deadline has passed")
+    void shouldNotExecuteAfterDeadline() {
+        Deadline.bind(Deadline.afterMillis(0));
+
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO books (title) VALUES ('late')"))
+                .isInstanceOf(DataAccessException.class);
+
+        Deadline.bind(null);
+        assertThat(executions).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should interrupt a statement still running at the deadline")
+    void shouldInterruptStatementAtDeadline() {
+        Deadline.bind(Deadline.afterMillis(100));
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> jdbcTemplate.queryForObject(
+                "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n) SELECT COUNT(*) FROM n",
+                Long.class))
+                .isInstanceOf(DataAccessException.class);
+
+        assertThat(System.nanoTime() - start).isLessThan(5_000_000_000L);
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).isFailed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should run statements normally within the deadline")
+    void shouldRunWithinDeadline() {
+        Deadline.bind(Deadline.afterMillis(5_000));
+
+        jdbcTemplate.update("INSERT INTO books (title) VALUES ('on time')");
+
+        assertThat(executions).hasSize(1);
+        assertThat(executions.get(0).isFailed()).isFalse();
+    }
+}
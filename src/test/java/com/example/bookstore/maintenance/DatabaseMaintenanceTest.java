@@ -0,0 +1,307 @@
+package com.example.bookstore.maintenance;
+
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.exception.ValidationException;
+import com.example.bookstore.jdbc.StatementListener;
+import com.example.bookstore.sharding.BookShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the maintenance tasks against database files in a temporary directory.
+ */
+@DisplayName("DatabaseMaintenance Tests")
+class DatabaseMaintenanceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private MaintenanceThrottle throttle;
+    private DatabaseConcurrencyGate gate;
+    private ObjectProvider<BookShards> bookShards;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        file = tempDir.resolve("bookstore.db");
+        throttle = mock(MaintenanceThrottle.class);
+        gate = new DatabaseConcurrencyGate(4, 1, 10, false);
+        bookShards = mock(ObjectProvider.class);
+    }
+
+    @Test
+    @DisplayName("Should free the pages of deleted rows in several steps")
+    void shouldVacuumIncrementally() throws Exception {
+        String url = createBooks(true, true);
+        execute(url, "DELETE FROM books");
+        DatabaseMaintenance maintenance = maintenance(url, 1_000, 16, "PASSIVE");
+
+        MaintenanceResult result =
+                maintenance.run(MaintenanceTask.INCREMENTAL_VACUUM, DatabaseMaintenance.TRIGGER_ADMIN);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+        assertThat(result.steps()).isGreaterThan(2);
+        Map<String, Object> details = result.details();
+        assertThat((Long) details.get("freePagesBefore")).isGreaterThan(16);
+        assertThat(details.get("pagesFreed")).isEqualTo(details.get("freePagesBefore"));
+        assertThat(details.get("freePagesAfter")).isEqualTo(0L);
+        assertThat((Long) details.get("bytesAfter")).isLessThan((Long) details.get("bytesBefore"));
+    }
+
+    @Test
+    @DisplayName("Should switch a file to incremental auto_vacuum when conversion is enabled")
+    void shouldConvertToIncrementalAutoVacuum() throws Exception {
+        String url = createBooks(true, false);
+        execute(url, "DELETE FROM books WHERE id % 2 = 0");
+        DatabaseMaintenance maintenance = new DatabaseMaintenance(new JdbcTemplate(new DriverManagerDataSource(url)),
+                bookShards, throttle, gate, 10, 1_000, 400, 0, 16, true, "PASSIVE", 500, 0);
+
+        MaintenanceResult result =
+                maintenance.run(MaintenanceTask.INCREMENTAL_VACUUM, DatabaseMaintenance.TRIGGER_ADMIN);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+        assertThat(result.details()).containsEntry("converted", true).containsEntry("freePagesAfter", 0L);
+        assertThat((Long) result.details().get("pagesFreed")).isPositive();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        assertThat(jdbcTemplate.queryForObject("PRAGMA auto_vacuum", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("Should skip the incremental vacuum when auto_vacuum is not incremental")
+    void shouldSkipVacuumWithoutAutoVacuum() throws Exception {
+        String url = createBooks(true, false);
+
+        MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                .run(MaintenanceTask.INCREMENTAL_VACUUM, DatabaseMaintenance.TRIGGER_SCHEDULE);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.SKIPPED);
+        assertThat(result.steps()).isZero();
+        assertThat(result.error()).contains("auto_vacuum");
+    }
+
+    @Test
+    @DisplayName("Should checkpoint the WAL and report its size before and after")
+    void shouldCheckpoint() throws Exception {
+        String url = createBooks(true, false);
+        // An open connection keeps the WAL from being checkpointed and removed when the others close
+        try (Connection holder = DriverManager.getConnection(url)) {
+            execute(holder, "UPDATE books SET title = title || '!'");
+            assertThat(Files.size(Path.of(file + "-wal"))).isPositive();
+
+            MaintenanceResult result = maintenance(url, 1_000, 16, "TRUNCATE")
+                    .run(MaintenanceTask.CHECKPOINT, DatabaseMaintenance.TRIGGER_ADMIN);
+
+            assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+            assertThat((Long) result.details().get("walBytesBefore")).isPositive();
+            assertThat(result.details()).containsEntry("busy", false).containsEntry("walBytesAfter", 0L);
+            assertThat(result.details().get("checkpointedFrames")).isEqualTo(result.details().get("walFrames"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip the checkpoint when the database is not in WAL mode")
+    void shouldSkipCheckpointWithoutWal() throws Exception {
+        String url = createBooks(false, false);
+
+        MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                .run(MaintenanceTask.CHECKPOINT, DatabaseMaintenance.TRIGGER_ADMIN);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.SKIPPED);
+    }
+
+    @Test
+    @DisplayName("Should analyze one table per step")
+    void shouldAnalyzeEachTable() throws Exception {
+        String url = createBooks(true, false);
+        execute(url, "CREATE TABLE book_changes (seq INTEGER PRIMARY KEY, book_id INTEGER NOT NULL)");
+
+        MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                .run(MaintenanceTask.ANALYZE, DatabaseMaintenance.TRIGGER_ADMIN);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+        assertThat(result.steps()).isEqualTo(2);
+        assertThat((Map<?, ?>) result.details().get("tableMs")).containsOnlyKeys("book_changes", "books");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sqlite_stat1 WHERE tbl = 'books'", Long.class))
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Should run PRAGMA optimize")
+    void shouldOptimize() throws Exception {
+        String url = createBooks(true, false);
+
+        MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                .run(MaintenanceTask.OPTIMIZE, DatabaseMaintenance.TRIGGER_SCHEDULE);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+        assertThat(result.steps()).isEqualTo(1);
+        assertThat(result.details()).containsKeys("analysisLimit", "analyzed");
+    }
+
+    @Test
+    @DisplayName("Should purge tombstones older than the retention in batches")
+    void shouldPurgeOldTombstones() throws Exception {
+        String url = createBooks(true, false);
+        long now = System.currentTimeMillis();
+        execute(url, "ALTER TABLE books ADD COLUMN deleted_at INTEGER");
+        execute(url, "UPDATE books SET deleted_at = " + (now - 3_600_000) + " WHERE id <= 10");
+        execute(url, "UPDATE books SET deleted_at = " + now + " WHERE id IN (11, 12)");
+
+        MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                .run(MaintenanceTask.PURGE_TOMBSTONES, DatabaseMaintenance.TRIGGER_SCHEDULE);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+        assertThat(result.steps()).isEqualTo(4);
+        assertThat(result.details()).containsEntry("rowsPurged", 10L).containsEntry("batchSize", 3);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE deleted_at IS NOT NULL", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isEqualTo(1_990L);
+    }
+
+    @Test
+    @DisplayName("Should purge old tombstones on every shard in sharded mode")
+    @SuppressWarnings("unchecked")
+    void shouldPurgeTombstonesOnEveryShard() throws Exception {
+        String url = createBooks(true, false);
+        execute(url, "ALTER TABLE books ADD COLUMN deleted_at INTEGER");
+        ObjectProvider<StatementListener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenReturn(Stream.empty());
+        BookShards shards = new BookShards(2, tempDir.resolve("shards").toString(), 1, listeners);
+        try {
+            long old = System.currentTimeMillis() - 3_600_000;
+            for (int shard = 0; shard < 2; shard++) {
+                JdbcTemplate shardJdbc = shards.jdbc(shard).getJdbcTemplate();
+                for (int i = 0; i < 4; i++) {
+                    shardJdbc.update("INSERT INTO books (title, author, deleted_at) VALUES ('title', 'author', ?)",
+                            i < 3 ? old : null);
+                }
+            }
+            when(bookShards.getIfAvailable()).thenReturn(shards);
+
+            MaintenanceResult result = maintenance(url, 1_000, 16, "PASSIVE")
+                    .run(MaintenanceTask.PURGE_TOMBSTONES, DatabaseMaintenance.TRIGGER_ADMIN);
+
+            assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+            assertThat(result.details()).containsEntry("rowsPurged", 6L).containsEntry("shards", 2);
+            for (int shard = 0; shard < 2; shard++) {
+                assertThat(shards.jdbc(shard).getJdbcTemplate()
+                        .queryForObject("SELECT COUNT(*) FROM books", Long.class)).isEqualTo(1L);
+            }
+        } finally {
+            shards.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should give up after the maximum wait while the load stays high")
+    void shouldGiveUpWhileBusy() throws Exception {
+        String url = createBooks(true, false);
+        when(throttle.busyReason()).thenReturn("3 writes queued");
+
+        MaintenanceResult result = maintenance(url, 30, 16, "PASSIVE")
+                .run(MaintenanceTask.ANALYZE, DatabaseMaintenance.TRIGGER_SCHEDULE);
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.THROTTLED);
+        assertThat(result.steps()).isZero();
+        assertThat(result.throttledMillis()).isGreaterThanOrEqualTo(30);
+        assertThat(result.error()).contains("3 writes queued");
+    }
+
+    @Test
+    @DisplayName("Should wait while requests hold the write permit")
+    void shouldYieldToWriters() throws Exception {
+        String url = createBooks(true, false);
+        DatabaseMaintenance maintenance = maintenance(url, 30, 16, "PASSIVE");
+
+        MaintenanceResult result;
+        try (DatabaseConcurrencyGate.Permit ignored = gate.acquireWrite()) {
+            result = maintenance.run(MaintenanceTask.CHECKPOINT, DatabaseMaintenance.TRIGGER_ADMIN);
+        }
+
+        assertThat(result.outcome()).isEqualTo(MaintenanceResult.Outcome.THROTTLED);
+        assertThat(result.error()).contains("write permit");
+        assertThat(maintenance.getStatus()).containsEntry("throttled", 1L);
+
+        assertThat(maintenance.run(MaintenanceTask.CHECKPOINT, DatabaseMaintenance.TRIGGER_ADMIN).outcome())
+                .isEqualTo(MaintenanceResult.Outcome.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should look up tasks by path and reject invalid settings")
+    void shouldValidateTasksAndSettings() {
+        assertThat(MaintenanceTask.fromPath("incremental-vacuum")).isEqualTo(MaintenanceTask.INCREMENTAL_VACUUM);
+        assertThatThrownBy(() -> MaintenanceTask.fromPath("vacuum"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("checkpoint");
+        assertThatThrownBy(() -> maintenance("jdbc:sqlite:" + file, 1_000, 16, "SOMETIMES"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DatabaseMaintenance maintenance(String url, long maxWaitMillis, int pagesPerStep, String checkpointMode) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url));
+        return new DatabaseMaintenance(jdbcTemplate, bookShards, throttle, gate, 10, maxWaitMillis, 400, 0,
+                pagesPerStep, false, checkpointMode, 3, 60_000);
+    }
+
+    private String createBooks(boolean wal, boolean incrementalVacuum) throws Exception {
+        String url = "jdbc:sqlite:" + file;
+        try (Connection connection = DriverManager.getConnection(url)) {
+            // auto_vacuum must be set before the first write to the file, which switching to WAL is
+            if (incrementalVacuum) {
+                execute(connection, "PRAGMA auto_vacuum = INCREMENTAL");
+            }
+            if (wal) {
+                execute(connection, "PRAGMA journal_mode = WAL");
+            }
+            execute(connection, "CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "author TEXT NOT NULL)");
+            execute(connection, "CREATE INDEX idx_books_author ON books (author)");
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO books (title, author) VALUES (?, ?)")) {
+                for (int i = 0; i < 2_000; i++) {
+                    insert.setString(1, "title " + i + " " + "x".repeat(100));
+                    insert.setString(2, "author " + (i % 50));
+                    insert.executeUpdate();
+                }
+            }
+            connection.commit();
+        }
+        return url;
+    }
+
+    private static void execute(String url, String sql) throws Exception {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            execute(connection, sql);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.bookstore.migration;
+
+import com.example.bookstore.concurrency.DatabaseConcurrencyGate;
+import com.example.bookstore.maintenance.MaintenanceThrottle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the ISBN backfill against a migrated database file in a temporary directory.
+ */
+@DisplayName("BackfillRunner Tests")
+class BackfillRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private MaintenanceThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:sqlite:" + tempDir.resolve("bookstore.db"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        throttle = mock(MaintenanceThrottle.class);
+        new SchemaMigrator(dataSource, SchemaMigrator.DEFAULT_LOCATION).migrate();
+        for (int i = 1; i <= 25; i++) {
+            jdbcTemplate.update("INSERT INTO books (id, title, author, isbn) VALUES (?, 'Title', 'Author', ?)",
+                    i, i % 5 == 0 ? null : "978-" + i + " x");
+        }
+        // As if the books predated the migration and its triggers
+        jdbcTemplate.update("UPDATE books SET isbn_normalized = NULL");
+    }
+
+    @Test
+    @DisplayName("Should fill the normalized ISBN of existing books in batches")
+    void shouldBackfillInBatches() {
+        BackfillRunner runner = runner(true);
+
+        runner.runAll();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE isbn IS NOT NULL AND isbn_normalized IS NULL", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT isbn_normalized FROM books WHERE id = 7", String.class))
+                .isEqualTo("9787X");
+        Map<String, Object> status = runner.getStatus();
+        assertThat(status).containsEntry("batches", 4L);
+        Map<?, ?> backfill = (Map<?, ?>) ((List<?>) status.get("backfills")).get(0);
+        assertThat(backfill.get("state")).isEqualTo("COMPLETED");
+        assertThat(backfill.get("lastKey")).isEqualTo(25L);
+        assertThat(backfill.get("rowsUpdated")).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("Should resume after the last recorded batch and not run again once completed")
+    void shouldResumeFromRecordedKey() {
+        jdbcTemplate.update("INSERT INTO schema_backfills (name, version, last_key, rows_updated, started_at) "
+                + "VALUES ('isbn_normalized', 2, 14, 12, 0)");
+
+        runner(true).runAll();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM books WHERE isbn_normalized IS NULL AND isbn IS NOT NULL", Integer.class))
+                .isEqualTo(12);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT rows_updated FROM schema_backfills WHERE name = 'isbn_normalized'", Long.class))
+                .isEqualTo(20L);
+
+        jdbcTemplate.update("UPDATE books SET isbn_normalized = NULL");
+        BackfillRunner again = runner(true);
+        again.runAll();
+        assertThat(again.getStatus()).containsEntry("batches", 0L);
+    }
+
+    @Test
+    @DisplayName("Should wait while the load is high")
+    void shouldWaitWhileBusy() {
+        when(throttle.busyReason()).thenReturn("3 writes queued", (String) null);
+
+        BackfillRunner runner = runner(true);
+        runner.runAll();
+
+        assertThat((Long) runner.getStatus().get("throttledMs")).isPositive();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT completed_at FROM schema_backfills WHERE name = 'isbn_normalized'", Long.class)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should report a pending backfill before it runs")
+    void shouldReportPendingBackfill() {
+        Map<String, Object> status = runner(false).getStatus();
+
+        assertThat(status).containsEntry("enabled", false);
+        Map<?, ?> backfill = (Map<?, ?>) ((List<?>) status.get("backfills")).get(0);
+        assertThat(backfill.get("name")).isEqualTo("isbn_normalized");
+        assertThat(backfill.get("state")).isEqualTo("PENDING");
+    }
+
+    private BackfillRunner runner(boolean enabled) {
+        return new BackfillRunner(new NamedParameterJdbcTemplate(dataSource),
+                new DataSourceTransactionManager(dataSource), List.of(new IsbnNormalizedBackfill()), throttle,
+                new DatabaseConcurrencyGate(4, 1, 10, false), enabled, 7, 0, 10);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.bookstore.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SchemaMigrator Tests")
+class SchemaMigratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should apply the bundled migrations in order and only once")
+    void shouldApplyBundledMigrations() {
+        SchemaMigrator migrator = new SchemaMigrator(dataSource, SchemaMigrator.DEFAULT_LOCATION);
+
+        List<AppliedMigration> applied = migrator.migrate();
+
+        assertThat(applied).extracting(AppliedMigration::version).containsExactly(1, 2);
+        assertThat(applied.get(1).description()).isEqualTo("isbn normalized");
+        assertThat(migrator.currentVersion()).isEqualTo(2);
+        assertThat(migrator.migrate()).isEmpty();
+        assertThat(migrator.appliedMigrations()).extracting(AppliedMigration::checksum)
+                .containsExactlyElementsOf(migrator.findMigrations().stream().map(Migration::checksum).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep the normalized ISBN current through the triggers")
+    void shouldMaintainNormalizedIsbn() {
+        new SchemaMigrator(dataSource, SchemaMigrator.DEFAULT_LOCATION).migrate();
+
+        jdbcTemplate.update("INSERT INTO books (id, title, author, isbn) VALUES (1, 'Title', 'Author', '978-0 13-x')");
+        jdbcTemplate.update("INSERT INTO books (id, title, author) VALUES (2, 'Title', 'Author')");
+        assertThat(normalizedIsbn(1)).isEqualTo("978013X");
+        assertThat(normalizedIsbn(2)).isNull();
+
+        jdbcTemplate.update("UPDATE books SET isbn = '1-2-3' WHERE id = 2");
+        jdbcTemplate.update("UPDATE books SET isbn = NULL WHERE id = 1");
+        assertThat(normalizedIsbn(2)).isEqualTo("123");
+        assertThat(normalizedIsbn(1)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should adopt a database created before migrations were versioned")
+    void shouldAdoptUnversionedDatabase() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/migration/V1__baseline.sql"));
+        }
+        jdbcTemplate.update("INSERT INTO books (title, author, isbn) VALUES ('Title', 'Author', '978-0')");
+
+        List<AppliedMigration> applied = new SchemaMigrator(dataSource, SchemaMigrator.DEFAULT_LOCATION).migrate();
+
+        assertThat(applied).extracting(AppliedMigration::version).containsExactly(1, 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books WHERE isbn_normalized IS NULL",
+                Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when an applied migration was changed")
+    void shouldRejectChangedMigration() throws Exception {
+        script("V1__create_things.sql", "CREATE TABLE things (id INTEGER PRIMARY KEY);");
+        migrator().migrate();
+
+        script("V1__create_things.sql", "CREATE TABLE things (id INTEGER PRIMARY KEY, name TEXT);");
+
+        assertThatThrownBy(() -> migrator().migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V1 (create things) was changed");
+    }
+
+    @Test
+    @DisplayName("Should ignore a change of line endings only")
+    void shouldIgnoreLineEndings() throws Exception {
+        script("V1__create_things.sql", "CREATE TABLE things (\n    id INTEGER PRIMARY KEY\n);\n");
+        migrator().migrate();
+
+        script("V1__create_things.sql", "CREATE TABLE things (\r\n    id INTEGER PRIMARY KEY\r\n);\r\n");
+
+        assertThat(migrator().migrate()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should roll back a failing migration with its version row")
+    void shouldRollBackFailingMigration() throws Exception {
+        script("V1__create_things.sql", "CREATE TABLE things (id INTEGER PRIMARY KEY);");
+        script("V2__broken.sql", "CREATE TABLE others (id INTEGER PRIMARY KEY);\nINSERT INTO missing VALUES (1);");
+
+        assertThatThrownBy(() -> migrator().migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V2 (broken) failed and was rolled back");
+
+        assertThat(migrator().currentVersion()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sqlite_master WHERE name = 'others'", Integer.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject migrations older than the applied version and applied versions without a script")
+    void shouldRejectOutOfOrderMigrations() throws Exception {
+        script("V1__create_things.sql", "CREATE TABLE things (id INTEGER PRIMARY KEY);");
+        script("V3__create_others.sql", "CREATE TABLE others (id INTEGER PRIMARY KEY);");
+        migrator().migrate();
+
+        script("V2__late.sql", "CREATE TABLE late (id INTEGER PRIMARY KEY);");
+        assertThatThrownBy(() -> migrator().migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("older than the applied V3");
+
+        Files.delete(tempDir.resolve("V2__late.sql"));
+        Files.delete(tempDir.resolve("V3__create_others.sql"));
+        assertThatThrownBy(() -> migrator().migrate())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("V3 (create others) has no script");
+    }
+
+    @Test
+    @DisplayName("Should split statements at semicolons and triggers at END")
+    void shouldSplitStatements() {
+        List<String> statements = SchemaMigrator.statements("""
+                -- a comment; with a semicolon
+                CREATE TABLE things (
+                    id INTEGER PRIMARY KEY
+                );
+
+                CREATE TRIGGER things_insert AFTER INSERT ON things
+                BEGIN
+                    UPDATE things SET id = id WHERE id = NEW.id;
+                    DELETE FROM things WHERE id < 0;
+                END;
+                CREATE INDEX idx ON things (id)
+                """);
+
+        assertThat(statements).hasSize(3);
+        assertThat(statements.get(0)).startsWith("CREATE TABLE").endsWith(");");
+        assertThat(statements.get(1)).startsWith("CREATE TRIGGER").contains("DELETE FROM").endsWith("END;");
+        assertThat(statements.get(2)).isEqualTo("CREATE INDEX idx ON things (id)");
+    }
+
+    @Test
+    @DisplayName("Should reject file names without a version")
+    void shouldRejectInvalidFileName() {
+        assertThatThrownBy(() -> Migration.of("create_things.sql", ""))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("V<version>__<description>.sql");
+    }
+
+    private SchemaMigrator migrator() {
+        return new SchemaMigrator(dataSource, "file:" + tempDir);
+    }
+
+    private void script(String name, String sql) throws Exception {
+        Files.writeString(tempDir.resolve(name), sql);
+    }
+
+    private String normalizedIsbn(long id) {
+        return jdbcTemplate.queryForObject("SELECT isbn_normalized FROM books WHERE id = ?", String.class, id);
+    }
+}
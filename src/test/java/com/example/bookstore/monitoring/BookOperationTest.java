@@ -0,0 +1,62 @@
+package com.example.bookstore.monitoring;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookOperation Tests")
+class BookOperationTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should emit a Flight Recorder event while recording")
+    void shouldEmitEventWhileRecording() throws Exception {
+        Path file = tempDir.resolve("operations.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(BookOperationEvent.class).withThreshold(java.time.Duration.ZERO);
+            recording.start();
+
+            try (BookOperation operation = BookOperation.begin("getBookById", 42L)) {
+                operation.rows(1);
+            }
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.example.bookstore.BookOperation"))
+                .toList();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("operation")).isEqualTo("getBookById");
+        assertThat(events.get(0).getString("key")).isEqualTo("42");
+        assertThat(events.get(0).getInt("rows")).isEqualTo(1);
+        assertThat(events.get(0).getBoolean("failed")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record service time against the current request")
+    void shouldRecordServiceTimeAgainstCurrentRequest() {
+        RequestTimings.setEnabled(true);
+        RequestTiming timing = new RequestTiming();
+        RequestTimings.bind(timing);
+        try (BookOperation operation = BookOperation.begin("getAllBooks", null)) {
+            operation.rows(0);
+        } finally {
+            RequestTimings.bind(null);
+            RequestTimings.setEnabled(false);
+        }
+
+        assertThat(timing.toHeaderValue()).contains("service;dur=");
+    }
+}
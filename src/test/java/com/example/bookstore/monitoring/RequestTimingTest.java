@@ -0,0 +1,46 @@
+package com.example.bookstore.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestTiming Tests")
+class RequestTimingTest {
+
+    @Test
+    @DisplayName("Should render all recorded phases")
+    void shouldRenderRecordedPhases() {
+        RequestTiming timing = new RequestTiming();
+        timing.handlerStarted();
+        timing.serviceStarted();
+        timing.addStatement(2_000_000L);
+        timing.addStatement(1_000_000L);
+        timing.addMapping(500_000L);
+        timing.serviceFinished();
+        timing.serializationStarted();
+
+        String header = timing.toHeaderValue();
+
+        assertThat(header)
+                .contains("validation;dur=")
+                .contains("service;dur=")
+                .contains("db;dur=3.000;desc=\"2 statements\"")
+                .contains("mapping;dur=0.500")
+                .contains("serialization;dur=")
+                .contains("total;dur=");
+        assertThat(timing.getDbStatements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should count nested service operations once")
+    void shouldCountNestedServiceOperationsOnce() {
+        RequestTiming timing = new RequestTiming();
+        timing.serviceStarted();
+        timing.serviceStarted();
+        timing.serviceFinished();
+        timing.serviceFinished();
+
+        assertThat(timing.toHeaderValue()).startsWith("service;dur=");
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.controller.BookController;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.events.BookWatchRegistry;
+import com.example.bookstore.service.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("ServerTimingFilter Tests")
+class ServerTimingFilterTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("Should add Server-Timing header with phase breakdown when enabled")
+    void shouldAddHeaderWhenEnabled() throws Exception {
+        MockMvc mockMvc = buildMockMvc(true);
+
+        mockMvc.perform(get("/api/books/1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("book title 1"))
+            .andExpect(header().string(ServerTimingFilter.SERVER_TIMING_HEADER, allOf(
+                    containsString("validation;dur="),
+                    containsString("db;dur="),
+                    containsString("serialization;dur="),
+                    containsString("total;dur="))));
+    }
+
+    @Test
+    @DisplayName("Should not add Server-Timing header when disabled")
+    void shouldNotAddHeaderWhenDisabled() throws Exception {
+        MockMvc mockMvc = buildMockMvc(false);
+
+        mockMvc.perform(get("/api/books/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+
+    private MockMvc buildMockMvc(boolean enabled) {
+        BookService bookService = mock(BookService.class);
+        BookResponse response = new BookResponse();
+        response.setId(1L);
+        response.setTitle("book title 1");
+        when(bookService.getBookById(1L)).thenReturn(response);
+        BookWatchRegistry bookWatchRegistry = new BookWatchRegistry(mock(ChangeLog.class), 1000, 1000, 10);
+        return MockMvcBuilders.standaloneSetup(new BookController(bookService, bookWatchRegistry))
+                .addFilters(new ServerTimingFilter(enabled))
+                .addInterceptors(new ServerTimingInterceptor())
+                .setControllerAdvice(new ServerTimingResponseBodyAdvice())
+                .build();
+    }
+}
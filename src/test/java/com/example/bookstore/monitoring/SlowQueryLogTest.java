@@ -0,0 +1,81 @@
+package com.example.bookstore.monitoring;
+
+import com.example.bookstore.jdbc.StatementExecution;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SlowQueryLog Tests")
+class SlowQueryLogTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY, title TEXT, isbn TEXT UNIQUE)");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("Should ignore statements below the threshold")
+    void shouldIgnoreFastStatements() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(100, 10, true);
+
+        slowQueryLog.afterStatement(execution("SELECT * FROM books WHERE id = ?", 1_000_000L));
+
+        assertThat(slowQueryLog.getSlowest()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should capture query plan and flag full scans of books")
+    void shouldFlagFullScans() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, true);
+
+        slowQueryLog.afterStatement(execution("SELECT * FROM books WHERE title LIKE '%' || ? || '%'", 5_000_000L));
+        slowQueryLog.afterStatement(execution("SELECT * FROM books WHERE isbn = ?", 1_000_000L));
+
+        List<SlowQuery> slowest = slowQueryLog.getSlowest();
+        assertThat(slowest).hasSize(2);
+        assertThat(slowest.get(0).isFullTableScan()).isTrue();
+        assertThat(slowest.get(0).getQueryPlan()).isNotEmpty();
+        assertThat(slowest.get(1).isFullTableScan()).isFalse();
+        assertThat(slowest.get(1).getParameterTypes()).containsExactly("String");
+    }
+
+    @Test
+    @DisplayName("Should retain only the slowest statements up to capacity")
+    void shouldRetainSlowestUpToCapacity() {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 2, false);
+
+        slowQueryLog.afterStatement(execution("SELECT 1", 1_000_000L));
+        slowQueryLog.afterStatement(execution("SELECT 2", 3_000_000L));
+        slowQueryLog.afterStatement(execution("SELECT 3", 2_000_000L));
+
+        assertThat(slowQueryLog.getSlowest())
+                .extracting(SlowQuery::getSql)
+                .containsExactly("SELECT 2", "SELECT 3");
+
+        slowQueryLog.clear();
+        assertThat(slowQueryLog.getSlowest()).isEmpty();
+    }
+
+    private StatementExecution execution(String sql, long elapsedNanos) {
+        return new StatementExecution(sql, List.of("String"), 1, elapsedNanos, false, connection);
+    }
+}
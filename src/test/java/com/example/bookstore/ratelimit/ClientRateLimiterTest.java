@@ -0,0 +1,133 @@
+package com.example.bookstore.ratelimit;
+
+import com.example.bookstore.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ClientRateLimiter Tests")
+class ClientRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private ClientRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new ClientRateLimiter(true, now::get);
+        rateLimiter.updatePolicy(RateLimitCategory.READ, new RateLimitPolicy(10, 5));
+        rateLimiter.updatePolicy(RateLimitCategory.SEARCH, new RateLimitPolicy(1, 2));
+        rateLimiter.updatePolicy(RateLimitCategory.WRITE, new RateLimitPolicy(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should allow a burst and then the sustained rate")
+    void shouldAllowBurstThenSustainedRate() {
+        for (int i = 0; i < 5; i++) {
+            RateLimitDecision decision = rateLimiter.check("ip:a", RateLimitCategory.READ);
+            assertThat(decision.isAllowed()).isTrue();
+            assertThat(decision.getRemaining()).isEqualTo(4 - i);
+        }
+        RateLimitDecision rejected = rateLimiter.check("ip:a", RateLimitCategory.READ);
+        assertThat(rejected.isAllowed()).isFalse();
+        assertThat(rejected.getRetryAfterSeconds()).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.READ).isAllowed()).isTrue();
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.READ).isAllowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep clients and categories independent")
+    void shouldKeepBucketsIndependent() {
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.WRITE).isAllowed()).isTrue();
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.WRITE).isAllowed()).isFalse();
+
+        assertThat(rateLimiter.check("ip:b", RateLimitCategory.WRITE).isAllowed()).isTrue();
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.READ).isAllowed()).isTrue();
+        assertThat(rateLimiter.check("ip:a", RateLimitCategory.SEARCH).isAllowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that have fully refilled")
+    void shouldEvictIdleBuckets() {
+        rateLimiter.check("ip:idle", RateLimitCategory.READ);
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.check("ip:busy", RateLimitCategory.SEARCH);
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertThat(rateLimiter.evictIdleBuckets()).isEqualTo(1);
+        assertThat(rateLimiter.getTrackedClients()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should track many distinct clients")
+    void shouldTrackManyClients() {
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(rateLimiter.check("ip:" + i, RateLimitCategory.READ).isAllowed()).isTrue();
+        }
+        assertThat(rateLimiter.getTrackedClients()).isEqualTo(100_000);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        rateLimiter.evictIdleBuckets();
+        assertThat(rateLimiter.getTrackedClients()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should add RateLimit headers and reject with 429 through the interceptor")
+    void interceptorShouldAddHeadersAndReject() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, Set.of("partner-1"));
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/api/books");
+        first.addHeader("X-API-Key", "partner-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(first, response, new Object());
+
+        assertThat(response.getHeader("RateLimit-Limit")).isEqualTo("1");
+        assertThat(response.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(response.getHeader("RateLimit-Policy")).isEqualTo("1;w=1");
+
+        MockHttpServletRequest second = new MockHttpServletRequest("PUT", "/api/books/1");
+        second.addHeader("X-API-Key", "partner-1");
+        assertThatThrownBy(() -> interceptor.preHandle(second, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        MockHttpServletRequest otherClient = new MockHttpServletRequest("POST", "/api/books");
+        assertThat(interceptor.preHandle(otherClient, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should limit requests with unknown API keys by remote address")
+    void interceptorShouldIgnoreUnknownKeys() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(rateLimiter, Set.of("partner-1"));
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/api/books");
+        first.addHeader("X-API-Key", "forged-1");
+        interceptor.preHandle(first, new MockHttpServletResponse(), new Object());
+
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", "/api/books");
+        second.addHeader("X-API-Key", "forged-2");
+        assertThatThrownBy(() -> interceptor.preHandle(second, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        MockHttpServletRequest partner = new MockHttpServletRequest("POST", "/api/books");
+        partner.addHeader("X-API-Key", "partner-1");
+        assertThat(interceptor.preHandle(partner, new MockHttpServletResponse(), new Object())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should classify searches separately from reads")
+    void shouldClassifyCategories() {
+        assertThat(RateLimitCategory.of("GET", "/api/books/search")).isEqualTo(RateLimitCategory.SEARCH);
+        assertThat(RateLimitCategory.of("GET", "/api/books/isbn/1")).isEqualTo(RateLimitCategory.READ);
+        assertThat(RateLimitCategory.of("DELETE", "/api/books/1")).isEqualTo(RateLimitCategory.WRITE);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.ReplicatedChange;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.events.BookEvent;
+import com.example.bookstore.events.BookEventType;
+import com.example.bookstore.migration.SchemaMigrator;
+import com.example.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replicates between two SQLite databases standing in for a leader and a follower host: a
+ * snapshot of the leader is restored on the follower, then batches of changes are applied.
+ */
+@DisplayName("ReplicaApplier Tests")
+class ReplicaApplierTest {
+
+    private SingleConnectionDataSource leaderDataSource;
+    private SingleConnectionDataSource followerDataSource;
+    private JdbcTemplate leader;
+    private JdbcTemplate follower;
+    private ChangeLog leaderChangeLog;
+    private BookRepository bookRepository;
+    private BookCache bookCache;
+    private ApplicationEventPublisher eventPublisher;
+    private ReplicaApplier applier;
+
+    @BeforeEach
+    void setUp() {
+        leaderDataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        followerDataSource = new SingleConnectionDataSource("jdbc:sqlite::memory:", true);
+        leader = new JdbcTemplate(leaderDataSource);
+        follower = new JdbcTemplate(followerDataSource);
+        new SchemaMigrator(leaderDataSource, SchemaMigrator.DEFAULT_LOCATION).migrate();
+        new SchemaMigrator(followerDataSource, SchemaMigrator.DEFAULT_LOCATION).migrate();
+        leaderChangeLog = new ChangeLog(new NamedParameterJdbcTemplate(leader), 604_800_000, 1_000_000);
+        bookRepository = mock(BookRepository.class);
+        bookCache = new BookCache(true, 100);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        NamedParameterJdbcTemplate followerJdbc = new NamedParameterJdbcTemplate(follower);
+        applier = new ReplicaApplier(followerJdbc, bookRepository,
+                new ChangeLog(followerJdbc, 604_800_000, 1_000_000), bookCache, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        leaderDataSource.destroy();
+        followerDataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Should restore the books, change log and sequence of a leader snapshot")
+    void shouldRestoreSnapshot() throws IOException {
+        insertOnLeader(1, "Dune", "978-0-00-000001-1", 5);
+        insertOnLeader(2, "Emma", "978-0-00-000002-2", 3);
+        leader.update("INSERT INTO books (id, title, author, isbn, deleted_at) VALUES (3, 'Gone', 'Author', '978-0-00-000001-1', 1000)");
+        follower.update("INSERT INTO books (id, title, author, isbn, price, quantity) VALUES (9, 'Stale', 'X', NULL, 1, 1)");
+        bookCache.put(book(9, "Stale", null), bookCache.generation());
+        ReplicationSource source = new ReplicationSource(leaderChangeLog, bookRepository, leader);
+
+        Path snapshot = source.createSnapshot();
+        long seq;
+        try {
+            seq = applier.restore(snapshot);
+        } finally {
+            source.deleteSnapshot(snapshot);
+        }
+
+        assertThat(seq).isEqualTo(2);
+        assertThat(applier.getAppliedSeq()).isEqualTo(2);
+        assertThat(follower.queryForList("SELECT title FROM books WHERE deleted_at IS NULL ORDER BY id", String.class))
+                .containsExactly("Dune", "Emma");
+        assertThat(follower.queryForObject("SELECT deleted_at FROM books WHERE id = 3", Long.class)).isEqualTo(1000L);
+        assertThat(follower.queryForObject("SELECT isbn_normalized FROM books WHERE id = 1", String.class))
+                .isEqualTo("9780000000011");
+        assertThat(follower.queryForObject("SELECT COUNT(*) FROM book_changes", Integer.class)).isEqualTo(2);
+        assertThat(bookCache.getById(9L)).isNull();
+        assertThat(Files.exists(snapshot)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply rows and log entries under the leader's sequence numbers")
+    void shouldApplyChanges() {
+        follower.update("INSERT INTO books (id, title, author, isbn, price, quantity) VALUES (2, 'Emma', 'Austen', '978-0-00-000002-2', 5, 3)");
+        Book deleted = book(2, "Emma", "978-0-00-000002-2");
+        when(bookRepository.findById(2L)).thenReturn(Optional.of(deleted));
+        bookCache.put(deleted, bookCache.generation());
+
+        long seq = applier.apply(List.of(
+                change(11, 1, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS, response(1, "Dune", "978-0-00-000001-1", 7)),
+                change(12, 1, ChangeOperation.UPDATE, List.of("quantity"), response(1, "Dune", "978-0-00-000001-1", 7)),
+                change(13, 2, ChangeOperation.DELETE, List.of(), null)));
+
+        assertThat(seq).isEqualTo(13);
+        assertThat(applier.getAppliedSeq()).isEqualTo(13);
+        assertThat(follower.queryForObject("SELECT quantity FROM books WHERE id = 1", Integer.class)).isEqualTo(7);
+        assertThat(follower.queryForObject("SELECT deleted_at FROM books WHERE id = 2", Long.class)).isPositive();
+        assertThat(follower.queryForList("SELECT seq FROM book_changes ORDER BY seq", Long.class))
+                .containsExactly(11L, 12L, 13L);
+        assertThat(bookCache.getById(2L)).isNull();
+
+        ArgumentCaptor<BookEvent> events = ArgumentCaptor.forClass(BookEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).extracting(BookEvent::getType)
+                .containsExactly(BookEventType.CREATED, BookEventType.STOCK, BookEventType.DELETED);
+        assertThat(events.getAllValues()).extracting(BookEvent::getSeq).containsExactly(11L, 12L, 13L);
+        assertThat(events.getAllValues().get(2).getBook().getTitle()).isEqualTo("Emma");
+    }
+
+    @Test
+    @DisplayName("Should move an ISBN that another book gave up later in the batch")
+    void shouldMoveIsbnBetweenBooks() {
+        follower.update("INSERT INTO books (id, title, author, isbn, price, quantity) VALUES (1, 'Dune', 'Herbert', '978-0-00-000001-1', 5, 1)");
+
+        applier.apply(List.of(
+                change(21, 2, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS, response(2, "Emma", "978-0-00-000001-1", 1)),
+                change(22, 1, ChangeOperation.UPDATE, List.of("isbn"), response(1, "Dune", "978-0-00-000009-9", 1))));
+
+        assertThat(follower.queryForObject("SELECT isbn FROM books WHERE id = 1", String.class))
+                .isEqualTo("978-0-00-000009-9");
+        assertThat(follower.queryForObject("SELECT isbn FROM books WHERE id = 2", String.class))
+                .isEqualTo("978-0-00-000001-1");
+    }
+
+    @Test
+    @DisplayName("Should free the ISBN of a deleted book for a new one")
+    void shouldReuseIsbnOfDeletedBook() {
+        follower.update("INSERT INTO books (id, title, author, isbn, price, quantity) VALUES (1, 'Dune', 'Herbert', '978-0-00-000001-1', 5, 1)");
+
+        applier.apply(List.of(
+                change(25, 1, ChangeOperation.DELETE, List.of(), null),
+                change(26, 2, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS, response(2, "Emma", "978-0-00-000001-1", 1))));
+
+        assertThat(follower.queryForObject("SELECT isbn FROM books WHERE id = 2", String.class))
+                .isEqualTo("978-0-00-000001-1");
+        assertThat(follower.queryForObject("SELECT deleted_isbn FROM books WHERE id = 1", String.class))
+                .isEqualTo("978-0-00-000001-1");
+    }
+
+    @Test
+    @DisplayName("Should not publish a create for a book the leader has deleted since")
+    void shouldSkipEventsForBooksDeletedSince() {
+        when(bookRepository.findById(3L)).thenReturn(Optional.empty());
+
+        applier.apply(List.of(
+                change(31, 3, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS, null),
+                change(32, 3, ChangeOperation.DELETE, List.of(), null)));
+
+        assertThat(follower.queryForObject("SELECT COUNT(*) FROM books", Integer.class)).isZero();
+        assertThat(follower.queryForList("SELECT seq FROM book_changes ORDER BY seq", Long.class))
+                .containsExactly(31L, 32L);
+        ArgumentCaptor<BookEvent> events = ArgumentCaptor.forClass(BookEvent.class);
+        verify(eventPublisher).publishEvent(events.capture());
+        assertThat(events.getValue().getType()).isEqualTo(BookEventType.DELETED);
+        verify(bookRepository, times(1)).findById(any());
+    }
+
+    private void insertOnLeader(long id, String title, String isbn, int quantity) {
+        leader.update("INSERT INTO books (id, title, author, isbn, price, quantity) VALUES (?, ?, 'Author', ?, 9.99, ?)",
+                id, title, isbn, quantity);
+        leaderChangeLog.append(id, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+    }
+
+    private static ReplicatedChange change(long seq, long bookId, ChangeOperation operation, List<String> fields,
+                                           BookResponse book) {
+        return new ReplicatedChange(seq, bookId, operation, fields, System.currentTimeMillis(), book);
+    }
+
+    private static BookResponse response(long id, String title, String isbn, int quantity) {
+        BookResponse response = new BookResponse();
+        response.setId(id);
+        response.setTitle(title);
+        response.setAuthor("Author");
+        response.setIsbn(isbn);
+        response.setPrice(new BigDecimal("9.99"));
+        response.setQuantity(quantity);
+        response.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        response.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return response;
+    }
+
+    private static Book book(long id, String title, String isbn) {
+        Book book = new Book(title, "Austen", isbn, new BigDecimal("5"), 3);
+        book.setId(id);
+        return book;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.exception.ReadOnlyReplicaException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaInterceptor Tests")
+class ReplicaInterceptorTest {
+
+    private ReplicationFollower follower;
+    private ReplicaInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        follower = mock(ReplicationFollower.class);
+        when(follower.getLeaderUrl()).thenReturn("http://leader:8080");
+        when(follower.getMinSeqWaitMillis()).thenReturn(100L);
+        when(follower.getAppliedSeq()).thenReturn(42L);
+        interceptor = new ReplicaInterceptor(follower);
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Should serve reads locally and report the applied sequence number")
+    void shouldServeReadsLocally() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+
+        assertThat(response.getHeader(ReplicaInterceptor.CATALOG_SEQ_HEADER)).isEqualTo("42");
+    }
+
+    @Test
+    @DisplayName("Should redirect writes to the leader keeping the method")
+    void shouldRedirectWrites() {
+        when(follower.isForwardWrites()).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/api/books/1");
+        request.setQueryString("dryRun=false");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(307);
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("http://leader:8080/api/books/1?dryRun=false");
+    }
+
+    @Test
+    @DisplayName("Should reject writes when forwarding is disabled")
+    void shouldRejectWrites() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/books");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, new Object()))
+                .isInstanceOf(ReadOnlyReplicaException.class)
+                .hasMessageContaining("http://leader:8080");
+    }
+
+    @Test
+    @DisplayName("Should wait for the sequence number a client asks to read")
+    void shouldWaitForMinSeq() {
+        when(follower.awaitSeq(40, 100)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader(ReplicaInterceptor.MIN_SEQ_HEADER, "40");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+
+        verify(follower).awaitSeq(40, 100);
+    }
+
+    @Test
+    @DisplayName("Should send a read to the leader when the follower is still behind it")
+    void shouldRedirectReadsThatAreTooFresh() {
+        when(follower.isForwardWrites()).thenReturn(true);
+        when(follower.awaitSeq(50, 100)).thenReturn(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader(ReplicaInterceptor.MIN_SEQ_HEADER, "50");
+
+        assertThat(interceptor.preHandle(request, response, new Object())).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(307);
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("http://leader:8080/api/books/1");
+    }
+
+    @Test
+    @DisplayName("Should answer 503 for a read that is too fresh when forwarding is disabled")
+    void shouldRejectReadsThatAreTooFresh() {
+        when(follower.awaitSeq(50, 100)).thenReturn(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader(ReplicaInterceptor.MIN_SEQ_HEADER, "50");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, new Object()))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("not yet 50");
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed sequence number")
+    void shouldRejectMalformedMinSeq() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader(ReplicaInterceptor.MIN_SEQ_HEADER, "latest");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, response, new Object()))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Should check a request only once across its async dispatch")
+    void shouldCheckOnce() {
+        when(follower.awaitSeq(40, 100)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.addHeader(ReplicaInterceptor.MIN_SEQ_HEADER, "40");
+
+        interceptor.preHandle(request, response, new Object());
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        verify(follower).awaitSeq(40, 100);
+        verify(follower).getMinSeqWaitMillis();
+        verify(follower).getAppliedSeq();
+        verifyNoMoreInteractions(follower);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bookstore.replication;
+
+import com.example.bookstore.dto.ReplicatedChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("ReplicationFollower Tests")
+class ReplicationFollowerTest {
+
+    private static final String LEADER = "http://leader:8080";
+
+    private ReplicaApplier applier;
+    private MockRestServiceServer leader;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        applier = mock(ReplicaApplier.class);
+        RestClient.Builder builder = RestClient.builder();
+        leader = MockRestServiceServer.bindTo(builder).build();
+        follower = new ReplicationFollower(applier, builder, LEADER + "/", 2, 1000, 10, 1000, true, 50);
+    }
+
+    @Test
+    @DisplayName("Should apply batches until the leader has no more")
+    void shouldCatchUp() {
+        leader.expect(requestTo(LEADER + "/admin/replication/feed?since=0&limit=2"))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(batch(3, true, change(1), change(2)), MediaType.APPLICATION_JSON));
+        leader.expect(requestTo(LEADER + "/admin/replication/feed?since=2&limit=2"))
+                .andRespond(withSuccess(batch(3, false, change(3)), MediaType.APPLICATION_JSON));
+        when(applier.apply(anyList())).thenReturn(2L, 3L);
+
+        assertThat(follower.catchUp()).isEqualTo(3);
+
+        leader.verify();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReplicatedChange>> batches = ArgumentCaptor.forClass(List.class);
+        verify(applier, times(2)).apply(batches.capture());
+        assertThat(batches.getAllValues().get(0)).extracting(ReplicatedChange::getSeq).containsExactly(1L, 2L);
+        assertThat(batches.getAllValues().get(0).get(0).getBook().getTitle()).isEqualTo("Book 1");
+        assertThat(follower.getAppliedSeq()).isEqualTo(3);
+        assertThat(follower.getLagEntries()).isZero();
+        assertThat(follower.getLagMillis()).isZero();
+        assertThat(follower.getSinceContactMillis()).isGreaterThanOrEqualTo(0);
+        assertThat(follower.getStatus()).containsEntry("leaderUrl", LEADER).containsEntry("leaderSeq", 3L);
+    }
+
+    @Test
+    @DisplayName("Should report Gone when the leader compacted changes the follower needs")
+    void shouldReportGone() {
+        leader.expect(requestTo(LEADER + "/admin/replication/feed?since=0&limit=2"))
+                .andRespond(withStatus(HttpStatus.GONE));
+
+        assertThatThrownBy(() -> follower.catchUp()).isInstanceOf(HttpClientErrorException.Gone.class);
+    }
+
+    @Test
+    @DisplayName("Should restore a downloaded snapshot and remove the file")
+    void shouldBootstrapFromSnapshot() {
+        leader.expect(requestTo(LEADER + "/admin/replication/snapshot"))
+                .andRespond(withSuccess(new byte[] {1, 2, 3}, MediaType.APPLICATION_OCTET_STREAM));
+        when(applier.restore(any(Path.class))).thenAnswer(invocation -> {
+            assertThat(Files.readAllBytes(invocation.getArgument(0, Path.class))).containsExactly(1, 2, 3);
+            return 7L;
+        });
+
+        follower.bootstrap();
+
+        ArgumentCaptor<Path> file = ArgumentCaptor.forClass(Path.class);
+        verify(applier).restore(file.capture());
+        assertThat(follower.getAppliedSeq()).isEqualTo(7);
+        assertThat(follower.getStatus()).containsEntry("bootstraps", 1L);
+        assertThat(Files.exists(file.getValue())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should wait for a sequence number until it is applied or the timeout passes")
+    void shouldAwaitSeq() throws Exception {
+        assertThat(follower.awaitSeq(1, 20)).isFalse();
+
+        leader.expect(requestTo(LEADER + "/admin/replication/feed?since=0&limit=2"))
+                .andRespond(withSuccess(batch(1, false, change(1)), MediaType.APPLICATION_JSON));
+        when(applier.apply(anyList())).thenReturn(1L);
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> follower.awaitSeq(1, 5000));
+        follower.catchUp();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(applier).apply(any());
+    }
+
+    private static String batch(long lastSeq, boolean hasMore, String... changes) {
+        return "{\"changes\":[" + String.join(",", changes) + "],\"lastSeq\":" + lastSeq
+                + ",\"hasMore\":" + hasMore + "}";
+    }
+
+    private static String change(long seq) {
+        return "{\"seq\":" + seq + ",\"bookId\":" + seq + ",\"operation\":\"CREATE\","
+                + "\"changedFields\":[\"title\"],\"changedAt\":1705314600000,"
+                + "\"book\":{\"id\":" + seq + ",\"title\":\"Book " + seq + "\",\"author\":\"Author\","
+                + "\"isbn\":\"978-0-00-00000" + seq + "-0\",\"price\":9.99,\"quantity\":1,"
+                + "\"createdAt\":\"2024-01-15T10:30:00\",\"updatedAt\":\"2024-01-15T10:30:00\"}}";
+    }
+}
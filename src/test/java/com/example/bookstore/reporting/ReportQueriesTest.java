@@ -0,0 +1,100 @@
+package com.example.bookstore.reporting;
+
+import com.example.bookstore.dto.AuthorInventoryReport;
+import com.example.bookstore.dto.InventorySummaryReport;
+import com.example.bookstore.dto.PriceBucketReport;
+import com.example.bookstore.entity.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ReportQueries Tests")
+class ReportQueriesTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ReportingDatabase reportingDatabase;
+    private ReportQueries reportQueries;
+
+    @BeforeEach
+    void setUp() {
+        reportingDatabase = new ReportingDatabase(tempDir.resolve("reporting.db"), 2, List::of);
+        reportQueries = new ReportQueries(reportingDatabase);
+        insert(1, "Ann", "4.99", 10);
+        insert(2, "Ann", "12.50", 2);
+        insert(3, "Bob", "15.00", 0);
+        insert(4, "Cid", "30.00", 4);
+        insert(5, "Cid", null, 7);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportingDatabase.close();
+    }
+
+    @Test
+    @DisplayName("Should value the stock of each author, most valuable first")
+    void shouldReportInventoryByAuthor() {
+        List<AuthorInventoryReport> report = reportQueries.inventoryByAuthor(10);
+
+        assertThat(report).extracting(AuthorInventoryReport::getAuthor).containsExactly("Cid", "Ann", "Bob");
+        assertThat(report.get(0).getInventoryValue()).isEqualByComparingTo("120.00");
+        assertThat(report.get(1).getTitles()).isEqualTo(2);
+        assertThat(report.get(1).getUnits()).isEqualTo(12);
+        assertThat(report.get(1).getInventoryValue()).isEqualByComparingTo("74.90");
+        assertThat(reportQueries.inventoryByAuthor(1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should count titles per price bucket with exact bounds")
+    void shouldReportPriceDistribution() {
+        List<PriceBucketReport> report = reportQueries.priceDistribution(new BigDecimal("5"));
+
+        assertThat(report).extracting(bucket -> bucket.getLowerBound().toPlainString())
+                .containsExactly("0.00", "10.00", "15.00", "30.00");
+        assertThat(report.get(2).getUpperBound()).isEqualByComparingTo("20.00");
+        assertThat(report.get(0).getUnits()).isEqualTo(10);
+        assertThatThrownBy(() -> reportQueries.priceDistribution(new BigDecimal("0.001")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should total the whole catalog")
+    void shouldReportSummary() {
+        InventorySummaryReport summary = reportQueries.summary();
+
+        assertThat(summary.getTitles()).isEqualTo(5);
+        assertThat(summary.getAuthors()).isEqualTo(3);
+        assertThat(summary.getUnits()).isEqualTo(23);
+        assertThat(summary.getInventoryValue()).isEqualByComparingTo("194.90");
+        assertThat(summary.getOutOfStock()).isEqualTo(1);
+        assertThat(summary.getMinPrice()).isEqualByComparingTo("4.99");
+        assertThat(summary.getMaxPrice()).isEqualByComparingTo("30.00");
+        assertThat(summary.getAveragePrice()).isEqualByComparingTo("15.62");
+    }
+
+    private void insert(long id, String author, String price, int quantity) {
+        Book book = new Book("title " + id, author, "isbn-" + id, price == null ? null : new BigDecimal(price), quantity);
+        reportingDatabase.writes().update(
+                "INSERT INTO books (id, title, author, isbn, price, quantity) " +
+                "VALUES (:id, :title, :author, :isbn, :price, :quantity)",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("title", book.getTitle())
+                        .addValue("author", book.getAuthor())
+                        .addValue("isbn", book.getIsbn())
+                        .addValue("price", book.getPrice())
+                        .addValue("quantity", book.getQuantity()));
+    }
+}
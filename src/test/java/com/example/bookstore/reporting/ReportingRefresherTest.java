@@ -0,0 +1,176 @@
+package com.example.bookstore.reporting;
+
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReportingRefresher Tests")
+class ReportingRefresherTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ReportingDatabase reportingDatabase;
+    private ChangeLog changeLog;
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        reportingDatabase = new ReportingDatabase(tempDir.resolve("reporting.db"), 2, List::of);
+        changeLog = mock(ChangeLog.class);
+        bookRepository = mock(BookRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reportingDatabase.close();
+    }
+
+    @Test
+    @DisplayName("Should copy the whole catalog in pages on the first refresh")
+    void shouldCopyCatalogOnFirstRefresh() {
+        when(changeLog.getLastSeq()).thenReturn(7L);
+        when(changeLog.getFirstSeq()).thenReturn(1L);
+        catalog(book(1, "isbn-1", 5), book(2, "isbn-2", 0));
+        ReportingRefresher refresher = new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 1);
+
+        refresher.refresh();
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(refresher.getAppliedSeq()).isEqualTo(7);
+        assertThat(refresher.getRefreshedAt()).isNotNull();
+        assertThat(refresher.getStatus()).containsEntry("fullRefreshes", 1L).containsEntry("lagEntries", 0L);
+        verify(bookRepository).findAfterId(1L, 1);
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should apply changed and deleted books from the change log")
+    void shouldApplyChanges() {
+        when(changeLog.getLastSeq()).thenReturn(2L);
+        when(changeLog.getFirstSeq()).thenReturn(1L);
+        catalog(book(1, "isbn-1", 5), book(2, "isbn-2", 3));
+        ReportingRefresher refresher = new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 100);
+        refresher.refresh();
+
+        when(changeLog.getLastSeq()).thenReturn(5L);
+        when(changeLog.findSince(2L, 100)).thenReturn(List.of(
+                change(3, 1, ChangeOperation.UPDATE), change(4, 2, ChangeOperation.DELETE),
+                change(5, 3, ChangeOperation.CREATE)));
+        when(bookRepository.findAllById(any())).thenReturn(List.of(book(1, "isbn-1", 9), book(3, "isbn-3", 1)));
+
+        refresher.refresh();
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(quantity(1)).isEqualTo(9);
+        assertThat(quantity(3)).isEqualTo(1);
+        assertThat(refresher.getAppliedSeq()).isEqualTo(5);
+        verify(bookRepository, times(1)).findAfterId(eq(0L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should copy the catalog again when the change log was compacted past the applied sequence")
+    void shouldRecopyAfterCompaction() {
+        when(changeLog.getLastSeq()).thenReturn(2L);
+        when(changeLog.getFirstSeq()).thenReturn(1L);
+        catalog(book(1, "isbn-1", 5));
+        ReportingRefresher refresher = new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 100);
+        refresher.refresh();
+
+        when(changeLog.getLastSeq()).thenReturn(900L);
+        when(changeLog.getFirstSeq()).thenReturn(500L);
+        catalog(book(4, "isbn-4", 2), book(5, "isbn-5", 2));
+
+        refresher.refresh();
+
+        assertThat(count()).isEqualTo(2);
+        assertThat(refresher.getAppliedSeq()).isEqualTo(900);
+        verify(changeLog, never()).findSince(eq(2L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should resume from the stored sequence number after a restart")
+    void shouldResumeAfterRestart() {
+        when(changeLog.getLastSeq()).thenReturn(12L);
+        when(changeLog.getFirstSeq()).thenReturn(1L);
+        catalog(book(1, "isbn-1", 5));
+        new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 100).refresh();
+
+        ReportingRefresher restarted = new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 100);
+        restarted.refresh();
+
+        assertThat(restarted.getAppliedSeq()).isEqualTo(12);
+        verify(bookRepository, times(1)).findAfterId(eq(0L), anyInt());
+        verify(changeLog).findSince(12L, 100);
+    }
+
+    @Test
+    @DisplayName("Should count failed refreshes and keep the previous copy")
+    void shouldCountFailures() {
+        when(changeLog.getLastSeq()).thenThrow(new IllegalStateException("primary unavailable"));
+        ReportingRefresher refresher = new ReportingRefresher(reportingDatabase, changeLog, bookRepository, 100);
+
+        refresher.refresh();
+
+        assertThat(refresher.getStatus()).containsEntry("failures", 1L);
+        assertThat(refresher.getRefreshedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject writes on the report connections")
+    void shouldRejectWritesOnReportConnections() {
+        assertThatThrownBy(() -> reportingDatabase.reads().update("DELETE FROM books", new MapSqlParameterSource()))
+                .isInstanceOf(DataAccessException.class);
+    }
+
+    private void catalog(Book... books) {
+        when(bookRepository.findAfterId(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return Arrays.stream(books).filter(book -> book.getId() > afterId).limit(limit).toList();
+        });
+    }
+
+    private long count() {
+        return reportingDatabase.reads().queryForObject("SELECT COUNT(*) FROM books", new MapSqlParameterSource(),
+                Long.class);
+    }
+
+    private int quantity(long id) {
+        return reportingDatabase.reads().queryForObject("SELECT quantity FROM books WHERE id = :id",
+                new MapSqlParameterSource("id", id), Integer.class);
+    }
+
+    static Book book(long id, String isbn, int quantity) {
+        Book book = new Book("title " + id, "author " + id, isbn, new BigDecimal("10.00"), quantity);
+        book.setId(id);
+        return book;
+    }
+
+    private static BookChange change(long seq, long bookId, ChangeOperation operation) {
+        return new BookChange(seq, bookId, operation, List.of(), LocalDateTime.now());
+    }
+}
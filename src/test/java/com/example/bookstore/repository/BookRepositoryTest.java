@@ -64,6 +64,17 @@ class BookRepositoryTest {
         assertThat(found.get().getIsbn()).isEqualTo("123456");
     }
 
+    @Test
+    void shouldInsertBookAndReturnId() {
+        Book book = new Book("book title 1", "author 1", "123456", new BigDecimal("25.50"), 10);
+
+        Long id = bookRepository.insert(book);
+
+        assertThat(id).isNotNull();
+        assertThat(bookRepository.findById(id))
+            .hasValueSatisfying(found -> assertThat(found.getIsbn()).isEqualTo("123456"));
+    }
+
     @Test
     void shouldFindAllBooks() {
         insertTestBook("book title 1", "author 1", "123456", new BigDecimal("25.50"), 5);
@@ -120,6 +131,58 @@ class BookRepositoryTest {
         assertThat(bookRepository.findById(id)).isEmpty();
     }
 
+    @Test
+    void shouldHideSoftDeletedBooks() {
+        Long id = insertTestBook("book title 1", "author 1", "123456", new BigDecimal("25.50"), 5);
+        Long otherId = insertTestBook("book title 2", "author 1", "654321", new BigDecimal("30.00"), 3);
+
+        assertThat(bookRepository.softDeleteById(id, 1_000L)).isTrue();
+        assertThat(bookRepository.softDeleteById(id, 2_000L)).isFalse();
+
+        assertThat(bookRepository.findById(id)).isEmpty();
+        assertThat(bookRepository.existsById(id)).isFalse();
+        assertThat(bookRepository.findByIsbn("123456")).isEmpty();
+        assertThat(bookRepository.findByAuthor("author 1")).extracting(Book::getId).containsExactly(otherId);
+        assertThat(bookRepository.findByTitleContaining("title")).extracting(Book::getId).containsExactly(otherId);
+        assertThat(bookRepository.findAll()).extracting(Book::getId).containsExactly(otherId);
+        assertThat(bookRepository.findAllById(List.of(id, otherId))).extracting(Book::getId).containsExactly(otherId);
+        assertThat(bookRepository.findRecentlyUpdated(10)).extracting(Book::getId).containsExactly(otherId);
+        assertThat(bookRepository.count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT deleted_at FROM books WHERE id = ?", Long.class, id))
+            .isEqualTo(1_000L);
+    }
+
+    @Test
+    void shouldReuseIsbnOfSoftDeletedBook() {
+        Long id = insertTestBook("book title 1", "author 1", "123456", new BigDecimal("25.50"), 5);
+        bookRepository.softDeleteById(id, 1_000L);
+
+        Long newId = bookRepository.insert(new Book("book title 2", "author 2", "123456", new BigDecimal("30.00"), 3));
+
+        assertThat(bookRepository.findByIsbn("123456"))
+            .hasValueSatisfying(found -> assertThat(found.getId()).isEqualTo(newId));
+        assertThat(bookRepository.findDeletedSince(0L, 0L, 10)).singleElement()
+            .satisfies(tombstone -> assertThat(tombstone.getIsbn()).isEqualTo("123456"));
+    }
+
+    @Test
+    void shouldPageThroughTombstonesInDeletionOrder() {
+        Long first = insertTestBook("book title 1", "author 1", "1", new BigDecimal("1.00"), 1);
+        Long second = insertTestBook("book title 2", "author 1", "2", new BigDecimal("1.00"), 1);
+        Long third = insertTestBook("book title 3", "author 1", "3", new BigDecimal("1.00"), 1);
+        insertTestBook("book title 4", "author 1", "4", new BigDecimal("1.00"), 1);
+        bookRepository.softDeleteById(third, 1_000L);
+        bookRepository.softDeleteById(first, 2_000L);
+        bookRepository.softDeleteById(second, 2_000L);
+
+        List<Book> page = bookRepository.findDeletedSince(0L, 0L, 2);
+        assertThat(page).extracting(Book::getId).containsExactly(third, first);
+        assertThat(page.get(1).getDeletedAt()).isEqualTo(2_000L);
+
+        assertThat(bookRepository.findDeletedSince(2_000L, first, 2)).extracting(Book::getId)
+            .containsExactly(second);
+    }
+
     // Helper method to insert test data
     private Long insertTestBook(String title, String author, String isbn, 
                                 BigDecimal price, Integer quantity) {
@@ -0,0 +1,184 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.dto.BookRequest;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.jdbc.QueryPlans;
+import com.example.bookstore.migration.SchemaMigrator;
+import com.example.bookstore.service.BookService;
+import com.example.bookstore.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the SQL actually issued by BookRepository and BookServiceImpl keeps using indexes.
+ *
+ * Statements are captured from a running application context, then explained against a separate
+ * database built by the schema migrations and populated with sample rows, both with and without ANALYZE
+ * statistics so the planner's choices match a production file.
+ */
+@SpringBootTest
+@Transactional
+@Import(StatementCounter.class)
+@TestPropertySource(properties = {
+    "springdoc.swagger-ui.enabled=false",
+    "springdoc.api-docs.enabled=false",
+    // Every hot-path call must reach the database for its statements to be captured
+    "bookstore.cache.enabled=false"
+})
+@DisplayName("Query Plan Regression Tests")
+class QueryPlanTest {
+
+    private static final int SAMPLE_BOOKS = 5_000;
+    private static final int SAMPLE_AUTHORS = 200;
+    private static final String TEMP_B_TREE_FOR_ORDER_BY = "USE TEMP B-TREE FOR ORDER BY";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookResponse fixture;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM books");
+        fixture = bookService.createBook(bookRequest("978-0-00-000100-1"));
+    }
+
+    @ParameterizedTest(name = "ANALYZE statistics loaded: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Hot-path statements should never scan the books table")
+    void hotPathStatementsShouldUseIndexes(boolean analyzed) throws Exception {
+        Map<String, List<String>> statements = captureHotPathStatements();
+
+        try (Connection sample = sampleDatabase(analyzed)) {
+            for (Map.Entry<String, List<String>> entry : statements.entrySet()) {
+                assertThat(entry.getValue()).as("statements issued by %s", entry.getKey()).isNotEmpty();
+                for (String sql : entry.getValue()) {
+                    List<String> plan = QueryPlans.explain(sample, sql);
+                    assertThat(QueryPlans.hasFullScanOfBooks(plan))
+                            .as("%s must not scan books: %s -> %s", entry.getKey(), sql, plan)
+                            .isFalse();
+                    assertThat(plan)
+                            .as("%s must not sort in a temp B-tree: %s", entry.getKey(), sql)
+                            .noneMatch(detail -> detail.contains(TEMP_B_TREE_FOR_ORDER_BY));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "ANALYZE statistics loaded: {0}")
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Listing and substring search should not sort in a temp B-tree")
+    void listingStatementsShouldNotSortInTempBTree(boolean analyzed) throws Exception {
+        Map<String, List<String>> statements = new LinkedHashMap<>();
+        statements.put("getAllBooks", capture(() -> bookService.getAllBooks()));
+        // A leading-wildcard LIKE cannot use a B-tree index, so the scan itself is expected here
+        statements.put("searchBooksByTitle", capture(() -> bookService.searchBooksByTitle("Sample")));
+        // Counting has to visit every live book, so only the absence of a sort is checked
+        statements.put("count", capture(() -> bookRepository.count()));
+
+        try (Connection sample = sampleDatabase(analyzed)) {
+            for (Map.Entry<String, List<String>> entry : statements.entrySet()) {
+                for (String sql : entry.getValue()) {
+                    assertThat(QueryPlans.explain(sample, sql))
+                            .as("%s must not sort in a temp B-tree: %s", entry.getKey(), sql)
+                            .noneMatch(detail -> detail.contains(TEMP_B_TREE_FOR_ORDER_BY));
+                }
+            }
+        }
+    }
+
+    private Map<String, List<String>> captureHotPathStatements() {
+        Map<String, List<String>> statements = new LinkedHashMap<>();
+        statements.put("getBookById", capture(() -> bookService.getBookById(fixture.getId())));
+        statements.put("getBookByIsbn", capture(() -> bookService.getBookByIsbn(fixture.getIsbn())));
+        statements.put("getBooksByAuthor", capture(() -> bookService.getBooksByAuthor(fixture.getAuthor())));
+        statements.put("createBook", capture(() -> bookService.createBook(bookRequest("978-0-00-000200-2"))));
+        statements.put("updateBook", capture(() ->
+                bookService.updateBook(fixture.getId(), bookRequest("978-0-00-000300-3"))));
+        statements.put("patchBook", capture(() -> bookService.patchBook(fixture.getId(), quantityUpdate())));
+        statements.put("deleteBook", capture(() -> bookService.deleteBook(fixture.getId())));
+        statements.put("getTombstones", capture(() -> bookService.getTombstones(0, 0, 100)));
+        // Used by warm-up, replication, reporting refreshes and cache snapshot validation
+        statements.put("findRecentlyUpdated", capture(() -> bookRepository.findRecentlyUpdated(100)));
+        statements.put("findAfterId", capture(() -> bookRepository.findAfterId(0, 100)));
+        statements.put("findAllById", capture(() -> bookRepository.findAllById(List.of(fixture.getId(), 2L, 3L))));
+        statements.put("existsById", capture(() -> bookRepository.existsById(fixture.getId())));
+        return statements;
+    }
+
+    private static List<String> capture(Runnable operation) {
+        StatementCounter.reset();
+        operation.run();
+        return StatementCounter.statements();
+    }
+
+    private static Connection sampleDatabase(boolean analyzed) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaMigrator(new SingleConnectionDataSource(connection, true), SchemaMigrator.DEFAULT_LOCATION).migrate();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO books (title, author, isbn, price, quantity) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < SAMPLE_BOOKS; i++) {
+                insert.setString(1, "Sample Title " + i);
+                insert.setString(2, "Author " + (i % SAMPLE_AUTHORS));
+                insert.setString(3, String.format("978-1-%09d", i));
+                insert.setBigDecimal(4, BigDecimal.valueOf(500 + i % 5000, 2));
+                insert.setInt(5, i % 100);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        if (analyzed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+        }
+        return connection;
+    }
+
+    private static BookUpdateRequest quantityUpdate() {
+        BookUpdateRequest updateRequest = new BookUpdateRequest();
+        updateRequest.setQuantity(9);
+        return updateRequest;
+    }
+
+    private static BookRequest bookRequest(String isbn) {
+        BookRequest bookRequest = new BookRequest();
+        bookRequest.setTitle("Plan Book");
+        bookRequest.setAuthor("Plan Author");
+        bookRequest.setIsbn(isbn);
+        bookRequest.setPrice(new BigDecimal("10.00"));
+        bookRequest.setQuantity(3);
+        return bookRequest;
+    }
+}
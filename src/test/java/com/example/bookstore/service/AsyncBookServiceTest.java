@@ -0,0 +1,123 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.concurrency.Deadline;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.exception.DeadlineExceededException;
+import com.example.bookstore.exception.ResourceNotFoundException;
+import com.example.bookstore.exception.ServiceUnavailableException;
+import com.example.bookstore.service.impl.AsyncBookServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("AsyncBookService Tests")
+class AsyncBookServiceTest {
+
+    private BookService bookService;
+    private AsyncBookServiceImpl asyncBookService;
+
+    @BeforeEach
+    void setUp() {
+        bookService = mock(BookService.class);
+        asyncBookService = new AsyncBookServiceImpl(bookService, 1, 1, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncBookService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the operation off the caller thread with the deadline bound")
+    void shouldRunWithDeadlineBound() throws Exception {
+        Deadline deadline = Deadline.afterMillis(5_000);
+        AtomicReference<Deadline> seen = new AtomicReference<>();
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        BookResponse book = new BookResponse();
+        when(bookService.getBookById(1L)).thenAnswer(invocation -> {
+            seen.set(Deadline.current());
+            thread.set(Thread.currentThread());
+            return book;
+        });
+
+        assertThat(asyncBookService.getBookById(1L, deadline).get(1, TimeUnit.SECONDS)).isSameAs(book);
+        assertThat(seen.get()).isSameAs(deadline);
+        assertThat(thread.get()).isNotSameAs(Thread.currentThread());
+        assertThat(Deadline.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not call the service when the deadline has already passed")
+    void shouldDropExpiredWork() {
+        CompletableFuture<List<BookResponse>> future = asyncBookService.getAllBooks(Deadline.afterMillis(0));
+
+        assertThatThrownBy(future::get).hasCauseInstanceOf(DeadlineExceededException.class);
+        verifyNoInteractions(bookService);
+        assertThat(asyncBookService.getExpiredRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail with 503 when the executor queue is full and drop work that expired while queued")
+    void shouldRejectWhenSaturated() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getAllBooks()).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        CompletableFuture<List<BookResponse>> first = asyncBookService.getAllBooks(Deadline.afterMillis(5_000));
+        assertThat(running.await(1, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<List<BookResponse>> queued = asyncBookService.getBooksByAuthor("a", Deadline.afterMillis(50));
+        CompletableFuture<List<BookResponse>> rejected =
+                asyncBookService.searchBooksByTitle("t", Deadline.afterMillis(5_000));
+
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS)).hasCauseInstanceOf(DeadlineExceededException.class);
+        release.countDown();
+        assertThat(first.get(1, TimeUnit.SECONDS)).isEmpty();
+        verify(bookService, never()).getBooksByAuthor("a");
+        assertThat(asyncBookService.getRejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the write executor independent of busy reads")
+    void shouldSeparateReadsAndWrites() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookService.getAllBooks()).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        asyncBookService.getAllBooks(Deadline.afterMillis(5_000));
+        asyncBookService.deleteBook(1L, Deadline.afterMillis(5_000)).get(1, TimeUnit.SECONDS);
+
+        verify(bookService).deleteBook(1L);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should pass through service exceptions")
+    void shouldPassThroughServiceExceptions() {
+        when(bookService.getBookByIsbn("x")).thenThrow(new ResourceNotFoundException("Book not found"));
+
+        CompletableFuture<BookResponse> future = asyncBookService.getBookByIsbn("x", Deadline.afterMillis(5_000));
+
+        assertThatThrownBy(future::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.BookRequest;
+import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookUpdateRequest;
+import com.example.bookstore.support.AllocationBudget;
+import com.example.bookstore.support.PerformanceBudgetExtension;
+import com.example.bookstore.support.QueryBudget;
+import com.example.bookstore.support.StatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL round trips and the allocation volume of the main service operations.
+ * Each measured code path is exercised once in setUp so budgets reflect steady-state behaviour.
+ */
+@SpringBootTest
+@Transactional
+@Import(StatementCounter.class)
+@ExtendWith(PerformanceBudgetExtension.class)
+@TestPropertySource(properties = {
+    "springdoc.swagger-ui.enabled=false",
+    "springdoc.api-docs.enabled=false"
+})
+@DisplayName("BookService Performance Budget Tests")
+class BookServiceBudgetTest {
+
+    private static final long READ_ALLOCATION_BUDGET = 512L * 1024;
+    private static final long WRITE_ALLOCATION_BUDGET = 1024L * 1024;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookResponse existingBook;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("DELETE FROM books");
+        existingBook = bookService.createBook(bookRequest("978-0-00-000001-1"));
+        bookService.getBookById(existingBook.getId());
+        bookService.getBookByIsbn(existingBook.getIsbn());
+        bookService.getBooksByAuthor(existingBook.getAuthor());
+        bookService.patchBook(existingBook.getId(), new BookUpdateRequest());
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 2)
+    @AllocationBudget(maxBytes = WRITE_ALLOCATION_BUDGET)
+    @DisplayName("createBook should insert the book and its change log entry in two statements")
+    void createBookShouldIssueTwoStatements() {
+        BookResponse created = bookService.createBook(bookRequest("978-0-00-000002-2"));
+
+        assertThat(created.getId()).isNotNull();
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    @AllocationBudget(maxBytes = READ_ALLOCATION_BUDGET)
+    @DisplayName("getBookById should issue a single statement")
+    void getBookByIdShouldIssueSingleStatement() {
+        assertThat(bookService.getBookById(existingBook.getId()).getIsbn()).isEqualTo(existingBook.getIsbn());
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    @AllocationBudget(maxBytes = READ_ALLOCATION_BUDGET)
+    @DisplayName("getBookByIsbn should issue a single statement")
+    void getBookByIsbnShouldIssueSingleStatement() {
+        assertThat(bookService.getBookByIsbn(existingBook.getIsbn()).getId()).isEqualTo(existingBook.getId());
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 1)
+    @AllocationBudget(maxBytes = READ_ALLOCATION_BUDGET)
+    @DisplayName("getBooksByAuthor should issue a single statement")
+    void getBooksByAuthorShouldIssueSingleStatement() {
+        assertThat(bookService.getBooksByAuthor(existingBook.getAuthor())).hasSize(1);
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 3)
+    @AllocationBudget(maxBytes = WRITE_ALLOCATION_BUDGET)
+    @DisplayName("patchBook should load, update and log the change in three statements")
+    void patchBookShouldIssueThreeStatements() {
+        BookUpdateRequest updateRequest = new BookUpdateRequest();
+        updateRequest.setQuantity(7);
+
+        assertThat(bookService.patchBook(existingBook.getId(), updateRequest).getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    @QueryBudget(maxStatements = 3)
+    @DisplayName("deleteBook should check, delete and log the change in three statements")
+    void deleteBookShouldIssueThreeStatements() {
+        bookService.deleteBook(existingBook.getId());
+    }
+
+    private static BookRequest bookRequest(String isbn) {
+        BookRequest bookRequest = new BookRequest();
+        bookRequest.setTitle("Budget Book");
+        bookRequest.setAuthor("Budget Author");
+        bookRequest.setIsbn(isbn);
+        bookRequest.setPrice(new BigDecimal("10.00"));
+        bookRequest.setQuantity(3);
+        return bookRequest;
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cache.AccessTracker;
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.changelog.BookChange;
+import com.example.bookstore.changelog.ChangeLog;
+import com.example.bookstore.changelog.ChangeOperation;
+import com.example.bookstore.concurrency.RequestCoalescer;
+import com.example.bookstore.dto.BookChangesResponse;
 import com.example.bookstore.dto.BookRequest;
 import com.example.bookstore.dto.BookResponse;
+import com.example.bookstore.dto.BookTombstone;
+import com.example.bookstore.dto.BookTombstonesResponse;
 import com.example.bookstore.dto.BookUpdateRequest;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.events.BookEvent;
+import com.example.bookstore.events.BookEventType;
+import com.example.bookstore.exception.ChangesExpiredException;
 import com.example.bookstore.exception.DuplicateResourceException;
 import com.example.bookstore.exception.ResourceNotFoundException;
 import com.example.bookstore.repository.BookRepository;
@@ -12,17 +24,27 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -38,8 +60,20 @@ class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(true);
+
+    @Spy
+    private BookCache bookCache = new BookCache(true, 100);
+
+    @Spy
+    private AccessTracker accessTracker = new AccessTracker(true, 4, 256, 8, 600000);
+
     @Mock
-    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ChangeLog changeLog;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private BookServiceImpl bookService;
@@ -117,6 +151,91 @@ class BookServiceTest {
         verify(bookRepository).findByIsbn("123456");
     }
 
+    @Test
+    @DisplayName("Should coalesce ISBN lookups by exact ISBN")
+    void shouldCoalesceIsbnLookups() {
+        when(bookRepository.findByIsbn("123456")).thenReturn(Optional.of(testBook));
+
+        bookService.getBookByIsbn("123456");
+
+        verify(requestCoalescer).execute(eq("findByIsbn"), eq(List.of("123456", 0L)), any());
+    }
+
+    @Test
+    @DisplayName("Should not cache a row from a load that started before a write committed")
+    void shouldNotCacheStaleRowFromEarlierLoad() throws Exception {
+        Book stale = new Book("Old Title", "author 1", "123456", new BigDecimal("25.50"), 50);
+        stale.setId(1L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(testBook));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookResponse> slow = executor.submit(() -> bookService.getBookById(1L));
+            assertThat(loading.await(1, TimeUnit.SECONDS)).isTrue();
+            // A write commits while the first load is still running
+            bookCache.invalidate(1L);
+
+            Future<BookResponse> late = executor.submit(() -> bookService.getBookById(1L));
+            assertThat(late.get(1, TimeUnit.SECONDS).getTitle()).isEqualTo("book title 1");
+            release.countDown();
+            assertThat(slow.get(1, TimeUnit.SECONDS).getTitle()).isEqualTo("Old Title");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookCache.getById(1L).getTitle()).isEqualTo("book title 1");
+        verify(bookRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer repeated lookups by ID and ISBN from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        bookService.getBookById(1L);
+        BookResponse byId = bookService.getBookById(1L);
+        BookResponse byIsbn = bookService.getBookByIsbn("123456");
+
+        assertThat(byId.getTitle()).isEqualTo("book title 1");
+        assertThat(byIsbn.getId()).isEqualTo(1L);
+        verify(bookRepository, times(1)).findById(1L);
+        verify(bookRepository, never()).findByIsbn(anyString());
+        assertThat(accessTracker.estimate(testBook)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reload a book after it was updated")
+    void shouldInvalidateCacheOnUpdate() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        bookService.getBookById(1L);
+
+        BookUpdateRequest updateRequest = new BookUpdateRequest();
+        updateRequest.setQuantity(7);
+        bookService.patchBook(1L, updateRequest);
+        bookService.getBookById(1L);
+
+        verify(bookCache).invalidate(1L);
+        verify(bookRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict a deleted book from the cache")
+    void shouldInvalidateCacheOnDelete() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        bookService.getBookById(1L);
+
+        bookService.deleteBook(1L);
+
+        verify(bookCache).invalidate(1L);
+        assertThat(bookCache.getById(1L)).isNull();
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when ISBN does not exist")
     void shouldThrowResourceNotFoundExceptionWhenIsbnDoesNotExist() {
@@ -138,6 +257,7 @@ class BookServiceTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getAuthor()).isEqualTo("author 1");
         verify(bookRepository).findByAuthor("author 1");
+        verify(accessTracker).recordAuthor("author 1");
     }
 
     @Test
@@ -150,6 +270,7 @@ class BookServiceTest {
 
         assertThat(result).hasSize(1);
         verify(bookRepository).findByTitleContaining("title");
+        verify(accessTracker).recordSearch("title");
     }
 
     @Test
@@ -162,17 +283,21 @@ class BookServiceTest {
         bookRequest.setPrice(new BigDecimal("18.50"));
         bookRequest.setQuantity(25);
 
-        when(bookRepository.findByIsbn(anyString())).thenReturn(Optional.empty());
-        when(jdbcTemplate.getJdbcOperations()).thenReturn(mock(org.springframework.jdbc.core.JdbcTemplate.class));
-        when(jdbcTemplate.getJdbcOperations().queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
-        when(jdbcTemplate.update(anyString(), any(org.springframework.jdbc.core.namedparam.SqlParameterSource.class))).thenReturn(1);
+        when(bookRepository.insert(any(Book.class))).thenReturn(1L);
+        when(changeLog.append(1L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS)).thenReturn(5L);
 
         BookResponse result = bookService.createBook(bookRequest);
 
         assertThat(result.getId()).isEqualTo(1L);
         assertThat(result.getTitle()).isEqualTo("title 1");
         assertThat(result.getIsbn()).isEqualTo("111222");
-        verify(bookRepository).findByIsbn("111222");
+        verify(bookRepository).insert(any(Book.class));
+        verify(bookRepository, never()).findByIsbn(anyString());
+        verify(changeLog).append(1L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS);
+        BookEvent event = publishedEvent();
+        assertThat(event.getSeq()).isEqualTo(5L);
+        assertThat(event.getType()).isEqualTo(BookEventType.CREATED);
+        assertThat(event.getBook().getIsbn()).isEqualTo("111222");
     }
 
     @Test
@@ -181,13 +306,29 @@ class BookServiceTest {
         BookRequest bookRequest = new BookRequest();
         bookRequest.setIsbn("123456");
 
-        when(bookRepository.findByIsbn("123456")).thenReturn(Optional.of(testBook));
+        SQLException uniqueViolation = new SQLException(
+                "[SQLITE_CONSTRAINT_UNIQUE] A UNIQUE constraint failed (UNIQUE constraint failed: books.isbn)", null, 19);
+        when(bookRepository.insert(any(Book.class)))
+            .thenThrow(new DuplicateKeyException("insert failed", uniqueViolation));
 
         assertThatThrownBy(() -> bookService.createBook(bookRequest))
             .isInstanceOf(DuplicateResourceException.class)
             .hasMessageContaining("already exists");
     }
 
+    @Test
+    @DisplayName("Should rethrow unrelated database errors when creating book")
+    void shouldRethrowUnrelatedDatabaseErrorsWhenCreatingBook() {
+        BookRequest bookRequest = new BookRequest();
+        bookRequest.setIsbn("123456");
+
+        when(bookRepository.insert(any(Book.class)))
+            .thenThrow(new DataAccessResourceFailureException("database is locked", new SQLException("database is locked", null, 5)));
+
+        assertThatThrownBy(() -> bookService.createBook(bookRequest))
+            .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
     @Test
     @DisplayName("Should update book when ID exists")
     void shouldUpdateBookWhenIdExists() {
@@ -210,6 +351,27 @@ class BookServiceTest {
         verify(bookRepository, never()).findByIsbn(anyString());
     }
 
+    @Test
+    @DisplayName("Should throw DuplicateResourceException when a concurrent write takes the new ISBN")
+    void shouldThrowDuplicateResourceExceptionWhenIsbnTakenConcurrently() {
+        BookRequest updateRequest = new BookRequest();
+        updateRequest.setTitle("book title 1");
+        updateRequest.setAuthor("author 1");
+        updateRequest.setIsbn("654321");
+
+        SQLException uniqueViolation = new SQLException(
+                "[SQLITE_CONSTRAINT_UNIQUE] A UNIQUE constraint failed (UNIQUE constraint failed: books.isbn)", null, 19);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.findByIsbn("654321")).thenReturn(Optional.empty());
+        when(bookRepository.save(any(Book.class)))
+            .thenThrow(new DuplicateKeyException("update failed", uniqueViolation));
+
+        assertThatThrownBy(() -> bookService.updateBook(1L, updateRequest))
+            .isInstanceOf(DuplicateResourceException.class)
+            .hasMessageContaining("already exists");
+        verify(changeLog, never()).append(anyLong(), any(), any());
+    }
+
     @Test
     @DisplayName("Should throw ResourceNotFoundException when updating non-existent book")
     void shouldThrowResourceNotFoundExceptionWhenUpdatingNonExistentBook() {
@@ -238,6 +400,27 @@ class BookServiceTest {
         assertThat(result).isNotNull();
         verify(bookRepository).findById(1L);
         verify(bookRepository).save(any(Book.class));
+        verify(changeLog).append(1L, ChangeOperation.UPDATE, List.of("price", "quantity"));
+        assertThat(publishedEvent().getType()).isEqualTo(BookEventType.PATCHED);
+    }
+
+    @Test
+    @DisplayName("Should publish a stock event when only the quantity changes")
+    void shouldPublishStockEventWhenOnlyQuantityChanges() {
+        BookUpdateRequest patchRequest = new BookUpdateRequest();
+        patchRequest.setQuantity(3);
+
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
+        when(changeLog.append(1L, ChangeOperation.UPDATE, List.of("quantity"))).thenReturn(8L);
+
+        bookService.patchBook(1L, patchRequest);
+
+        BookEvent event = publishedEvent();
+        assertThat(event.getSeq()).isEqualTo(8L);
+        assertThat(event.getType()).isEqualTo(BookEventType.STOCK);
+        assertThat(event.getBook().getQuantity()).isEqualTo(3);
+        assertThat(event.getChangedFields()).containsExactly("quantity");
     }
 
     @Test
@@ -270,23 +453,42 @@ class BookServiceTest {
     @Test
     @DisplayName("Should delete book when ID exists")
     void shouldDeleteBookWhenIdExists() {
-        when(bookRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(bookRepository).deleteById(1L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.softDeleteById(eq(1L), anyLong())).thenReturn(true);
 
         bookService.deleteBook(1L);
 
-        verify(bookRepository).existsById(1L);
-        verify(bookRepository).deleteById(1L);
+        verify(bookRepository).findById(1L);
+        verify(bookRepository).softDeleteById(eq(1L), anyLong());
+        verify(bookRepository, never()).deleteById(anyLong());
+        verify(changeLog).append(1L, ChangeOperation.DELETE, List.of());
+        BookEvent event = publishedEvent();
+        assertThat(event.getType()).isEqualTo(BookEventType.DELETED);
+        assertThat(event.getBook().getAuthor()).isEqualTo("author 1");
+    }
+
+    @Test
+    @DisplayName("Should throw ResourceNotFoundException when the book was deleted concurrently")
+    void shouldThrowResourceNotFoundExceptionWhenDeletedConcurrently() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.softDeleteById(eq(1L), anyLong())).thenReturn(false);
+
+        assertThatThrownBy(() -> bookService.deleteBook(1L))
+            .isInstanceOf(ResourceNotFoundException.class);
+        verify(changeLog, never()).append(anyLong(), any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     @DisplayName("Should throw ResourceNotFoundException when deleting non-existent book")
     void shouldThrowResourceNotFoundExceptionWhenDeletingNonExistentBook() {
-        when(bookRepository.existsById(999L)).thenReturn(false);
+        when(bookRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> bookService.deleteBook(999L))
             .isInstanceOf(ResourceNotFoundException.class)
             .hasMessageContaining("Book not found with id: 999");
+        verify(bookRepository, never()).softDeleteById(anyLong(), anyLong());
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -351,6 +553,63 @@ class BookServiceTest {
         verify(bookRepository).findByTitleContaining("nonexistent");
     }
 
+    @Test
+    @DisplayName("Should page through changes and report whether more follow")
+    void shouldPageThroughChanges() {
+        LocalDateTime now = LocalDateTime.now();
+        when(changeLog.getFirstSeq()).thenReturn(1L);
+        when(changeLog.getLastSeq()).thenReturn(12L);
+        when(changeLog.findSince(10L, 3)).thenReturn(List.of(
+                new BookChange(11L, 1L, ChangeOperation.UPDATE, List.of("price"), now),
+                new BookChange(12L, 2L, ChangeOperation.DELETE, List.of(), now),
+                new BookChange(13L, 3L, ChangeOperation.CREATE, ChangeLog.ALL_FIELDS, now)));
+
+        BookChangesResponse result = bookService.getChanges(10L, 2);
+
+        assertThat(result.getChanges()).extracting(BookChange::getSeq).containsExactly(11L, 12L);
+        assertThat(result.getNextSince()).isEqualTo(12L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should throw ChangesExpiredException when requested changes were compacted")
+    void shouldThrowWhenChangesWereCompacted() {
+        when(changeLog.getFirstSeq()).thenReturn(500L);
+        when(changeLog.getLastSeq()).thenReturn(900L);
+
+        assertThatThrownBy(() -> bookService.getChanges(3L, 100))
+            .isInstanceOf(ChangesExpiredException.class)
+            .hasMessageContaining("resume from 900");
+        verify(changeLog, never()).findSince(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page through tombstones and resume after the last one")
+    void shouldPageThroughTombstones() {
+        List<Book> deleted = List.of(tombstone(4L, 1000L), tombstone(9L, 1000L), tombstone(2L, 2000L));
+        when(bookRepository.findDeletedSince(500L, 0L, 3)).thenReturn(deleted);
+
+        BookTombstonesResponse result = bookService.getTombstones(500L, 0L, 2);
+
+        assertThat(result.getTombstones()).extracting(BookTombstone::getId).containsExactly(4L, 9L);
+        assertThat(result.getNextSince()).isEqualTo(1000L);
+        assertThat(result.getNextAfterId()).isEqualTo(9L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep the position when no tombstones follow")
+    void shouldKeepPositionWithoutTombstones() {
+        when(bookRepository.findDeletedSince(1000L, 9L, 101)).thenReturn(List.of());
+
+        BookTombstonesResponse result = bookService.getTombstones(1000L, 9L, 100);
+
+        assertThat(result.getTombstones()).isEmpty();
+        assertThat(result.getNextSince()).isEqualTo(1000L);
+        assertThat(result.getNextAfterId()).isEqualTo(9L);
+        assertThat(result.isHasMore()).isFalse();
+    }
+
     @Test
     @DisplayName("Should patch book with no fields updated")
     void shouldPatchBookWithNoFieldsUpdated() {
@@ -364,6 +623,8 @@ class BookServiceTest {
         assertThat(result).isNotNull();
         verify(bookRepository).findById(1L);
         verify(bookRepository).save(any(Book.class));
+        verifyNoInteractions(changeLog);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -393,10 +654,7 @@ class BookServiceTest {
         bookRequest.setPrice(new BigDecimal("19.99"));
         bookRequest.setQuantity(10);
 
-        // When ISBN is null, findByIsbn is not called in the service
-        when(jdbcTemplate.getJdbcOperations()).thenReturn(mock(org.springframework.jdbc.core.JdbcTemplate.class));
-        when(jdbcTemplate.getJdbcOperations().queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
-        when(jdbcTemplate.update(anyString(), any(org.springframework.jdbc.core.namedparam.SqlParameterSource.class))).thenReturn(1);
+        when(bookRepository.insert(any(Book.class))).thenReturn(1L);
 
         BookResponse result = bookService.createBook(bookRequest);
 
@@ -529,4 +787,17 @@ class BookServiceTest {
         verify(bookRepository, never()).findByIsbn(anyString());
         verify(bookRepository).save(any(Book.class));
     }
+
+    private BookEvent publishedEvent() {
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        return (BookEvent) event.getValue();
+    }
+
+    private static Book tombstone(long id, long deletedAt) {
+        Book book = new Book("Deleted", "Author", "978-" + id, BigDecimal.TEN, 0);
+        book.setId(id);
+        book.setDeletedAt(deletedAt);
+        return book;
+    }
 }
@@ -0,0 +1,68 @@
+package com.example.bookstore.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ShardRouter Tests")
+class ShardRouterTest {
+
+    @Test
+    @DisplayName("Should route differently formatted ISBNs to the same shard")
+    void shouldRouteCanonicalIsbn() {
+        ShardRouter router = new ShardRouter(8);
+
+        assertThat(ShardRouter.canonicalIsbn(" 979-8-0000-0042-x ")).isEqualTo("979800000042X");
+        assertThat(router.shardForIsbn("979-8-0000-0042-7")).isEqualTo(router.shardForIsbn("9798000000427"));
+    }
+
+    @Test
+    @DisplayName("Should spread ISBNs over all shards")
+    void shouldSpreadIsbns() {
+        ShardRouter router = new ShardRouter(4);
+        int[] counts = new int[4];
+        for (int i = 0; i < 4_000; i++) {
+            counts[router.shardForIsbn("isbn-" + i)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(800, 1_200);
+        }
+    }
+
+    @Test
+    @DisplayName("Should place books without ISBN round robin")
+    void shouldPlaceBooksWithoutIsbnRoundRobin() {
+        ShardRouter router = new ShardRouter(3);
+        Set<Integer> shards = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            shards.add(router.shardForNewBook(null));
+        }
+
+        assertThat(shards).containsExactlyInAnyOrder(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Should decode the shard from an id")
+    void shouldDecodeShardFromId() {
+        ShardRouter router = new ShardRouter(4);
+
+        assertThat(router.shardForId(ShardRouter.encodeId(17, 3))).isEqualTo(3);
+        assertThat(router.shardForId(ShardRouter.encodeId(17, 5))).isEqualTo(-1);
+        assertThat(router.shardForId(0L)).isEqualTo(-1);
+        assertThat(router.shardForId(null)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported shard counts")
+    void shouldRejectUnsupportedShardCounts() {
+        assertThatThrownBy(() -> new ShardRouter(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardRouter(ShardRouter.MAX_SHARDS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
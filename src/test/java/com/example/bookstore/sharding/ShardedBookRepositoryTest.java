@@ -0,0 +1,287 @@
+package com.example.bookstore.sharding;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the sharded repository against three shard files in a temporary directory.
+ */
+@DisplayName("ShardedBookRepository Tests")
+class ShardedBookRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private BookShards shards;
+    private ShardedBookRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        shards = new BookShards(3, directory, 2, List::of);
+        repository = new ShardedBookRepository(shards);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.close();
+    }
+
+    @Test
+    @DisplayName("Should create books on the shard of their ISBN and find them by id and ISBN")
+    void shouldRouteByIsbnAndId() {
+        ShardRouter router = shards.getRouter();
+        for (int i = 0; i < 30; i++) {
+            Book book = book("title " + i, "author", "isbn-" + i);
+            Long id = repository.insert(book);
+
+            assertThat(router.shardForId(id)).isEqualTo(router.shardForIsbn("isbn-" + i));
+            assertThat(repository.findById(id)).hasValueSatisfying(found ->
+                    assertThat(found.getIsbn()).isEqualTo("isbn-" + i));
+            assertThat(repository.findByIsbn("isbn-" + i)).hasValueSatisfying(found ->
+                    assertThat(found.getId()).isEqualTo(id));
+        }
+        assertThat(repository.count()).isEqualTo(30);
+        assertThat(repository.findById(ShardRouter.encodeId(1, 7))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never reuse ids on a shard")
+    void shouldNeverReuseIds() {
+        Long first = repository.insert(book("title", "author", "isbn-1"));
+        repository.deleteById(first);
+
+        Long second = repository.insert(book("title", "author", "isbn-1"));
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(repository.existsById(first)).isFalse();
+        assertThat(repository.existsById(second)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep a deleted book as a tombstone that only the tombstone list returns")
+    void shouldSoftDeleteOnShard() {
+        Long id = repository.insert(book("title", "author", "isbn-1"));
+        Long otherId = repository.insert(book("title", "author", "isbn-2"));
+
+        assertThat(repository.softDeleteById(id, 1_000L)).isTrue();
+        assertThat(repository.softDeleteById(id, 2_000L)).isFalse();
+
+        assertThat(repository.findById(id)).isEmpty();
+        assertThat(repository.existsById(id)).isFalse();
+        assertThat(repository.findByIsbn("isbn-1")).isEmpty();
+        assertThat(repository.findAll()).extracting(Book::getId).containsExactly(otherId);
+        assertThat(repository.findByAuthor("author")).extracting(Book::getId).containsExactly(otherId);
+        assertThat(repository.findRecentlyUpdated(10)).extracting(Book::getId).containsExactly(otherId);
+        assertThat(repository.findAfterId(0L, 10)).extracting(Book::getId).containsExactly(otherId);
+        assertThat(repository.count()).isEqualTo(1);
+        assertThat(repository.findDeletedSince(0L, 0L, 10)).singleElement().satisfies(tombstone -> {
+            assertThat(tombstone.getId()).isEqualTo(id);
+            assertThat(tombstone.getDeletedAt()).isEqualTo(1_000L);
+            assertThat(tombstone.getIsbn()).isEqualTo("isbn-1");
+        });
+        Long newId = repository.insert(book("title", "author", "isbn-1"));
+        assertThat(repository.findByIsbn("isbn-1")).hasValueSatisfying(found ->
+                assertThat(found.getId()).isEqualTo(newId));
+    }
+
+    @Test
+    @DisplayName("Should page through the tombstones of all shards in deletion order")
+    void shouldMergeTombstonesInDeletionOrder() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(repository.insert(book("title " + i, "author", "isbn-" + i)));
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            repository.softDeleteById(ids.get(i), 1_000L + i / 2);
+        }
+
+        List<Book> first = repository.findDeletedSince(0L, 0L, 5);
+        Book last = first.get(first.size() - 1);
+        List<Book> rest = repository.findDeletedSince(last.getDeletedAt(), last.getId(), 100);
+
+        List<Book> all = new ArrayList<>(first);
+        all.addAll(rest);
+        assertThat(first).hasSize(5);
+        assertThat(all).extracting(Book::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(all).isSortedAccordingTo((a, b) -> a.getDeletedAt().equals(b.getDeletedAt())
+                ? Long.compare(a.getId(), b.getId()) : Long.compare(a.getDeletedAt(), b.getDeletedAt()));
+    }
+
+    @Test
+    @DisplayName("Should add the tombstone column to a shard file created without it")
+    void shouldUpgradeOldShardFile() throws Exception {
+        shards.close();
+        Path old = directory.resolve("old");
+        Files.createDirectories(old);
+        try (Connection connection = DriverManager.getConnection(
+                "jdbc:sqlite:" + old.resolve(BookShards.fileName(0)));
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                    + "author TEXT NOT NULL, isbn TEXT UNIQUE, price DECIMAL(10, 2), quantity INTEGER DEFAULT 0, "
+                    + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+            statement.execute("INSERT INTO books (id, title, author, isbn) VALUES (1024, 'Old', 'Author', 'isbn-old')");
+        }
+
+        shards = new BookShards(1, old, 1, List::of);
+        repository = new ShardedBookRepository(shards);
+
+        assertThat(repository.findById(1024L)).isPresent();
+        assertThat(repository.softDeleteById(1024L, 1_000L)).isTrue();
+        assertThat(repository.findDeletedSince(0L, 0L, 10)).extracting(Book::getId).containsExactly(1024L);
+    }
+
+    @Test
+    @DisplayName("Should merge scatter-gather results in id order")
+    void shouldMergeResultsInIdOrder() {
+        for (int i = 0; i < 20; i++) {
+            repository.insert(book((i % 2 == 0 ? "Even " : "Odd ") + i, i < 10 ? "Ann" : "Bob", "isbn-" + i));
+        }
+
+        List<Book> all = repository.findAll();
+        List<Book> byAuthor = repository.findByAuthor("Ann");
+        List<Book> byTitle = repository.findByTitleContaining("Even");
+
+        assertThat(all).hasSize(20).isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertThat(all.stream().map(book -> shards.getRouter().shardForId(book.getId())).collect(Collectors.toSet()))
+                .hasSize(3);
+        assertThat(byAuthor).hasSize(10).allMatch(book -> book.getAuthor().equals("Ann"))
+                .isSortedAccordingTo((a, b) -> Long.compare(a.getId(), b.getId()));
+        assertThat(byTitle).hasSize(10).allMatch(book -> book.getTitle().startsWith("Even"));
+    }
+
+    @Test
+    @DisplayName("Should page through all shards in id order")
+    void shouldPageAcrossShardsInIdOrder() {
+        for (int i = 0; i < 20; i++) {
+            repository.insert(book("title " + i, "author", "isbn-" + i));
+        }
+
+        List<Long> paged = new ArrayList<>();
+        List<Book> page;
+        long afterId = 0;
+        do {
+            page = repository.findAfterId(afterId, 6);
+            page.forEach(book -> paged.add(book.getId()));
+            afterId = page.isEmpty() ? afterId : page.get(page.size() - 1).getId();
+        } while (page.size() == 6);
+
+        assertThat(paged).containsExactlyElementsOf(repository.findAll().stream().map(Book::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should return the most recently updated books across shards")
+    void shouldReturnRecentlyUpdatedAcrossShards() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < 12; i++) {
+            Book book = book("title " + i, "author", "isbn-" + i);
+            book.setUpdatedAt(base.plusMinutes(i));
+            repository.insert(book);
+        }
+
+        List<Book> recent = repository.findRecentlyUpdated(4);
+
+        assertThat(recent).extracting(Book::getIsbn).containsExactly("isbn-11", "isbn-10", "isbn-9", "isbn-8");
+    }
+
+    @Test
+    @DisplayName("Should find books by id across shards")
+    void shouldFindAllById() {
+        Long first = repository.insert(book("title 1", "author", "isbn-1"));
+        Long second = repository.insert(book("title 2", "author", "isbn-2"));
+        repository.insert(book("title 3", "author", "isbn-3"));
+
+        List<Book> found = repository.findAllById(List.of(second, first, ShardRouter.encodeId(99, 9)));
+
+        assertThat(found).extracting(Book::getId).containsExactlyInAnyOrder(first, second);
+    }
+
+    @Test
+    @DisplayName("Should update a book in place and reject ISBN changes that move it to another shard")
+    void shouldUpdateAndRejectCrossShardIsbnChange() {
+        Book book = book("title", "author", "isbn-0");
+        repository.save(book);
+        book.setTitle("new title");
+        repository.save(book);
+
+        assertThat(repository.findById(book.getId())).hasValueSatisfying(found ->
+                assertThat(found.getTitle()).isEqualTo("new title"));
+
+        ShardRouter router = shards.getRouter();
+        int shard = router.shardForId(book.getId());
+        String otherShardIsbn = null;
+        for (int i = 1; otherShardIsbn == null; i++) {
+            if (router.shardForIsbn("isbn-" + i) != shard) {
+                otherShardIsbn = "isbn-" + i;
+            }
+        }
+        book.setIsbn(otherShardIsbn);
+        assertThatThrownBy(() -> repository.save(book)).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    @DisplayName("Should fail to update a book that does not exist")
+    void shouldFailToUpdateMissingBook() {
+        Book book = book("title", "author", "isbn-0");
+        book.setId(ShardRouter.encodeId(5, shards.getRouter().shardForIsbn("isbn-0")));
+
+        assertThatThrownBy(() -> repository.save(book))
+                .isInstanceOf(IncorrectUpdateSemanticsDataAccessException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject a duplicate ISBN on its shard")
+    void shouldRejectDuplicateIsbn() {
+        repository.insert(book("title", "author", "isbn-1"));
+
+        assertThatThrownBy(() -> repository.insert(book("other", "author", "isbn-1")))
+                .isInstanceOf(DataAccessException.class)
+                .hasStackTraceContaining("books.isbn");
+    }
+
+    @Test
+    @DisplayName("Should merge sorted pages up to the limit")
+    void shouldMergeSortedPages() {
+        List<List<Book>> pages = List.of(
+                List.of(withId(1), withId(4), withId(9)),
+                List.of(),
+                List.of(withId(2), withId(3), withId(10)));
+
+        List<Book> merged = ShardedBookRepository.merge(pages, (a, b) -> Long.compare(a.getId(), b.getId()), 5);
+
+        assertThat(merged).extracting(Book::getId).containsExactly(1L, 2L, 3L, 4L, 9L);
+        assertThat(Set.copyOf(ShardedBookRepository.merge(pages,
+                (a, b) -> Long.compare(a.getId(), b.getId()), 100))).hasSize(6);
+    }
+
+    private static Book book(String title, String author, String isbn) {
+        return new Book(title, author, isbn, new BigDecimal("10.00"), 3);
+    }
+
+    private static Book withId(long id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bookstore.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of bytes a test may allocate on its own thread.
+ * Enforced by {@link PerformanceBudgetExtension}; @BeforeEach methods are not measured.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllocationBudget {
+
+    /**
+     * @return the maximum number of allocated bytes
+     */
+    long maxBytes();
+}
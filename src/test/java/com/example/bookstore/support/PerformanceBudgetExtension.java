@@ -0,0 +1,65 @@
+package com.example.bookstore.support;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JUnit extension that enforces {@link QueryBudget} and {@link AllocationBudget} declarations.
+ *
+ * Statements are counted through {@link StatementCounter} and allocations through the
+ * per-thread allocation counter of the platform ThreadMXBean, both on the test thread only.
+ * A test that exceeds its budget fails even if all of its assertions passed.
+ */
+public class PerformanceBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(PerformanceBudgetExtension.class);
+    private static final String ALLOCATED_BYTES_KEY = "allocatedBytes";
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        StatementCounter.reset();
+        context.getStore(NAMESPACE).put(ALLOCATED_BYTES_KEY, allocatedBytes());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long allocated = allocatedBytes() - context.getStore(NAMESPACE).get(ALLOCATED_BYTES_KEY, Long.class);
+        List<String> statements = StatementCounter.statements();
+        String testName = context.getRequiredTestMethod().getName();
+
+        Optional<QueryBudget> queryBudget =
+                AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class);
+        if (queryBudget.isPresent() && statements.size() > queryBudget.get().maxStatements()) {
+            throw new AssertionError(String.format("%s issued %d SQL statements, budget is %d: %s",
+                    testName, statements.size(), queryBudget.get().maxStatements(), statements));
+        }
+
+        Optional<AllocationBudget> allocationBudget =
+                AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), AllocationBudget.class);
+        if (allocationBudget.isPresent() && THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+                && allocated > allocationBudget.get().maxBytes()) {
+            throw new AssertionError(String.format("%s allocated %d bytes, budget is %d",
+                    testName, allocated, allocationBudget.get().maxBytes()));
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemorySupported()) {
+            return 0;
+        }
+        if (!THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled()) {
+            THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        }
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bookstore.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the maximum number of SQL statements a test may issue on its own thread.
+ * Enforced by {@link PerformanceBudgetExtension}; requires {@link StatementCounter} in the application context.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+
+    /**
+     * @return the maximum number of statements
+     */
+    int maxStatements();
+}
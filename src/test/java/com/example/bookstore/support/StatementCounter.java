@@ -0,0 +1,37 @@
+package com.example.bookstore.support;
+
+import com.example.bookstore.jdbc.StatementExecution;
+import com.example.bookstore.jdbc.StatementListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement listener that records the SQL executed on each thread.
+ * Import it into a Spring test context to make {@link QueryBudget} enforceable.
+ */
+public class StatementCounter implements StatementListener {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public void afterStatement(StatementExecution execution) {
+        STATEMENTS.get().add(execution.getSql());
+    }
+
+    /**
+     * Forgets the statements recorded on the current thread.
+     */
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    /**
+     * Returns the statements recorded on the current thread since the last reset.
+     *
+     * @return the SQL of each statement, in execution order
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.bookstore.tools;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogGenerator Tests")
+class CatalogGeneratorTest {
+
+    @Test
+    @DisplayName("Should derive valid, increasing ISBN-13s from sequence numbers")
+    void shouldDeriveValidIsbns() {
+        assertThat(CatalogGenerator.isbn13(42)).isEqualTo("979-8-0000-0042-7");
+        for (long sequence = 0; sequence < 1_000; sequence++) {
+            assertThat(CatalogGenerator.isValidIsbn13(CatalogGenerator.isbn13(sequence))).isTrue();
+        }
+        assertThat(CatalogGenerator.isbn13(1000)).isGreaterThan(CatalogGenerator.isbn13(999));
+        assertThat(CatalogGenerator.isValidIsbn13("978-0-7432-7356-5")).isTrue();
+        assertThat(CatalogGenerator.isValidIsbn13("978-0-7432-7356-4")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should be reproducible from the seed")
+    void shouldBeReproducibleFromSeed() {
+        assertThat(sample(new CatalogGenerator(7, 1_000))).isEqualTo(sample(new CatalogGenerator(7, 1_000)));
+        assertThat(sample(new CatalogGenerator(7, 1_000))).isNotEqualTo(sample(new CatalogGenerator(8, 1_000)));
+    }
+
+    @Test
+    @DisplayName("Should skew authors towards the head of the distribution")
+    void shouldSkewAuthors() {
+        CatalogGenerator generator = new CatalogGenerator(1, 10_000);
+        int[] counts = new int[10_000];
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.nextAuthorIndex()]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[99] * 50);
+        assertThat(counts[0]).isGreaterThan(5_000);
+    }
+
+    @Test
+    @DisplayName("Should bulk load books and rebuild deferred indexes")
+    void shouldBulkLoadBooks() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                        + "author TEXT NOT NULL, isbn TEXT UNIQUE, price DECIMAL(10, 2), quantity INTEGER DEFAULT 0, "
+                        + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+                statement.execute("CREATE INDEX idx_books_author ON books (author)");
+            }
+
+            long inserted = new CatalogGenerator(3, 500).load(connection, 25_000, 1, 1_000, 10_000);
+
+            assertThat(inserted).isEqualTo(25_000);
+            try (Statement statement = connection.createStatement()) {
+                assertThat(single(statement, "SELECT COUNT(*) FROM books")).isEqualTo(25_000);
+                assertThat(single(statement, "SELECT COUNT(*) FROM books WHERE quantity = 0")).isPositive();
+                assertThat(single(statement,
+                        "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_books_author'"))
+                        .isEqualTo(1);
+            }
+            assertThat(connection.getAutoCommit()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fill isbn_normalized itself and restore deferred triggers")
+    void shouldFillNormalizedIsbnWithoutTriggers() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                        + "author TEXT NOT NULL, isbn TEXT UNIQUE, price DECIMAL(10, 2), quantity INTEGER DEFAULT 0, "
+                        + "created_at TIMESTAMP, updated_at TIMESTAMP, isbn_normalized TEXT)");
+                statement.execute("CREATE TRIGGER books_isbn_normalized_insert AFTER INSERT ON books "
+                        + "BEGIN UPDATE books SET isbn_normalized = 'trigger' WHERE id = NEW.id; END");
+            }
+
+            new CatalogGenerator(5, 100).load(connection, 1_000, 1, 100, 500);
+
+            try (Statement statement = connection.createStatement()) {
+                assertThat(single(statement,
+                        "SELECT COUNT(*) FROM books WHERE isbn_normalized = REPLACE(isbn, '-', '')"))
+                        .isEqualTo(1_000);
+                assertThat(single(statement, "SELECT COUNT(*) FROM sqlite_master "
+                        + "WHERE type = 'trigger' AND name = 'books_isbn_normalized_insert'"))
+                        .isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should restore the pragmas it changes to the caller's values")
+    void shouldRestorePragmas() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                        + "author TEXT NOT NULL, isbn TEXT UNIQUE, price DECIMAL(10, 2), quantity INTEGER DEFAULT 0, "
+                        + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+                statement.execute("PRAGMA synchronous = NORMAL");
+                statement.execute("PRAGMA cache_size = -4000");
+                statement.execute("PRAGMA temp_store = FILE");
+            }
+
+            new CatalogGenerator(9, 50).load(connection, 100, 1, 10, 50);
+
+            try (Statement statement = connection.createStatement()) {
+                assertThat(single(statement, "PRAGMA synchronous")).isEqualTo(1);
+                assertThat(single(statement, "PRAGMA cache_size")).isEqualTo(-4000);
+                assertThat(single(statement, "PRAGMA temp_store")).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should recreate indexes an interrupted load left dropped")
+    void shouldRecoverDeferredIndexes() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE books (id INTEGER PRIMARY KEY AUTOINCREMENT, title TEXT NOT NULL, "
+                        + "author TEXT NOT NULL, isbn TEXT UNIQUE, price DECIMAL(10, 2), quantity INTEGER DEFAULT 0, "
+                        + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+                // What a load that died between dropping and recreating its indexes leaves behind
+                statement.execute("CREATE TABLE " + CatalogGenerator.DEFERRED_TABLE
+                        + " (name TEXT PRIMARY KEY, type TEXT NOT NULL, sql TEXT NOT NULL)");
+                statement.execute("INSERT INTO " + CatalogGenerator.DEFERRED_TABLE + " VALUES "
+                        + "('idx_books_author', 'index', 'CREATE INDEX idx_books_author ON books (author)')");
+            }
+
+            new CatalogGenerator(11, 50).load(connection, 100, 1, 10, 50);
+
+            try (Statement statement = connection.createStatement()) {
+                assertThat(single(statement,
+                        "SELECT COUNT(*) FROM sqlite_master WHERE type = 'index' AND name = 'idx_books_author'"))
+                        .isEqualTo(1);
+                assertThat(single(statement, "SELECT COUNT(*) FROM sqlite_master WHERE name = '"
+                        + CatalogGenerator.DEFERRED_TABLE + "'")).isZero();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject loads beyond the ISBN sequence space")
+    void shouldRejectLoadsBeyondSequenceSpace() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:")) {
+            assertThatThrownBy(() -> new CatalogGenerator(1, 10).load(connection, 10, 99_999_995L, 10, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static List<String> sample(CatalogGenerator generator) {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            values.add(generator.nextTitle() + "|" + generator.nextAuthor() + "|"
+                    + generator.nextPriceCents() + "|" + generator.nextQuantity());
+        }
+        return values;
+    }
+
+    private static long single(Statement statement, String sql) throws Exception {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.bookstore.tools;
+
+import com.example.bookstore.migration.SchemaMigrator;
+import com.example.bookstore.sharding.ShardRouter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Resharder Tests")
+class ResharderTest {
+
+    @Test
+    @DisplayName("Should copy every book to the shard of its ISBN with an encoded id")
+    void shouldCopyBooksToShards() throws Exception {
+        ShardRouter router = new ShardRouter(3);
+        try (Connection source = source()) {
+            try (PreparedStatement insert = source.prepareStatement(
+                    "INSERT INTO books (title, author, isbn, price, quantity) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < 50; i++) {
+                    insert.setString(1, "title " + i);
+                    insert.setString(2, "author");
+                    insert.setString(3, i == 7 ? null : "isbn-" + i);
+                    insert.setString(4, "9.99");
+                    insert.setInt(5, i);
+                    insert.executeUpdate();
+                }
+            }
+            try (Statement statement = source.createStatement()) {
+                statement.execute("INSERT INTO books (title, author, isbn, deleted_at) VALUES ('gone', 'author', 'isbn-1', 1)");
+            }
+            List<Connection> targets = shards(3);
+            StringWriter idMap = new StringWriter();
+
+            long copied = new Resharder(router, 8).reshard(source, targets, idMap);
+
+            assertThat(copied).isEqualTo(50);
+            long total = 0;
+            for (int shard = 0; shard < 3; shard++) {
+                try (Statement statement = targets.get(shard).createStatement();
+                     ResultSet books = statement.executeQuery("SELECT id, isbn FROM books")) {
+                    while (books.next()) {
+                        total++;
+                        assertThat(router.shardForId(books.getLong("id"))).isEqualTo(shard);
+                        String isbn = books.getString("isbn");
+                        if (isbn != null) {
+                            assertThat(router.shardForIsbn(isbn)).isEqualTo(shard);
+                        }
+                    }
+                }
+            }
+            assertThat(total).isEqualTo(50);
+            String[] lines = idMap.toString().split("\n");
+            assertThat(lines).hasSize(51);
+            assertThat(lines[0]).isEqualTo("old_id,new_id");
+            long newId = Long.parseLong(lines[1].split(",")[1]);
+            assertThat(newId >> ShardRouter.SHARD_BITS).isEqualTo(1);
+            close(targets);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse shards that already hold books")
+    void shouldRefuseNonEmptyShards() throws Exception {
+        try (Connection source = source()) {
+            List<Connection> targets = shards(2);
+            try (Statement statement = targets.get(1).createStatement()) {
+                statement.execute("INSERT INTO books (title, author) VALUES ('title', 'author')");
+            }
+
+            assertThatThrownBy(() -> new Resharder(new ShardRouter(2), 10).reshard(source, targets, null))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Shard 1");
+            close(targets);
+        }
+    }
+
+    private static List<Connection> shards(int count) throws SQLException {
+        List<Connection> targets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            targets.add(database("shard-schema.sql"));
+        }
+        return targets;
+    }
+
+    private static Connection source() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        new SchemaMigrator(new SingleConnectionDataSource(connection, true), SchemaMigrator.DEFAULT_LOCATION).migrate();
+        return connection;
+    }
+
+    private static Connection database(String schema) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource(schema));
+        return connection;
+    }
+
+    private static void close(List<Connection> connections) throws SQLException {
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+}
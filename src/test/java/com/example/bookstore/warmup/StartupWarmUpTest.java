@@ -0,0 +1,156 @@
+package com.example.bookstore.warmup;
+
+import com.example.bookstore.cache.AccessTracker;
+import com.example.bookstore.cache.BookCache;
+import com.example.bookstore.cache.CacheSnapshotStore;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.health.CheckResult;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("StartupWarmUp Tests")
+class StartupWarmUpTest {
+
+    private BookRepository bookRepository;
+    private BookService bookService;
+    private BookCache bookCache;
+    private CacheSnapshotStore snapshotStore;
+    private ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        bookRepository = mock(BookRepository.class);
+        bookService = mock(BookService.class);
+        bookCache = new BookCache(true, 100);
+        snapshotStore = mock(CacheSnapshotStore.class);
+        handlerAdapter = mock(ObjectProvider.class);
+    }
+
+    @Test
+    @DisplayName("Should report not ready until warm-up has run")
+    void shouldNotBeReadyBeforeRun() {
+        CheckResult result = warmUp(true).check();
+
+        assertThat(result.isUp()).isFalse();
+        assertThat(result.getDetails()).containsEntry("state", "NOT_STARTED");
+    }
+
+    @Test
+    @DisplayName("Should preload the most recently updated books without a snapshot")
+    void shouldPreloadRecentlyUpdatedBooks() {
+        when(bookRepository.findRecentlyUpdated(10)).thenReturn(List.of(book(1L), book(2L)));
+        StartupWarmUp warmUp = warmUp(true);
+
+        warmUp.run();
+
+        assertThat(warmUp.getState()).isEqualTo(StartupWarmUp.State.DONE);
+        assertThat(bookCache.getById(1L)).isNotNull();
+        assertThat(bookCache.getById(2L)).isNotNull();
+        verify(bookService).getBookById(1L);
+        verify(bookService).getBookById(2L);
+        verify(bookService, atLeastOnce()).getBookByIsbn("isbn-1");
+        verify(bookService, atLeastOnce()).getBooksByAuthor("author");
+        verify(bookService, atLeastOnce()).searchBooksByTitle("Title");
+        CheckResult result = warmUp.check();
+        assertThat(result.isUp()).isTrue();
+        assertThat(result.getDetails())
+                .containsEntry("source", "recently updated")
+                .containsEntry("cachedBooks", 2);
+    }
+
+    @Test
+    @DisplayName("Should preload the books restored from the snapshot")
+    void shouldPreloadSnapshot() {
+        when(snapshotStore.restore()).thenReturn(List.of(book(7L), book(3L)));
+        StartupWarmUp warmUp = warmUp(true);
+
+        warmUp.run();
+
+        assertThat(bookCache.getById(7L)).isNotNull();
+        assertThat(bookCache.getById(3L)).isNotNull();
+        assertThat(warmUp.check().getDetails()).containsEntry("source", "snapshot");
+        verify(bookRepository, never()).findRecentlyUpdated(anyInt());
+    }
+
+    @Test
+    @DisplayName("Should report ready when warm-up fails")
+    void shouldBeReadyAfterFailure() {
+        when(bookRepository.findRecentlyUpdated(10))
+                .thenThrow(new DataAccessResourceFailureException("database is locked"));
+        StartupWarmUp warmUp = warmUp(true);
+
+        warmUp.run();
+
+        assertThat(warmUp.getState()).isEqualTo(StartupWarmUp.State.FAILED);
+        assertThat(warmUp.check().isUp()).isTrue();
+        assertThat(warmUp.check().getDetails()).containsEntry("error", "database is locked");
+    }
+
+    @Test
+    @DisplayName("Should keep going when a synthetic call fails")
+    void shouldCountFailedCalls() {
+        when(bookRepository.findRecentlyUpdated(10)).thenReturn(List.of(book(1L)));
+        when(bookService.getBookByIsbn(anyString())).thenThrow(new IllegalStateException("gone"));
+        StartupWarmUp warmUp = warmUp(true);
+
+        warmUp.run();
+
+        assertThat(warmUp.getState()).isEqualTo(StartupWarmUp.State.DONE);
+        assertThat(warmUp.check().getDetails()).containsEntry("failedCalls", 2);
+    }
+
+    @Test
+    @DisplayName("Should report ready when disabled")
+    void shouldBeReadyWhenDisabled() {
+        StartupWarmUp warmUp = warmUp(false);
+
+        warmUp.start();
+
+        assertThat(warmUp.check().isUp()).isTrue();
+        assertThat(warmUp.check().getDetails()).containsEntry("state", "DISABLED");
+        verifyNoInteractions(bookRepository, bookService, snapshotStore);
+    }
+
+    @Test
+    @DisplayName("Should keep the synthetic calls out of the access tracker")
+    void shouldNotTrackSyntheticCalls() {
+        AccessTracker accessTracker = new AccessTracker(true, 4, 64, 8, 600_000);
+        when(bookRepository.findRecentlyUpdated(10)).thenReturn(List.of(book(1L)));
+        when(bookService.getBookById(1L)).thenAnswer(invocation -> {
+            accessTracker.recordId(1L);
+            return null;
+        });
+
+        warmUp(true).run();
+
+        verify(bookService, atLeastOnce()).getBookById(1L);
+        assertThat(accessTracker.getAccesses()).isZero();
+        accessTracker.recordId(1L);
+        assertThat(accessTracker.getAccesses()).isEqualTo(1);
+    }
+
+    private StartupWarmUp warmUp(boolean enabled) {
+        return new StartupWarmUp(bookRepository, bookService, bookCache, snapshotStore, handlerAdapter,
+                enabled, 10, 2, 10_000);
+    }
+
+    private static Book book(long id) {
+        Book book = new Book("Title " + id, "author", "isbn-" + id, new BigDecimal("10.00"), 1);
+        book.setId(id);
+        return book;
+    }
+}